@@ -15,23 +15,13 @@
 
 package software.amazon.smithy.aws.apigateway.openapi;
 
-import java.util.ArrayDeque;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Deque;
-import java.util.Iterator;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.logging.Logger;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
-import software.amazon.smithy.model.SourceLocation;
-import software.amazon.smithy.model.node.ArrayNode;
 import software.amazon.smithy.model.node.Node;
-import software.amazon.smithy.model.node.NodeVisitor;
+import software.amazon.smithy.model.node.NodeRewriter;
 import software.amazon.smithy.model.node.ObjectNode;
-import software.amazon.smithy.model.node.StringNode;
 import software.amazon.smithy.openapi.OpenApiConstants;
 import software.amazon.smithy.openapi.fromsmithy.Context;
 import software.amazon.smithy.openapi.fromsmithy.OpenApiMapper;
@@ -61,6 +51,10 @@ final class CloudFormationSubstitution implements OpenApiMapper {
             "paths/*/*/x-amazon-apigateway-integration/credentials",
             "paths/*/*/x-amazon-apigateway-integration/uri");
 
+    /** Only the branches that lead to one of the paths are visited. */
+    private static final NodeRewriter REWRITER = NodeRewriter.forPaths(
+            PATHS, NodeRewriter.create(CloudFormationSubstitution::substitute)::rewrite);
+
     @Override
     public byte getOrder() {
         return 127;
@@ -69,79 +63,27 @@ final class CloudFormationSubstitution implements OpenApiMapper {
     @Override
     public ObjectNode updateNode(Context context, OpenApi openapi, ObjectNode node) {
         if (!context.getConfig().getBooleanMemberOrDefault(ApiGatewayConstants.DISABLE_CLOUDFORMATION_SUBSTITUTION)) {
-            return node.accept(new CloudFormationFnSubInjector(PATHS)).expectObjectNode();
+            return REWRITER.rewrite(node).expectObjectNode();
         }
 
         return node;
     }
 
-    private static class CloudFormationFnSubInjector extends NodeVisitor.Default<Node> {
-        private final Deque<String> stack = new ArrayDeque<>();
-        private final List<String[]> paths;
-
-        CloudFormationFnSubInjector(List<String> paths) {
-            this.paths = paths.stream().map(path -> path.split(Pattern.quote("/"))).collect(Collectors.toList());
-        }
-
-        @Override
-        protected Node getDefault(Node node) {
-            return node;
-        }
-
-        @Override
-        public Node arrayNode(ArrayNode node) {
-            List<Node> result = new ArrayList<>();
-            for (int i = 0; i < node.size(); i++) {
-                Node member = node.get(i).get();
-                stack.addLast(String.valueOf(i));
-                result.add(member.accept(this));
-                stack.removeLast();
-            }
-
-            return new ArrayNode(result, SourceLocation.NONE);
-        }
-
-        @Override
-        public Node objectNode(ObjectNode node) {
-            Map<StringNode, Node> result = new LinkedHashMap<>();
-            for (Map.Entry<StringNode, Node> entry : node.getMembers().entrySet()) {
-                stack.addLast(entry.getKey().getValue());
-                result.put(entry.getKey(), entry.getValue().accept(this));
-                stack.removeLast();
-            }
-
-            return new ObjectNode(result, SourceLocation.NONE);
-        }
-
-        @Override
-        public Node stringNode(StringNode node) {
-            if (SUBSTITUTION_PATTERN.matcher(node.getValue()).find() && isInPath()) {
-                LOGGER.fine(() -> String.format(
-                        "Detected CloudFormation variable syntax in %s; replacing with a `Fn::Sub` "
-                        + "CloudFormation intrinsic function block", node.getValue()));
-                return Node.objectNode().withMember(SUBSTITUTION_KEY, node);
-            }
-
-            return node;
-        }
-
-        private boolean isInPath() {
-            return paths.stream().anyMatch(this::matchesPath);
-        }
-
-        private boolean matchesPath(String[] path) {
-            Iterator<String> iterator = stack.iterator();
-            for (String segment : path) {
-                if (!iterator.hasNext()) {
-                    return false;
-                }
-                String current = iterator.next();
-                if (!segment.equals(current) && !segment.equals("*")) {
-                    return false;
-                }
-            }
+    @Override
+    public boolean requiresNode(Context context, OpenApi openapi) {
+        return !context.getConfig().getBooleanMemberOrDefault(ApiGatewayConstants.DISABLE_CLOUDFORMATION_SUBSTITUTION);
+    }
 
-            return true;
-        }
+    // Strings at or below one of the paths are replaced.
+    private static Node substitute(Node node) {
+        return node.asStringNode()
+                .filter(string -> SUBSTITUTION_PATTERN.matcher(string.getValue()).find())
+                .<Node>map(string -> {
+                    LOGGER.fine(() -> String.format(
+                            "Detected CloudFormation variable syntax in %s; replacing with a `Fn::Sub` "
+                            + "CloudFormation intrinsic function block", string.getValue()));
+                    return Node.objectNode().withMember(SUBSTITUTION_KEY, string);
+                })
+                .orElse(node);
     }
 }
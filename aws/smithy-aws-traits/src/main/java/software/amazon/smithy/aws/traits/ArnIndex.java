@@ -26,6 +26,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.knowledge.DependsOn;
 import software.amazon.smithy.model.knowledge.IdentifierBindingIndex;
 import software.amazon.smithy.model.knowledge.KnowledgeIndex;
 import software.amazon.smithy.model.knowledge.TopDownIndex;
@@ -40,6 +41,7 @@ import software.amazon.smithy.utils.Pair;
 /**
  * Resolves and indexes the ARN templates for each resource in a service.
  */
+@DependsOn({TopDownIndex.class, IdentifierBindingIndex.class})
 public final class ArnIndex implements KnowledgeIndex {
     private final Map<ShapeId, String> arnServices;
     private final Map<ShapeId, Map<ShapeId, ArnTrait>> templates;
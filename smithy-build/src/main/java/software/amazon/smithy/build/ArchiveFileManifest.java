@@ -0,0 +1,277 @@
+/*
+ * Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.build;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Streams the files of a manifest directly into a ZIP archive, or into a
+ * JAR if the archive path ends with ".jar".
+ *
+ * <p>Paths are resolved against the base directory as usual, but files are
+ * written as entries of the archive, relative to the base directory,
+ * instead of to disk. The archive is created when the first file is written
+ * and completed when the manifest is {@link #flush() flushed}; files can't
+ * be written after that. Because entries can't be replaced once they're
+ * streamed, each file can only be written once. If the archive can't be
+ * completed, or if the manifest is {@link #discard() discarded} before it
+ * is flushed, the incomplete archive is closed and deleted.
+ *
+ * <p>Files that are added with {@link #addFile} without being written are
+ * copied into the archive from disk when the manifest is flushed, if they
+ * exist.
+ *
+ * <p>When a target manifest is provided, the archive is buffered in memory
+ * and written to the target as a single file when the manifest is flushed
+ * instead of being written to disk.
+ *
+ * @see FileManifest#createArchive
+ */
+final class ArchiveFileManifest implements FileManifest {
+    private static final Logger LOGGER = Logger.getLogger(ArchiveFileManifest.class.getName());
+
+    private final Set<Path> files = new ConcurrentSkipListSet<>(Comparator.comparing(Path::toString));
+    private final Set<Path> written = new HashSet<>();
+    private final Path baseDir;
+    private final Path archive;
+    private final FileManifest target;
+    private ByteArrayOutputStream buffer;
+    private ZipOutputStream output;
+    private boolean completed;
+
+    ArchiveFileManifest(Path baseDir, Path archive) {
+        this(baseDir, archive, null);
+    }
+
+    ArchiveFileManifest(Path baseDir, Path archive, FileManifest target) {
+        this.baseDir = baseDir;
+        this.archive = archive;
+        this.target = target;
+    }
+
+    @Override
+    public Path getBaseDir() {
+        return baseDir;
+    }
+
+    @Override
+    public Set<Path> getFiles() {
+        return new LinkedHashSet<>(files);
+    }
+
+    @Override
+    public boolean hasFile(Path file) {
+        return files.contains(resolvePath(file));
+    }
+
+    @Override
+    public List<Path> getFilesIn(Path path) {
+        Path resolved = resolvePath(path);
+        return files.stream().filter(file -> file.startsWith(resolved)).collect(Collectors.toList());
+    }
+
+    @Override
+    public Optional<byte[]> readFile(Path file) {
+        // Entries can't be read back once they're streamed into the archive.
+        return Optional.empty();
+    }
+
+    @Override
+    public Path addFile(Path path) {
+        Objects.requireNonNull(path);
+        if (!path.startsWith(baseDir) || !path.isAbsolute()) {
+            path = resolvePath(path);
+        }
+
+        files.add(path);
+        return path;
+    }
+
+    @Override
+    public synchronized Path writeFile(Path path, Reader fileContentsReader) {
+        path = addFile(path);
+
+        try (Writer writer = new OutputStreamWriter(startEntry(path), StandardCharsets.UTF_8)) {
+            int len;
+            char[] buffer = new char[4096];
+            while ((len = fileContentsReader.read(buffer)) != -1) {
+                writer.write(buffer, 0, len);
+            }
+            return path;
+        } catch (IOException e) {
+            throw new SmithyBuildException("Unable to write contents of file `" + path + "`: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public synchronized Path writeFile(Path path, InputStream fileContentsInputStream) {
+        path = addFile(path);
+
+        try (OutputStream entry = startEntry(path)) {
+            int len;
+            byte[] buffer = new byte[8192];
+            while ((len = fileContentsInputStream.read(buffer)) != -1) {
+                entry.write(buffer, 0, len);
+            }
+            return path;
+        } catch (IOException e) {
+            throw new SmithyBuildException("Unable to write contents of file `" + path + "`: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (completed) {
+            return;
+        }
+
+        try {
+            for (Path file : files) {
+                if (!written.contains(file) && Files.isRegularFile(file)) {
+                    try (InputStream stream = Files.newInputStream(file)) {
+                        writeFile(file, stream);
+                    }
+                }
+            }
+            if (output != null) {
+                output.close();
+                if (target != null) {
+                    target.writeFile(archive, new ByteArrayInputStream(buffer.toByteArray()));
+                    target.flush();
+                    buffer = null;
+                }
+            }
+            completed = true;
+        } catch (IOException e) {
+            discard();
+            throw new SmithyBuildException("Unable to write archive `" + archive + "`: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            discard();
+            throw e;
+        }
+    }
+
+    @Override
+    public synchronized void discard() {
+        if (completed) {
+            return;
+        }
+
+        completed = true;
+        try {
+            if (output != null) {
+                output.close();
+            }
+        } catch (IOException e) {
+            LOGGER.fine(() -> "Unable to close discarded archive `" + archive + "`: " + e.getMessage());
+        } finally {
+            buffer = null;
+            try {
+                if (target == null) {
+                    Files.deleteIfExists(archive);
+                }
+            } catch (IOException e) {
+                LOGGER.warning(() -> "Unable to delete incomplete archive `" + archive + "`: " + e.getMessage());
+            }
+        }
+    }
+
+    // Returns a stream for the contents of the entry. Closing the stream closes the entry, not the archive.
+    private OutputStream startEntry(Path path) throws IOException {
+        if (completed) {
+            throw new SmithyBuildException("Cannot write `" + path + "` to completed archive `" + archive + "`");
+        } else if (!written.add(path)) {
+            throw new SmithyBuildException("Cannot write `" + path + "` to archive `" + archive + "` more than once");
+        }
+
+        if (output == null) {
+            output = createOutputStream();
+        }
+
+        output.putNextEntry(new ZipEntry(getEntryName(path)));
+        return new FilterOutputStream(output) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
+
+            @Override
+            public void close() throws IOException {
+                flush();
+                output.closeEntry();
+            }
+        };
+    }
+
+    private ZipOutputStream createOutputStream() throws IOException {
+        OutputStream stream;
+        if (target != null) {
+            buffer = new ByteArrayOutputStream();
+            stream = buffer;
+        } else {
+            Path parent = archive.getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            stream = Files.newOutputStream(archive);
+        }
+        if (!archive.getFileName().toString().endsWith(".jar")) {
+            return new ZipOutputStream(stream);
+        }
+
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        return new JarOutputStream(stream, manifest);
+    }
+
+    private String getEntryName(Path path) {
+        Path relative = baseDir.relativize(path);
+        StringBuilder name = new StringBuilder();
+        for (Path part : relative) {
+            if (name.length() > 0) {
+                name.append('/');
+            }
+            name.append(part);
+        }
+        return name.toString();
+    }
+}
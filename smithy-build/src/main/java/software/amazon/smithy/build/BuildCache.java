@@ -0,0 +1,343 @@
+/*
+ * Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.build;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import software.amazon.smithy.build.model.ProjectionConfig;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.shapes.ModelSerializer;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.validation.ValidationEvent;
+
+/**
+ * An on-disk cache of the files created by plugins.
+ *
+ * <p>Each entry is keyed by a SHA-256 hash of everything a plugin can
+ * observe: the projected model, the original model, the source locations
+ * of the projected shapes and validation events, the projection
+ * configuration, the plugin name and settings, and the plugin class and
+ * its implementation version. The output of a plugin that reads the
+ * registered sources from its {@link PluginContext} is also keyed by the
+ * contents of the sources, so editing a source file only invalidates the
+ * entries of plugins that read the sources or whose projection changed.
+ * The output of plugins that read the metrics of the build, like the
+ * {@code build-info} plugin, is never stored.
+ *
+ * <p>Files are identified by their paths relative to the directory that
+ * contains the registered source, so copies of the same sources in another
+ * directory or checkout share cache entries. An entry is a directory named
+ * after the key that contains the files written by the plugin, relative
+ * to the base directory of its manifest.
+ *
+ * <p>Entries are written to a temporary directory and then moved into
+ * place, so concurrent builds that share a cache directory never observe
+ * partially written entries.
+ */
+final class BuildCache {
+    private static final Logger LOGGER = Logger.getLogger(BuildCache.class.getName());
+
+    /** Changing this value invalidates every existing cache entry. */
+    private static final String FORMAT_VERSION = "3";
+
+    private final Path directory;
+    private final Collection<Path> sources;
+    private String sourcesHash;
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger misses = new AtomicInteger();
+
+    BuildCache(Path directory, Collection<Path> sources) {
+        this.directory = directory;
+        this.sources = sources;
+    }
+
+    /**
+     * Computes the hash of a model.
+     *
+     * <p>Hashes aren't cached, so callers should compute the hash of a
+     * model that is shared by multiple projections once and pass it to
+     * {@link #hashProjection}.
+     *
+     * @param model Model to hash.
+     * @return Returns the hash of the model.
+     */
+    String hashModel(Model model) {
+        return hash(Node.printJson(ModelSerializer.builder().build().serialize(model)));
+    }
+
+    /**
+     * Computes the part of a cache key that is shared by every plugin of
+     * a projection.
+     *
+     * @param projection Projection configuration.
+     * @param projectedModel Model created by the projection.
+     * @param originalModelHash Hash of the model that was projected.
+     * @param events Validation events of the projected model.
+     * @return Returns the hash of the projection.
+     */
+    String hashProjection(
+            ProjectionConfig projection,
+            Model projectedModel,
+            String originalModelHash,
+            List<ValidationEvent> events
+    ) {
+        return hash(FORMAT_VERSION,
+                    Node.printJson(projection.toNode()),
+                    hashModel(projectedModel),
+                    originalModelHash,
+                    hashLocations(projectedModel, events));
+    }
+
+    // Serialized models don't contain source locations, so the locations of shapes and events are
+    // hashed separately. Files under a source directory use the same relative paths as sources.
+    private String hashLocations(Model model, List<ValidationEvent> events) {
+        StringBuilder result = new StringBuilder();
+        model.getShapeIndex().shapes().sorted(Comparator.comparing(Shape::getId)).forEach(shape -> {
+            result.append(shape.getId()).append(' ');
+            appendLocation(result, shape.getSourceLocation());
+        });
+        for (ValidationEvent event : events) {
+            result.append(event.getSeverity()).append(' ').append(event.getEventId()).append(' ')
+                    .append(event.getShapeId().map(ShapeId::toString).orElse("")).append(' ')
+                    .append(event.getMessage()).append(' ');
+            appendLocation(result, event.getSourceLocation());
+        }
+        return hash(result.toString());
+    }
+
+    private void appendLocation(StringBuilder builder, SourceLocation location) {
+        String filename = location.getFilename();
+        for (Path source : sources) {
+            Path root = source.toAbsolutePath().normalize().getParent();
+            if (root != null && filename.startsWith(root + root.getFileSystem().getSeparator())) {
+                filename = toPortablePath(root.relativize(Paths.get(filename)));
+                break;
+            }
+        }
+        builder.append(filename).append(':').append(location.getLine()).append(':')
+                .append(location.getColumn()).append('\n');
+    }
+
+    /**
+     * Computes the cache key of a plugin.
+     *
+     * @param projectionHash Hash returned from {@link #hashProjection}.
+     * @param pluginName Name of the plugin in the configuration.
+     * @param settings Settings given to the plugin.
+     * @param plugin Plugin that is executed.
+     * @return Returns the cache key.
+     */
+    String createKey(String projectionHash, String pluginName, ObjectNode settings, SmithyBuildPlugin plugin) {
+        Package pluginPackage = plugin.getClass().getPackage();
+        String version = pluginPackage == null ? null : pluginPackage.getImplementationVersion();
+        return hash(projectionHash,
+                    pluginName,
+                    Node.printJson(settings),
+                    plugin.getClass().getName(),
+                    String.valueOf(version));
+    }
+
+    /**
+     * Writes the files of a cache entry to a manifest.
+     *
+     * <p>The entry of a plugin that didn't read the sources is used if
+     * one exists, and otherwise the entry for the current sources is used.
+     *
+     * @param key Cache key to restore.
+     * @param manifest Manifest to write files to.
+     * @return Returns true if the entry was found and restored.
+     */
+    boolean restore(String key, FileManifest manifest) {
+        Path entry = directory.resolve(key);
+        if (!Files.isDirectory(entry)) {
+            entry = directory.resolve(withSources(key));
+            if (!Files.isDirectory(entry)) {
+                misses.incrementAndGet();
+                return false;
+            }
+        }
+
+        try (Stream<Path> files = Files.walk(entry)) {
+            for (Path file : files.filter(Files::isRegularFile).sorted().collect(Collectors.toList())) {
+                try (InputStream stream = Files.newInputStream(file)) {
+                    manifest.writeFile(entry.relativize(file).toString(), stream);
+                }
+            }
+        } catch (IOException e) {
+            throw new SmithyBuildException("Unable to restore build cache entry `" + entry + "`: " + e.getMessage(), e);
+        }
+
+        hits.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Stores the files of a manifest in the cache.
+     *
+     * <p>Nothing is stored if the contents of any file in the manifest
+     * cannot be read.
+     *
+     * @param key Cache key to store.
+     * @param manifest Manifest that contains the files to store.
+     * @param readSources Set to true if the plugin read the registered sources.
+     */
+    void store(String key, FileManifest manifest, boolean readSources) {
+        Map<Path, byte[]> contents = readFiles(manifest).orElse(null);
+        if (contents == null) {
+            LOGGER.fine(() -> "Not caching files of manifest that cannot be read: " + manifest.getBaseDir());
+            return;
+        }
+
+        String entryKey = readSources ? withSources(key) : key;
+        Path entry = directory.resolve(entryKey);
+        Path temp = directory.resolve(entryKey + "." + UUID.randomUUID() + ".tmp");
+        try {
+            Files.createDirectories(temp);
+            for (Map.Entry<Path, byte[]> file : contents.entrySet()) {
+                Path target = temp.resolve(file.getKey().toString());
+                Files.createDirectories(target.getParent());
+                Files.write(target, file.getValue());
+            }
+            Files.move(temp, entry, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // Another build might have stored the same entry first.
+            LOGGER.fine(() -> "Unable to store build cache entry `" + entry + "`: " + e.getMessage());
+            delete(temp);
+        }
+    }
+
+    int getHits() {
+        return hits.get();
+    }
+
+    int getMisses() {
+        return misses.get();
+    }
+
+    private String withSources(String key) {
+        return hash(key, getSourcesHash());
+    }
+
+    // Sources are hashed at most once, and only when an entry that doesn't depend on them is missing.
+    private synchronized String getSourcesHash() {
+        if (sourcesHash == null) {
+            sourcesHash = hashSources(sources);
+        }
+        return sourcesHash;
+    }
+
+    private Optional<Map<Path, byte[]>> readFiles(FileManifest manifest) {
+        Map<Path, byte[]> contents = new LinkedHashMap<>();
+        for (Path file : manifest.getFiles()) {
+            byte[] bytes = manifest.readFile(file).orElse(null);
+            if (bytes == null) {
+                return Optional.empty();
+            }
+            contents.put(manifest.getBaseDir().relativize(file), bytes);
+        }
+        return Optional.of(contents);
+    }
+
+    private static String hashSources(Collection<Path> sources) {
+        // Sources are identified by their paths relative to the registered source, so that
+        // identical sources in a different checkout or directory produce the same hash.
+        List<String> parts = new ArrayList<>();
+        for (Path registered : sources) {
+            Path source = registered.toAbsolutePath().normalize();
+            Path root = source.getParent() == null ? source : source.getParent();
+            if (!Files.exists(source)) {
+                parts.add(toPortablePath(root.relativize(source)));
+                continue;
+            }
+            try (Stream<Path> files = Files.walk(source)) {
+                for (Path file : files.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                    parts.add(toPortablePath(root.relativize(file)) + ":" + toHex(digest(Files.readAllBytes(file))));
+                }
+            } catch (IOException | UncheckedIOException e) {
+                throw new SmithyBuildException("Unable to hash sources `" + source + "`: " + e.getMessage(), e);
+            }
+        }
+        parts.sort(Comparator.naturalOrder());
+        return hash(parts.toArray(new String[0]));
+    }
+
+    private static String toPortablePath(Path path) {
+        return path.toString().replace(path.getFileSystem().getSeparator(), "/");
+    }
+
+    private static String hash(String... parts) {
+        MessageDigest digest = createDigest();
+        for (String part : parts) {
+            byte[] bytes = part.getBytes(StandardCharsets.UTF_8);
+            // Prefix each part with its length so that parts can't run together.
+            digest.update((bytes.length + ":").getBytes(StandardCharsets.UTF_8));
+            digest.update(bytes);
+        }
+        return toHex(digest.digest());
+    }
+
+    private static byte[] digest(byte[] bytes) {
+        return createDigest().digest(bytes);
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder result = new StringBuilder();
+        for (byte b : bytes) {
+            result.append(String.format("%02x", b));
+        }
+        return result.toString();
+    }
+
+    private static void delete(Path path) {
+        try (Stream<Path> files = Files.walk(path)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        } catch (IOException e) {
+            LOGGER.fine(() -> "Unable to delete " + path + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.build;
+
+import java.util.Objects;
+import java.util.Optional;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.node.ToNode;
+
+/**
+ * The cost of a single phase of a build.
+ *
+ * <p>Phases are recorded for assembling the model, for importing, transforming,
+ * and validating each projection, and for executing each plugin.
+ *
+ * @see SmithyBuildResult#getPhases()
+ * @see PluginContext#getPhases()
+ */
+public final class BuildPhase implements ToNode {
+    /** Merging the imports of the build into the model. */
+    public static final String ASSEMBLE = "assemble";
+
+    /** Merging the imports of a projection into the model. */
+    public static final String IMPORT = "import";
+
+    /** Applying the transforms of a projection. */
+    public static final String TRANSFORM = "transform";
+
+    /** Validating the projected model. */
+    public static final String VALIDATE = "validate";
+
+    /** Executing a plugin, or restoring its files from the build cache. */
+    public static final String PLUGIN = "plugin";
+
+    private final String name;
+    private final String projection;
+    private final String plugin;
+    private final long durationNanos;
+    private final long allocatedBytes;
+
+    BuildPhase(String name, String projection, String plugin, long durationNanos, long allocatedBytes) {
+        this.name = Objects.requireNonNull(name);
+        this.projection = projection;
+        this.plugin = plugin;
+        this.durationNanos = durationNanos;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    /**
+     * Gets the name of the phase, such as {@link #TRANSFORM}.
+     *
+     * @return Returns the phase name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the name of the projection the phase belongs to.
+     *
+     * @return Returns the optional projection name.
+     */
+    public Optional<String> getProjection() {
+        return Optional.ofNullable(projection);
+    }
+
+    /**
+     * Gets the name of the plugin that was executed.
+     *
+     * @return Returns the optional plugin name.
+     */
+    public Optional<String> getPlugin() {
+        return Optional.ofNullable(plugin);
+    }
+
+    /**
+     * Gets the wall-clock time spent in the phase.
+     *
+     * @return Returns the duration in nanoseconds.
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * Gets the number of bytes allocated by the thread that ran the phase.
+     *
+     * <p>Allocations made by other threads that the phase used, such as
+     * the threads of a parallel stream, are not included. This value is
+     * -1 if the JVM does not support measuring thread allocations.
+     *
+     * @return Returns the allocated bytes, or -1 if not measured.
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    @Override
+    public Node toNode() {
+        ObjectNode.Builder builder = Node.objectNodeBuilder().withMember("name", Node.from(name));
+        if (projection != null) {
+            builder.withMember("projection", Node.from(projection));
+        }
+        if (plugin != null) {
+            builder.withMember("plugin", Node.from(plugin));
+        }
+        builder.withMember("durationMillis", Node.from(durationNanos / 1_000_000.0));
+        if (allocatedBytes >= 0) {
+            builder.withMember("allocatedBytes", Node.from(allocatedBytes));
+        }
+        return builder.build();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder(name);
+        if (projection != null) {
+            result.append(' ').append(projection);
+        }
+        if (plugin != null) {
+            result.append('/').append(plugin);
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.build;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Records the cost of each phase of a build.
+ *
+ * <p>The heap high-water mark is sampled when each phase completes, so it
+ * approximates the peak rather than measuring it exactly.
+ */
+final class BuildPhaseRecorder {
+    private static final com.sun.management.ThreadMXBean THREADS = findThreadBean();
+
+    private final Queue<BuildPhase> phases = new ConcurrentLinkedQueue<>();
+    private final AtomicLong peakHeapBytes = new AtomicLong();
+
+    <T> T record(String name, String projection, String plugin, Supplier<T> supplier) {
+        long allocatedBefore = getAllocatedBytes();
+        long start = System.nanoTime();
+        try {
+            return supplier.get();
+        } finally {
+            long duration = System.nanoTime() - start;
+            long allocated = allocatedBefore < 0 ? -1 : getAllocatedBytes() - allocatedBefore;
+            phases.add(new BuildPhase(name, projection, plugin, duration, allocated));
+            Runtime runtime = Runtime.getRuntime();
+            peakHeapBytes.accumulateAndGet(runtime.totalMemory() - runtime.freeMemory(), Math::max);
+        }
+    }
+
+    List<BuildPhase> getPhases() {
+        return new ArrayList<>(phases);
+    }
+
+    List<BuildPhase> getPhases(String projection) {
+        return phases.stream()
+                .filter(phase -> !phase.getProjection().isPresent()
+                                 || phase.getProjection().get().equals(projection))
+                .collect(Collectors.toList());
+    }
+
+    long getPeakHeapBytes() {
+        return peakHeapBytes.get();
+    }
+
+    private static long getAllocatedBytes() {
+        return THREADS == null ? -1 : THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static com.sun.management.ThreadMXBean findThreadBean() {
+        try {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean) {
+                com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+                if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                    return threads;
+                }
+            }
+        } catch (LinkageError e) {
+            // The JVM doesn't provide the com.sun.management extensions.
+        }
+        return null;
+    }
+}
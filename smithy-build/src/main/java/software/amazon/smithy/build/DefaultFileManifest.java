@@ -15,29 +15,64 @@
 
 package software.amazon.smithy.build;
 
+import java.io.BufferedInputStream;
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import software.amazon.smithy.model.node.JsonStreamWriter;
+import software.amazon.smithy.utils.IoUtils;
 
 /**
+ * Writes files to disk, skipping files whose contents are unchanged.
+ *
+ * <p>Files that already exist with the same contents are not rewritten,
+ * which preserves their modification times so that incremental tools that
+ * consume the generated files don't rebuild them needlessly.
+ *
+ * <p>If an executor is provided, the contents of each file are read on the
+ * calling thread and then written to disk by the executor. Writes to the
+ * same path are applied in the order they were made, and {@link #flush()}
+ * waits for every pending write to complete.
+ *
  * @see FileManifest#create
  */
 final class DefaultFileManifest implements FileManifest {
     private final Set<Path> files = new ConcurrentSkipListSet<>(Comparator.comparing(Path::toString));
+    private final Set<Path> fileIndex = ConcurrentHashMap.newKeySet();
+    private final Map<Path, Boolean> directories = new ConcurrentHashMap<>();
+    private final Map<Path, CompletableFuture<Void>> pendingWrites = new ConcurrentHashMap<>();
     private final Path baseDir;
+    private final Executor ioExecutor;
 
     DefaultFileManifest(Path baseDir) {
+        this(baseDir, null);
+    }
+
+    DefaultFileManifest(Path baseDir, Executor ioExecutor) {
         this.baseDir = baseDir;
+        this.ioExecutor = ioExecutor;
     }
 
     @Override
@@ -50,6 +85,17 @@ final class DefaultFileManifest implements FileManifest {
         return new LinkedHashSet<>(files);
     }
 
+    @Override
+    public boolean hasFile(Path file) {
+        return fileIndex.contains(resolvePath(file));
+    }
+
+    @Override
+    public List<Path> getFilesIn(Path path) {
+        Path resolved = resolvePath(path);
+        return files.stream().filter(file -> file.startsWith(resolved)).collect(Collectors.toList());
+    }
+
     @Override
     public Path addFile(Path path) {
         Objects.requireNonNull(path);
@@ -59,29 +105,39 @@ final class DefaultFileManifest implements FileManifest {
 
         Path parent = path.getParent();
         if (parent != null) {
-            try {
-                Files.createDirectories(parent);
-            } catch (IOException e) {
-                throw new SmithyBuildException(String.format(
-                        "Error create directory `%s`: %s", parent, e.getMessage()));
-            }
+            // Other threads that need the same directory block until it has been created.
+            directories.computeIfAbsent(parent, DefaultFileManifest::createDirectories);
+        }
+
+        if (fileIndex.add(path)) {
+            files.add(path);
         }
 
-        files.add(path);
         return path;
     }
 
+    private static Boolean createDirectories(Path directory) {
+        try {
+            Files.createDirectories(directory);
+            return Boolean.TRUE;
+        } catch (IOException e) {
+            throw new SmithyBuildException(String.format(
+                    "Error create directory `%s`: %s", directory, e.getMessage()));
+        }
+    }
+
     @Override
     public Path writeFile(Path path, Reader fileContentsReader) {
         path = addFile(path);
 
-        try (BufferedReader bufferedReader = new BufferedReader(fileContentsReader);
-             BufferedWriter writer = Files.newBufferedWriter(path)) {
+        try (BufferedReader bufferedReader = new BufferedReader(fileContentsReader)) {
+            StringBuilder contents = new StringBuilder();
             int len;
             char[] buffer = new char[4096];
             while ((len = bufferedReader.read(buffer)) != -1) {
-                writer.write(buffer, 0, len);
+                contents.append(buffer, 0, len);
             }
+            write(path, contents.toString().getBytes(StandardCharsets.UTF_8));
             return path;
         } catch (IOException e) {
             throw new SmithyBuildException("Unable to write contents of file `" + path + "`: " + e.getMessage(), e);
@@ -93,10 +149,145 @@ final class DefaultFileManifest implements FileManifest {
         path = addFile(path);
 
         try {
-            Files.copy(fileContentsInputStream, path, StandardCopyOption.REPLACE_EXISTING);
+            write(path, IoUtils.toByteArray(fileContentsInputStream));
             return path;
+        } catch (UncheckedIOException e) {
+            throw new SmithyBuildException("Unable to write contents of file `" + path + "`: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public void flush() {
+        List<Throwable> errors = new ArrayList<>();
+        for (Map.Entry<Path, CompletableFuture<Void>> entry : pendingWrites.entrySet()) {
+            try {
+                entry.getValue().join();
+            } catch (CompletionException e) {
+                errors.add(e.getCause());
+            }
+            // Only forget the write if no other write to the path was queued in the meantime.
+            pendingWrites.remove(entry.getKey(), entry.getValue());
+        }
+
+        if (!errors.isEmpty()) {
+            SmithyBuildException exception = errors.get(0) instanceof SmithyBuildException
+                    ? (SmithyBuildException) errors.get(0)
+                    : new SmithyBuildException(errors.get(0));
+            errors.subList(1, errors.size()).forEach(exception::addSuppressed);
+            throw exception;
+        }
+    }
+
+    @Override
+    public Path copyFile(Path path, Path source) {
+        Path target = addFile(path);
+        submit(target, () -> copyIfChanged(source, target));
+        return target;
+    }
+
+    @Override
+    public Path writeJson(Path path, Consumer<JsonStreamWriter> contents) {
+        Path target = addFile(path);
+
+        // The JSON is streamed to a temporary file that replaces the target only if its contents changed.
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(target.getParent(), "." + target.getFileName(), ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                try (JsonStreamWriter json = JsonStreamWriter.create(writer, true)) {
+                    contents.accept(json);
+                }
+                writer.write('\n');
+            }
+        } catch (IOException | UncheckedIOException e) {
+            delete(temp);
+            throw new SmithyBuildException("Unable to write contents of file `" + target + "`: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            delete(temp);
+            throw e;
+        }
+
+        Path written = temp;
+        submit(target, () -> moveIfChanged(written, target));
+        return target;
+    }
+
+    private void write(Path path, byte[] contents) {
+        submit(path, () -> writeIfChanged(path, contents));
+    }
+
+    private void submit(Path path, Runnable write) {
+        if (ioExecutor == null) {
+            write.run();
+        } else {
+            pendingWrites.compute(path, (key, previous) -> previous == null
+                    ? CompletableFuture.runAsync(write, ioExecutor)
+                    : previous.thenRunAsync(write, ioExecutor));
+        }
+    }
+
+    private static void writeIfChanged(Path path, byte[] contents) {
+        try {
+            if (Files.isRegularFile(path)
+                    && Files.size(path) == contents.length
+                    && Arrays.equals(Files.readAllBytes(path), contents)) {
+                return;
+            }
+            Files.write(path, contents);
         } catch (IOException e) {
             throw new SmithyBuildException("Unable to write contents of file `" + path + "`: " + e.getMessage(), e);
         }
     }
+
+    private static void copyIfChanged(Path source, Path target) {
+        try {
+            if (!hasSameContents(source, target)) {
+                Files.copy(source, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            throw new SmithyBuildException(String.format(
+                    "Unable to copy `%s` to `%s`: %s", source, target, e.getMessage()), e);
+        }
+    }
+
+    private static void moveIfChanged(Path source, Path target) {
+        try {
+            if (hasSameContents(source, target)) {
+                Files.delete(source);
+            } else {
+                Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            delete(source);
+            throw new SmithyBuildException("Unable to write contents of file `" + target + "`: " + e.getMessage(), e);
+        }
+    }
+
+    // Compares files a buffer at a time rather than reading them into memory.
+    private static boolean hasSameContents(Path source, Path target) throws IOException {
+        if (!Files.isRegularFile(target) || Files.size(target) != Files.size(source)) {
+            return false;
+        }
+
+        try (InputStream a = new BufferedInputStream(Files.newInputStream(source));
+             InputStream b = new BufferedInputStream(Files.newInputStream(target))) {
+            int value;
+            while ((value = a.read()) != -1) {
+                if (value != b.read()) {
+                    return false;
+                }
+            }
+            return b.read() == -1;
+        }
+    }
+
+    private static void delete(Path path) {
+        if (path != null) {
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException e) {
+                // The temporary file is left behind.
+            }
+        }
+    }
 }
@@ -15,14 +15,22 @@
 
 package software.amazon.smithy.build;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import software.amazon.smithy.model.node.JsonStreamWriter;
 import software.amazon.smithy.model.node.Node;
 
 /**
@@ -42,6 +50,38 @@ public interface FileManifest {
         return new DefaultFileManifest(basePath);
     }
 
+    /**
+     * Create a default file manifest that writes files to disk using
+     * the given executor.
+     *
+     * <p>The contents of each file are captured when the file is written,
+     * and the executor writes them to disk in the background. Callers must
+     * {@link #flush()} the manifest before reading the files it wrote.
+     *
+     * @param basePath Base path where files are written.
+     * @param ioExecutor Executor used to write files to disk.
+     * @return Returns the created manifest.
+     */
+    static FileManifest create(Path basePath, Executor ioExecutor) {
+        return new DefaultFileManifest(basePath, Objects.requireNonNull(ioExecutor));
+    }
+
+    /**
+     * Create a file manifest that streams files into a ZIP archive instead
+     * of writing them to disk.
+     *
+     * <p>Files are stored in the archive relative to the base path. A JAR
+     * is created if the archive path ends with ".jar". The archive is
+     * completed when the manifest is {@link #flush() flushed}.
+     *
+     * @param basePath Base path that files are resolved against.
+     * @param archivePath Path to the archive to create.
+     * @return Returns the created manifest.
+     */
+    static FileManifest createArchive(Path basePath, Path archivePath) {
+        return new ArchiveFileManifest(basePath, archivePath);
+    }
+
     /**
      * Gets the base directory of the manifest.
      *
@@ -93,6 +133,29 @@ public interface FileManifest {
     @SuppressWarnings("unused")
     Path writeFile(Path path, InputStream fileContentsInputStream);
 
+    /**
+     * Waits for any files that are written asynchronously to be written.
+     *
+     * <p>Manifests that write files synchronously do nothing. Manifests
+     * that write to an archive complete the archive.
+     *
+     * @throws SmithyBuildException if a file could not be written.
+     */
+    default void flush() {
+    }
+
+    /**
+     * Discards the incomplete output of the manifest after the files it
+     * was writing could not be completed, for example because a plugin
+     * failed.
+     *
+     * <p>Manifests that write files directly to disk do nothing. Manifests
+     * that write to an archive close and delete the incomplete archive.
+     * Discarding a manifest that was already flushed does nothing.
+     */
+    default void discard() {
+    }
+
     /**
      * Resolves a path against the base path of the manifest.
      *
@@ -177,6 +240,24 @@ public interface FileManifest {
         return writeFile(Paths.get(path), fileContentsInputStream);
     }
 
+    /**
+     * Adds a file to the result by copying the bytes of an existing file.
+     *
+     * <p>The contents of the file are copied as-is without being decoded.
+     * Implementations that write to disk may use a file system level copy.
+     *
+     * @param path Relative path to the file to create.
+     * @param source Existing file to copy.
+     * @return Returns the resolved path.
+     */
+    default Path copyFile(Path path, Path source) {
+        try (InputStream stream = Files.newInputStream(source)) {
+            return writeFile(path, stream);
+        } catch (IOException e) {
+            throw new SmithyBuildException("Unable to read `" + source + "`: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Adds a Node artifact, converting it automatically to JSON.
      *
@@ -201,6 +282,64 @@ public interface FileManifest {
         return writeJson(Paths.get(path), node);
     }
 
+    /**
+     * Adds a JSON artifact that is written incrementally.
+     *
+     * <p>The given consumer writes the contents of the file to a
+     * pretty-printed {@link JsonStreamWriter}, allowing large documents
+     * to be written without first creating them as a {@link Node}. The
+     * default implementation buffers the JSON in memory, while the
+     * manifest created by {@link #create} streams it to disk.
+     *
+     * @param path Relative path to write to.
+     * @param contents Consumer that writes the JSON document.
+     * @return Returns the resolved path.
+     */
+    default Path writeJson(Path path, Consumer<JsonStreamWriter> contents) {
+        StringWriter writer = new StringWriter();
+        try (JsonStreamWriter json = JsonStreamWriter.create(writer, true)) {
+            contents.accept(json);
+        }
+        return writeFile(path, writer.append('\n').toString());
+    }
+
+    /**
+     * Adds a JSON artifact that is written incrementally.
+     *
+     * @param path Relative path to write to.
+     * @param contents Consumer that writes the JSON document.
+     * @return Returns the resolved path.
+     * @see #writeJson(Path, Consumer)
+     */
+    default Path writeJson(String path, Consumer<JsonStreamWriter> contents) {
+        return writeJson(Paths.get(path), contents);
+    }
+
+    /**
+     * Reads the contents of a file in the manifest.
+     *
+     * <p>The default implementation reads the file from disk, so manifests
+     * that write files asynchronously must be {@link #flush() flushed}
+     * first. Manifests that don't store files on disk override this method
+     * to read files from where they are stored, or return an empty Optional
+     * if the contents of their files can't be read back.
+     *
+     * @param file Relative or absolute path to the file to read.
+     * @return Returns the contents of the file, or an empty Optional if the file can't be read.
+     */
+    default Optional<byte[]> readFile(Path file) {
+        Path resolved = resolvePath(file);
+        if (!getFiles().contains(resolved) || !Files.isRegularFile(resolved)) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(Files.readAllBytes(resolved));
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
     /**
      * Checks if the given file is stored in the manifest.
      *
@@ -17,13 +17,11 @@ package software.amazon.smithy.build;
 
 import java.util.Map;
 import java.util.regex.Pattern;
-import software.amazon.smithy.model.node.ArrayNode;
 import software.amazon.smithy.model.node.Node;
-import software.amazon.smithy.model.node.NodeVisitor;
+import software.amazon.smithy.model.node.NodeRewriter;
 import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.model.node.StringNode;
 import software.amazon.smithy.utils.MapUtils;
-import software.amazon.smithy.utils.Pair;
 
 /**
  * Finds string set in a Node object string value and replaces them with a
@@ -91,34 +89,17 @@ public final class JsonSubstitutions {
     /**
      * Replaces strings in the given node.
      *
+     * <p>Arrays and objects that don't contain a replaced string are not
+     * copied, and the given node is returned if nothing was replaced.
+     *
      * @param node Node to update.
      * @return Returns the updated node.
      */
     public Node apply(Node node) {
-        return node.accept(new SubstitutionVisitor()).expectObjectNode();
+        return NodeRewriter.create(this::substitute).rewrite(node).expectObjectNode();
     }
 
-    private final class SubstitutionVisitor extends NodeVisitor.Default<Node> {
-        @Override
-        protected Node getDefault(Node value) {
-            return value;
-        }
-
-        @Override
-        public Node arrayNode(ArrayNode node) {
-            return node.getElements().stream().map(element -> element.accept(this)).collect(ArrayNode.collect());
-        }
-
-        @Override
-        public Node objectNode(ObjectNode node) {
-            return node.getMembers().entrySet().stream()
-                    .map(entry -> Pair.of(entry.getKey(), entry.getValue().accept(this)))
-                    .collect(ObjectNode.collect(Pair::getLeft, Pair::getRight));
-        }
-
-        @Override
-        public Node stringNode(StringNode node) {
-            return findAndReplace.getOrDefault(node.getValue(), node);
-        }
+    private Node substitute(Node node) {
+        return node.asStringNode().map(StringNode::getValue).map(findAndReplace::get).orElse(node);
     }
 }
@@ -203,6 +203,11 @@ public final class MockManifest implements FileManifest {
         return getFileBytes(Paths.get(file));
     }
 
+    @Override
+    public Optional<byte[]> readFile(Path file) {
+        return getFileBytes(file);
+    }
+
     /**
      * Expects that the given file was stored and returns the bytes.
      *
@@ -28,6 +28,7 @@ import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.model.validation.ValidationEvent;
+import software.amazon.smithy.utils.ListUtils;
 import software.amazon.smithy.utils.SetUtils;
 import software.amazon.smithy.utils.SmithyBuilder;
 
@@ -44,6 +45,10 @@ public final class PluginContext {
     private final FileManifest fileManifest;
     private final ClassLoader pluginClassLoader;
     private final Set<Path> sources;
+    private final List<BuildPhase> phases;
+    private final long peakHeapBytes;
+    private volatile boolean sourcesRead;
+    private volatile boolean runMetricsRead;
 
     private PluginContext(Builder builder) {
         model = SmithyBuilder.requiredState("model", builder.model);
@@ -55,6 +60,8 @@ public final class PluginContext {
         settings = builder.settings;
         pluginClassLoader = builder.pluginClassLoader;
         sources = SetUtils.copyOf(builder.sources);
+        phases = ListUtils.copyOf(builder.phases);
+        peakHeapBytes = builder.peakHeapBytes;
     }
 
     /**
@@ -154,9 +161,62 @@ public final class PluginContext {
      * @return Returns the source models.
      */
     public Set<Path> getSources() {
+        sourcesRead = true;
         return Collections.unmodifiableSet(sources);
     }
 
+    /**
+     * Checks if the plugin called {@link #getSources()}.
+     *
+     * <p>The output of a plugin that didn't read the sources doesn't
+     * depend on them, so it can be cached independently of the sources.
+     *
+     * @return Returns true if the sources were read.
+     */
+    boolean hasReadSources() {
+        return sourcesRead;
+    }
+
+    /**
+     * Gets the phases of the build that completed before the plugin was
+     * executed.
+     *
+     * <p>This includes the phases that are not specific to a projection
+     * and the phases of the projection being applied. Plugins that
+     * {@link SmithyBuildPlugin#isSerial() run serially} see the phases of
+     * every plugin that can run concurrently.
+     *
+     * @return Returns the completed build phases.
+     */
+    public List<BuildPhase> getPhases() {
+        runMetricsRead = true;
+        return phases;
+    }
+
+    /**
+     * Gets the largest amount of heap memory in use observed when a phase
+     * of the build completed before the plugin was executed.
+     *
+     * @return Returns the sampled heap high-water mark in bytes, or 0 if unknown.
+     */
+    public long getPeakHeapBytes() {
+        runMetricsRead = true;
+        return peakHeapBytes;
+    }
+
+    /**
+     * Checks if the plugin called {@link #getPhases()} or
+     * {@link #getPeakHeapBytes()}.
+     *
+     * <p>These metrics are different each time the build runs, so the
+     * output of a plugin that read them can't be cached.
+     *
+     * @return Returns true if the metrics of the build were read.
+     */
+    boolean hasReadRunMetrics() {
+        return runMetricsRead;
+    }
+
     /**
      * Builds a {@link PluginContext}.
      */
@@ -170,6 +230,8 @@ public final class PluginContext {
         private FileManifest fileManifest;
         private ClassLoader pluginClassLoader;
         private Set<Path> sources = Collections.emptySet();
+        private List<BuildPhase> phases = Collections.emptyList();
+        private long peakHeapBytes;
 
         private Builder() {}
 
@@ -271,5 +333,27 @@ public final class PluginContext {
             this.sources = new HashSet<>(sources);
             return this;
         }
+
+        /**
+         * Sets the phases of the build that have completed.
+         *
+         * @param phases Completed phases to set.
+         * @return Returns the builder.
+         */
+        public Builder phases(List<BuildPhase> phases) {
+            this.phases = Objects.requireNonNull(phases);
+            return this;
+        }
+
+        /**
+         * Sets the sampled heap high-water mark of the build.
+         *
+         * @param peakHeapBytes Peak heap usage in bytes.
+         * @return Returns the builder.
+         */
+        public Builder peakHeapBytes(long peakHeapBytes) {
+            this.peakHeapBytes = peakHeapBytes;
+            return this;
+        }
     }
 }
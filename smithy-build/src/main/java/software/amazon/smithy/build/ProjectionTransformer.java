@@ -22,9 +22,11 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.transform.ModelTransformer;
+import software.amazon.smithy.model.transform.TransformPipeline;
 import software.amazon.smithy.utils.ListUtils;
 
 /**
@@ -57,6 +59,25 @@ public interface ProjectionTransformer {
      */
     BiFunction<ModelTransformer, Model, Model> createTransformer(List<String> arguments);
 
+    /**
+     * Creates a function that applies the transformer to a
+     * {@link TransformPipeline}.
+     *
+     * <p>Transformers applied to a pipeline are fused with the other
+     * transformers of a projection so that an intermediate model is not
+     * created after each transformer. The default implementation builds
+     * the model accumulated by the pipeline and applies the function
+     * returned from {@link #createTransformer} to it.
+     *
+     * @param arguments Arguments used to create the transformer.
+     * @return Returns the created pipeline transformer.
+     * @throws IllegalArgumentException if the arguments are invalid.
+     */
+    default Consumer<TransformPipeline> createPipelineTransformer(List<String> arguments) {
+        BiFunction<ModelTransformer, Model, Model> transformer = createTransformer(arguments);
+        return pipeline -> pipeline.transform(transformer);
+    }
+
     /**
      * Creates a {@code ProjectionTransformer} factory function using SPI
      * and the current thread's context class loader.
@@ -22,6 +22,7 @@ import java.util.HashSet;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -38,6 +39,8 @@ public final class SmithyBuild {
     SmithyBuildConfig config;
     Path importBasePath;
     Path outputDirectory;
+    Path cacheDirectory;
+    Executor executor;
     Function<String, Optional<ProjectionTransformer>> transformFactory;
     Function<String, Optional<SmithyBuildPlugin>> pluginFactory;
     Function<Path, FileManifest> fileManifestFactory;
@@ -194,6 +197,11 @@ public final class SmithyBuild {
      * <p>A default implementation of {@link FileManifest#create} will be
      * used if a custom factory is not provided.
      *
+     * <p>Projections that are configured to store their artifacts in an
+     * archive still do so when a custom factory is provided. The archive
+     * of each plugin is written as a single file to a manifest that the
+     * factory creates for the projection directory.
+     *
      * @param fileManifestFactory Factory that accepts a base path and
      *  returns a {@link FileManifest}.
      * @return Returns the builder.
@@ -317,6 +325,53 @@ public final class SmithyBuild {
         return this;
     }
 
+    /**
+     * Sets the executor used to build projections and to execute the
+     * plugins of each projection.
+     *
+     * <p>Projections and plugins are submitted to the executor, and the
+     * thread that waits on a task runs it if the executor has not started
+     * it yet. This means a bounded executor limits concurrency without
+     * deadlocking, and an executor that never runs tasks (for example,
+     * {@code task -> { }}) or that runs them on the calling thread builds
+     * everything sequentially.
+     *
+     * <p>The common {@link java.util.concurrent.ForkJoinPool} is used by default.
+     *
+     * @param executor Executor used to run projections and plugins.
+     * @return Returns the builder.
+     * @see SmithyBuildPlugin#isSerial()
+     */
+    public SmithyBuild executor(Executor executor) {
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Sets a directory used to cache the files created by plugins.
+     *
+     * <p>When set, the files created by each plugin are stored in the cache
+     * under a hash of the projected model, the projection configuration,
+     * and the plugin name, settings, and version. The contents of the
+     * registered sources are only part of the hash for plugins that read
+     * them using {@link PluginContext#getSources()}. If a plugin would be
+     * executed with inputs that were previously cached, the cached files
+     * are written to the plugin's {@link FileManifest} instead of executing
+     * the plugin. The files of plugins that read the metrics of the build
+     * using {@link PluginContext#getPhases()} or
+     * {@link PluginContext#getPeakHeapBytes()} are never cached.
+     *
+     * <p>The cache is disabled by default.
+     *
+     * @param cacheDirectory Directory used to store cached files.
+     * @return Returns the builder.
+     * @see SmithyBuildResult#getCacheHits()
+     */
+    public SmithyBuild cacheDirectory(Path cacheDirectory) {
+        this.cacheDirectory = cacheDirectory;
+        return this;
+    }
+
     /**
      * Sets a predicate that accepts the name of a projection and returns
      * true if the projection should be built.
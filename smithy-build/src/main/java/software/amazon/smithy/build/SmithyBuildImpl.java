@@ -17,14 +17,22 @@ package software.amazon.smithy.build;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
-import java.util.function.BiFunction;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
@@ -39,7 +47,9 @@ import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.loader.ModelAssembler;
 import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.model.transform.ModelTransformer;
+import software.amazon.smithy.model.transform.TransformPipeline;
 import software.amazon.smithy.model.validation.ValidatedResult;
+import software.amazon.smithy.utils.Pair;
 import software.amazon.smithy.utils.SmithyBuilder;
 
 final class SmithyBuildImpl {
@@ -49,9 +59,10 @@ final class SmithyBuildImpl {
 
     private final SmithyBuildConfig config;
     private final Function<Path, FileManifest> fileManifestFactory;
+    private final boolean customFileManifests;
     private final Supplier<ModelAssembler> modelAssemblerSupplier;
     private final Path outputDirectory;
-    private final Map<String, BiFunction<ModelTransformer, Model, Model>> transformers = new HashMap<>();
+    private final TransformGraph transformGraph = new TransformGraph();
     private final ModelTransformer modelTransformer;
     private final Function<String, Optional<ProjectionTransformer>> transformFactory;
     private final Function<String, Optional<SmithyBuildPlugin>> pluginFactory;
@@ -61,6 +72,9 @@ final class SmithyBuildImpl {
     private final Set<Path> sources;
     private final Predicate<String> projectionFilter;
     private final Predicate<String> pluginFilter;
+    private final BuildCache cache;
+    private final Executor executor;
+    private final BuildPhaseRecorder recorder = new BuildPhaseRecorder();
 
     SmithyBuildImpl(SmithyBuild builder) {
         config = prepareConfig(SmithyBuilder.requiredState("config", builder.config));
@@ -68,6 +82,8 @@ final class SmithyBuildImpl {
         fileManifestFactory = builder.fileManifestFactory != null
                 ? builder.fileManifestFactory
                 : FileManifest::create;
+        // Archives are written to disk unless a custom factory decides where files are stored.
+        customFileManifests = builder.fileManifestFactory != null;
         modelAssemblerSupplier = builder.modelAssemblerSupplier != null
                 ? builder.modelAssemblerSupplier
                 : Model::assembler;
@@ -99,11 +115,14 @@ final class SmithyBuildImpl {
                 : Paths.get(".").toAbsolutePath().normalize();
 
         // Create the transformers for each projection.
-        config.getProjections().forEach((k, p) -> transformers.put(k, createTransformer(k, p, new LinkedHashSet<>())));
+        config.getProjections().forEach((k, p) -> transformGraph.addProjection(
+                k, createTransformer(k, p, new LinkedHashSet<>())));
 
         pluginClassLoader = builder.pluginClassLoader;
         projectionFilter = builder.projectionFilter;
         pluginFilter = builder.pluginFilter;
+        cache = builder.cacheDirectory != null ? new BuildCache(builder.cacheDirectory, sources) : null;
+        executor = builder.executor != null ? builder.executor : ForkJoinPool.commonPool();
     }
 
     private static SmithyBuildConfig prepareConfig(SmithyBuildConfig config) {
@@ -151,17 +170,36 @@ final class SmithyBuildImpl {
     }
 
     SmithyBuildResult applyAllProjections() {
-        Model resolvedModel = createBaseModel();
+        Model resolvedModel = recorder.record(BuildPhase.ASSEMBLE, null, null, this::createBaseModel);
         SmithyBuildResult.Builder builder = SmithyBuildResult.builder();
-        config.getProjections().entrySet().stream()
+        List<Map.Entry<String, ProjectionConfig>> projections = config.getProjections().entrySet().stream()
                 .filter(e -> !e.getValue().isAbstract())
                 .filter(e -> projectionFilter.test(e.getKey()))
                 .sorted(Comparator.comparing(Map.Entry::getKey))
-                .parallel()
-                .map(e -> applyProjection(e.getKey(), e.getValue(), resolvedModel))
-                .collect(Collectors.toList())
+                .collect(Collectors.toList());
+
+        // Projections that don't import additional models all transform the same
+        // model, so transforms they have in common are only applied once.
+        TransformGraph.Evaluation evaluation = transformGraph.evaluate(modelTransformer, resolvedModel, projections
+                .stream()
+                .filter(e -> e.getValue().getImports().isEmpty())
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList()));
+
+        // Hash the model shared by each projection once rather than once per projection.
+        String resolvedModelHash = cache == null ? null : cache.hashModel(resolvedModel);
+
+        invokeAll(projections.stream()
+                .<Callable<ProjectionResult>>map(e -> () -> applyProjection(
+                        e.getKey(), e.getValue(), resolvedModel, resolvedModelHash, evaluation))
+                .collect(Collectors.toList()))
                 .forEach(builder::addProjectionResult);
-        return builder.build();
+
+        if (cache != null) {
+            builder.cacheHits(cache.getHits()).cacheMisses(cache.getMisses());
+        }
+
+        return builder.phases(recorder.getPhases()).peakHeapBytes(recorder.getPeakHeapBytes()).build();
     }
 
     private Model createBaseModel() {
@@ -177,7 +215,13 @@ final class SmithyBuildImpl {
         return resolvedModel;
     }
 
-    private ProjectionResult applyProjection(String projectionName, ProjectionConfig projection, Model resolvedModel) {
+    private ProjectionResult applyProjection(
+            String projectionName,
+            ProjectionConfig projection,
+            Model resolvedModel,
+            String resolvedModelHash,
+            TransformGraph.Evaluation evaluation
+    ) {
         LOGGER.fine(() -> String.format("Creating the `%s` projection", projectionName));
 
         // Resolve imports.
@@ -187,7 +231,8 @@ final class SmithyBuildImpl {
                     projectionName, projection.getImports()));
             ModelAssembler assembler = modelAssemblerSupplier.get().addModel(resolvedModel);
             projection.getImports().forEach(path -> assembler.addImport(importBasePath.resolve(path)));
-            ValidatedResult<Model> resolvedResult = assembler.assemble();
+            ValidatedResult<Model> resolvedResult = recorder.record(
+                    BuildPhase.IMPORT, projectionName, null, assembler::assemble);
 
             // Fail if the model can't be merged with the imports.
             if (!resolvedResult.getResult().isPresent()) {
@@ -207,44 +252,78 @@ final class SmithyBuildImpl {
         Path baseProjectionDir = outputDirectory.resolve(projectionName);
 
         // Project the model and collect the results.
-        Model projectedModel = transformers
-                .get(projectionName)
-                .apply(modelTransformer, resolvedModel);
+        Model importedModel = resolvedModel;
+        Model projectedModel = recorder.record(BuildPhase.TRANSFORM, projectionName, null, () -> {
+            return projection.getImports().isEmpty()
+                    ? evaluation.apply(projectionName)
+                    : transformGraph.apply(projectionName, modelTransformer, importedModel);
+        });
 
-        ValidatedResult<Model> modelResult = modelAssemblerSupplier.get().addModel(projectedModel).assemble();
+        ValidatedResult<Model> modelResult = recorder.record(BuildPhase.VALIDATE, projectionName, null, () ->
+                modelAssemblerSupplier.get().addModel(projectedModel).assemble());
 
         ProjectionResult.Builder resultBuilder = ProjectionResult.builder()
                 .projectionName(projectionName)
                 .model(projectedModel)
                 .events(modelResult.getValidationEvents());
 
+        // The part of the cache key that is shared by each plugin is computed once.
+        // Projections with imports project their own model rather than the shared one.
+        String projectionHash = cache == null
+                ? null
+                : cache.hashProjection(projection, projectedModel, projection.getImports().isEmpty()
+                        ? resolvedModelHash
+                        : cache.hashModel(resolvedModel), modelResult.getValidationEvents());
+
+        // Plugins that aren't thread-safe are applied one at a time after the others have completed.
+        List<Callable<Optional<Pair<String, FileManifest>>>> concurrent = new ArrayList<>();
+        List<Callable<Optional<Pair<String, FileManifest>>>> serial = new ArrayList<>();
         for (Map.Entry<String, ObjectNode> entry : resolvePlugins(projection).entrySet()) {
-            if (pluginFilter.test(entry.getKey())) {
-                applyPlugin(projectionName, projection, baseProjectionDir, entry.getKey(), entry.getValue(),
-                            projectedModel, resolvedModel, modelResult, resultBuilder);
+            String pluginName = entry.getKey();
+            if (pluginFilter.test(pluginName)) {
+                SmithyBuildPlugin resolved = pluginFactory.apply(pluginName).orElse(null);
+                Callable<Optional<Pair<String, FileManifest>>> task = () -> applyPlugin(
+                        projectionName, projection, baseProjectionDir, pluginName, resolved, entry.getValue(),
+                        projectedModel, importedModel, modelResult, projectionHash)
+                        .map(manifest -> Pair.of(pluginName, manifest));
+                if (resolved != null && resolved.isSerial()) {
+                    serial.add(task);
+                } else {
+                    concurrent.add(task);
+                }
             }
         }
 
+        List<Optional<Pair<String, FileManifest>>> manifests = new ArrayList<>(invokeAll(concurrent));
+        for (Callable<Optional<Pair<String, FileManifest>>> task : serial) {
+            manifests.add(call(task));
+        }
+
+        // The result builder isn't thread-safe, so manifests are only added once every plugin has completed.
+        manifests.stream()
+                .flatMap(manifest -> manifest.map(Stream::of).orElseGet(Stream::empty))
+                .forEach(pair -> resultBuilder.addPluginManifest(pair.getLeft(), pair.getRight()));
+
         return resultBuilder.build();
     }
 
-    private void applyPlugin(
+    private Optional<FileManifest> applyPlugin(
             String projectionName,
             ProjectionConfig projection,
             Path baseProjectionDir,
             String pluginName,
+            SmithyBuildPlugin resolved,
             ObjectNode pluginSettings,
             Model projectedModel,
             Model resolvedModel,
             ValidatedResult<Model> modelResult,
-            ProjectionResult.Builder resultBuilder
+            String projectionHash
     ) {
         // Create the manifest where plugin artifacts are stored.
         Path pluginBaseDir = baseProjectionDir.resolve(pluginName);
-        FileManifest manifest = fileManifestFactory.apply(pluginBaseDir);
-
-        // Find the desired plugin in the SPI found plugins.
-        SmithyBuildPlugin resolved = pluginFactory.apply(pluginName).orElse(null);
+        FileManifest manifest = projection.getArchive()
+                .map(format -> createArchive(pluginBaseDir, baseProjectionDir, pluginName + "." + format))
+                .orElseGet(() -> fileManifestFactory.apply(pluginBaseDir));
 
         if (resolved == null) {
             LOGGER.info(() -> String.format(
@@ -255,21 +334,135 @@ final class SmithyBuildImpl {
                     "Skipping `%s` plugin for `%s` projection because the model is broken",
                     pluginName, projectionName));
         } else {
+            try {
+                return Optional.of(recorder.record(BuildPhase.PLUGIN, projectionName, pluginName, () -> executePlugin(
+                        projectionName, projection, pluginName, resolved, pluginSettings, projectedModel,
+                        resolvedModel, modelResult, projectionHash, manifest)));
+            } catch (RuntimeException e) {
+                // Don't leave incomplete output, like a truncated archive, behind when a plugin fails.
+                manifest.discard();
+                throw e;
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    // Archives are streamed to disk by default. A custom factory creates a manifest for the projection
+    // directory, and the archive is written to it as a single file once it's complete.
+    private FileManifest createArchive(Path pluginBaseDir, Path baseProjectionDir, String archiveName) {
+        Path archive = baseProjectionDir.resolve(archiveName);
+        return customFileManifests
+                ? new ArchiveFileManifest(pluginBaseDir, archive, fileManifestFactory.apply(baseProjectionDir))
+                : FileManifest.createArchive(pluginBaseDir, archive);
+    }
+
+    private FileManifest executePlugin(
+            String projectionName,
+            ProjectionConfig projection,
+            String pluginName,
+            SmithyBuildPlugin resolved,
+            ObjectNode pluginSettings,
+            Model projectedModel,
+            Model resolvedModel,
+            ValidatedResult<Model> modelResult,
+            String projectionHash,
+            FileManifest manifest
+    ) {
+        String cacheKey = cache == null
+                ? null
+                : cache.createKey(projectionHash, pluginName, pluginSettings, resolved);
+
+        if (cacheKey != null && cache.restore(cacheKey, manifest)) {
+            manifest.flush();
             LOGGER.info(() -> String.format(
-                    "Applying `%s` plugin to `%s` projection",
+                    "Restored `%s` plugin of `%s` projection from the build cache",
                     pluginName, projectionName));
-            resolved.execute(PluginContext.builder()
-                    .model(projectedModel)
-                    .originalModel(resolvedModel)
-                    .projection(projectionName, projection)
-                    .events(modelResult.getValidationEvents())
-                    .settings(pluginSettings)
-                    .fileManifest(manifest)
-                    .pluginClassLoader(pluginClassLoader)
-                    .sources(sources)
-                    .build());
-            resultBuilder.addPluginManifest(pluginName, manifest);
+            return manifest;
+        }
+
+        LOGGER.info(() -> String.format(
+                "Applying `%s` plugin to `%s` projection",
+                pluginName, projectionName));
+        PluginContext context = PluginContext.builder()
+                .model(projectedModel)
+                .originalModel(resolvedModel)
+                .projection(projectionName, projection)
+                .events(modelResult.getValidationEvents())
+                .settings(pluginSettings)
+                .fileManifest(manifest)
+                .pluginClassLoader(pluginClassLoader)
+                .sources(sources)
+                .phases(recorder.getPhases(projectionName))
+                .peakHeapBytes(recorder.getPeakHeapBytes())
+                .build();
+        resolved.execute(context);
+        manifest.flush();
+
+        // The output of plugins that read per-run metrics, like build-info, would be stale if restored.
+        if (cacheKey != null && !context.hasReadRunMetrics()) {
+            cache.store(cacheKey, manifest, context.hasReadSources());
+        }
+
+        return manifest;
+    }
+
+    // Submits each task to the executor and waits for the results in order. Tasks that haven't been
+    // started by the executor by the time they're waited on are run by the calling thread, which
+    // bounds concurrency to the executor while ensuring that nested tasks can't deadlock.
+    private <T> List<T> invokeAll(List<Callable<T>> tasks) {
+        if (tasks.size() <= 1) {
+            List<T> result = new ArrayList<>(tasks.size());
+            for (Callable<T> task : tasks) {
+                result.add(call(task));
+            }
+            return result;
+        }
+
+        List<FutureTask<T>> futures = new ArrayList<>(tasks.size());
+        for (Callable<T> task : tasks) {
+            FutureTask<T> future = new FutureTask<>(task);
+            futures.add(future);
+            try {
+                executor.execute(future);
+            } catch (RejectedExecutionException e) {
+                LOGGER.fine(() -> "Build task rejected by executor; running it on the calling thread");
+            }
+        }
+
+        List<T> result = new ArrayList<>(futures.size());
+        try {
+            for (FutureTask<T> future : futures) {
+                future.run();
+                result.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SmithyBuildException("Interrupted while waiting for build tasks to complete", e);
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } finally {
+            futures.forEach(future -> future.cancel(false));
+        }
+
+        return result;
+    }
+
+    private static <T> T call(Callable<T> task) {
+        try {
+            return task.call();
+        } catch (Exception e) {
+            throw unwrap(e);
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable e) {
+        if (e instanceof RuntimeException) {
+            return (RuntimeException) e;
+        } else if (e instanceof Error) {
+            throw (Error) e;
         }
+        return new SmithyBuildException(e);
     }
 
     private Map<String, ObjectNode> resolvePlugins(ProjectionConfig projection) {
@@ -278,7 +471,7 @@ final class SmithyBuildImpl {
         return result;
     }
 
-    private BiFunction<ModelTransformer, Model, Model> createTransformer(
+    private List<Pair<TransformConfig, Consumer<TransformPipeline>>> createTransformer(
             String projectionName,
             ProjectionConfig projection,
             Set<String> visited
@@ -291,14 +484,13 @@ final class SmithyBuildImpl {
 
         visited.add(projectionName);
 
-        // Create a composed transformer of each created transformer.
+        // Flatten the transforms of the projection and of any applied projections.
         return projection.getTransforms().stream()
                 .flatMap(transform -> getTransform(projectionName, transform, visited))
-                .reduce((a, b) -> (transformer, model) -> b.apply(transformer, a.apply(transformer, model)))
-                .orElse(((transformer, model) -> model));
+                .collect(Collectors.toList());
     }
 
-    private Stream<BiFunction<ModelTransformer, Model, Model>> getTransform(
+    private Stream<Pair<TransformConfig, Consumer<TransformPipeline>>> getTransform(
             String projection,
             TransformConfig config,
             Set<String> visited
@@ -306,18 +498,18 @@ final class SmithyBuildImpl {
         String name = config.getName();
 
         if (name.equals(APPLY_PROJECTIONS)) {
-            return config.getArgs().stream().map(arg -> {
+            return config.getArgs().stream().flatMap(arg -> {
                 // Copy the set of visited projections to a new set;
                 // visiting the same projection isn't a problem, it's
                 // cycles that's problematic.
                 ProjectionConfig targetProjection = findProjection(projection, arg);
-                return createTransformer(arg, targetProjection, new LinkedHashSet<>(visited));
+                return createTransformer(arg, targetProjection, new LinkedHashSet<>(visited)).stream();
             });
         }
 
         ProjectionTransformer transformer = transformFactory.apply(name)
                 .orElseThrow(() -> new UnknownTransformException("Unable to find a transform for `" + name + "`."));
-        return Stream.of(transformer.createTransformer(config.getArgs()));
+        return Stream.of(Pair.of(config, transformer.createPipelineTransformer(config.getArgs())));
     }
 
     private ProjectionConfig findProjection(String projection, String name) {
@@ -61,6 +61,23 @@ public interface SmithyBuildPlugin {
         return true;
     }
 
+    /**
+     * Returns true if the plugin must not be executed concurrently with
+     * the other plugins of a projection.
+     *
+     * <p>By default, the plugins of a projection are executed concurrently.
+     * Plugins that are not thread-safe should return true so that they are
+     * executed one at a time on the thread that applies the projection,
+     * after the concurrently executed plugins have completed. Note that
+     * projections are built concurrently too, so a plugin can still be
+     * executed concurrently for different projections.
+     *
+     * @return Returns true if the plugin is executed serially.
+     */
+    default boolean isSerial() {
+        return false;
+    }
+
     /**
      * Executes the plugin, creating any number of artifacts.
      *
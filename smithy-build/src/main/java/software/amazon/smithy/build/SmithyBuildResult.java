@@ -31,9 +31,17 @@ import software.amazon.smithy.utils.SmithyBuilder;
  */
 public final class SmithyBuildResult {
     private final List<ProjectionResult> results;
+    private final int cacheHits;
+    private final int cacheMisses;
+    private final List<BuildPhase> phases;
+    private final long peakHeapBytes;
 
     private SmithyBuildResult(Builder builder) {
         results = ListUtils.copyOf(builder.results);
+        cacheHits = builder.cacheHits;
+        cacheMisses = builder.cacheMisses;
+        phases = ListUtils.copyOf(builder.phases);
+        peakHeapBytes = builder.peakHeapBytes;
     }
 
     /**
@@ -119,11 +127,64 @@ public final class SmithyBuildResult {
         return results.isEmpty();
     }
 
+    /**
+     * Gets the number of plugins whose files were restored from the build
+     * cache rather than executing the plugin.
+     *
+     * @return Returns the number of cache hits.
+     * @see SmithyBuild#cacheDirectory
+     */
+    public int getCacheHits() {
+        return cacheHits;
+    }
+
+    /**
+     * Gets the number of plugins that were executed because their files
+     * were not found in the build cache.
+     *
+     * <p>This value is always 0 when the build cache is disabled.
+     *
+     * @return Returns the number of cache misses.
+     * @see SmithyBuild#cacheDirectory
+     */
+    public int getCacheMisses() {
+        return cacheMisses;
+    }
+
+    /**
+     * Gets the wall-clock time and allocations of each phase of the build.
+     *
+     * <p>Phases are listed in the order in which they completed, which
+     * varies between builds when projections and plugins run concurrently.
+     *
+     * @return Returns the recorded build phases.
+     */
+    public List<BuildPhase> getPhases() {
+        return phases;
+    }
+
+    /**
+     * Gets the largest amount of heap memory in use observed when a phase
+     * of the build completed.
+     *
+     * <p>Heap usage is only sampled between phases, so this value is a
+     * lower bound of the actual high-water mark.
+     *
+     * @return Returns the sampled heap high-water mark in bytes, or 0 if unknown.
+     */
+    public long getPeakHeapBytes() {
+        return peakHeapBytes;
+    }
+
     /**
      * Creates a SmithyBuildResult.
      */
     public static final class Builder implements SmithyBuilder<SmithyBuildResult> {
         private final List<ProjectionResult> results = new ArrayList<>();
+        private int cacheHits;
+        private int cacheMisses;
+        private final List<BuildPhase> phases = new ArrayList<>();
+        private long peakHeapBytes;
 
         private Builder() {}
 
@@ -142,5 +203,50 @@ public final class SmithyBuildResult {
             results.add(result);
             return this;
         }
+
+        /**
+         * Sets the number of build cache hits.
+         *
+         * @param cacheHits Number of hits.
+         * @return Returns the builder.
+         */
+        public Builder cacheHits(int cacheHits) {
+            this.cacheHits = cacheHits;
+            return this;
+        }
+
+        /**
+         * Sets the number of build cache misses.
+         *
+         * @param cacheMisses Number of misses.
+         * @return Returns the builder.
+         */
+        public Builder cacheMisses(int cacheMisses) {
+            this.cacheMisses = cacheMisses;
+            return this;
+        }
+
+        /**
+         * Sets the recorded build phases.
+         *
+         * @param phases Phases to set.
+         * @return Returns the builder.
+         */
+        public Builder phases(List<BuildPhase> phases) {
+            this.phases.clear();
+            this.phases.addAll(phases);
+            return this;
+        }
+
+        /**
+         * Sets the sampled heap high-water mark of the build.
+         *
+         * @param peakHeapBytes Peak heap usage in bytes.
+         * @return Returns the builder.
+         */
+        public Builder peakHeapBytes(long peakHeapBytes) {
+            this.peakHeapBytes = peakHeapBytes;
+            return this;
+        }
     }
 }
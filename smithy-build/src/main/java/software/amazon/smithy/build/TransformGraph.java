@@ -0,0 +1,235 @@
+/*
+ * Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.build;
+
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+import software.amazon.smithy.build.model.TransformConfig;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.transform.ModelTransformer;
+import software.amazon.smithy.model.transform.TransformPipeline;
+import software.amazon.smithy.utils.Pair;
+
+/**
+ * A prefix tree of the transforms applied by each projection.
+ *
+ * <p>Projections commonly {@code apply} the same abstract projections,
+ * which means that many projections begin with the same sequence of
+ * transforms. Each projection is flattened into its list of transforms
+ * (including the transforms of applied projections), and transforms with
+ * the same name and arguments at the same position are merged into a single
+ * node of the tree.
+ *
+ * <p>An {@link Evaluation} computes the model produced by a node that is
+ * shared by multiple projections once and reuses it for every projection
+ * that depends on it. A cached model is released as soon as every
+ * projection that depends on it has been evaluated, and it is only softly
+ * referenced until then, allowing the garbage collector to reclaim it under
+ * memory pressure; a reclaimed model is recomputed from its closest cached
+ * ancestor when it is needed again.
+ */
+final class TransformGraph {
+    private static final Logger LOGGER = Logger.getLogger(TransformGraph.class.getName());
+
+    private final Node root = new Node(null, null);
+    private final Map<String, Node> projections = new HashMap<>();
+
+    /**
+     * Adds the flattened transforms of a projection to the graph.
+     *
+     * @param projection Name of the projection.
+     * @param transforms Transforms applied by the projection, in order.
+     */
+    void addProjection(String projection, List<Pair<TransformConfig, Consumer<TransformPipeline>>> transforms) {
+        Node current = root;
+        for (Pair<TransformConfig, Consumer<TransformPipeline>> transform : transforms) {
+            TransformConfig config = transform.getLeft();
+            Node parent = current;
+            current = current.children.computeIfAbsent(
+                    Pair.of(config.getName(), config.getArgs()), key -> new Node(parent, transform.getRight()));
+        }
+        projections.put(projection, current);
+    }
+
+    /**
+     * Creates an evaluation of the given projections.
+     *
+     * <p>Only the given projections are considered when determining which
+     * models to share, so projections that are filtered out or that are
+     * not evaluated against {@code model} should not be provided.
+     *
+     * @param transformer Model transformer used to create pipelines.
+     * @param model Model to transform.
+     * @param projections Projections that will be evaluated.
+     * @return Returns the created evaluation.
+     */
+    Evaluation evaluate(ModelTransformer transformer, Model model, Collection<String> projections) {
+        return new Evaluation(transformer, model, projections);
+    }
+
+    /**
+     * Applies the transforms of a projection to a model without sharing
+     * any intermediate models.
+     *
+     * @param projection Projection to apply.
+     * @param transformer Model transformer used to create the pipeline.
+     * @param model Model to transform.
+     * @return Returns the projected model.
+     */
+    Model apply(String projection, ModelTransformer transformer, Model model) {
+        TransformPipeline pipeline = transformer.pipeline(model);
+        getPath(projection).forEach(node -> node.transformer.accept(pipeline));
+        return pipeline.build();
+    }
+
+    private List<Node> getPath(String projection) {
+        Node node = projections.get(projection);
+        if (node == null) {
+            throw new IllegalArgumentException("Unknown projection: " + projection);
+        }
+
+        List<Node> path = new ArrayList<>();
+        for (; node != root; node = node.parent) {
+            path.add(node);
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    private static final class Node {
+        private final Node parent;
+        private final Consumer<TransformPipeline> transformer;
+        private final Map<Pair<String, List<String>>, Node> children = new LinkedHashMap<>();
+
+        Node(Node parent, Consumer<TransformPipeline> transformer) {
+            this.parent = parent;
+            this.transformer = transformer;
+        }
+    }
+
+    /**
+     * Evaluates projections while sharing the models of common prefixes.
+     *
+     * <p>An evaluation is thread-safe; projections can be evaluated in
+     * parallel.
+     */
+    final class Evaluation {
+        private final ModelTransformer transformer;
+        private final Model model;
+        private final Map<Node, SharedModel> shared = new IdentityHashMap<>();
+
+        private Evaluation(ModelTransformer transformer, Model model, Collection<String> projections) {
+            this.transformer = transformer;
+            this.model = model;
+
+            Map<Node, Integer> dependents = new IdentityHashMap<>();
+            for (String projection : projections) {
+                for (Node node : getPath(projection)) {
+                    dependents.merge(node, 1, Integer::sum);
+                }
+            }
+
+            // A node is worth caching when multiple projections depend on it
+            // and those projections don't all continue through the same child.
+            dependents.forEach((node, count) -> {
+                if (count > 1 && node.children.values().stream().noneMatch(c -> count.equals(dependents.get(c)))) {
+                    shared.put(node, new SharedModel(count));
+                }
+            });
+        }
+
+        /**
+         * Applies the transforms of a projection.
+         *
+         * @param projection Projection to apply.
+         * @return Returns the projected model.
+         */
+        Model apply(String projection) {
+            List<Node> path = getPath(projection);
+            try {
+                return applyPath(path, path.size(), true);
+            } finally {
+                for (Node node : path) {
+                    SharedModel sharedModel = shared.get(node);
+                    if (sharedModel != null) {
+                        sharedModel.release();
+                    }
+                }
+            }
+        }
+
+        // Applies the first `length` nodes of a path, starting from the closest shared model. The
+        // shared model of the last node is only used when `useShared` is true, which allows a
+        // shared model to be computed from its closest shared ancestor.
+        private Model applyPath(List<Node> path, int length, boolean useShared) {
+            for (int start = useShared ? length : length - 1; start > 0; start--) {
+                SharedModel sharedModel = shared.get(path.get(start - 1));
+                if (sharedModel != null) {
+                    int prefixLength = start;
+                    Model prefix = sharedModel.get(() -> applyPath(path, prefixLength, false));
+                    return applyNodes(prefix, path.subList(prefixLength, length));
+                }
+            }
+
+            return applyNodes(model, path.subList(0, length));
+        }
+
+        private Model applyNodes(Model input, List<Node> nodes) {
+            if (nodes.isEmpty()) {
+                return input;
+            }
+
+            TransformPipeline pipeline = transformer.pipeline(input);
+            nodes.forEach(node -> node.transformer.accept(pipeline));
+            return pipeline.build();
+        }
+
+        private final class SharedModel {
+            private int remaining;
+            private SoftReference<Model> reference;
+
+            SharedModel(int remaining) {
+                this.remaining = remaining;
+            }
+
+            synchronized Model get(Supplier<Model> supplier) {
+                Model result = reference == null ? null : reference.get();
+                if (result == null) {
+                    LOGGER.fine(() -> String.format("Computing transforms shared by %d projections", remaining));
+                    result = supplier.get();
+                    reference = new SoftReference<>(result);
+                }
+                return result;
+            }
+
+            synchronized void release() {
+                if (--remaining == 0) {
+                    reference = null;
+                }
+            }
+        }
+    }
+}
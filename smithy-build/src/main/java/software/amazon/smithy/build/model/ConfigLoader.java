@@ -46,11 +46,12 @@ final class ConfigLoader {
     private static final String TRANSFORMS_KEY = "transforms";
     private static final String NAME_KEY = "name";
     private static final String ARGS_KEY = "args";
+    private static final String ARCHIVE_KEY = "archive";
 
     private static final List<String> ROOT_KEYS = Arrays.asList(
             VERSION_KEY, IMPORTS_KEY, OUTPUT_DIRECTORY_KEY, PROJECTIONS_KEY, PLUGINS_KEY);
     private static final List<String> PROJECTION_KEYS = Arrays.asList(
-            ABSTRACT_KEY, FILTERS_KEY, MAPPERS_KEY, TRANSFORMS_KEY, IMPORTS_KEY, PLUGINS_KEY);
+            ABSTRACT_KEY, FILTERS_KEY, MAPPERS_KEY, TRANSFORMS_KEY, IMPORTS_KEY, PLUGINS_KEY, ARCHIVE_KEY);
     private static final List<String> TRANSFORM_KEYS = Arrays.asList(NAME_KEY, ARGS_KEY);
 
     private ConfigLoader() {}
@@ -105,6 +106,7 @@ final class ConfigLoader {
         builder.plugins(members.getObjectMember(PLUGINS_KEY)
                 .map(ConfigLoader::loadPlugins)
                 .orElse(Collections.emptyMap()));
+        members.getStringMember(ARCHIVE_KEY).map(StringNode::getValue).ifPresent(builder::archive);
         return builder.build();
     }
 
@@ -20,6 +20,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import software.amazon.smithy.build.SmithyBuildException;
 import software.amazon.smithy.model.node.ArrayNode;
 import software.amazon.smithy.model.node.Node;
@@ -33,19 +34,28 @@ import software.amazon.smithy.utils.SmithyBuilder;
  * ProjectionConfig stored in a {@link SmithyBuildConfig}.
  */
 public final class ProjectionConfig implements ToNode {
+    private static final List<String> ARCHIVE_FORMATS = ListUtils.of("zip", "jar");
+
     private final boolean isAbstract;
     private final List<String> imports;
     private final List<TransformConfig> transforms;
     private final Map<String, ObjectNode> plugins;
+    private final String archive;
 
     private ProjectionConfig(Builder builder) {
         this.imports = ListUtils.copyOf(builder.imports);
         this.transforms = ListUtils.copyOf(builder.transforms);
         this.isAbstract = builder.isAbstract;
         this.plugins = MapUtils.copyOf(builder.plugins);
+        this.archive = builder.archive;
+
+        if (isAbstract && (!plugins.isEmpty() || !imports.isEmpty() || archive != null)) {
+            throw new SmithyBuildException("Abstract projections must not define plugins, imports, or archive");
+        }
 
-        if (isAbstract && (!plugins.isEmpty() || !imports.isEmpty())) {
-            throw new SmithyBuildException("Abstract projections must not define plugins or imports");
+        if (archive != null && !ARCHIVE_FORMATS.contains(archive)) {
+            throw new SmithyBuildException(String.format(
+                    "Invalid projection archive format `%s`. Expected one of: %s", archive, ARCHIVE_FORMATS));
         }
     }
 
@@ -83,6 +93,19 @@ public final class ProjectionConfig implements ToNode {
         return imports;
     }
 
+    /**
+     * Gets the archive format used to store the artifacts of each plugin.
+     *
+     * <p>When set to "zip" or "jar", the files created by each plugin of
+     * the projection are streamed into an archive named after the plugin
+     * instead of being written to a directory.
+     *
+     * @return Returns the optional archive format.
+     */
+    public Optional<String> getArchive() {
+        return Optional.ofNullable(archive);
+    }
+
     @Override
     public Node toNode() {
         ObjectNode.Builder result = Node.objectNodeBuilder();
@@ -94,6 +117,10 @@ public final class ProjectionConfig implements ToNode {
             result.withMember("imports", imports.stream().map(Node::from).collect(ArrayNode.collect()));
         }
 
+        if (archive != null) {
+            result.withMember("archive", Node.from(archive));
+        }
+
         return result
                 .withMember("transforms", createTransformerNode(getTransforms()))
                 .withMember("plugins", getPlugins().entrySet().stream()
@@ -113,6 +140,7 @@ public final class ProjectionConfig implements ToNode {
         private final List<String> imports = new ArrayList<>();
         private final List<TransformConfig> transforms = new ArrayList<>();
         private final Map<String, ObjectNode> plugins = new HashMap<>();
+        private String archive;
 
         private Builder() {}
 
@@ -173,5 +201,16 @@ public final class ProjectionConfig implements ToNode {
             this.plugins.putAll(plugins);
             return this;
         }
+
+        /**
+         * Sets the archive format used to store the artifacts of each plugin.
+         *
+         * @param archive Archive format, either "zip" or "jar", or null to write directories.
+         * @return Returns the builder.
+         */
+        public Builder archive(String archive) {
+            this.archive = archive;
+            return this;
+        }
     }
 }
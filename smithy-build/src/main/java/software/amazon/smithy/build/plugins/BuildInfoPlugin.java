@@ -17,6 +17,7 @@ package software.amazon.smithy.build.plugins;
 
 import java.util.Map;
 import java.util.stream.Collectors;
+import software.amazon.smithy.build.BuildPhase;
 import software.amazon.smithy.build.PluginContext;
 import software.amazon.smithy.build.SmithyBuildPlugin;
 import software.amazon.smithy.model.Model;
@@ -41,6 +42,11 @@ import software.amazon.smithy.model.validation.ValidationEvent;
  * <p>This plugin is only invoked if the projection and original model are
  * configured on the provided PluginContext.
  *
+ * <p>The file also contains the wall-clock time and allocations of the
+ * phases of the build that completed before this plugin. The plugin is
+ * executed serially so that the phases of the other plugins of the
+ * projection are included.
+ *
  * <p>TODO: define the schema of this build artifact.
  */
 public final class BuildInfoPlugin implements SmithyBuildPlugin {
@@ -57,6 +63,11 @@ public final class BuildInfoPlugin implements SmithyBuildPlugin {
         return false;
     }
 
+    @Override
+    public boolean isSerial() {
+        return true;
+    }
+
     @Override
     public void execute(PluginContext context) {
         if (context.getOriginalModel().isPresent() && context.getProjection().isPresent()) {
@@ -83,6 +94,10 @@ public final class BuildInfoPlugin implements SmithyBuildPlugin {
                 .withMember("resourceShapeIds", findShapeIds(context.getModel(), ResourceShape.class))
                 .withMember("metadata", context.getModel().getMetadata().entrySet().stream()
                         .collect(ObjectNode.collectStringKeys(Map.Entry::getKey, Map.Entry::getValue)))
+                .withMember("phases", context.getPhases().stream()
+                        .map(BuildPhase::toNode)
+                        .collect(ArrayNode.collect()))
+                .withMember("peakHeapBytes", Node.from(context.getPeakHeapBytes()))
                 .build();
     }
 
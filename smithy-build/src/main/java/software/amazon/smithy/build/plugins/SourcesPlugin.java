@@ -18,14 +18,20 @@ package software.amazon.smithy.build.plugins;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URL;
+import java.nio.file.FileVisitOption;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import software.amazon.smithy.build.FileManifest;
 import software.amazon.smithy.build.PluginContext;
 import software.amazon.smithy.build.SmithyBuildPlugin;
@@ -37,7 +43,6 @@ import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.model.shapes.ModelSerializer;
 import software.amazon.smithy.model.shapes.ShapeIndex;
 import software.amazon.smithy.model.validation.ValidationUtils;
-import software.amazon.smithy.utils.IoUtils;
 import software.amazon.smithy.utils.ListUtils;
 
 /**
@@ -99,53 +104,63 @@ public final class SourcesPlugin implements SmithyBuildPlugin {
     }
 
     private static List<String> copySources(PluginContext context) {
-        List<String> names = new ArrayList<>();
-        context.getSources().forEach(path -> copyDirectory(names, context.getFileManifest(), path, path));
-        return names;
-    }
-
-    private static void copyDirectory(List<String> names, FileManifest manifest, Path root, Path current) {
-        try {
-            if (Files.isDirectory(current)) {
-                Files.list(current)
-                        .filter(p -> !p.equals(current))
-                        .filter(p -> Files.isDirectory(p) || Files.isRegularFile(p))
-                        .forEach(p -> copyDirectory(names, manifest, root, p));
-            } else if (Files.isRegularFile(current)) {
-                if (current.toString().endsWith(".jar")) {
+        // Targets are computed up front so that conflicts are detected deterministically, and then
+        // the files are copied in parallel.
+        FileManifest manifest = context.getFileManifest();
+        Map<Path, Consumer<FileManifest>> copies = new LinkedHashMap<>();
+        for (Path source : context.getSources()) {
+            for (Path file : findFiles(source)) {
+                if (file.toString().endsWith(".jar")) {
                     // Account for just a simple file vs recursing into directories.
-                    String jarRoot = root.equals(current)
-                            ? "" : (root.relativize(current).toString() + File.separator);
+                    String jarRoot = source.equals(file)
+                            ? "" : (source.relativize(file).toString() + File.separator);
                     // Copy Smithy models out of the JAR.
-                    copyModelsFromJar(names, manifest, jarRoot, current);
+                    addModelsFromJar(copies, manifest, jarRoot, file);
                 } else {
                     // Account for just a simple file vs recursing into directories.
-                    Path target = root.equals(current) ? current.getFileName() : root.relativize(current);
-                    copyFile(names, manifest, target, IoUtils.readUtf8File(current));
+                    Path target = source.equals(file) ? file.getFileName() : source.relativize(file);
+                    addCopy(copies, manifest, target, m -> m.copyFile(target, file));
                 }
             }
-        } catch (IOException e) {
-            throw new RuntimeException("Error loading the contents of " + current + ": " + e.getMessage(), e);
+        }
+
+        copies.values().parallelStream().forEach(copy -> copy.accept(manifest));
+        return copies.keySet().stream().map(Path::toString).collect(Collectors.toList());
+    }
+
+    private static List<Path> findFiles(Path source) {
+        if (!Files.isDirectory(source)) {
+            return Files.isRegularFile(source) ? ListUtils.of(source) : ListUtils.of();
+        }
+
+        try (Stream<Path> files = Files.walk(source, FileVisitOption.FOLLOW_LINKS)) {
+            return files.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        } catch (IOException | UncheckedIOException e) {
+            throw new RuntimeException("Error loading the contents of " + source + ": " + e.getMessage(), e);
         }
     }
 
-    private static void copyFile(List<String> names, FileManifest manifest, Path target, String contents) {
+    private static void addCopy(
+            Map<Path, Consumer<FileManifest>> copies,
+            FileManifest manifest,
+            Path target,
+            Consumer<FileManifest> copy
+    ) {
         // Path#getFileName might return null.
         if (target == null) {
             return;
         }
 
-        if (manifest.hasFile(target)) {
+        if (copies.containsKey(target) || manifest.hasFile(target)) {
             throw new SourcesConflictException(
                     "Source file conflict found when attempting to add `" + target + "` to the `sources` plugin "
                     + "output. All sources must have unique filenames relative to the directories marked as a "
                     + "'source'. The files and directories that make up sources are flattened into a single "
                     + "directory and conflicts are not allowed. The manifest has the following files: "
-                    + ValidationUtils.tickedList(manifest.getFiles()));
+                    + ValidationUtils.tickedList(copies.keySet()));
         }
 
-        manifest.writeFile(target, contents);
-        names.add(target.toString());
+        copies.put(target, copy);
     }
 
     private static void projectSources(PluginContext context) {
@@ -193,8 +208,12 @@ public final class SourcesPlugin implements SmithyBuildPlugin {
         return position == -1 ? 0 : position + "file:".length();
     }
 
-    private static void copyModelsFromJar(List<String> names, FileManifest manifest, String jarRoot, Path jarPath)
-            throws IOException {
+    private static void addModelsFromJar(
+            Map<Path, Consumer<FileManifest>> copies,
+            FileManifest manifest,
+            String jarRoot,
+            Path jarPath
+    ) {
         LOGGER.fine(() -> "Copying models from JAR " + jarPath);
         URL manifestUrl = ModelDiscovery.createSmithyJarManifestUrl(jarPath.toString());
 
@@ -202,10 +221,14 @@ public final class SourcesPlugin implements SmithyBuildPlugin {
         for (URL model : ModelDiscovery.findModels(manifestUrl)) {
             String name = ModelDiscovery.getSmithyModelPathFromJarUrl(model);
             Path target = Paths.get(prefix + name);
-            LOGGER.finer(() -> "Copying " + name + " from JAR to " + target);
-            try (InputStream is = model.openStream()) {
-                copyFile(names, manifest, target, IoUtils.toUtf8String(is));
-            }
+            addCopy(copies, manifest, target, m -> {
+                LOGGER.finer(() -> "Copying " + name + " from JAR to " + target);
+                try (InputStream is = model.openStream()) {
+                    m.writeFile(target, is);
+                } catch (IOException e) {
+                    throw new RuntimeException("Error loading the contents of " + model + ": " + e.getMessage(), e);
+                }
+            });
         }
     }
 
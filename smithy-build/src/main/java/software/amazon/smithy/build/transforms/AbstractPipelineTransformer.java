@@ -0,0 +1,46 @@
+/*
+ * Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.build.transforms;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import software.amazon.smithy.build.ProjectionTransformer;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.transform.ModelTransformer;
+import software.amazon.smithy.model.transform.TransformPipeline;
+
+/**
+ * A projection transformer that is implemented as a
+ * {@link TransformPipeline} step.
+ *
+ * <p>When used outside of a pipeline, the step is applied to a
+ * pipeline created for the given model.
+ */
+abstract class AbstractPipelineTransformer implements ProjectionTransformer {
+    @Override
+    public BiFunction<ModelTransformer, Model, Model> createTransformer(List<String> arguments) {
+        Consumer<TransformPipeline> step = createPipelineTransformer(arguments);
+        return (transformer, model) -> {
+            TransformPipeline pipeline = transformer.pipeline(model);
+            step.accept(pipeline);
+            return pipeline.build();
+        };
+    }
+
+    @Override
+    public abstract Consumer<TransformPipeline> createPipelineTransformer(List<String> arguments);
+}
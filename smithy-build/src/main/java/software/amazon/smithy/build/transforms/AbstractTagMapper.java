@@ -20,17 +20,14 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.function.BiFunction;
-import java.util.stream.Collectors;
-import software.amazon.smithy.build.ProjectionTransformer;
-import software.amazon.smithy.model.Model;
+import java.util.function.Consumer;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.traits.TagsTrait;
 import software.amazon.smithy.model.traits.TraitDefinition;
-import software.amazon.smithy.model.transform.ModelTransformer;
+import software.amazon.smithy.model.transform.TransformPipeline;
 
 // TODO: remove tags from authentication and protocols.
-abstract class AbstractTagMapper implements ProjectionTransformer {
+abstract class AbstractTagMapper extends AbstractPipelineTransformer {
     private final boolean exclude;
 
     AbstractTagMapper(boolean exclude) {
@@ -38,41 +35,32 @@ abstract class AbstractTagMapper implements ProjectionTransformer {
     }
 
     @Override
-    public BiFunction<ModelTransformer, Model, Model> createTransformer(List<String> arguments) {
+    public Consumer<TransformPipeline> createPipelineTransformer(List<String> arguments) {
         Set<String> tags = new HashSet<>(arguments);
-        return (transformer, model) -> removeTraitDefTags(removeShapeTags(transformer, model, tags), tags);
+        return pipeline -> pipeline
+                .mapShapes(shape -> removeShapeTags(shape, tags))
+                .mapTraitDefinitions(definition -> removeTraitDefTags(definition, tags));
     }
 
-    private Model removeShapeTags(ModelTransformer transformer, Model model, Set<String> tags) {
-        return transformer.mapShapes(model, shape -> intersectIfChanged(shape.getTags(), tags)
+    private Shape removeShapeTags(Shape shape, Set<String> tags) {
+        return intersectIfChanged(shape.getTags(), tags)
                 .map(intersection -> {
                     TagsTrait.Builder builder = TagsTrait.builder();
                     intersection.forEach(builder::addValue);
                     return Shape.shapeToBuilder(shape).addTrait(builder.build()).build();
                 })
-                .orElse(shape));
+                .orElse(shape);
     }
 
-    private Model removeTraitDefTags(Model model, Set<String> tags) {
-        Set<TraitDefinition> definitions = model.getTraitDefinitions().stream()
-                .map(definition -> intersectIfChanged(definition.getTags(), tags)
-                        .map(intersection -> {
-                            TraitDefinition.Builder builder = definition.toBuilder();
-                            builder.clearTags();
-                            intersection.forEach(builder::addTag);
-                            return builder.build();
-                        })
-                        .orElse(definition))
-                .collect(Collectors.toSet());
-
-        if (definitions.equals(model.getTraitDefinitions())) {
-            return model;
-        }
-
-        Model.Builder builder = model.toBuilder();
-        builder.clearTraitDefinitions();
-        definitions.forEach(builder::addTraitDefinition);
-        return builder.build();
+    private TraitDefinition removeTraitDefTags(TraitDefinition definition, Set<String> tags) {
+        return intersectIfChanged(definition.getTags(), tags)
+                .map(intersection -> {
+                    TraitDefinition.Builder builder = definition.toBuilder();
+                    builder.clearTags();
+                    intersection.forEach(builder::addTag);
+                    return builder.build();
+                })
+                .orElse(definition);
     }
 
     private Optional<Set<String>> intersectIfChanged(Collection<String> subject, Collection<String> other) {
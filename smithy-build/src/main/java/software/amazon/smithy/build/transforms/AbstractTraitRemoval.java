@@ -18,13 +18,12 @@ package software.amazon.smithy.build.transforms;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import software.amazon.smithy.build.ProjectionTransformer;
 import software.amazon.smithy.model.loader.Prelude;
 import software.amazon.smithy.model.traits.Trait;
 import software.amazon.smithy.model.traits.TraitDefinition;
 import software.amazon.smithy.utils.Pair;
 
-abstract class AbstractTraitRemoval implements ProjectionTransformer {
+abstract class AbstractTraitRemoval extends AbstractPipelineTransformer {
     Pair<Set<String>, Set<String>> parseTraits(List<String> arguments) {
         Set<String> traitNames = new HashSet<>();
         Set<String> traitNamespaces = new HashSet<>();
@@ -16,23 +16,20 @@
 package software.amazon.smithy.build.transforms;
 
 import java.util.List;
-import java.util.function.BiFunction;
-import software.amazon.smithy.build.ProjectionTransformer;
-import software.amazon.smithy.model.Model;
-import software.amazon.smithy.model.transform.ModelTransformer;
+import java.util.function.Consumer;
+import software.amazon.smithy.model.transform.TransformPipeline;
 
 /**
  * Removes metadata entries when a key matches any of the given arguments.
  */
-public final class ExcludeMetadata implements ProjectionTransformer {
+public final class ExcludeMetadata extends AbstractPipelineTransformer {
     @Override
     public String getName() {
         return "excludeMetadata";
     }
 
     @Override
-    public BiFunction<ModelTransformer, Model, Model> createTransformer(List<String> arguments) {
-        return (transformer, model) -> transformer.filterMetadata(
-                model, (key, value) -> !arguments.contains(key));
+    public Consumer<TransformPipeline> createPipelineTransformer(List<String> arguments) {
+        return pipeline -> pipeline.filterMetadata((key, value) -> !arguments.contains(key));
     }
 }
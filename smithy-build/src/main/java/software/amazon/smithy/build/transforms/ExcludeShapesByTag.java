@@ -20,15 +20,13 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.function.BiFunction;
-import software.amazon.smithy.build.ProjectionTransformer;
-import software.amazon.smithy.model.Model;
-import software.amazon.smithy.model.transform.ModelTransformer;
+import java.util.function.Consumer;
+import software.amazon.smithy.model.transform.TransformPipeline;
 
 /**
  * Removes shapes if they are tagged with one or more of the given arguments.
  */
-public final class ExcludeShapesByTag implements ProjectionTransformer {
+public final class ExcludeShapesByTag extends AbstractPipelineTransformer {
     @Override
     public String getName() {
         return "excludeShapesByTag";
@@ -40,9 +38,8 @@ public final class ExcludeShapesByTag implements ProjectionTransformer {
     }
 
     @Override
-    public BiFunction<ModelTransformer, Model, Model> createTransformer(List<String> arguments) {
+    public Consumer<TransformPipeline> createPipelineTransformer(List<String> arguments) {
         Set<String> includeTags = new HashSet<>(arguments);
-        return (transformer, model) -> transformer.filterShapes(
-                model, shape -> shape.getTags().stream().noneMatch(includeTags::contains));
+        return pipeline -> pipeline.filterShapes(shape -> shape.getTags().stream().noneMatch(includeTags::contains));
     }
 }
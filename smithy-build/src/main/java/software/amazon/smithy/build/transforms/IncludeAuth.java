@@ -19,14 +19,12 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.function.BiFunction;
-import software.amazon.smithy.build.ProjectionTransformer;
-import software.amazon.smithy.model.Model;
+import java.util.function.Consumer;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.traits.AuthTrait;
 import software.amazon.smithy.model.traits.Protocol;
 import software.amazon.smithy.model.traits.ProtocolsTrait;
-import software.amazon.smithy.model.transform.ModelTransformer;
+import software.amazon.smithy.model.transform.TransformPipeline;
 import software.amazon.smithy.utils.ListUtils;
 
 /**
@@ -34,7 +32,7 @@ import software.amazon.smithy.utils.ListUtils;
  * property of protocols that do not match one of the given arguments
  * (a list of authentication schemes).
  */
-public final class IncludeAuth implements ProjectionTransformer {
+public final class IncludeAuth extends AbstractPipelineTransformer {
     @Override
     public String getName() {
         return "includeAuth";
@@ -46,9 +44,9 @@ public final class IncludeAuth implements ProjectionTransformer {
     }
 
     @Override
-    public BiFunction<ModelTransformer, Model, Model> createTransformer(List<String> arguments) {
+    public Consumer<TransformPipeline> createPipelineTransformer(List<String> arguments) {
         Set<String> includeNames = new HashSet<>(arguments);
-        return (transformer, model) -> transformer.mapShapes(model, shape -> {
+        return pipeline -> pipeline.mapShapes(shape -> {
             // First update the auth trait on all shapes.
             Shape result = shape.getTrait(AuthTrait.class)
                     .map(authTrait -> updateShapeAuth(shape, authTrait, includeNames))
@@ -16,16 +16,14 @@
 package software.amazon.smithy.build.transforms;
 
 import java.util.List;
-import java.util.function.BiFunction;
-import software.amazon.smithy.build.ProjectionTransformer;
-import software.amazon.smithy.model.Model;
-import software.amazon.smithy.model.transform.ModelTransformer;
+import java.util.function.Consumer;
+import software.amazon.smithy.model.transform.TransformPipeline;
 
 /**
  * Removes metadata entries when a key does not match any of the given
  * arguments.
  */
-public final class IncludeMetadata implements ProjectionTransformer {
+public final class IncludeMetadata extends AbstractPipelineTransformer {
 
     @Override
     public String getName() {
@@ -33,8 +31,7 @@ public final class IncludeMetadata implements ProjectionTransformer {
     }
 
     @Override
-    public BiFunction<ModelTransformer, Model, Model> createTransformer(List<String> arguments) {
-        return (transformer, model) -> transformer.filterMetadata(
-                model, (key, value) -> arguments.contains(key));
+    public Consumer<TransformPipeline> createPipelineTransformer(List<String> arguments) {
+        return pipeline -> pipeline.filterMetadata((key, value) -> arguments.contains(key));
     }
 }
@@ -18,26 +18,23 @@ package software.amazon.smithy.build.transforms;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.function.BiFunction;
-import software.amazon.smithy.build.ProjectionTransformer;
-import software.amazon.smithy.model.Model;
-import software.amazon.smithy.model.transform.ModelTransformer;
+import java.util.function.Consumer;
+import software.amazon.smithy.model.transform.TransformPipeline;
 
 /**
  * Filters out shapes that are not part of one of the given namespaces.
  *
  * <p>Note that this does not filter out traits based on namespaces.
  */
-public final class IncludeNamespaces implements ProjectionTransformer {
+public final class IncludeNamespaces extends AbstractPipelineTransformer {
     @Override
     public String getName() {
         return "includeNamespaces";
     }
 
     @Override
-    public BiFunction<ModelTransformer, Model, Model> createTransformer(List<String> arguments) {
+    public Consumer<TransformPipeline> createPipelineTransformer(List<String> arguments) {
         Set<String> includeNamespaces = new HashSet<>(arguments);
-        return (transformer, model) -> transformer.filterShapes(
-                model, shape -> includeNamespaces.contains(shape.getId().getNamespace()));
+        return pipeline -> pipeline.filterShapes(shape -> includeNamespaces.contains(shape.getId().getNamespace()));
     }
 }
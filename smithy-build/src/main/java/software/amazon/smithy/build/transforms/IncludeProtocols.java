@@ -18,27 +18,25 @@ package software.amazon.smithy.build.transforms;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.function.BiFunction;
-import software.amazon.smithy.build.ProjectionTransformer;
-import software.amazon.smithy.model.Model;
+import java.util.function.Consumer;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.traits.ProtocolsTrait;
-import software.amazon.smithy.model.transform.ModelTransformer;
+import software.amazon.smithy.model.transform.TransformPipeline;
 
 /**
  * Removes protocols from service shapes that do not match one of the
  * given arguments (a list of protocol names).
  */
-public final class IncludeProtocols implements ProjectionTransformer {
+public final class IncludeProtocols extends AbstractPipelineTransformer {
     @Override
     public String getName() {
         return "includeProtocols";
     }
 
     @Override
-    public BiFunction<ModelTransformer, Model, Model> createTransformer(List<String> arguments) {
+    public Consumer<TransformPipeline> createPipelineTransformer(List<String> arguments) {
         Set<String> includeNames = new HashSet<>(arguments);
-        return (transformer, model) -> transformer.mapShapes(model, shape -> shape.getTrait(ProtocolsTrait.class)
+        return pipeline -> pipeline.mapShapes(shape -> shape.getTrait(ProtocolsTrait.class)
                 .map(protocols -> {
                     Set<String> names = getSchemeNameIntersection(protocols, includeNames);
                     return names.size() == protocols.getProtocols().size()
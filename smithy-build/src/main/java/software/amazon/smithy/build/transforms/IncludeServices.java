@@ -17,29 +17,27 @@ package software.amazon.smithy.build.transforms;
 
 import java.util.List;
 import java.util.Set;
-import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
-import software.amazon.smithy.build.ProjectionTransformer;
-import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.ShapeId;
-import software.amazon.smithy.model.transform.ModelTransformer;
+import software.amazon.smithy.model.transform.TransformPipeline;
 
 /**
  * Filters out service shapes that are not included in the arguments list of
  * service shape IDs.
  */
-public final class IncludeServices implements ProjectionTransformer {
+public final class IncludeServices extends AbstractPipelineTransformer {
     @Override
     public String getName() {
         return "includeServices";
     }
 
     @Override
-    public BiFunction<ModelTransformer, Model, Model> createTransformer(List<String> arguments) {
+    public Consumer<TransformPipeline> createPipelineTransformer(List<String> arguments) {
         Set<ShapeId> includeServices = arguments.stream()
                 .map(ShapeId::from)
                 .collect(Collectors.toSet());
-        return (transformer, model) -> transformer.filterShapes(
-                model, shape -> !shape.isServiceShape() || includeServices.contains(shape.getId()));
+        return pipeline -> pipeline.filterShapes(
+                shape -> !shape.isServiceShape() || includeServices.contains(shape.getId()));
     }
 }
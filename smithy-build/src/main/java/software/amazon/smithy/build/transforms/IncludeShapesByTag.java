@@ -20,16 +20,14 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.function.BiFunction;
-import software.amazon.smithy.build.ProjectionTransformer;
-import software.amazon.smithy.model.Model;
-import software.amazon.smithy.model.transform.ModelTransformer;
+import java.util.function.Consumer;
+import software.amazon.smithy.model.transform.TransformPipeline;
 
 /**
  * Removes shapes that are not tagged with at least one of the given
  * trait arguments.
  */
-public final class IncludeShapesByTag implements ProjectionTransformer {
+public final class IncludeShapesByTag extends AbstractPipelineTransformer {
     @Override
     public String getName() {
         return "includeShapesByTag";
@@ -41,9 +39,8 @@ public final class IncludeShapesByTag implements ProjectionTransformer {
     }
 
     @Override
-    public BiFunction<ModelTransformer, Model, Model> createTransformer(List<String> arguments) {
+    public Consumer<TransformPipeline> createPipelineTransformer(List<String> arguments) {
         Set<String> includeTags = new HashSet<>(arguments);
-        return (transformer, model) -> transformer.filterShapes(
-                model, shape -> shape.getTags().stream().anyMatch(includeTags::contains));
+        return pipeline -> pipeline.filterShapes(shape -> shape.getTags().stream().anyMatch(includeTags::contains));
     }
 }
@@ -17,11 +17,10 @@ package software.amazon.smithy.build.transforms;
 
 import java.util.List;
 import java.util.Set;
-import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
-import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.traits.TraitDefinition;
-import software.amazon.smithy.model.transform.ModelTransformer;
+import software.amazon.smithy.model.transform.TransformPipeline;
 import software.amazon.smithy.utils.Pair;
 
 /**
@@ -39,18 +38,14 @@ public final class IncludeTraits extends AbstractTraitRemoval {
     }
 
     @Override
-    public BiFunction<ModelTransformer, Model, Model> createTransformer(List<String> arguments) {
+    public Consumer<TransformPipeline> createPipelineTransformer(List<String> arguments) {
         Pair<Set<String>, Set<String>> namesAndNamespaces = parseTraits(arguments);
         Set<String> names = namesAndNamespaces.getLeft();
         Set<String> namespaces = namesAndNamespaces.getRight();
 
-        return (transformer, model) -> {
-            Set<String> removeTraits = model.getTraitDefinitions().stream()
-                    .filter(def -> !matchesTraitDefinition(def, names, namespaces))
-                    .map(TraitDefinition::getFullyQualifiedName)
-                    .collect(Collectors.toSet());
-
-            return transformer.removeTraitDefinitions(model, removeTraits);
-        };
+        return pipeline -> pipeline.removeTraitDefinitions(pipeline.getTraitDefinitions().stream()
+                .filter(def -> !matchesTraitDefinition(def, names, namespaces))
+                .map(TraitDefinition::getFullyQualifiedName)
+                .collect(Collectors.toSet()));
     }
 }
@@ -17,35 +17,28 @@ package software.amazon.smithy.build.transforms;
 
 import java.util.Collection;
 import java.util.List;
-import java.util.Set;
-import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
-import software.amazon.smithy.build.ProjectionTransformer;
-import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.traits.TraitDefinition;
-import software.amazon.smithy.model.transform.ModelTransformer;
+import software.amazon.smithy.model.transform.TransformPipeline;
 import software.amazon.smithy.utils.Tagged;
 
 /**
  * Removes traits and trait definitions from a model if the trait definition
  * does not contain at least one of the provided tags.
  */
-public final class IncludeTraitsByTag implements ProjectionTransformer {
+public final class IncludeTraitsByTag extends AbstractPipelineTransformer {
     @Override
     public String getName() {
         return "includeTraitsByTag";
     }
 
     @Override
-    public BiFunction<ModelTransformer, Model, Model> createTransformer(List<String> arguments) {
-        return (transformer, model) -> {
-            Set<String> definitions = model.getTraitDefinitions().stream()
-                    .filter(definition -> !hasAnyTag(definition, arguments))
-                    .map(TraitDefinition::getFullyQualifiedName)
-                    .collect(Collectors.toSet());
-
-            return transformer.removeTraitDefinitions(model, definitions);
-        };
+    public Consumer<TransformPipeline> createPipelineTransformer(List<String> arguments) {
+        return pipeline -> pipeline.removeTraitDefinitions(pipeline.getTraitDefinitions().stream()
+                .filter(definition -> !hasAnyTag(definition, arguments))
+                .map(TraitDefinition::getFullyQualifiedName)
+                .collect(Collectors.toSet()));
     }
 
     private boolean hasAnyTag(Tagged tagged, Collection<String> tags) {
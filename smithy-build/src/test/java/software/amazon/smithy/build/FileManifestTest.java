@@ -18,8 +18,10 @@ package software.amazon.smithy.build;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
@@ -28,12 +30,19 @@ import java.io.StringReader;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.zip.ZipFile;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.utils.IoUtils;
 
 public class FileManifestTest {
     private Path outputDirectory;
@@ -91,6 +100,47 @@ public class FileManifestTest {
         assertThat(new String(Files.readAllBytes(outputDirectory.resolve("foo/file.json"))), equalTo("{ }\n"));
     }
 
+    @Test
+    public void streamsJsonFiles() throws IOException {
+        Node node = Node.objectNodeBuilder()
+                .withMember("foo", Node.fromStrings("a", "b"))
+                .withMember("bar", Node.objectNode())
+                .build();
+        FileManifest.create(outputDirectory).writeJson("foo/expected.json", node);
+        FileManifest a = FileManifest.create(outputDirectory);
+        a.writeJson("foo/file.json", writer -> writer.writeNode(node));
+
+        assertThat(a.getFiles(), contains(outputDirectory.resolve("foo/file.json")));
+        assertThat(new String(Files.readAllBytes(outputDirectory.resolve("foo/file.json"))),
+                   equalTo(new String(Files.readAllBytes(outputDirectory.resolve("foo/expected.json")))));
+        try (Stream<Path> files = Files.list(outputDirectory.resolve("foo"))) {
+            assertThat(files.count(), equalTo(2L));
+        }
+    }
+
+    @Test
+    public void doesNotRewriteUnchangedStreamedJsonFiles() throws IOException {
+        Path file = outputDirectory.resolve("file.json");
+        FileManifest.create(outputDirectory).writeJson("file.json", writer -> writer.writeNode(Node.from("a")));
+        FileTime written = FileTime.fromMillis(1000);
+        Files.setLastModifiedTime(file, written);
+
+        FileManifest.create(outputDirectory).writeJson("file.json", writer -> writer.writeNode(Node.from("a")));
+        assertThat(Files.getLastModifiedTime(file), equalTo(written));
+
+        FileManifest.create(outputDirectory).writeJson("file.json", writer -> writer.writeNode(Node.from("b")));
+        assertThat(new String(Files.readAllBytes(file)), equalTo("\"b\"\n"));
+    }
+
+    @Test
+    public void buffersStreamedJsonByDefault() {
+        MockManifest manifest = new MockManifest();
+        manifest.writeJson("file.json", writer -> writer.startObject().writeMember("a", Node.from(1)).endObject());
+
+        assertThat(manifest.expectFileString("file.json"),
+                   equalTo(Node.prettyPrintJson(Node.objectNode().withMember("a", Node.from(1))) + "\n"));
+    }
+
     @Test
     public void writesFromInputStream() throws IOException {
         FileManifest a = FileManifest.create(outputDirectory);
@@ -110,4 +160,158 @@ public class FileManifestTest {
         assertThat(Files.isRegularFile(outputDirectory.resolve("foo/file.txt")), is(true));
         assertThat(new String(Files.readAllBytes(outputDirectory.resolve("foo/file.txt"))), equalTo("The contents"));
     }
+
+    @Test
+    public void readsFilesInManifest() throws IOException {
+        Files.write(outputDirectory.resolve("other.txt"), "Not in the manifest".getBytes());
+        FileManifest a = FileManifest.create(outputDirectory);
+        a.writeFile("foo/file.txt", "The contents");
+
+        assertThat(a.readFile(Paths.get("foo/file.txt")).map(String::new), equalTo(Optional.of("The contents")));
+        assertThat(a.readFile(Paths.get("other.txt")), equalTo(Optional.empty()));
+        assertThat(a.readFile(Paths.get("missing.txt")), equalTo(Optional.empty()));
+
+        FileManifest archive = FileManifest.createArchive(outputDirectory, outputDirectory.resolve("out.zip"));
+        archive.writeFile("foo/file.txt", "The contents");
+        archive.flush();
+
+        assertThat(archive.readFile(Paths.get("foo/file.txt")), equalTo(Optional.empty()));
+    }
+
+    @Test
+    public void doesNotRewriteUnchangedFiles() throws IOException {
+        Path file = outputDirectory.resolve("foo/file.txt");
+        FileManifest.create(outputDirectory).writeFile("foo/file.txt", "The contents");
+        FileTime written = FileTime.fromMillis(1000);
+        Files.setLastModifiedTime(file, written);
+
+        FileManifest.create(outputDirectory).writeFile("foo/file.txt", "The contents");
+        assertThat(Files.getLastModifiedTime(file), equalTo(written));
+
+        FileManifest.create(outputDirectory).writeFile("foo/file.txt", "New contents");
+        assertThat(Files.getLastModifiedTime(file), not(equalTo(written)));
+        assertThat(new String(Files.readAllBytes(file)), equalTo("New contents"));
+    }
+
+    @Test
+    public void copiesFilesWithoutDecodingThem() throws IOException {
+        byte[] contents = new byte[]{(byte) 0xff, 0, (byte) 0xfe};
+        Path source = Files.write(outputDirectory.resolve("source.bin"), contents);
+        Path target = outputDirectory.resolve("out/copy.bin");
+
+        FileManifest.create(outputDirectory.resolve("out")).copyFile(Paths.get("copy.bin"), source);
+        FileTime written = FileTime.fromMillis(1000);
+        Files.setLastModifiedTime(target, written);
+        FileManifest.create(outputDirectory.resolve("out")).copyFile(Paths.get("copy.bin"), source);
+
+        assertThat(Files.readAllBytes(target), equalTo(contents));
+        assertThat(Files.getLastModifiedTime(target), equalTo(written));
+    }
+
+    @Test
+    public void writesFilesInBackgroundUntilFlushed() throws IOException {
+        List<Runnable> pending = new ArrayList<>();
+        FileManifest a = FileManifest.create(outputDirectory, pending::add);
+        a.writeFile("foo/file.txt", "First");
+        a.writeFile("foo/file.txt", "Second");
+
+        assertThat(a.hasFile("foo/file.txt"), is(true));
+        assertThat(Files.exists(outputDirectory.resolve("foo/file.txt")), is(false));
+
+        // Run queued writes as they're submitted, like a single-threaded pool would.
+        while (!pending.isEmpty()) {
+            pending.remove(0).run();
+        }
+        a.flush();
+
+        assertThat(new String(Files.readAllBytes(outputDirectory.resolve("foo/file.txt"))), equalTo("Second"));
+    }
+
+    @Test
+    public void flushThrowsWhenBackgroundWritesFail() throws IOException {
+        Files.createDirectories(outputDirectory.resolve("foo/file.txt"));
+        FileManifest a = FileManifest.create(outputDirectory, Runnable::run);
+        a.writeFile("foo/file.txt", "The contents");
+
+        Assertions.assertThrows(SmithyBuildException.class, a::flush);
+    }
+
+    @Test
+    public void streamsFilesIntoArchive() throws IOException {
+        Path archive = outputDirectory.resolve("out.zip");
+        FileManifest a = FileManifest.createArchive(outputDirectory.resolve("out"), archive);
+        a.writeFile("foo/file.txt", "The contents");
+        a.writeFile("bar.bin", new ByteArrayInputStream(new byte[]{1, 2, 3}));
+
+        assertThat(a.hasFile("foo/file.txt"), is(true));
+        assertThat(a.getFilesIn("foo"), contains(outputDirectory.resolve("out/foo/file.txt")));
+        assertThat(Files.exists(outputDirectory.resolve("out")), is(false));
+
+        a.flush();
+
+        try (ZipFile zip = new ZipFile(archive.toFile())) {
+            assertThat(IoUtils.toUtf8String(zip.getInputStream(zip.getEntry("foo/file.txt"))),
+                       equalTo("The contents"));
+            assertThat(IoUtils.toByteArray(zip.getInputStream(zip.getEntry("bar.bin"))),
+                       equalTo(new byte[]{1, 2, 3}));
+        }
+        Assertions.assertThrows(SmithyBuildException.class, () -> a.writeFile("baz.txt", "Too late"));
+    }
+
+    @Test
+    public void discardsIncompleteArchives() {
+        Path archive = outputDirectory.resolve("out.zip");
+        FileManifest a = FileManifest.createArchive(outputDirectory.resolve("out"), archive);
+        a.writeFile("foo/file.txt", "The contents");
+
+        assertThat(Files.exists(archive), is(true));
+        a.discard();
+        assertThat(Files.exists(archive), is(false));
+        Assertions.assertThrows(SmithyBuildException.class, () -> a.writeFile("bar.txt", "Too late"));
+    }
+
+    @Test
+    public void discardingFlushedArchiveDoesNothing() {
+        Path archive = outputDirectory.resolve("out.zip");
+        FileManifest a = FileManifest.createArchive(outputDirectory.resolve("out"), archive);
+        a.writeFile("foo/file.txt", "The contents");
+        a.flush();
+        a.discard();
+
+        assertThat(Files.isRegularFile(archive), is(true));
+    }
+
+    @Test
+    public void archiveFilesCanOnlyBeWrittenOnce() {
+        FileManifest a = FileManifest.createArchive(outputDirectory, outputDirectory.resolve("out.zip"));
+        a.writeFile("foo/file.txt", "The contents");
+
+        Assertions.assertThrows(SmithyBuildException.class, () -> a.writeFile("foo/file.txt", "New contents"));
+        a.flush();
+    }
+
+    @Test
+    public void writesArchiveToTargetManifestWhenFlushed() {
+        Path archive = outputDirectory.resolve("out.zip");
+        MockManifest target = new MockManifest(outputDirectory);
+        FileManifest a = new ArchiveFileManifest(outputDirectory.resolve("out"), archive, target);
+        a.writeFile("foo/file.txt", "The contents");
+
+        assertThat(target.hasFile(archive), is(false));
+        a.flush();
+
+        assertThat(target.hasFile(archive), is(true));
+        assertThat(Files.exists(archive), is(false));
+    }
+
+    @Test
+    public void discardedArchiveIsNotWrittenToTargetManifest() {
+        Path archive = outputDirectory.resolve("out.zip");
+        MockManifest target = new MockManifest(outputDirectory);
+        FileManifest a = new ArchiveFileManifest(outputDirectory.resolve("out"), archive, target);
+        a.writeFile("foo/file.txt", "The contents");
+        a.discard();
+
+        assertThat(target.getFiles(), empty());
+    }
 }
@@ -3,6 +3,7 @@ package software.amazon.smithy.build;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
 
 import java.nio.file.Paths;
 import org.junit.jupiter.api.Test;
@@ -42,4 +43,29 @@ public class PluginContextTest {
 
         assertThat(context.getSources(), contains(Paths.get("/foo/baz")));
     }
+
+    @Test
+    public void tracksWhetherSourcesWereRead() {
+        PluginContext context = PluginContext.builder()
+                .fileManifest(new MockManifest())
+                .model(Model.builder().build())
+                .sources(ListUtils.of(Paths.get("/foo/baz")))
+                .build();
+
+        assertThat(context.hasReadSources(), is(false));
+        context.getSources();
+        assertThat(context.hasReadSources(), is(true));
+    }
+
+    @Test
+    public void tracksWhetherRunMetricsWereRead() {
+        PluginContext context = PluginContext.builder()
+                .fileManifest(new MockManifest())
+                .model(Model.builder().build())
+                .build();
+
+        assertThat(context.hasReadRunMetrics(), is(false));
+        context.getPhases();
+        assertThat(context.hasReadRunMetrics(), is(true));
+    }
 }
@@ -16,26 +16,45 @@
 package software.amazon.smithy.build;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasItems;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
 import java.util.function.Function;
+import java.util.jar.JarEntry;
+import java.util.jar.JarInputStream;
 import java.util.stream.Collectors;
+import java.util.zip.ZipFile;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -48,7 +67,9 @@ import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.traits.DocumentationTrait;
+import software.amazon.smithy.model.traits.LengthTrait;
 import software.amazon.smithy.model.traits.SensitiveTrait;
+import software.amazon.smithy.model.transform.ModelTransformer;
 import software.amazon.smithy.utils.IoUtils;
 import software.amazon.smithy.utils.ListUtils;
 import software.amazon.smithy.utils.MapUtils;
@@ -402,4 +423,396 @@ public class SmithyBuildTest {
         assertFalse(a.getPluginManifest("model").isPresent());
         assertTrue(a.getPluginManifest("build-info").isPresent());
     }
+
+    @Test
+    public void appliesSharedTransformsOnce() throws Exception {
+        Model model = Model.assembler()
+                .addImport(Paths.get(getClass().getResource("simple-model.json").toURI()))
+                .assemble()
+                .unwrap();
+        AtomicInteger applied = new AtomicInteger();
+        ProjectionTransformer counting = new ProjectionTransformer() {
+            @Override
+            public String getName() {
+                return "count";
+            }
+
+            @Override
+            public BiFunction<ModelTransformer, Model, Model> createTransformer(List<String> arguments) {
+                return (transformer, m) -> {
+                    applied.incrementAndGet();
+                    return m;
+                };
+            }
+        };
+        Function<String, Optional<ProjectionTransformer>> defaults = ProjectionTransformer.createServiceFactory(
+                getClass().getClassLoader());
+        ProjectionConfig common = ProjectionConfig.builder()
+                .isAbstract(true)
+                .transforms(ListUtils.of(
+                        TransformConfig.builder().name("count").build(),
+                        TransformConfig.builder().name("excludeTraits").args(ListUtils.of("documentation")).build()))
+                .build();
+        TransformConfig applyCommon = TransformConfig.builder().name("apply").args(ListUtils.of("common")).build();
+        TransformConfig excludeLength = TransformConfig.builder()
+                .name("excludeTraits")
+                .args(ListUtils.of("length"))
+                .build();
+        Map<String, ProjectionConfig> projections = MapUtils.of(
+                "common", common,
+                "a", ProjectionConfig.builder().transforms(ListUtils.of(applyCommon)).build(),
+                "b", ProjectionConfig.builder().transforms(ListUtils.of(applyCommon, excludeLength)).build(),
+                "c", ProjectionConfig.builder().transforms(ListUtils.of(applyCommon, applyCommon)).build());
+
+        SmithyBuildResult results = new SmithyBuild()
+                .model(model)
+                .fileManifestFactory(MockManifest::new)
+                .transformFactory(name -> name.equals("count") ? Optional.of(counting) : defaults.apply(name))
+                .config(SmithyBuildConfig.builder().projections(projections).outputDirectory("/foo").build())
+                .build();
+
+        // The prefix shared by a, b, and c is computed once, and c applies it a second time.
+        assertThat(applied.get(), equalTo(2));
+
+        Model a = results.getProjectionResult("a").get().getModel();
+        Model b = results.getProjectionResult("b").get().getModel();
+        assertThat(a.getShapeIndex().shapes().anyMatch(shape -> shape.hasTrait(DocumentationTrait.class)), is(false));
+        assertThat(a.getShapeIndex().shapes().anyMatch(shape -> shape.hasTrait(LengthTrait.class)), is(true));
+        assertThat(b.getShapeIndex().shapes().anyMatch(shape -> shape.hasTrait(DocumentationTrait.class)), is(false));
+        assertThat(b.getShapeIndex().shapes().anyMatch(shape -> shape.hasTrait(LengthTrait.class)), is(false));
+    }
+
+    @Test
+    public void runsProjectionsAndPluginsOnExecutor() throws Exception {
+        List<Runnable> submitted = new ArrayList<>();
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        List<String> serialOrder = Collections.synchronizedList(new ArrayList<>());
+        SmithyBuildPlugin serial = new SmithyBuildPlugin() {
+            @Override
+            public String getName() {
+                return "serial";
+            }
+
+            @Override
+            public boolean isSerial() {
+                return true;
+            }
+
+            @Override
+            public void execute(PluginContext context) {
+                threads.add(Thread.currentThread());
+                serialOrder.add(context.getProjectionName());
+                context.getFileManifest().writeFile("serial.txt", "serial");
+            }
+        };
+        Map<String, SmithyBuildPlugin> plugins = MapUtils.of(
+                "test1", new Test1Plugin(), "test2", new Test2Plugin(), "serial", serial);
+        Function<String, Optional<SmithyBuildPlugin>> factory = SmithyBuildPlugin.createServiceFactory();
+
+        // An executor that never runs anything means every task is run by the thread that waits on it.
+        SmithyBuildResult results = new SmithyBuild()
+                .executor(submitted::add)
+                .fileManifestFactory(MockManifest::new)
+                .pluginFactory(name -> {
+                    threads.add(Thread.currentThread());
+                    return OptionalUtils.or(Optional.ofNullable(plugins.get(name)), () -> factory.apply(name));
+                })
+                .config(SmithyBuildConfig.builder()
+                        .projections(MapUtils.of("a", ProjectionConfig.builder().build()))
+                        .plugins(MapUtils.of(
+                                "test1", Node.objectNode(),
+                                "test2", Node.objectNode(),
+                                "serial", Node.objectNode()))
+                        .outputDirectory("/foo")
+                        .build())
+                .build();
+
+        // Two projections, each with four plugins that can run concurrently (including the
+        // default model and sources plugins). Serial plugins, like build-info, aren't submitted.
+        assertThat(submitted.size(), equalTo(10));
+        assertThat(threads, contains(Thread.currentThread()));
+        assertThat(serialOrder, containsInAnyOrder("a", "source"));
+        for (ProjectionResult result : results.getProjectionResults()) {
+            assertThat(result.getPluginManifests().keySet(), containsInAnyOrder(
+                    "build-info", "model", "serial", "sources", "test1", "test2"));
+            assertTrue(result.getPluginManifest("serial").get().hasFile("serial.txt"));
+            assertTrue(result.getPluginManifest("test1").get().hasFile("hello1"));
+        }
+    }
+
+    @Test
+    public void recordsBuildPhases() throws Exception {
+        Model model = Model.assembler()
+                .addImport(Paths.get(getClass().getResource("simple-model.json").toURI()))
+                .assemble()
+                .unwrap();
+        SmithyBuildResult results = new SmithyBuild()
+                .fileManifestFactory(MockManifest::new)
+                .model(model)
+                .config(SmithyBuildConfig.builder()
+                        .projections(MapUtils.of("a", ProjectionConfig.builder().build()))
+                        .outputDirectory("/foo")
+                        .build())
+                .build();
+
+        List<String> phases = results.getPhases().stream().map(BuildPhase::toString).collect(Collectors.toList());
+        assertThat(phases, hasItems(
+                "assemble", "transform a", "validate a", "plugin a/model", "plugin a/build-info",
+                "transform source", "validate source", "plugin source/sources"));
+        assertThat(results.getPeakHeapBytes(), greaterThan(0L));
+        for (BuildPhase phase : results.getPhases()) {
+            assertThat(phase.getDurationNanos(), greaterThanOrEqualTo(0L));
+        }
+
+        // build-info runs after the other plugins of its projection, so their timings are included.
+        MockManifest manifest = (MockManifest) results.getProjectionResult("a").get()
+                .getPluginManifest("build-info").get();
+        ObjectNode buildInfo = Node.parse(manifest.getFileString("smithy-build-info.json").get()).expectObjectNode();
+        List<String> recorded = buildInfo.expectMember("phases").expectArrayNode().getElements().stream()
+                .map(Node::expectObjectNode)
+                .map(node -> node.expectMember("name").expectStringNode().getValue()
+                             + node.getStringMember("plugin").map(plugin -> " " + plugin.getValue()).orElse(""))
+                .collect(Collectors.toList());
+        assertThat(recorded, hasItems("assemble", "transform", "validate", "plugin model", "plugin sources"));
+        assertThat(recorded, not(hasItem("plugin build-info")));
+        assertThat(buildInfo.expectMember("peakHeapBytes").expectNumberNode().getValue().longValue(), greaterThan(0L));
+    }
+
+    @Test
+    public void writesPluginArtifactsToArchives() throws Exception {
+        Model model = Model.assembler()
+                .addImport(Paths.get(getClass().getResource("simple-model.json").toURI()))
+                .assemble()
+                .unwrap();
+        SmithyBuildConfig config = SmithyBuildConfig.builder()
+                .projections(MapUtils.of("a", ProjectionConfig.builder().archive("jar").build()))
+                .outputDirectory(outputDirectory.toString())
+                .build();
+
+        SmithyBuildResult results = new SmithyBuild().model(model).config(config).build();
+        FileManifest manifest = results.getProjectionResult("a").get().getPluginManifest("model").get();
+
+        assertTrue(manifest.hasFile("model.json"));
+        assertThat(Files.exists(outputDirectory.resolve("a/model")), is(false));
+        assertThat(Files.isRegularFile(outputDirectory.resolve("source/model/model.json")), is(true));
+        try (ZipFile jar = new ZipFile(outputDirectory.resolve("a/model.jar").toFile())) {
+            assertThat(jar.getEntry("META-INF/MANIFEST.MF"), notNullValue());
+            assertThat(IoUtils.toUtf8String(jar.getInputStream(jar.getEntry("model.json"))),
+                       equalTo(IoUtils.readUtf8File(manifest.getBaseDir().getParent().getParent()
+                               .resolve("source/model/model.json"))));
+        }
+    }
+
+    @Test
+    public void deletesIncompleteArchivesWhenPluginsFail() throws Exception {
+        Model model = Model.assembler()
+                .addImport(Paths.get(getClass().getResource("simple-model.json").toURI()))
+                .assemble()
+                .unwrap();
+        SmithyBuildPlugin failing = new SmithyBuildPlugin() {
+            @Override
+            public String getName() {
+                return "failing";
+            }
+
+            @Override
+            public void execute(PluginContext context) {
+                context.getFileManifest().writeFile("partial.txt", "partial");
+                throw new IllegalStateException("Plugin failed");
+            }
+        };
+        SmithyBuildConfig config = SmithyBuildConfig.builder()
+                .projections(MapUtils.of("a", ProjectionConfig.builder()
+                        .archive("zip")
+                        .plugins(MapUtils.of("failing", Node.objectNode()))
+                        .build()))
+                .outputDirectory(outputDirectory.toString())
+                .build();
+        SmithyBuild builder = new SmithyBuild()
+                .model(model)
+                .config(config)
+                .pluginFilter(name -> name.equals("failing"))
+                .pluginFactory(name -> name.equals("failing") ? Optional.of(failing) : Optional.empty());
+
+        Assertions.assertThrows(IllegalStateException.class, builder::build);
+        assertThat(Files.exists(outputDirectory.resolve("a/failing.zip")), is(false));
+    }
+
+    @Test
+    public void writesArchivesToCustomFileManifests() throws Exception {
+        Model model = Model.assembler()
+                .addImport(Paths.get(getClass().getResource("simple-model.json").toURI()))
+                .assemble()
+                .unwrap();
+        SmithyBuildConfig config = SmithyBuildConfig.builder()
+                .projections(MapUtils.of("a", ProjectionConfig.builder().archive("jar").build()))
+                .outputDirectory(outputDirectory.toString())
+                .build();
+
+        List<MockManifest> created = new CopyOnWriteArrayList<>();
+        SmithyBuildResult results = new SmithyBuild()
+                .model(model)
+                .config(config)
+                .fileManifestFactory(path -> {
+                    MockManifest manifest = new MockManifest(path);
+                    created.add(manifest);
+                    return manifest;
+                })
+                .build();
+        FileManifest manifest = results.getProjectionResult("a").get().getPluginManifest("model").get();
+        Path archive = outputDirectory.resolve("a/model.jar");
+        byte[] contents = created.stream()
+                .filter(mock -> mock.hasFile(archive))
+                .findFirst()
+                .flatMap(mock -> mock.getFileBytes(archive))
+                .get();
+
+        assertThat(manifest.hasFile("model.json"), is(true));
+        assertThat(Files.exists(archive), is(false));
+        List<String> entries = new ArrayList<>();
+        try (JarInputStream jar = new JarInputStream(new ByteArrayInputStream(contents))) {
+            for (JarEntry entry = jar.getNextJarEntry(); entry != null; entry = jar.getNextJarEntry()) {
+                entries.add(entry.getName());
+            }
+        }
+        assertThat(entries, hasItem("model.json"));
+    }
+
+    @Test
+    public void restoresUnchangedPluginsFromCache() throws Exception {
+        Model model = Model.assembler()
+                .addImport(Paths.get(getClass().getResource("simple-model.json").toURI()))
+                .assemble()
+                .unwrap();
+        AtomicInteger executions = new AtomicInteger();
+        SmithyBuildPlugin counting = new SmithyBuildPlugin() {
+            @Override
+            public String getName() {
+                return "count";
+            }
+
+            @Override
+            public void execute(PluginContext context) {
+                executions.incrementAndGet();
+                context.getFileManifest().writeFile("nested/count.txt", "count");
+            }
+        };
+        Function<String, Optional<SmithyBuildPlugin>> factory = SmithyBuildPlugin.createServiceFactory();
+        SmithyBuildConfig config = SmithyBuildConfig.builder()
+                .plugins(MapUtils.of("count", Node.objectNode()))
+                .outputDirectory("/foo")
+                .build();
+        Path cache = outputDirectory.resolve("cache");
+
+        SmithyBuildResult first = new SmithyBuild()
+                .model(model)
+                .config(config)
+                .cacheDirectory(cache)
+                .fileManifestFactory(MockManifest::new)
+                .pluginFactory(name -> name.equals("count") ? Optional.of(counting) : factory.apply(name))
+                .build();
+        SmithyBuildResult second = new SmithyBuild()
+                .model(model)
+                .config(config)
+                .cacheDirectory(cache)
+                .fileManifestFactory(MockManifest::new)
+                .pluginFactory(name -> name.equals("count") ? Optional.of(counting) : factory.apply(name))
+                .build();
+        MockManifest restored = (MockManifest) second.getProjectionResult("source").get()
+                .getPluginManifest("count").get();
+
+        // The build-info plugin reads the metrics of the build, so it's never restored.
+        assertThat(first.getCacheHits(), equalTo(0));
+        assertThat(first.getCacheMisses(), equalTo(second.getCacheHits() + 1));
+        assertThat(second.getCacheMisses(), equalTo(1));
+        assertThat(executions.get(), equalTo(1));
+        assertThat(restored.getFileString("nested/count.txt"), equalTo(Optional.of("count")));
+    }
+
+    @Test
+    public void cacheMissesWhenModelChanges() throws Exception {
+        Model model = Model.assembler()
+                .addImport(Paths.get(getClass().getResource("simple-model.json").toURI()))
+                .assemble()
+                .unwrap();
+        Model changed = ModelTransformer.create().removeTraitsIf(model, (shape, trait) -> true);
+        SmithyBuildConfig config = SmithyBuildConfig.builder().outputDirectory("/foo").build();
+        Path cache = outputDirectory.resolve("cache");
+
+        new SmithyBuild().model(model).config(config).cacheDirectory(cache)
+                .fileManifestFactory(MockManifest::new).build();
+        SmithyBuildResult result = new SmithyBuild().model(changed).config(config).cacheDirectory(cache)
+                .fileManifestFactory(MockManifest::new).build();
+
+        assertThat(result.getCacheHits(), equalTo(0));
+        assertThat(result.getCacheMisses(), not(equalTo(0)));
+    }
+
+    @Test
+    public void cacheKeysUseContentsAndRelativePathsOfSources() throws Exception {
+        Model model = Model.assembler()
+                .addImport(Paths.get(getClass().getResource("simple-model.json").toURI()))
+                .assemble()
+                .unwrap();
+        SmithyBuildConfig config = SmithyBuildConfig.builder().outputDirectory("/foo").build();
+        Path cache = outputDirectory.resolve("cache");
+        Path original = Files.createDirectories(outputDirectory.resolve("a/model"));
+        Path copy = Files.createDirectories(outputDirectory.resolve("b/model"));
+        Files.write(original.resolve("main.smithy"), "namespace foo\n".getBytes(StandardCharsets.UTF_8));
+        Files.write(copy.resolve("main.smithy"), "namespace foo\n".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(copy.resolve("main.smithy"), FileTime.fromMillis(0));
+
+        SmithyBuildResult first = new SmithyBuild().model(model).config(config).cacheDirectory(cache)
+                .registerSources(original).fileManifestFactory(MockManifest::new).build();
+        SmithyBuildResult copied = new SmithyBuild().model(model).config(config).cacheDirectory(cache)
+                .registerSources(copy).fileManifestFactory(MockManifest::new).build();
+        Files.write(copy.resolve("main.smithy"), "namespace bar\n".getBytes(StandardCharsets.UTF_8));
+        SmithyBuildResult changed = new SmithyBuild().model(model).config(config).cacheDirectory(cache)
+                .registerSources(copy).fileManifestFactory(MockManifest::new).build();
+
+        // The build-info plugin is never restored, and only the sources plugin reads the sources.
+        assertThat(copied.getCacheHits(), equalTo(first.getCacheMisses() - 1));
+        assertThat(copied.getCacheMisses(), equalTo(1));
+        assertThat(changed.getCacheMisses(), equalTo(2));
+        assertThat(changed.getCacheHits(), equalTo(first.getCacheMisses() - 2));
+    }
+
+    @Test
+    public void doesNotCachePluginsThatReadBuildMetrics() throws Exception {
+        Model model = Model.assembler()
+                .addImport(Paths.get(getClass().getResource("simple-model.json").toURI()))
+                .assemble()
+                .unwrap();
+        AtomicInteger executions = new AtomicInteger();
+        SmithyBuildPlugin metrics = new SmithyBuildPlugin() {
+            @Override
+            public String getName() {
+                return "metrics";
+            }
+
+            @Override
+            public void execute(PluginContext context) {
+                executions.incrementAndGet();
+                context.getFileManifest().writeFile("heap.txt", String.valueOf(context.getPeakHeapBytes()));
+            }
+        };
+        Function<String, Optional<SmithyBuildPlugin>> factory = SmithyBuildPlugin.createServiceFactory();
+        SmithyBuildConfig config = SmithyBuildConfig.builder()
+                .plugins(MapUtils.of("metrics", Node.objectNode()))
+                .outputDirectory("/foo")
+                .build();
+        Path cache = outputDirectory.resolve("cache");
+
+        for (int i = 0; i < 2; i++) {
+            new SmithyBuild()
+                    .model(model)
+                    .config(config)
+                    .cacheDirectory(cache)
+                    .fileManifestFactory(MockManifest::new)
+                    .pluginFactory(name -> name.equals("metrics") ? Optional.of(metrics) : factory.apply(name))
+                    .build();
+        }
+
+        assertThat(executions.get(), equalTo(2));
+    }
 }
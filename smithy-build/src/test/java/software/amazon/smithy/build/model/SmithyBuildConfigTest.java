@@ -99,6 +99,24 @@ public class SmithyBuildConfigTest {
         assertThat(config.getImports(), not(empty()));
     }
 
+    @Test
+    public void loadsProjectionArchiveFormat() {
+        SmithyBuildConfig config = SmithyBuildConfig.load(Paths.get(getResourcePath("config-with-archive.json")));
+
+        assertThat(config.getProjections().get("a").getArchive(), equalTo(Optional.of("zip")));
+        assertThat(config.getProjections().get("a").toNode().expectObjectNode().getMember("archive").isPresent(),
+                   is(true));
+    }
+
+    @Test
+    public void validatesProjectionArchiveFormat() {
+        Exception thrown = Assertions.assertThrows(SmithyBuildException.class, () -> {
+            ProjectionConfig.builder().archive("tar").build();
+        });
+
+        assertThat(thrown.getMessage(), containsString("archive"));
+    }
+
     @Test
     public void addsBuiltinPlugins() {
         SmithyBuildConfig config = SmithyBuildConfig.builder().build();
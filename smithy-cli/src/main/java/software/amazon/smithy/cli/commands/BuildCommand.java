@@ -15,13 +15,20 @@
 
 package software.amazon.smithy.cli.commands;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import software.amazon.smithy.build.BuildPhase;
 import software.amazon.smithy.build.SmithyBuild;
 import software.amazon.smithy.build.SmithyBuildResult;
 import software.amazon.smithy.build.model.SmithyBuildConfig;
@@ -56,6 +63,10 @@ public final class BuildCommand implements Command {
                 .parameter("--output", "-o", "Where to write artifacts. Defaults to 'build/smithy'.")
                 .parameter("--projection", "Smithy will only generate artifacts for the given projection name.")
                 .parameter("--plugin", "Smithy will only generate artifacts for the given plugin name.")
+                .parameter("--cache", "Directory used to cache plugin artifacts across builds. Disabled by default.")
+                .option("--watch", "Keeps running and rebuilds whenever models or configuration files change. "
+                                   + "Plugin artifacts are cached in a temporary directory unless --cache is set")
+                .option("--timings", "Prints the time and memory used by each phase of the build")
                 .option(SmithyCli.DISCOVER, "-d", "Enables model discovery, merging in models found inside of jars")
                 .parameter(SmithyCli.DISCOVER_CLASSPATH, "Enables model discovery using a custom classpath for models")
                 .option(SmithyCli.ALLOW_UNKNOWN_TRAITS, "Ignores unknown traits when building models")
@@ -66,22 +77,52 @@ public final class BuildCommand implements Command {
     @Override
     public void execute(Arguments arguments, ClassLoader classLoader) {
         List<String> config = arguments.repeatedParameter("--config", null);
-        String output = arguments.parameter("--output", null);
         List<String> models = arguments.positionalArguments();
 
         LOGGER.info(String.format("Building Smithy model sources: %s", models));
-        SmithyBuildConfig.Builder configBuilder = SmithyBuildConfig.builder();
 
         // Try to find a smithy-build.json file.
         if (config == null && Files.exists(Paths.get("smithy-build.json"))) {
             config = Collections.singletonList("smithy-build.json");
         }
 
+        SmithyBuildConfig smithyBuildConfig = loadConfig(arguments, config);
+        ModelAssembler assembler = createModelAssembler(arguments, classLoader);
+        SmithyBuild smithyBuild = SmithyBuild.create(classLoader).config(smithyBuildConfig);
+
+        if (arguments.has("--plugin")) {
+            smithyBuild.pluginFilter(name -> name.equals(arguments.parameter("--plugin")));
+        }
+
+        if (arguments.has("--projection")) {
+            smithyBuild.projectionFilter(name -> name.equals(arguments.parameter("--projection")));
+        }
+
+        if (arguments.has("--cache")) {
+            smithyBuild.cacheDirectory(Paths.get(arguments.parameter("--cache")));
+        }
+
+        // Register sources with the builder.
+        models.forEach(path -> smithyBuild.registerSources(Paths.get(path)));
+
+        if (arguments.has("--watch")) {
+            watch(arguments, config, smithyBuildConfig, models, assembler, smithyBuild);
+        } else {
+            // Build the model and fail if there are errors.
+            models.forEach(assembler::addImport);
+            build(arguments, assembler, smithyBuild);
+        }
+    }
+
+    private SmithyBuildConfig loadConfig(Arguments arguments, List<String> config) {
+        SmithyBuildConfig.Builder configBuilder = SmithyBuildConfig.builder();
+
         if (config != null) {
             LOGGER.info(String.format("Loading Smithy configs: [%s]", String.join(" ", config)));
             config.forEach(file -> configBuilder.load(Paths.get(file)));
         }
 
+        String output = arguments.parameter("--output", null);
         if (output != null) {
             configBuilder.outputDirectory(output);
             try {
@@ -92,44 +133,166 @@ public final class BuildCommand implements Command {
             }
         }
 
-        SmithyBuildConfig smithyBuildConfig = configBuilder.build();
+        return configBuilder.build();
+    }
+
+    private ModelAssembler createModelAssembler(Arguments arguments, ClassLoader classLoader) {
+        ModelAssembler assembler = Model.assembler(classLoader);
+        CommandUtils.handleModelDiscovery(arguments, assembler, classLoader);
+        CommandUtils.handleUnknownTraitsOption(arguments, assembler);
+        return assembler;
+    }
 
-        // Build the model and fail if there are errors.
-        ValidatedResult<Model> sourceResult = buildModel(classLoader, models, arguments);
+    private Model build(Arguments arguments, ModelAssembler assembler, SmithyBuild smithyBuild) {
+        long start = System.nanoTime();
+        ValidatedResult<Model> sourceResult = assembler.assemble();
+        long assembleNanos = System.nanoTime() - start;
+        Validator.validate(sourceResult, true);
         Model model = sourceResult.unwrap();
-        SmithyBuild smithyBuild = SmithyBuild.create(classLoader)
-                .config(smithyBuildConfig)
-                .model(model);
+        SmithyBuildResult smithyBuildResult = smithyBuild.model(model).build();
 
-        if (arguments.has("--plugin")) {
-            smithyBuild.pluginFilter(name -> name.equals(arguments.parameter("--plugin")));
+        // Fail if any projections failed to build, but build all projections.
+        if (smithyBuildResult.anyBroken()) {
+            throw new CliError("One or more projections contained ERROR or unsuppressed DANGER events");
         }
 
-        if (arguments.has("--projection")) {
-            smithyBuild.projectionFilter(name -> name.equals(arguments.parameter("--projection")));
+        Colors.out(Colors.BRIGHT_BOLD_GREEN, "Smithy build successfully generated the following artifacts");
+        smithyBuildResult.allArtifacts().map(Path::toString).sorted().forEach(System.out::println);
+
+        if (arguments.has("--cache") || arguments.has("--watch")) {
+            System.out.println(String.format("Build cache: %d hits, %d misses",
+                    smithyBuildResult.getCacheHits(), smithyBuildResult.getCacheMisses()));
         }
 
-        // Register sources with the builder.
-        models.forEach(path -> smithyBuild.registerSources(Paths.get(path)));
+        if (arguments.has("--timings")) {
+            printTimings(assembleNanos, System.nanoTime() - start, smithyBuildResult);
+        }
 
-        SmithyBuildResult smithyBuildResult = smithyBuild.build();
+        return model;
+    }
 
-        // Fail if any projections failed to build, but build all projections.
-        if (smithyBuildResult.anyBroken()) {
-            throw new CliError("One or more projections contained ERROR or unsuppressed DANGER events");
+    private static void printTimings(long assembleNanos, long totalNanos, SmithyBuildResult result) {
+        Colors.out(Colors.BRIGHT_WHITE, "Build timings");
+        System.out.println(String.format("%10.1f ms  total", totalNanos / 1_000_000.0));
+        System.out.println(String.format("%10.1f ms  load and validate models", assembleNanos / 1_000_000.0));
+        result.getPhases().stream()
+                .sorted(Comparator.comparing(BuildPhase::toString))
+                .forEach(phase -> System.out.println(String.format("%10.1f ms %s %s",
+                        phase.getDurationNanos() / 1_000_000.0,
+                        phase.getAllocatedBytes() < 0 ? "" : formatBytes(phase.getAllocatedBytes()),
+                        phase)));
+        System.out.println(String.format("Peak heap: %s", formatBytes(result.getPeakHeapBytes()).trim()));
+    }
+
+    private static String formatBytes(long bytes) {
+        return String.format("%10.1f MB", bytes / (1024.0 * 1024.0));
+    }
+
+    // Rebuilds whenever models, configuration files, or configured imports change. The assembler, the
+    // SmithyBuild instance, and the plugins and transforms it discovered are reused across builds, and
+    // only changed model files are read from disk again. Watch mode always uses a build cache, and the
+    // cache keys of plugins that don't read the registered sources only depend on their projection, so
+    // editing a model only executes the plugins of projections that changed and plugins that read sources.
+    private void watch(
+            Arguments arguments,
+            List<String> config,
+            SmithyBuildConfig smithyBuildConfig,
+            List<String> models,
+            ModelAssembler assembler,
+            SmithyBuild smithyBuild
+    ) {
+        ModelSourceCache sources = new ModelSourceCache(models.stream().map(Paths::get).collect(Collectors.toList()));
+        Set<Path> configFiles = config == null
+                ? Collections.emptySet()
+                : config.stream().map(file -> Paths.get(file).normalize()).collect(Collectors.toSet());
+        List<Path> imports = new ArrayList<>(getImports(smithyBuildConfig));
+        if (!arguments.has("--cache")) {
+            smithyBuild.cacheDirectory(createTemporaryCache());
         }
 
-        Colors.out(Colors.BRIGHT_BOLD_GREEN, "Smithy build successfully generated the following artifacts");
-        smithyBuildResult.allArtifacts().map(Path::toString).sorted().forEach(System.out::println);
+        List<Path> watched = new ArrayList<>(sources.getRoots());
+        watched.addAll(configFiles);
+        imports.stream().filter(Files::exists).forEach(watched::add);
+
+        try (BuildWatcher watcher = new BuildWatcher(watched)) {
+            Model previous = null;
+            boolean force = true;
+            boolean reloadConfig = false;
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    if (reloadConfig) {
+                        SmithyBuildConfig reloaded = loadConfig(arguments, config);
+                        smithyBuild.config(reloaded);
+                        updateImports(watcher, imports, getImports(reloaded));
+                    }
+                    ModelAssembler copy = assembler.copy();
+                    sources.addTo(copy);
+                    ValidatedResult<Model> result = copy.assemble();
+                    if (!force && result.getResult().isPresent() && result.getResult().get().equals(previous)) {
+                        LOGGER.info("The model did not change; skipping the build");
+                    } else {
+                        previous = build(arguments, copy, smithyBuild);
+                    }
+                } catch (RuntimeException e) {
+                    // Keep watching so that the error can be fixed.
+                    Colors.out(Colors.RED, e.getMessage());
+                    previous = null;
+                }
+
+                force = false;
+                reloadConfig = false;
+                boolean modified;
+                Colors.out(Colors.BRIGHT_WHITE, "Watching for changes...");
+                do {
+                    Set<Path> changed = watcher.awaitChanges().stream()
+                            .map(Path::normalize)
+                            .collect(Collectors.toSet());
+                    reloadConfig |= changed.stream().anyMatch(configFiles::contains);
+                    force |= reloadConfig || changed.stream().anyMatch(p -> imports.stream().anyMatch(p::startsWith));
+                    modified = sources.update(changed);
+                } while (!modified && !force);
+            }
+        } catch (IOException e) {
+            throw new CliError("Unable to watch for changes: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
-    private ValidatedResult<Model> buildModel(ClassLoader classLoader, List<String> models, Arguments arguments) {
-        ModelAssembler assembler = Model.assembler(classLoader);
-        CommandUtils.handleModelDiscovery(arguments, assembler, classLoader);
-        CommandUtils.handleUnknownTraitsOption(arguments, assembler);
-        models.forEach(assembler::addImport);
-        ValidatedResult<Model> result = assembler.assemble();
-        Validator.validate(result, true);
-        return result;
+    private static List<Path> getImports(SmithyBuildConfig config) {
+        return config.getImports().stream().map(file -> Paths.get(file).normalize()).collect(Collectors.toList());
+    }
+
+    // Imports that were removed from the configuration no longer force a rebuild. Their directories
+    // stay registered with the watcher, but changes to them are ignored.
+    private static void updateImports(BuildWatcher watcher, List<Path> imports, List<Path> updated) {
+        imports.clear();
+        imports.addAll(updated);
+        for (Path path : updated) {
+            if (Files.exists(path)) {
+                try {
+                    watcher.watch(path);
+                } catch (IOException e) {
+                    LOGGER.warning("Unable to watch " + path + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static Path createTemporaryCache() {
+        try {
+            Path directory = Files.createTempDirectory("smithy-build-cache");
+            // Watch mode usually ends when the process is interrupted, so delete the cache in a shutdown hook.
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try (Stream<Path> files = Files.walk(directory)) {
+                    files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+                } catch (IOException e) {
+                    LOGGER.fine(() -> "Unable to delete " + directory + ": " + e.getMessage());
+                }
+            }));
+            return directory;
+        } catch (IOException e) {
+            throw new CliError("Unable to create a build cache directory: " + e.getMessage());
+        }
     }
 }
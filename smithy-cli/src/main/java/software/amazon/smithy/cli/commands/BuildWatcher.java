@@ -0,0 +1,142 @@
+/*
+ * Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.cli.commands;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Watches files and directories for changes using a {@link WatchService}.
+ *
+ * <p>Directories are watched recursively, and directories created while
+ * watching are watched too. A file is watched by watching its parent
+ * directory, so changes to its siblings are reported as well.
+ */
+final class BuildWatcher implements AutoCloseable {
+    private static final Logger LOGGER = Logger.getLogger(BuildWatcher.class.getName());
+
+    /** Changes are batched until no events are received for this long. */
+    private static final long QUIET_PERIOD_MILLIS = 200;
+
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> directories = new HashMap<>();
+
+    BuildWatcher(Collection<Path> paths) throws IOException {
+        watchService = FileSystems.getDefault().newWatchService();
+        for (Path path : paths) {
+            watch(path);
+        }
+    }
+
+    /**
+     * Starts watching a file or directory.
+     *
+     * <p>Nothing changes if the path is already watched.
+     *
+     * @param path File or directory to watch.
+     * @throws IOException if the path can't be watched.
+     */
+    void watch(Path path) throws IOException {
+        if (Files.isDirectory(path)) {
+            registerAll(path);
+        } else {
+            Path parent = path.getParent();
+            register(parent == null ? Paths.get(".") : parent);
+        }
+    }
+
+    /**
+     * Blocks until something changes, and then returns every path that
+     * changed until no changes were made for a short period of time.
+     *
+     * <p>If events were lost, the affected directory is returned.
+     *
+     * @return Returns the paths that were created, modified, or deleted.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    Set<Path> awaitChanges() throws InterruptedException {
+        Set<Path> changed = new LinkedHashSet<>();
+        WatchKey key = watchService.take();
+
+        while (key != null) {
+            Path directory = directories.get(key);
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == OVERFLOW) {
+                    changed.add(directory);
+                    continue;
+                }
+
+                Path path = directory.resolve((Path) event.context());
+                changed.add(path);
+                if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+                    try {
+                        registerAll(path);
+                    } catch (IOException | UncheckedIOException e) {
+                        LOGGER.warning("Unable to watch " + path + ": " + e.getMessage());
+                    }
+                }
+            }
+
+            if (!key.reset()) {
+                directories.remove(key);
+            }
+
+            key = watchService.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+        }
+
+        return changed;
+    }
+
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+
+    private void registerAll(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.filter(Files::isDirectory).collect(Collectors.toList())) {
+                register(path);
+            }
+        }
+    }
+
+    private void register(Path directory) throws IOException {
+        if (!directories.containsValue(directory)) {
+            directories.put(directory.register(watchService, ENTRY_CREATE, ENTRY_DELETE, ENTRY_MODIFY), directory);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.cli.commands;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import software.amazon.smithy.cli.CliError;
+import software.amazon.smithy.model.loader.ModelAssembler;
+import software.amazon.smithy.model.loader.ModelSyntaxException;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.utils.IoUtils;
+
+/**
+ * Keeps the contents of model files in memory between builds so that only
+ * changed files are read from disk.
+ *
+ * <p>Files that end with ".json" or ".smithy" are cached. JSON files are
+ * parsed the first time they're added to an assembler, and the parsed
+ * {@link Node} is reused until the file changes. The IDL parser feeds
+ * shapes directly into the assembler without an intermediate result that
+ * can be reused, so ".smithy" files are parsed from their cached contents
+ * on every build. Other files, like JARs, are imported from disk each time
+ * they're added to an assembler.
+ */
+final class ModelSourceCache {
+    private final List<Path> roots;
+    private final Map<Path, String> models = new TreeMap<>();
+    private final Map<Path, Node> documents = new HashMap<>();
+    private final Set<Path> otherFiles = new TreeSet<>();
+
+    ModelSourceCache(Collection<Path> roots) {
+        this.roots = roots.stream().map(Path::normalize).collect(Collectors.toList());
+        for (Path root : this.roots) {
+            if (!Files.exists(root)) {
+                throw new CliError("Cannot find import file: " + root);
+            }
+            refresh(root);
+        }
+    }
+
+    /**
+     * Gets the normalized files and directories that contain models.
+     *
+     * @return Returns the model roots.
+     */
+    List<Path> getRoots() {
+        return roots;
+    }
+
+    /**
+     * Updates the cache after files or directories have changed.
+     *
+     * <p>Changed directories are rescanned, which accounts for files that
+     * were created or deleted without an event for each of them.
+     *
+     * @param changed Files or directories that were created, modified, or deleted.
+     * @return Returns true if the contents of any model file changed.
+     */
+    boolean update(Collection<Path> changed) {
+        boolean modified = false;
+        for (Path path : changed) {
+            Path normalized = path.normalize();
+            for (Path root : roots) {
+                if (normalized.startsWith(root)) {
+                    modified |= refresh(normalized);
+                } else if (root.startsWith(normalized)) {
+                    // Events were lost for a directory that contains a root.
+                    modified |= refresh(root);
+                }
+            }
+        }
+        return modified;
+    }
+
+    /**
+     * Adds every cached model to an assembler.
+     *
+     * @param assembler Assembler to update.
+     * @throws ModelSyntaxException if a JSON file can't be parsed.
+     */
+    void addTo(ModelAssembler assembler) {
+        models.forEach((path, contents) -> {
+            if (isJson(path)) {
+                assembler.addDocumentNode(documents.computeIfAbsent(path, p -> Node.parse(contents, p.toString())));
+            } else {
+                assembler.addUnparsedModel(path.toString(), contents);
+            }
+        });
+        otherFiles.forEach(assembler::addImport);
+    }
+
+    private boolean refresh(Path path) {
+        // Forget anything at or under the path that no longer exists.
+        boolean modified = models.keySet().removeIf(file -> file.startsWith(path) && !Files.isRegularFile(file));
+        documents.keySet().retainAll(models.keySet());
+        modified |= otherFiles.removeIf(file -> file.startsWith(path) && !Files.isRegularFile(file));
+
+        if (Files.isDirectory(path)) {
+            try (Stream<Path> files = Files.walk(path)) {
+                for (Path file : files.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                    modified |= load(file);
+                }
+            } catch (IOException | UncheckedIOException e) {
+                throw new CliError("Error loading the contents of " + path + ": " + e.getMessage());
+            }
+        } else if (Files.isRegularFile(path)) {
+            modified |= load(path);
+        }
+
+        return modified;
+    }
+
+    private boolean load(Path file) {
+        if (!isJson(file) && !file.toString().endsWith(".smithy")) {
+            // The contents of other files aren't tracked, so assume they changed.
+            otherFiles.add(file);
+            return true;
+        }
+
+        String contents = IoUtils.readUtf8File(file);
+        if (contents.equals(models.put(file, contents))) {
+            return false;
+        }
+
+        // Parse the new contents the next time the file is added to an assembler.
+        documents.remove(file);
+        return true;
+    }
+
+    private static boolean isJson(Path file) {
+        return file.toString().endsWith(".json");
+    }
+}
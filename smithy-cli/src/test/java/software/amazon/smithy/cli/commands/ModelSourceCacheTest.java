@@ -0,0 +1,134 @@
+/*
+ * Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.cli.commands;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.loader.ModelAssembler;
+import software.amazon.smithy.model.loader.ModelSyntaxException;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.utils.ListUtils;
+import software.amazon.smithy.utils.SetUtils;
+
+public class ModelSourceCacheTest {
+    private Path directory;
+
+    @BeforeEach
+    public void before() throws IOException {
+        directory = Files.createTempDirectory(getClass().getName());
+    }
+
+    @AfterEach
+    public void after() throws IOException {
+        Files.walk(directory).sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+    }
+
+    @Test
+    public void onlyReportsChangedContents() throws IOException {
+        Path a = write("a.smithy", "namespace foo\nstring A\n");
+        ModelSourceCache cache = new ModelSourceCache(ListUtils.of(directory));
+
+        assertThat(cache.update(SetUtils.of(a)), is(false));
+
+        write("a.smithy", "namespace foo\nstring A\nstring B\n");
+        assertThat(cache.update(SetUtils.of(a)), is(true));
+        assertThat(assemble(cache).getShapeIndex().getShape(ShapeId.from("foo#B")).isPresent(), is(true));
+    }
+
+    @Test
+    public void tracksCreatedAndDeletedFiles() throws IOException {
+        write("a.smithy", "namespace foo\nstring A\n");
+        ModelSourceCache cache = new ModelSourceCache(ListUtils.of(directory));
+
+        Path b = write("nested/b.smithy", "namespace foo\nstring B\n");
+        assertThat(cache.update(SetUtils.of(b.getParent())), is(true));
+        assertThat(assemble(cache).getShapeIndex().getShape(ShapeId.from("foo#B")).isPresent(), is(true));
+
+        Files.delete(b);
+        Files.delete(b.getParent());
+        assertThat(cache.update(SetUtils.of(b.getParent())), is(true));
+        assertThat(assemble(cache).getShapeIndex().getShape(ShapeId.from("foo#B")).isPresent(), is(false));
+        assertThat(assemble(cache).getShapeIndex().getShape(ShapeId.from("foo#A")).isPresent(), is(true));
+    }
+
+    @Test
+    public void ignoresChangesOutsideOfRoots() throws IOException {
+        Path a = write("a.smithy", "namespace foo\nstring A\n");
+        Path other = write("other.smithy", "namespace foo\nstring Other\n");
+        ModelSourceCache cache = new ModelSourceCache(ListUtils.of(a));
+
+        assertThat(cache.update(SetUtils.of(other)), is(false));
+        assertThat(assemble(cache).getShapeIndex().getShape(ShapeId.from("foo#Other")).isPresent(), is(false));
+        assertThat(cache.getRoots(), equalTo(ListUtils.of(a.normalize())));
+    }
+
+    @Test
+    public void reusesParsedJsonUntilFileChanges() throws IOException {
+        Path a = write("a.json", "{\"smithy\": \"0.1.0\", \"metadata\": {\"foo\": {\"a\": true}}}");
+        ModelSourceCache cache = new ModelSourceCache(ListUtils.of(directory));
+        Node first = assemble(cache).getMetadata().get("foo");
+
+        assertThat(cache.update(SetUtils.of(a)), is(false));
+        assertThat(assemble(cache).getMetadata().get("foo"), sameInstance(first));
+
+        write("a.json", "{\"smithy\": \"0.1.0\", \"metadata\": {\"foo\": {\"a\": false}}}");
+        assertThat(cache.update(SetUtils.of(a)), is(true));
+        Node second = assemble(cache).getMetadata().get("foo");
+
+        assertThat(second, not(sameInstance(first)));
+        assertThat(second.expectObjectNode().expectMember("a").expectBooleanNode().getValue(), is(false));
+    }
+
+    @Test
+    public void reparsesInvalidJsonAfterItIsFixed() throws IOException {
+        Path a = write("a.json", "{\"smithy\": ");
+        ModelSourceCache cache = new ModelSourceCache(ListUtils.of(directory));
+
+        Assertions.assertThrows(ModelSyntaxException.class, () -> assemble(cache));
+
+        write("a.json", "{\"smithy\": \"0.1.0\", \"foo\": {\"shapes\": {\"A\": {\"type\": \"string\"}}}}");
+        assertThat(cache.update(SetUtils.of(a)), is(true));
+        assertThat(assemble(cache).getShapeIndex().getShape(ShapeId.from("foo#A")).isPresent(), is(true));
+    }
+
+    private Path write(String name, String contents) throws IOException {
+        Path path = directory.resolve(name);
+        Files.createDirectories(path.getParent());
+        return Files.write(path, contents.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Model assemble(ModelSourceCache cache) {
+        ModelAssembler assembler = Model.assembler();
+        cache.addTo(assembler);
+        return assembler.assemble().unwrap();
+    }
+}
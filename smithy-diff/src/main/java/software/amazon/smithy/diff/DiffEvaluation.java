@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.diff;
+
+import java.util.Objects;
+
+/**
+ * The outcome of running a single {@link DiffEvaluator}.
+ *
+ * @see ModelDiffResult#getEvaluations()
+ */
+public final class DiffEvaluation {
+    private final DiffEvaluator evaluator;
+    private final long durationNanos;
+    private final int eventCount;
+
+    DiffEvaluation(DiffEvaluator evaluator, long durationNanos, int eventCount) {
+        this.evaluator = Objects.requireNonNull(evaluator);
+        this.durationNanos = durationNanos;
+        this.eventCount = eventCount;
+    }
+
+    /**
+     * Gets the evaluator that was run.
+     *
+     * @return Returns the evaluator.
+     */
+    public DiffEvaluator getEvaluator() {
+        return evaluator;
+    }
+
+    /**
+     * Gets the fully qualified class name of the evaluator.
+     *
+     * @return Returns the evaluator name.
+     */
+    public String getName() {
+        return evaluator.getClass().getName();
+    }
+
+    /**
+     * Gets the wall-clock time spent running the evaluator.
+     *
+     * @return Returns the duration in nanoseconds.
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * Gets the number of validation events emitted by the evaluator.
+     *
+     * @return Returns the number of events.
+     */
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    @Override
+    public String toString() {
+        return getName() + " (" + eventCount + " events in " + durationNanos / 1_000_000 + "ms)";
+    }
+}
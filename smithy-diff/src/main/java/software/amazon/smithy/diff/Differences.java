@@ -16,30 +16,62 @@
 package software.amazon.smithy.diff;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
 import java.util.stream.Stream;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeType;
+import software.amazon.smithy.model.traits.Trait;
 import software.amazon.smithy.model.traits.TraitDefinition;
 import software.amazon.smithy.utils.Pair;
 
 /**
  * Queryable container for detected structural differences between two models.
+ *
+ * <p>Shapes are compared by identity and then with equals. Computing a
+ * {@link Shape#getFingerprint() fingerprint} costs more than comparing
+ * shapes, so fingerprints are only used to detect that shapes changed
+ * when both were {@link Shape#getComputedFingerprint() already computed}.
+ * Fingerprints can collide, so equal fingerprints are never trusted.
+ *
+ * <p>Added, removed, and changed shapes, trait definitions, and metadata
+ * are all computed once when the differences are detected. Shapes are
+ * additionally indexed by {@link ShapeType} and changed shapes are indexed
+ * by the name of each trait that was added, removed, or changed, so the
+ * cost of querying the differences is proportional to the number of
+ * matching changes rather than to the size of the models.
  */
 public final class Differences {
     private final Model oldModel;
     private final Model newModel;
+    private final List<Shape> addedShapes = new ArrayList<>();
+    private final List<Shape> removedShapes = new ArrayList<>();
     private final List<ChangedShape<Shape>> changedShapes = new ArrayList<>();
+    private final Map<ShapeType, List<Shape>> addedShapesByType = new EnumMap<>(ShapeType.class);
+    private final Map<ShapeType, List<Shape>> removedShapesByType = new EnumMap<>(ShapeType.class);
+    private final Map<ShapeType, List<ChangedShape<Shape>>> changedShapesByType = new EnumMap<>(ShapeType.class);
+    private final Map<String, List<ChangedShape<Shape>>> changedShapesByTrait = new HashMap<>();
+    private final List<TraitDefinition> addedTraitDefinitions = new ArrayList<>();
+    private final List<TraitDefinition> removedTraitDefinitions = new ArrayList<>();
     private final List<ChangedTraitDefinition> changedTraitDefinitions = new ArrayList<>();
+    private final List<Pair<String, Node>> addedMetadata = new ArrayList<>();
+    private final List<Pair<String, Node>> removedMetadata = new ArrayList<>();
     private final List<ChangedMetadata> changedMetadata = new ArrayList<>();
 
     private Differences(Model oldModel, Model newModel) {
         this.oldModel = oldModel;
         this.newModel = newModel;
-        detectMetadataChanges(oldModel, newModel, this);
-        detectShapeChanges(oldModel, newModel, this);
-        detectTraitDefinitionChanges(oldModel, newModel, this);
+        if (oldModel != newModel) {
+            detectMetadataChanges(oldModel, newModel, this);
+            detectShapeChanges(oldModel, newModel, this);
+            detectTraitDefinitionChanges(oldModel, newModel, this);
+        }
     }
 
     static Differences detect(Model oldModel, Model newModel) {
@@ -70,8 +102,7 @@ public final class Differences {
      * @return Returns a stream of each added shape.
      */
     public Stream<Shape> addedShapes() {
-        return newModel.getShapeIndex().shapes()
-                .filter(shape -> !oldModel.getShapeIndex().getShape(shape.getId()).isPresent());
+        return addedShapes.stream();
     }
 
     /**
@@ -82,7 +113,7 @@ public final class Differences {
      * @return Returns a stream of each added shape of a specific type.
      */
     public <T extends Shape> Stream<T> addedShapes(Class<T> shapeType) {
-        return addedShapes().filter(shapeType::isInstance).map(shapeType::cast);
+        return byType(addedShapesByType, shapeType).map(shapeType::cast);
     }
 
     /**
@@ -91,8 +122,7 @@ public final class Differences {
      * @return Returns a stream of added trait definitions.
      */
     public Stream<TraitDefinition> addedTraitDefinitions() {
-        return newModel.getTraitDefinitions().stream()
-                .filter(definition -> !oldModel.getTraitDefinition(definition.getFullyQualifiedName()).isPresent());
+        return addedTraitDefinitions.stream();
     }
 
     /**
@@ -104,9 +134,7 @@ public final class Differences {
      * @return Returns a stream of added metadata.
      */
     public Stream<Pair<String, Node>> addedMetadata() {
-        return newModel.getMetadata().entrySet().stream()
-                .filter(entry -> !oldModel.getMetadata().containsKey(entry.getKey()))
-                .map(entry -> Pair.of(entry.getKey(), entry.getValue()));
+        return addedMetadata.stream();
     }
 
     /**
@@ -115,8 +143,7 @@ public final class Differences {
      * @return Returns a stream of each removed shape.
      */
     public Stream<Shape> removedShapes() {
-        return oldModel.getShapeIndex().shapes()
-                .filter(shape -> !newModel.getShapeIndex().getShape(shape.getId()).isPresent());
+        return removedShapes.stream();
     }
 
     /**
@@ -127,7 +154,7 @@ public final class Differences {
      * @return Returns a stream of each removed shape of a specific type.
      */
     public <T extends Shape> Stream<T> removedShapes(Class<T> shapeType) {
-        return removedShapes().filter(shapeType::isInstance).map(shapeType::cast);
+        return byType(removedShapesByType, shapeType).map(shapeType::cast);
     }
 
     /**
@@ -136,8 +163,7 @@ public final class Differences {
      * @return Returns a stream of removed trait definitions.
      */
     public Stream<TraitDefinition> removedTraitDefinitions() {
-        return oldModel.getTraitDefinitions().stream()
-                .filter(definition -> !newModel.getTraitDefinition(definition.getFullyQualifiedName()).isPresent());
+        return removedTraitDefinitions.stream();
     }
 
     /**
@@ -149,9 +175,7 @@ public final class Differences {
      * @return Returns a stream of removed metadata.
      */
     public Stream<Pair<String, Node>> removedMetadata() {
-        return oldModel.getMetadata().entrySet().stream()
-                .filter(entry -> !newModel.getMetadata().containsKey(entry.getKey()))
-                .map(entry -> Pair.of(entry.getKey(), entry.getValue()));
+        return removedMetadata.stream();
     }
 
     /**
@@ -172,11 +196,24 @@ public final class Differences {
      */
     @SuppressWarnings("unchecked")
     public <T extends Shape> Stream<ChangedShape<T>> changedShapes(Class<T> type) {
-        return changedShapes()
-                .filter(change -> type.isInstance(change.getOldShape()) && type.isInstance(change.getNewShape()))
+        // Changed shapes are indexed by the type of the new shape.
+        return byType(changedShapesByType, type)
+                .filter(change -> type.isInstance(change.getOldShape()))
                 .map(change -> (ChangedShape<T>) change);
     }
 
+    /**
+     * Gets all changed shapes in which a specific trait was added, removed,
+     * or changed.
+     *
+     * @param traitName Absolute name of the trait to find (for example,
+     *  {@code smithy.api#length}).
+     * @return Returns a stream of matching changed shapes.
+     */
+    public Stream<ChangedShape<Shape>> changedShapesByTrait(String traitName) {
+        return changedShapesByTrait.getOrDefault(Trait.makeAbsoluteName(traitName), Collections.emptyList()).stream();
+    }
+
     /**
      * Gets a stream of all changed trait definitions.
      *
@@ -195,31 +232,91 @@ public final class Differences {
         return changedMetadata.stream();
     }
 
+    private static <T> Stream<T> byType(Map<ShapeType, List<T>> index, Class<? extends Shape> shapeType) {
+        if (index.isEmpty()) {
+            return Stream.empty();
+        }
+
+        return ShapeType.fromShapeClass(shapeType).stream()
+                .flatMap(type -> index.getOrDefault(type, Collections.emptyList()).stream());
+    }
+
+    // Shapes are often shared between models, so identical shapes aren't deeply compared.
+    // Different fingerprints prove that shapes changed, but they're only compared when both
+    // were already computed because computing a fingerprint costs more than equals.
+    private static boolean isChanged(Shape oldShape, Shape newShape) {
+        if (oldShape == newShape) {
+            return false;
+        }
+
+        OptionalLong oldFingerprint = oldShape.getComputedFingerprint();
+        OptionalLong newFingerprint = newShape.getComputedFingerprint();
+        if (oldFingerprint.isPresent() && newFingerprint.isPresent()
+                && oldFingerprint.getAsLong() != newFingerprint.getAsLong()) {
+            return true;
+        }
+
+        return !oldShape.equals(newShape);
+    }
+
+    private static <K, V> void addToIndex(Map<K, List<V>> index, K key, V value) {
+        index.computeIfAbsent(key, k -> new ArrayList<>()).add(value);
+    }
+
     private static void detectTraitDefinitionChanges(Model oldModel, Model newModel, Differences differences) {
         oldModel.getTraitDefinitions().forEach(oldDef -> {
-            newModel.getTraitDefinition(oldDef.getFullyQualifiedName()).ifPresent(newDef -> {
-                if (!newDef.equals(oldDef)) {
-                    differences.changedTraitDefinitions.add(new ChangedTraitDefinition(oldDef, newDef));
-                }
-            });
+            TraitDefinition newDef = newModel.getTraitDefinition(oldDef.getFullyQualifiedName()).orElse(null);
+            if (newDef == null) {
+                differences.removedTraitDefinitions.add(oldDef);
+            } else if (!newDef.equals(oldDef)) {
+                differences.changedTraitDefinitions.add(new ChangedTraitDefinition(oldDef, newDef));
+            }
+        });
+
+        newModel.getTraitDefinitions().forEach(newDef -> {
+            if (!oldModel.getTraitDefinition(newDef.getFullyQualifiedName()).isPresent()) {
+                differences.addedTraitDefinitions.add(newDef);
+            }
         });
     }
 
     private static void detectShapeChanges(Model oldModel, Model newModel, Differences differences) {
         for (Shape oldShape : oldModel.getShapeIndex().toSet()) {
-            newModel.getShapeIndex().getShape(oldShape.getId()).ifPresent(newShape -> {
-                if (!oldShape.equals(newShape)) {
-                    differences.changedShapes.add(new ChangedShape<>(oldShape, newShape));
+            Shape newShape = newModel.getShapeIndex().getShape(oldShape.getId()).orElse(null);
+            if (newShape == null) {
+                differences.removedShapes.add(oldShape);
+                addToIndex(differences.removedShapesByType, oldShape.getType(), oldShape);
+            } else if (isChanged(oldShape, newShape)) {
+                ChangedShape<Shape> change = new ChangedShape<>(oldShape, newShape);
+                differences.changedShapes.add(change);
+                addToIndex(differences.changedShapesByType, newShape.getType(), change);
+                for (String traitName : change.getTraitDifferences().keySet()) {
+                    addToIndex(differences.changedShapesByTrait, traitName, change);
                 }
-            });
+            }
+        }
+
+        for (Shape newShape : newModel.getShapeIndex().toSet()) {
+            if (!oldModel.getShapeIndex().getShape(newShape.getId()).isPresent()) {
+                differences.addedShapes.add(newShape);
+                addToIndex(differences.addedShapesByType, newShape.getType(), newShape);
+            }
         }
     }
 
     private static void detectMetadataChanges(Model oldModel, Model newModel, Differences differences) {
         oldModel.getMetadata().forEach((k, v) -> {
-            if (newModel.getMetadata().containsKey(k) && !newModel.getMetadata().get(k).equals(v)) {
+            if (!newModel.getMetadata().containsKey(k)) {
+                differences.removedMetadata.add(Pair.of(k, v));
+            } else if (!newModel.getMetadata().get(k).equals(v)) {
                 differences.changedMetadata.add(new ChangedMetadata(k, v, newModel.getMetadata().get(k)));
             }
         });
+
+        newModel.getMetadata().forEach((k, v) -> {
+            if (!oldModel.getMetadata().containsKey(k)) {
+                differences.addedMetadata.add(Pair.of(k, v));
+            }
+        });
     }
 }
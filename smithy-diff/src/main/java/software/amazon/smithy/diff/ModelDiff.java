@@ -15,49 +15,317 @@
 
 package software.amazon.smithy.diff;
 
+import java.lang.ref.SoftReference;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.ServiceLoader;
-import java.util.stream.Collectors;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Logger;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.validation.Severity;
 import software.amazon.smithy.model.validation.ValidationEvent;
+import software.amazon.smithy.utils.ListUtils;
+import software.amazon.smithy.utils.SmithyBuilder;
 
 /**
  * Computes the difference between two models and any problems that might
  * occur due to those differences.
+ *
+ * <p>The static {@code compare} methods are convenient for one-off
+ * comparisons. Tools that compare many pairs of models should create a
+ * {@code ModelDiff} once using {@link #builder()} and call
+ * {@link #diff(Model, Model)} for each pair: the {@link DiffEvaluator}
+ * service providers are only discovered when the instance is built, and
+ * the returned {@link ModelDiffResult} reports how long each evaluator
+ * took and how many events it emitted.
+ *
+ * <pre>
+ * {@code
+ * ModelDiff modelDiff = ModelDiff.builder()
+ *         .executor(executor)
+ *         .stopOnError(true)
+ *         .build();
+ * ModelDiffResult result = modelDiff.diff(oldModel, newModel);
+ * }
+ * </pre>
+ *
+ * <p>A {@code ModelDiff} is immutable and thread-safe. Its evaluators are
+ * reused by every comparison and can be run concurrently, so they must not
+ * hold state between calls.
  */
 public final class ModelDiff {
-    private ModelDiff() {}
+    private static final Logger LOGGER = Logger.getLogger(ModelDiff.class.getName());
+
+    // Values are soft references because the discovered evaluators strongly
+    // reference the class loader that's used as a weak key.
+    private static final Map<ClassLoader, SoftReference<ModelDiff>> CLASS_LOADER_INSTANCES = new WeakHashMap<>();
+
+    private final List<DiffEvaluator> evaluators;
+    private final Executor executor;
+    private final boolean stopOnError;
+
+    private ModelDiff(Builder builder) {
+        if (builder.evaluators.isEmpty()) {
+            ClassLoader classLoader = builder.classLoader != null
+                    ? builder.classLoader
+                    : ModelDiff.class.getClassLoader();
+            List<DiffEvaluator> discovered = new ArrayList<>();
+            ServiceLoader.load(DiffEvaluator.class, classLoader).forEach(discovered::add);
+            evaluators = ListUtils.copyOf(discovered);
+        } else {
+            evaluators = ListUtils.copyOf(builder.evaluators);
+        }
+
+        executor = builder.executor != null ? builder.executor : ForkJoinPool.commonPool();
+        stopOnError = builder.stopOnError;
+    }
+
+    /**
+     * Creates a builder used to create a reusable {@code ModelDiff}.
+     *
+     * @return Returns the created builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
 
     /**
      * Evaluates the differences between two models.
      *
+     * <p>The evaluators found on the class path of this class are
+     * discovered once and reused by every call to this method.
+     *
      * @param oldModel Previous version of the model.
      * @param newModel New model to compare.
      * @return Returns the computed validation events.
      */
     public static List<ValidationEvent> compare(Model oldModel, Model newModel) {
-        return compare(ModelDiff.class.getClassLoader(), oldModel, newModel);
+        return DefaultInstance.INSTANCE.diff(oldModel, newModel).getEvents();
     }
 
     /**
      * Evaluates the differences between two models.
      *
+     * <p>The evaluators found using the given class loader are discovered
+     * the first time the class loader is used and reused by later calls
+     * to this method with the same class loader. The cached evaluators
+     * can be discarded when memory is low, so tools that compare many
+     * models should create a {@code ModelDiff} with {@link #builder()}.
+     *
      * @param classLoader ClassLoader used to find {@link DiffEvaluator} service providers.
      * @param oldModel Previous version of the model.
      * @param newModel New model to compare.
      * @return Returns the computed validation events.
      */
     public static List<ValidationEvent> compare(ClassLoader classLoader, Model oldModel, Model newModel) {
-        List<DiffEvaluator> evaluators = new ArrayList<>();
-        ServiceLoader.load(DiffEvaluator.class, classLoader).forEach(evaluators::add);
-        return compare(evaluators, oldModel, newModel);
+        return forClassLoader(classLoader).diff(oldModel, newModel).getEvents();
+    }
+
+    static ModelDiff forClassLoader(ClassLoader classLoader) {
+        synchronized (CLASS_LOADER_INSTANCES) {
+            SoftReference<ModelDiff> reference = CLASS_LOADER_INSTANCES.get(classLoader);
+            ModelDiff modelDiff = reference != null ? reference.get() : null;
+            if (modelDiff == null) {
+                modelDiff = builder().classLoader(classLoader).build();
+                CLASS_LOADER_INSTANCES.put(classLoader, new SoftReference<>(modelDiff));
+            }
+            return modelDiff;
+        }
     }
 
-    private static List<ValidationEvent> compare(List<DiffEvaluator> evaluators, Model oldModel, Model newModel) {
+    /**
+     * Gets the evaluators that are run by this instance.
+     *
+     * @return Returns the evaluators.
+     */
+    public List<DiffEvaluator> getEvaluators() {
+        return evaluators;
+    }
+
+    /**
+     * Evaluates the differences between two models.
+     *
+     * @param oldModel Previous version of the model.
+     * @param newModel New model to compare.
+     * @return Returns the result of the comparison.
+     */
+    public ModelDiffResult diff(Model oldModel, Model newModel) {
         Differences differences = Differences.detect(oldModel, newModel);
-        return evaluators.parallelStream()
-                .flatMap(evaluator -> evaluator.evaluate(differences).stream())
-                .collect(Collectors.toList());
+        AtomicBoolean stopped = new AtomicBoolean();
+
+        // Evaluators are submitted to the executor and waited on in order. An
+        // evaluator that the executor hasn't started by the time it's waited
+        // on is run by the calling thread.
+        List<FutureTask<Evaluated>> futures = new ArrayList<>(evaluators.size());
+        for (DiffEvaluator evaluator : evaluators) {
+            FutureTask<Evaluated> future = new FutureTask<>(() -> evaluate(evaluator, differences, stopped));
+            futures.add(future);
+            try {
+                executor.execute(future);
+            } catch (RejectedExecutionException e) {
+                LOGGER.fine(() -> "Diff evaluator rejected by executor; running it on the calling thread");
+            }
+        }
+
+        List<ValidationEvent> events = new ArrayList<>();
+        List<DiffEvaluation> evaluations = new ArrayList<>();
+        boolean skipped = false;
+        try {
+            for (FutureTask<Evaluated> future : futures) {
+                future.run();
+                Evaluated evaluated = future.get();
+                if (evaluated == null) {
+                    skipped = true;
+                } else {
+                    events.addAll(evaluated.events);
+                    evaluations.add(evaluated.evaluation);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for diff evaluators to complete", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            futures.forEach(future -> future.cancel(false));
+        }
+
+        return new ModelDiffResult(differences, events, evaluations, skipped);
+    }
+
+    private Evaluated evaluate(DiffEvaluator evaluator, Differences differences, AtomicBoolean stopped) {
+        if (stopped.get()) {
+            return null;
+        }
+
+        long start = System.nanoTime();
+        List<ValidationEvent> events = evaluator.evaluate(differences);
+        long duration = System.nanoTime() - start;
+
+        if (stopOnError && events.stream().anyMatch(event -> event.getSeverity() == Severity.ERROR)) {
+            stopped.set(true);
+        }
+
+        return new Evaluated(events, new DiffEvaluation(evaluator, duration, events.size()));
+    }
+
+    private static final class Evaluated {
+        private final List<ValidationEvent> events;
+        private final DiffEvaluation evaluation;
+
+        Evaluated(List<ValidationEvent> events, DiffEvaluation evaluation) {
+            this.events = events;
+            this.evaluation = evaluation;
+        }
+    }
+
+    private static final class DefaultInstance {
+        private static final ModelDiff INSTANCE = builder().build();
+    }
+
+    /**
+     * Builds a reusable {@link ModelDiff}.
+     */
+    public static final class Builder implements SmithyBuilder<ModelDiff> {
+        private final List<DiffEvaluator> evaluators = new ArrayList<>();
+        private ClassLoader classLoader;
+        private Executor executor;
+        private boolean stopOnError;
+
+        private Builder() {}
+
+        @Override
+        public ModelDiff build() {
+            return new ModelDiff(this);
+        }
+
+        /**
+         * Sets the ClassLoader used to find {@link DiffEvaluator} service
+         * providers.
+         *
+         * <p>Service providers are only discovered if no evaluators are
+         * explicitly added to the builder. The ClassLoader that loaded
+         * {@code ModelDiff} is used by default.
+         *
+         * @param classLoader ClassLoader used to find evaluators.
+         * @return Returns the builder.
+         */
+        public Builder classLoader(ClassLoader classLoader) {
+            this.classLoader = classLoader;
+            return this;
+        }
+
+        /**
+         * Adds an evaluator to run instead of the discovered service
+         * providers.
+         *
+         * @param evaluator Evaluator to add.
+         * @return Returns the builder.
+         */
+        public Builder addEvaluator(DiffEvaluator evaluator) {
+            evaluators.add(evaluator);
+            return this;
+        }
+
+        /**
+         * Replaces the evaluators to run instead of the discovered service
+         * providers.
+         *
+         * @param evaluators Evaluators to run.
+         * @return Returns the builder.
+         */
+        public Builder evaluators(Collection<DiffEvaluator> evaluators) {
+            this.evaluators.clear();
+            this.evaluators.addAll(evaluators);
+            return this;
+        }
+
+        /**
+         * Sets the executor used to run evaluators.
+         *
+         * <p>Evaluators run on the common fork-join pool by default. An
+         * evaluator that the executor has not started by the time its
+         * result is needed is run by the thread that called
+         * {@link ModelDiff#diff}, so a bounded executor limits concurrency
+         * without deadlocking.
+         *
+         * @param executor Executor used to run evaluators.
+         * @return Returns the builder.
+         */
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        /**
+         * Stops running evaluators once any evaluator emits an ERROR.
+         *
+         * <p>This is useful for checks that only need to know whether a
+         * change is breaking. Evaluators that have already started are
+         * allowed to finish, so the result can contain more than one
+         * ERROR, and the events of evaluators that were not run are
+         * missing from the result.
+         *
+         * @param stopOnError Set to true to stop after the first ERROR.
+         * @return Returns the builder.
+         */
+        public Builder stopOnError(boolean stopOnError) {
+            this.stopOnError = stopOnError;
+            return this;
+        }
     }
 }
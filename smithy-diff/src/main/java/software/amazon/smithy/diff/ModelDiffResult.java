@@ -0,0 +1,84 @@
+/*
+ * Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.diff;
+
+import java.util.Collections;
+import java.util.List;
+import software.amazon.smithy.model.validation.ValidationEvent;
+
+/**
+ * The result of comparing two models using {@link ModelDiff#diff}.
+ */
+public final class ModelDiffResult {
+    private final Differences differences;
+    private final List<ValidationEvent> events;
+    private final List<DiffEvaluation> evaluations;
+    private final boolean stoppedOnError;
+
+    ModelDiffResult(
+            Differences differences,
+            List<ValidationEvent> events,
+            List<DiffEvaluation> evaluations,
+            boolean stoppedOnError
+    ) {
+        this.differences = differences;
+        this.events = Collections.unmodifiableList(events);
+        this.evaluations = Collections.unmodifiableList(evaluations);
+        this.stoppedOnError = stoppedOnError;
+    }
+
+    /**
+     * Gets the detected differences between the models.
+     *
+     * @return Returns the differences.
+     */
+    public Differences getDifferences() {
+        return differences;
+    }
+
+    /**
+     * Gets the validation events emitted by every evaluator that was run.
+     *
+     * <p>Events are ordered by the evaluator that emitted them.
+     *
+     * @return Returns the validation events.
+     */
+    public List<ValidationEvent> getEvents() {
+        return events;
+    }
+
+    /**
+     * Gets the timing and event count of each evaluator that was run.
+     *
+     * <p>Evaluators that were skipped because the comparison stopped after
+     * an ERROR are not included.
+     *
+     * @return Returns the evaluations in the order the evaluators are registered.
+     */
+    public List<DiffEvaluation> getEvaluations() {
+        return evaluations;
+    }
+
+    /**
+     * Checks if evaluators were skipped because an evaluator emitted an
+     * ERROR and {@link ModelDiff.Builder#stopOnError} was enabled.
+     *
+     * @return Returns true if the comparison stopped early.
+     */
+    public boolean isStoppedOnError() {
+        return stoppedOnError;
+    }
+}
@@ -36,7 +36,7 @@ import software.amazon.smithy.utils.Pair;
 abstract class AbstractLengthAndRangeValidator<T extends Trait> extends AbstractDiffEvaluator {
     @Override
     public final List<ValidationEvent> evaluate(Differences differences) {
-        return differences.changedShapes()
+        return differences.changedShapesByTrait(getTraitName())
                 .flatMap(change -> {
                     Pair<T, T> pair = change.getChangedTrait(getTraitType()).orElse(null);
                     return pair == null
@@ -48,6 +48,8 @@ abstract class AbstractLengthAndRangeValidator<T extends Trait> extends Abstract
 
     abstract Class<T> getTraitType();
 
+    abstract String getTraitName();
+
     abstract Optional<BigDecimal> getMin(T trait);
 
     abstract Optional<BigDecimal> getMax(T trait);
@@ -34,7 +34,7 @@ import software.amazon.smithy.utils.Pair;
 public class ChangedEnumTrait extends AbstractDiffEvaluator {
     @Override
     public List<ValidationEvent> evaluate(Differences differences) {
-        return differences.changedShapes()
+        return differences.changedShapesByTrait(EnumTrait.NAME)
                 .flatMap(change -> OptionalUtils.stream(change.getChangedTrait(EnumTrait.class))
                         .map(p -> Pair.of(change, p)))
                 .flatMap(pair -> validateEnum(pair.getLeft(), pair.getRight()).stream())
@@ -29,6 +29,11 @@ public class ChangedLengthTrait extends AbstractLengthAndRangeValidator<LengthTr
         return LengthTrait.class;
     }
 
+    @Override
+    protected String getTraitName() {
+        return LengthTrait.NAME;
+    }
+
     @Override
     protected Optional<BigDecimal> getMin(LengthTrait t) {
         return t.getMin().map(BigDecimal::valueOf);
@@ -29,6 +29,11 @@ public class ChangedRangeTrait extends AbstractLengthAndRangeValidator<RangeTrai
         return RangeTrait.class;
     }
 
+    @Override
+    protected String getTraitName() {
+        return RangeTrait.NAME;
+    }
+
     @Override
     protected Optional<BigDecimal> getMin(RangeTrait t) {
         return t.getMin();
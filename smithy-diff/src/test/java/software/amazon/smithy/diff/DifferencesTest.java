@@ -17,14 +17,19 @@ package software.amazon.smithy.diff;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
 
 import org.junit.jupiter.api.Test;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.SourceLocation;
 import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.shapes.IntegerShape;
+import software.amazon.smithy.model.shapes.NumberShape;
 import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeIndex;
 import software.amazon.smithy.model.shapes.StringShape;
+import software.amazon.smithy.model.shapes.StructureShape;
+import software.amazon.smithy.model.traits.DocumentationTrait;
 import software.amazon.smithy.model.traits.SensitiveTrait;
 import software.amazon.smithy.model.traits.TraitDefinition;
 
@@ -140,4 +145,87 @@ public class DifferencesTest {
 
         assertThat(differences.changedTraitDefinitions().count(), equalTo(1L));
     }
+
+    @Test
+    public void detectsNoDifferencesBetweenIdenticalModels() {
+        Shape a = StringShape.builder().id("foo.bar#Baz").addTrait(new SensitiveTrait(SourceLocation.NONE)).build();
+        Shape b = StringShape.builder().id("foo.bar#Baz").addTrait(new SensitiveTrait(SourceLocation.NONE)).build();
+        Model previous = Model.builder().shapeIndex(ShapeIndex.builder().addShapes(a).build()).build();
+        Model current = Model.builder().shapeIndex(ShapeIndex.builder().addShapes(b).build()).build();
+        Differences differences = Differences.detect(previous, current);
+
+        assertThat(differences.changedShapes().count(), equalTo(0L));
+        assertThat(differences.addedShapes().count(), equalTo(0L));
+        assertThat(differences.removedShapes().count(), equalTo(0L));
+    }
+
+    @Test
+    public void usesComputedFingerprintsToDetectChangedShapes() {
+        Shape a = StringShape.builder().id("foo.bar#Baz").build();
+        Shape b = StringShape.builder().id("foo.bar#Baz").addTrait(new SensitiveTrait(SourceLocation.NONE)).build();
+        a.getFingerprint();
+        b.getFingerprint();
+        Model previous = Model.assembler().addShape(a).assemble().unwrap();
+        Model current = Model.assembler().addShape(b).assemble().unwrap();
+        Differences differences = Differences.detect(previous, current);
+
+        assertThat(differences.changedShapes().count(), equalTo(1L));
+    }
+
+    @Test
+    public void doesNotComputeFingerprintsToCompareShapes() {
+        Shape a = StringShape.builder().id("foo.bar#Baz").build();
+        Shape b = StringShape.builder().id("foo.bar#Baz").build();
+        a.getFingerprint();
+        Model previous = Model.assembler().addShape(a).assemble().unwrap();
+        Model current = Model.assembler().addShape(b).assemble().unwrap();
+        Differences differences = Differences.detect(previous, current);
+
+        assertThat(differences.changedShapes().count(), equalTo(0L));
+        assertThat(current.getShapeIndex().getShape(b.getId()).get().getComputedFingerprint().isPresent(),
+                   is(false));
+    }
+
+    @Test
+    public void indexesChangedShapesByTypeAndTrait() {
+        Shape string1 = StringShape.builder().id("foo.bar#Baz").build();
+        Shape string2 = StringShape.builder()
+                .id("foo.bar#Baz")
+                .addTrait(new SensitiveTrait(SourceLocation.NONE))
+                .build();
+        Shape integer1 = IntegerShape.builder()
+                .id("foo.bar#Qux")
+                .addTrait(new DocumentationTrait("docs", SourceLocation.NONE))
+                .build();
+        Shape integer2 = IntegerShape.builder()
+                .id("foo.bar#Qux")
+                .addTrait(new DocumentationTrait("changed", SourceLocation.NONE))
+                .build();
+        Model previous = Model.assembler().addShapes(string1, integer1).assemble().unwrap();
+        Model current = Model.assembler().addShapes(string2, integer2).assemble().unwrap();
+        Differences differences = Differences.detect(previous, current);
+
+        assertThat(differences.changedShapes(StringShape.class).count(), equalTo(1L));
+        assertThat(differences.changedShapes(NumberShape.class).count(), equalTo(1L));
+        assertThat(differences.changedShapes(StructureShape.class).count(), equalTo(0L));
+        assertThat(differences.changedShapesByTrait("sensitive").findFirst().get().getShapeId(),
+                   equalTo(string1.getId()));
+        assertThat(differences.changedShapesByTrait(DocumentationTrait.NAME).findFirst().get().getShapeId(),
+                   equalTo(integer1.getId()));
+        assertThat(differences.changedShapesByTrait("smithy.api#length").count(), equalTo(0L));
+    }
+
+    @Test
+    public void doesNotReturnShapesThatChangedType() {
+        Shape string = StringShape.builder().id("foo.bar#Baz").build();
+        Shape integer = IntegerShape.builder().id("foo.bar#Baz").build();
+        Model previous = Model.assembler().addShape(string).assemble().unwrap();
+        Model current = Model.assembler().addShape(integer).assemble().unwrap();
+        Differences differences = Differences.detect(previous, current);
+
+        assertThat(differences.changedShapes().count(), equalTo(1L));
+        assertThat(differences.changedShapes(StringShape.class).count(), equalTo(0L));
+        assertThat(differences.changedShapes(IntegerShape.class).count(), equalTo(0L));
+        assertThat(differences.changedShapes(Shape.class).count(), equalTo(1L));
+    }
 }
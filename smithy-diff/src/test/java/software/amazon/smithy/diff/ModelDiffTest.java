@@ -0,0 +1,145 @@
+/*
+ * Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.diff;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.validation.Severity;
+import software.amazon.smithy.model.validation.ValidationEvent;
+import software.amazon.smithy.utils.ListUtils;
+
+public class ModelDiffTest {
+    private static final Model OLD_MODEL = Model.builder().build();
+    private static final Model NEW_MODEL = Model.builder().putMetadataProperty("foo", Node.from("bar")).build();
+
+    @Test
+    public void reportsEvaluationsInOrder() {
+        DiffEvaluator first = differences -> ListUtils.of(event("First", Severity.NOTE), event("First", Severity.NOTE));
+        DiffEvaluator second = differences -> ListUtils.of(event("Second", Severity.WARNING));
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            ModelDiffResult result = ModelDiff.builder()
+                    .addEvaluator(first)
+                    .addEvaluator(second)
+                    .executor(executor)
+                    .build()
+                    .diff(OLD_MODEL, NEW_MODEL);
+
+            assertThat(result.getEvents(), hasSize(3));
+            assertThat(result.getEvents().get(2).getEventId(), equalTo("Second"));
+            assertThat(result.getEvaluations(), hasSize(2));
+            assertThat(result.getEvaluations().get(0).getEvaluator(), sameInstance(first));
+            assertThat(result.getEvaluations().get(0).getEventCount(), equalTo(2));
+            assertThat(result.getEvaluations().get(0).getDurationNanos(), greaterThanOrEqualTo(0L));
+            assertThat(result.getEvaluations().get(1).getEventCount(), equalTo(1));
+            assertThat(result.isStoppedOnError(), is(false));
+            assertThat(result.getDifferences().addedMetadata().count(), equalTo(1L));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void stopsAfterFirstError() {
+        AtomicInteger calls = new AtomicInteger();
+        DiffEvaluator breaking = differences -> ListUtils.of(event("Breaking", Severity.ERROR));
+        DiffEvaluator counting = differences -> {
+            calls.incrementAndGet();
+            return ListUtils.of();
+        };
+
+        // Tasks are only run once they are waited on, and in order.
+        ModelDiffResult result = ModelDiff.builder()
+                .evaluators(ListUtils.of(breaking, counting))
+                .executor(task -> { })
+                .stopOnError(true)
+                .build()
+                .diff(OLD_MODEL, NEW_MODEL);
+
+        assertThat(result.isStoppedOnError(), is(true));
+        assertThat(result.getEvaluations(), hasSize(1));
+        assertThat(result.getEvents(), hasSize(1));
+        assertThat(calls.get(), equalTo(0));
+    }
+
+    @Test
+    public void runsEveryEvaluatorWhenNotStoppingOnError() {
+        AtomicInteger calls = new AtomicInteger();
+        DiffEvaluator breaking = differences -> ListUtils.of(event("Breaking", Severity.ERROR));
+        DiffEvaluator counting = differences -> {
+            calls.incrementAndGet();
+            return ListUtils.of();
+        };
+
+        ModelDiffResult result = ModelDiff.builder()
+                .evaluators(ListUtils.of(breaking, counting))
+                .executor(Runnable::run)
+                .build()
+                .diff(OLD_MODEL, NEW_MODEL);
+
+        assertThat(result.isStoppedOnError(), is(false));
+        assertThat(result.getEvaluations(), hasSize(2));
+        assertThat(calls.get(), equalTo(1));
+    }
+
+    @Test
+    public void reusesDiscoveredEvaluators() {
+        ModelDiff modelDiff = ModelDiff.builder().build();
+        List<DiffEvaluator> evaluators = modelDiff.getEvaluators();
+        ModelDiffResult result = modelDiff.diff(OLD_MODEL, NEW_MODEL);
+
+        assertThat(evaluators, not(hasSize(0)));
+        assertThat(result.getEvaluations(), hasSize(evaluators.size()));
+        assertThat(result.getEvaluations().get(0).getEvaluator(), sameInstance(evaluators.get(0)));
+        assertThat(modelDiff.diff(OLD_MODEL, NEW_MODEL).getEvents(), equalTo(result.getEvents()));
+        assertThat(result.getEvents(), contains(ModelDiff.compare(OLD_MODEL, NEW_MODEL).toArray()));
+    }
+
+    @Test
+    public void reusesEvaluatorsDiscoveredWithClassLoader() {
+        ClassLoader classLoader = getClass().getClassLoader();
+        ModelDiff modelDiff = ModelDiff.forClassLoader(classLoader);
+
+        assertThat(ModelDiff.forClassLoader(classLoader), sameInstance(modelDiff));
+        assertThat(ModelDiff.compare(classLoader, OLD_MODEL, NEW_MODEL),
+                   equalTo(modelDiff.diff(OLD_MODEL, NEW_MODEL).getEvents()));
+    }
+
+    private static ValidationEvent event(String id, Severity severity) {
+        return ValidationEvent.builder()
+                .eventId(id)
+                .severity(severity)
+                .message("message")
+                .sourceLocation(SourceLocation.NONE)
+                .build();
+    }
+}
@@ -64,4 +64,21 @@ public class ChangedMemberTargetTest {
         assertThat(TestHelper.findEvents(events, member2.getId()).size(), equalTo(1));
         assertThat(TestHelper.findEvents(events, Severity.WARNING).size(), equalTo(1));
     }
+
+    @Test
+    public void detectsChangesToTargetsWithSimilarNames() {
+        // "Aa" and "BB" have the same String#hashCode.
+        StringShape shape1 = StringShape.builder().id("foo.baz#Aa").build();
+        MemberShape member1 = MemberShape.builder().id("foo.baz#List$member").target(shape1.getId()).build();
+        ListShape list1 = ListShape.builder().id("foo.baz#List").member(member1).build();
+        StringShape shape2 = StringShape.builder().id("foo.baz#BB").build();
+        MemberShape member2 = MemberShape.builder().id("foo.baz#List$member").target(shape2.getId()).build();
+        ListShape list2 = ListShape.builder().id("foo.baz#List").member(member2).build();
+        Model modelA = Model.assembler().addShapes(shape1, shape2, member1, list1).assemble().unwrap();
+        Model modelB = Model.assembler().addShapes(shape1, shape2, member2, list2).assemble().unwrap();
+        List<ValidationEvent> events = ModelDiff.compare(modelA, modelB);
+
+        assertThat(TestHelper.findEvents(events, "ChangedMemberTarget").size(), equalTo(1));
+        assertThat(TestHelper.findEvents(events, Severity.WARNING).size(), equalTo(1));
+    }
 }
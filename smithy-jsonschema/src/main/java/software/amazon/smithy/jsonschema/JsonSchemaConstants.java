@@ -91,6 +91,16 @@ public final class JsonSchemaConstants {
     /** Inlines member definitions when possible. TODO: Not currently supported. */
     public static final String INLINE_MEMBERS = "inlineMembers";
 
+    /**
+     * Replaces inline schemas that are duplicated across definitions with
+     * a $ref to a shared definition.
+     *
+     * <p>Added definitions are named "Inline" followed by a hash of the
+     * schema (for example, "#/definitions/Inline1a2b3c4d"). The root schema
+     * of a document is not updated.
+     */
+    public static final String HOIST_DUPLICATE_SCHEMAS = "hoistDuplicateSchemas";
+
     /** Strips any instances of "const" from schemas. */
     public static final String DISABLE_CONST = "disable.const";
 
@@ -17,34 +17,54 @@ package software.amazon.smithy.jsonschema;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import software.amazon.smithy.model.loader.Prelude;
 import software.amazon.smithy.model.neighbor.Walker;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.model.shapes.ServiceShape;
 import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.ShapeIndex;
 import software.amazon.smithy.model.traits.PrivateTrait;
 import software.amazon.smithy.utils.FunctionalUtils;
+import software.amazon.smithy.utils.ListUtils;
 import software.amazon.smithy.utils.Pair;
 
 /**
  * Converts a Smithy model index to a JSON schema document.
+ *
+ * <p>The schema created for each shape is cached by the converter and
+ * reused by later conversions of the same shape index that use the same
+ * configuration, ref strategy, property naming strategy, and mappers.
+ * The cache is shared with copies of the converter. Definitions are
+ * always added to the created document in shape ID order, regardless of
+ * whether shapes are converted in parallel.
  */
 public final class JsonSchemaConverter {
 
+    private static final PropertyNamingStrategy DEFAULT_PROPERTY_NAMING_STRATEGY =
+            PropertyNamingStrategy.createDefaultStrategy();
+    private static final RefStrategy DEFAULT_REF_STRATEGY = RefStrategy.createDefaultStrategy();
+
     /** All converters use the built-in mappers. */
     private final List<JsonSchemaMapper> mappers = new ArrayList<>();
 
+    private final SchemaCache cache;
     private PropertyNamingStrategy propertyNamingStrategy;
     private ObjectNode config = Node.objectNode();
     private RefStrategy refStrategy;
     private Predicate<Shape> shapePredicate = shape -> true;
+    private boolean parallel;
 
-    private JsonSchemaConverter() {
+    private JsonSchemaConverter(SchemaCache cache) {
+        this.cache = cache;
         mappers.add(new DisableMapper());
         mappers.add(new TimestampMapper());
     }
@@ -55,24 +75,43 @@ public final class JsonSchemaConverter {
      * @return Returns the created JsonSchemaConverter.
      */
     public static JsonSchemaConverter create() {
-        return new JsonSchemaConverter();
+        return new JsonSchemaConverter(new SchemaCache());
     }
 
     /**
      * Copies the JsonSchemaConverter to a new converter.
      *
+     * <p>The copied converter shares the cached schemas of this converter.
+     *
      * @return Returns the copied converter.
      */
     public JsonSchemaConverter copy() {
-        JsonSchemaConverter copy = create();
+        JsonSchemaConverter copy = new JsonSchemaConverter(cache);
         copy.config = config;
+        copy.mappers.clear();
         copy.mappers.addAll(mappers);
         copy.propertyNamingStrategy = propertyNamingStrategy;
         copy.refStrategy = refStrategy;
         copy.shapePredicate = shapePredicate;
+        copy.parallel = parallel;
         return copy;
     }
 
+    /**
+     * Sets whether shapes are converted in parallel.
+     *
+     * <p>Shapes are converted sequentially by default. Mappers, ref
+     * strategies, and property naming strategies must be thread-safe
+     * when shapes are converted in parallel.
+     *
+     * @param parallel Set to true to convert shapes in parallel.
+     * @return Returns the converter.
+     */
+    public JsonSchemaConverter parallel(boolean parallel) {
+        this.parallel = parallel;
+        return this;
+    }
+
     /**
      * Sets a predicate used to filter Smithy shapes from being converted
      * to JSON Schema.
@@ -125,10 +164,7 @@ public final class JsonSchemaConverter {
      * @return Returns the PropertyNamingStrategy.
      */
     public PropertyNamingStrategy getPropertyNamingStrategy() {
-        if (propertyNamingStrategy == null) {
-            propertyNamingStrategy = PropertyNamingStrategy.createDefaultStrategy();
-        }
-        return propertyNamingStrategy;
+        return propertyNamingStrategy != null ? propertyNamingStrategy : DEFAULT_PROPERTY_NAMING_STRATEGY;
     }
 
     /**
@@ -151,10 +187,7 @@ public final class JsonSchemaConverter {
      * @return Reference naming strategy to use.
      */
     public RefStrategy getRefStrategy() {
-        if (refStrategy == null) {
-            refStrategy = RefStrategy.createDefaultStrategy();
-        }
-        return refStrategy;
+        return refStrategy != null ? refStrategy : DEFAULT_REF_STRATEGY;
     }
 
     /**
@@ -197,28 +230,68 @@ public final class JsonSchemaConverter {
         mappers.sort(Comparator.comparing(JsonSchemaMapper::getOrder));
 
         SchemaDocument.Builder builder = SchemaDocument.builder();
+        ObjectNode currentConfig = getConfig();
+        RefStrategy currentRefStrategy = getRefStrategy();
+        PropertyNamingStrategy currentNamingStrategy = getPropertyNamingStrategy();
+        List<JsonSchemaMapper> currentMappers = ListUtils.copyOf(mappers);
         JsonSchemaShapeVisitor visitor = new JsonSchemaShapeVisitor(
-                shapeIndex, getConfig(), getRefStrategy(), getPropertyNamingStrategy(), mappers);
+                shapeIndex, currentConfig, currentRefStrategy, currentNamingStrategy, currentMappers);
+        Map<ShapeId, Schema> schemas = cache.getSchemas(shapeIndex, ListUtils.of(
+                currentConfig, currentRefStrategy, currentNamingStrategy, currentMappers));
+        SchemaPool pool = cache.getPool(shapeIndex);
 
         if (rootShape != null && !(rootShape instanceof ServiceShape)) {
-            builder.rootSchema(rootShape.accept(visitor));
+            // The root shape might not be part of the index (e.g., a synthesized shape).
+            builder.rootSchema(shapeIndex.getShape(rootShape.getId()).filter(rootShape::equals).isPresent()
+                               ? convertShape(rootShape, visitor, schemas, pool)
+                               : rootShape.accept(visitor));
         }
 
         addExtensions(builder);
         Predicate<Shape> predicate = composePredicate(shapeIndex, rootShape);
-        shapeIndex.shapes()
+        boolean inlineMembers = currentConfig.getBooleanMemberOrDefault(JsonSchemaConstants.INLINE_MEMBERS);
+        Stream<Shape> shapes = shapeIndex.shapes();
+        Map<String, Schema> definitions = new LinkedHashMap<>();
+        (parallel ? shapes.parallel() : shapes)
                 .filter(predicate)
                 // Don't include members if their container was excluded.
-                .filter(shape -> memberDefinitionPredicate(shapeIndex, shape, predicate))
+                .filter(shape -> memberDefinitionPredicate(shapeIndex, shape, predicate, inlineMembers))
+                // Only the shapes that are converted need to be sorted.
+                .sorted(Comparator.comparing(Shape::getId))
                 // Create the pointer to the shape and schema object.
                 .map(shape -> Pair.of(
-                        getRefStrategy().toPointer(shape.getId(), getConfig()),
-                        shape.accept(visitor)))
-                .forEach(pair -> builder.putDefinition(pair.getLeft(), pair.getRight()));
-
+                        currentRefStrategy.toPointer(shape.getId(), currentConfig),
+                        convertShape(shape, visitor, schemas, pool)))
+                // Collecting an ordered stream keeps definitions in shape ID order.
+                .collect(Collectors.toList())
+                .forEach(pair -> definitions.put(pair.getLeft(), pair.getRight()));
+
+        if (currentConfig.getBooleanMemberOrDefault(JsonSchemaConstants.HOIST_DUPLICATE_SCHEMAS)) {
+            String pointer = currentConfig.getStringMemberOrDefault(
+                    JsonSchemaConstants.DEFINITION_POINTER, RefStrategy.DEFAULT_POINTER);
+            SchemaHoister.hoist(definitions, pointer).forEach(builder::putDefinition);
+        } else {
+            definitions.forEach(builder::putDefinition);
+        }
         return builder.build();
     }
 
+    private Schema convertShape(
+            Shape shape,
+            JsonSchemaShapeVisitor visitor,
+            Map<ShapeId, Schema> schemas,
+            SchemaPool pool
+    ) {
+        Schema schema = schemas.get(shape.getId());
+        if (schema == null) {
+            // Interning shares equal schemas across shapes and conversions.
+            schema = pool.intern(shape.accept(visitor));
+            Schema previous = schemas.putIfAbsent(shape.getId(), schema);
+            schema = previous != null ? previous : schema;
+        }
+        return schema;
+    }
+
     private Predicate<Shape> composePredicate(ShapeIndex shapeIndex, Shape rootShape) {
         // Don't write the root shape to the definitions.
         Predicate<Shape> predicate = (shape -> rootShape == null || !shape.getId().equals(rootShape.getId()));
@@ -226,8 +299,10 @@ public final class JsonSchemaConverter {
         predicate = predicate.and(FunctionalUtils.not(Prelude::isPreludeShape));
         // Don't convert unsupported shapes.
         predicate = predicate.and(FunctionalUtils.not(this::isUnsupportedShapeType));
-        // Don't convert excluded private shapes.
-        predicate = predicate.and(shape -> !isExcludedPrivateShape(shapeIndex, shape));
+        // Don't convert excluded private shapes. Private shapes can be explicitly included if desired.
+        if (!getConfig().getBooleanMemberOrDefault(JsonSchemaConstants.SMITHY_INCLUDE_PRIVATE_SHAPES)) {
+            predicate = predicate.and(shape -> !isPrivateShape(shapeIndex, shape));
+        }
         // Filter by the custom predicate.
         predicate = predicate.and(shapePredicate);
 
@@ -248,10 +323,15 @@ public final class JsonSchemaConverter {
     }
 
     // Only include members if not using INLINE_MEMBERS.
-    private boolean memberDefinitionPredicate(ShapeIndex shapeIndex, Shape shape, Predicate<Shape> predicate) {
+    private boolean memberDefinitionPredicate(
+            ShapeIndex shapeIndex,
+            Shape shape,
+            Predicate<Shape> predicate,
+            boolean inlineMembers
+    ) {
         if (!shape.isMemberShape()) {
             return true;
-        } else if (getConfig().getBooleanMemberOrDefault(JsonSchemaConstants.INLINE_MEMBERS)) {
+        } else if (inlineMembers) {
             return false;
         }
 
@@ -263,11 +343,8 @@ public final class JsonSchemaConverter {
     }
 
     // Don't generate schemas for private shapes or members of private shapes.
-    private boolean isExcludedPrivateShape(ShapeIndex shapeIndex, Shape shape) {
-        // We can explicitly enable the generation of private shapes if desired.
-        if (getConfig().getBooleanMemberOrDefault(JsonSchemaConstants.SMITHY_INCLUDE_PRIVATE_SHAPES)) {
-            return false;
-        } else if (shape.hasTrait(PrivateTrait.class)) {
+    private boolean isPrivateShape(ShapeIndex shapeIndex, Shape shape) {
+        if (shape.hasTrait(PrivateTrait.class)) {
             return true;
         }
 
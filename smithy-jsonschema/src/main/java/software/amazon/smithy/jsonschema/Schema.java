@@ -15,13 +15,15 @@
 
 package software.amazon.smithy.jsonschema;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
 import java.util.logging.Logger;
 import software.amazon.smithy.model.node.ArrayNode;
 import software.amazon.smithy.model.node.Node;
@@ -106,6 +108,7 @@ public final class Schema implements ToNode, ToSmithyBuilder<Schema> {
     private final Map<String, ToNode> extensions;
 
     private Node asNode;
+    private int hash;
 
     private Schema(Builder builder) {
         ref = builder.ref;
@@ -463,7 +466,72 @@ public final class Schema implements ToNode, ToSmithyBuilder<Schema> {
 
     @Override
     public int hashCode() {
-        return Objects.hash(ref, type, properties, items);
+        // Schemas are compared using their node values, so hash them the same way.
+        int result = hash;
+        if (result == 0) {
+            result = toNode().hashCode();
+            hash = result;
+        }
+        return result;
+    }
+
+    /**
+     * Applies a function to each schema directly nested in this schema.
+     *
+     * <p>This schema is returned as-is if the function returns the same
+     * instance for every nested schema.
+     *
+     * @param mapper Function that maps nested schemas.
+     * @return Returns the updated schema.
+     */
+    Schema mapChildren(Function<Schema, Schema> mapper) {
+        Schema mappedItems = items == null ? null : mapper.apply(items);
+        Schema mappedAdditionalProperties = additionalProperties == null ? null : mapper.apply(additionalProperties);
+        Schema mappedPropertyNames = propertyNames == null ? null : mapper.apply(propertyNames);
+        Schema mappedNot = not == null ? null : mapper.apply(not);
+        List<Schema> mappedAllOf = mapList(allOf, mapper);
+        List<Schema> mappedAnyOf = mapList(anyOf, mapper);
+        List<Schema> mappedOneOf = mapList(oneOf, mapper);
+        Map<String, Schema> mappedProperties = new LinkedHashMap<>();
+        boolean changed = mappedItems != items
+                || mappedAdditionalProperties != additionalProperties
+                || mappedPropertyNames != propertyNames
+                || mappedNot != not
+                || mappedAllOf != allOf
+                || mappedAnyOf != anyOf
+                || mappedOneOf != oneOf;
+
+        for (Map.Entry<String, Schema> entry : properties.entrySet()) {
+            Schema mapped = mapper.apply(entry.getValue());
+            changed |= mapped != entry.getValue();
+            mappedProperties.put(entry.getKey(), mapped);
+        }
+
+        if (!changed) {
+            return this;
+        }
+
+        return toBuilder()
+                .items(mappedItems)
+                .additionalProperties(mappedAdditionalProperties)
+                .propertyNames(mappedPropertyNames)
+                .not(mappedNot)
+                .allOf(mappedAllOf)
+                .anyOf(mappedAnyOf)
+                .oneOf(mappedOneOf)
+                .properties(mappedProperties)
+                .build();
+    }
+
+    private static List<Schema> mapList(List<Schema> schemas, Function<Schema, Schema> mapper) {
+        List<Schema> result = new ArrayList<>(schemas.size());
+        boolean changed = false;
+        for (Schema schema : schemas) {
+            Schema mapped = mapper.apply(schema);
+            changed |= mapped != schema;
+            result.add(mapped);
+        }
+        return changed ? result : schemas;
     }
 
     /**
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.jsonschema;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.ShapeIndex;
+
+/**
+ * Caches the schemas created for shapes by a {@link JsonSchemaConverter}
+ * and its copies.
+ *
+ * <p>Schemas are cached per shape index and per converter configuration,
+ * where the configuration consists of the config object, the ref and
+ * property naming strategies, and the mappers of the converter. Every
+ * cached schema of a shape index is interned in a {@link SchemaPool} that
+ * is shared by each configuration. Shape indexes are weakly referenced so
+ * that cached schemas are released along with the model they were created
+ * from.
+ */
+final class SchemaCache {
+    private final Map<ShapeIndex, Entry> entries = new WeakHashMap<>();
+
+    /**
+     * Gets the thread-safe map of cached schemas for a shape index and
+     * converter configuration.
+     *
+     * @param index Shape index being converted.
+     * @param configuration Values that make up the converter configuration.
+     * @return Returns the cached schemas, keyed by shape ID.
+     */
+    synchronized Map<ShapeId, Schema> getSchemas(ShapeIndex index, List<Object> configuration) {
+        return getEntry(index).schemas.computeIfAbsent(configuration, c -> new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Gets the pool used to intern the schemas of a shape index.
+     *
+     * @param index Shape index being converted.
+     * @return Returns the schema pool.
+     */
+    synchronized SchemaPool getPool(ShapeIndex index) {
+        return getEntry(index).pool;
+    }
+
+    private Entry getEntry(ShapeIndex index) {
+        return entries.computeIfAbsent(index, i -> new Entry());
+    }
+
+    private static final class Entry {
+        private final SchemaPool pool = SchemaPool.create();
+        private final Map<List<Object>, Map<ShapeId, Schema>> schemas = new HashMap<>();
+    }
+}
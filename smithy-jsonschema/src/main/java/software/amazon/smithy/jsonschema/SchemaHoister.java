@@ -0,0 +1,141 @@
+/*
+ * Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.jsonschema;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import software.amazon.smithy.model.node.Node;
+
+/**
+ * Replaces duplicate inline schemas of schema definitions with a $ref to
+ * a shared definition.
+ *
+ * <p>A schema nested in a definition is replaced when it is equal to
+ * another definition, or when it occurs more than once across every
+ * definition, in which case a new definition is added for it. Schemas
+ * with a single property (for example, {@code {"type": "string"}} or
+ * another $ref) are never replaced since a $ref would not be any smaller.
+ *
+ * <p>Added definitions are named using a hash of their contents so that
+ * their names remain stable as unrelated parts of a model change.
+ */
+final class SchemaHoister {
+    private static final String NAME_PREFIX = "Inline";
+    private static final int HASH_LENGTH = 8;
+
+    private final Map<String, Schema> definitions;
+    private final String pointerPrefix;
+    private final Map<Schema, String> pointers = new HashMap<>();
+    private final Map<Schema, Integer> counts = new HashMap<>();
+    private final Set<String> usedPointers = new HashSet<>();
+
+    private SchemaHoister(Map<String, Schema> definitions, String pointerPrefix) {
+        this.definitions = definitions;
+        this.pointerPrefix = pointerPrefix.endsWith("/") ? pointerPrefix : pointerPrefix + "/";
+    }
+
+    /**
+     * Hoists duplicate inline schemas of the given definitions.
+     *
+     * @param definitions Definitions to update, keyed by pointer.
+     * @param pointerPrefix Pointer prefix used for added definitions.
+     * @return Returns the updated definitions followed by added definitions.
+     */
+    static Map<String, Schema> hoist(Map<String, Schema> definitions, String pointerPrefix) {
+        return new SchemaHoister(definitions, pointerPrefix).hoist();
+    }
+
+    private Map<String, Schema> hoist() {
+        for (Map.Entry<String, Schema> entry : definitions.entrySet()) {
+            pointers.putIfAbsent(entry.getValue(), entry.getKey());
+            usedPointers.add(entry.getKey());
+        }
+
+        definitions.values().forEach(definition -> definition.mapChildren(this::count));
+
+        // Sort the added definitions so that they're named deterministically.
+        Map<String, Schema> added = new TreeMap<>();
+        for (Map.Entry<Schema, Integer> entry : counts.entrySet()) {
+            Schema schema = entry.getKey();
+            if (entry.getValue() > 1 && !pointers.containsKey(schema)) {
+                added.put(Node.printJson(schema.toNode().withDeepSortedKeys()), schema);
+            }
+        }
+        for (Map.Entry<String, Schema> entry : added.entrySet()) {
+            pointers.put(entry.getValue(), createPointer(entry.getKey()));
+        }
+
+        Map<String, Schema> result = new LinkedHashMap<>();
+        definitions.forEach((pointer, definition) -> result.put(pointer, definition.mapChildren(this::replace)));
+        Map<String, Schema> addedDefinitions = new TreeMap<>();
+        for (Schema schema : added.values()) {
+            addedDefinitions.put(pointers.get(schema), schema.mapChildren(this::replace));
+        }
+        result.putAll(addedDefinitions);
+        return result;
+    }
+
+    private Schema count(Schema schema) {
+        // Only count the nested schemas of the first occurrence so that the
+        // nested schemas of a hoisted schema aren't considered duplicates.
+        if (!isHoistable(schema) || counts.merge(schema, 1, Integer::sum) == 1) {
+            schema.mapChildren(this::count);
+        }
+        return schema;
+    }
+
+    private Schema replace(Schema schema) {
+        if (isHoistable(schema)) {
+            String pointer = pointers.get(schema);
+            if (pointer != null) {
+                return Schema.builder().ref(pointer).build();
+            }
+        }
+        return schema.mapChildren(this::replace);
+    }
+
+    private boolean isHoistable(Schema schema) {
+        return schema.toNode().expectObjectNode().size() > 1;
+    }
+
+    private String createPointer(String json) {
+        String name = pointerPrefix + NAME_PREFIX + hash(json).substring(0, HASH_LENGTH);
+        String pointer = name;
+        for (int i = 2; !usedPointers.add(pointer); i++) {
+            pointer = name + i;
+        }
+        return pointer;
+    }
+
+    private static String hash(String value) {
+        try {
+            StringBuilder result = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8))) {
+                result.append(String.format("%02x", b));
+            }
+            return result.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.jsonschema;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Canonicalizes structurally equal {@link Schema}s to a single instance.
+ *
+ * <p>Generated schemas often contain many identical schemas (for example,
+ * string members with the same constraints). Interning a schema returns
+ * the first equal schema that was interned, and interns every schema
+ * nested within it, so equal schemas and their nested schemas are only
+ * held in memory once and their node representations are only computed
+ * once.
+ *
+ * <p>A SchemaPool is thread-safe.
+ */
+public final class SchemaPool {
+    private final ConcurrentMap<Schema, Schema> schemas = new ConcurrentHashMap<>();
+
+    private SchemaPool() {}
+
+    /**
+     * Creates an empty SchemaPool.
+     *
+     * @return Returns the created pool.
+     */
+    public static SchemaPool create() {
+        return new SchemaPool();
+    }
+
+    /**
+     * Gets the canonical instance of a schema, adding it to the pool if
+     * no equal schema has been interned.
+     *
+     * @param schema Schema to intern.
+     * @return Returns the canonical schema that is equal to {@code schema}.
+     */
+    public Schema intern(Schema schema) {
+        Schema result = schemas.get(schema);
+        if (result == null) {
+            Schema canonical = schema.mapChildren(this::intern);
+            result = schemas.putIfAbsent(canonical, canonical);
+            if (result == null) {
+                result = canonical;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Gets the number of distinct schemas in the pool.
+     *
+     * @return Returns the number of interned schemas.
+     */
+    public int size() {
+        return schemas.size();
+    }
+}
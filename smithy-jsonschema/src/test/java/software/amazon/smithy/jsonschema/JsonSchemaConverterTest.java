@@ -22,12 +22,15 @@ import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.Optional;
 import java.util.function.Predicate;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -104,6 +107,74 @@ public class JsonSchemaConverterTest {
                 .copy();
     }
 
+    @Test
+    public void convertsShapesInParallel() {
+        Model model = Model.assembler()
+                .addImport(getClass().getResource("test-service.json"))
+                .assemble()
+                .unwrap();
+        SchemaDocument sequential = JsonSchemaConverter.create().convert(model.getShapeIndex());
+        SchemaDocument parallel = JsonSchemaConverter.create().parallel(true).convert(model.getShapeIndex());
+
+        assertThat(parallel, equalTo(sequential));
+        assertThat(ListUtils.copyOf(parallel.getDefinitions().keySet()),
+                   equalTo(ListUtils.copyOf(sequential.getDefinitions().keySet())));
+    }
+
+    @Test
+    public void parallelConversionKeepsDefinitionsInShapeIdOrder() {
+        // Add enough shapes in reverse order for the parallel stream to be split.
+        ShapeIndex.Builder builder = ShapeIndex.builder();
+        List<String> expected = new ArrayList<>();
+        for (int i = 999; i >= 0; i--) {
+            builder.addShape(StringShape.builder().id(String.format("smithy.example#Shape%03d", i)).build());
+        }
+        for (int i = 0; i < 1000; i++) {
+            expected.add(String.format("#/definitions/SmithyExampleShape%03d", i));
+        }
+        ShapeIndex index = builder.build();
+
+        SchemaDocument document = JsonSchemaConverter.create().parallel(true).convert(index);
+
+        assertThat(ListUtils.copyOf(document.getDefinitions().keySet()), equalTo(expected));
+    }
+
+    @Test
+    public void reusesSchemasOfPreviousConversions() {
+        Model model = Model.assembler()
+                .addImport(getClass().getResource("test-service.json"))
+                .assemble()
+                .unwrap();
+        JsonSchemaConverter converter = JsonSchemaConverter.create();
+        SchemaDocument first = converter.convert(model.getShapeIndex());
+        SchemaDocument second = converter.copy().convert(model.getShapeIndex());
+        SchemaDocument stripped = converter
+                .config(Node.objectNode().withMember(JsonSchemaConstants.SMITHY_STRIP_NAMESPACES, Node.from(true)))
+                .convert(model.getShapeIndex());
+        String pointer = first.getDefinitions().keySet().iterator().next();
+
+        assertThat(second.getDefinition(pointer).get(), sameInstance(first.getDefinition(pointer).get()));
+        assertThat(stripped.getDefinitions().keySet(), not(equalTo(first.getDefinitions().keySet())));
+    }
+
+    @Test
+    public void hoistsDuplicateInlineSchemas() {
+        ShapeIndex index = ShapeIndex.builder()
+                .addShape(StringShape.builder().id("smithy.example#Foo").build())
+                .addShape(StringShape.builder().id("smithy.example#Baz").build())
+                .build();
+        Schema empty = Schema.builder().type("string").maxLength(0L).build();
+        SchemaDocument doc = JsonSchemaConverter.create()
+                .config(Node.objectNode().withMember(JsonSchemaConstants.HOIST_DUPLICATE_SCHEMAS, Node.from(true)))
+                .addMapper((shape, builder, config) -> builder.not(empty))
+                .convert(index);
+        String ref = doc.getDefinition("#/definitions/SmithyExampleFoo").get().getNot().get().getRef().get();
+
+        assertThat(doc.getDefinition(ref).get(), equalTo(empty));
+        assertThat(doc.getDefinition("#/definitions/SmithyExampleBaz").get().getNot().get().getRef(),
+                   equalTo(Optional.of(ref)));
+    }
+
     @Test
     public void canFilterShapesWithCustomPredicate() {
         Predicate<Shape> predicate = shape -> !shape.getId().getName().equals("Foo");
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.jsonschema;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.hamcrest.Matchers.startsWith;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+public class SchemaHoisterTest {
+    private static final Schema DUPLICATE = Schema.builder().type("string").maxLength(10L).build();
+
+    @Test
+    public void hoistsDuplicateNestedSchemas() {
+        Map<String, Schema> definitions = new LinkedHashMap<>();
+        definitions.put("#/definitions/A", Schema.builder().type("array").items(DUPLICATE).build());
+        definitions.put("#/definitions/B", Schema.builder().type("object").putProperty("b", DUPLICATE).build());
+        Map<String, Schema> result = SchemaHoister.hoist(definitions, "#/definitions");
+        String pointer = result.get("#/definitions/A").getItems().get().getRef().get();
+
+        assertThat(pointer, startsWith("#/definitions/Inline"));
+        assertThat(result.keySet(), contains("#/definitions/A", "#/definitions/B", pointer));
+        assertThat(result.get(pointer), equalTo(DUPLICATE));
+        assertThat(result.get("#/definitions/B").getProperty("b").get().getRef().get(), equalTo(pointer));
+    }
+
+    @Test
+    public void refersToEqualDefinitions() {
+        Map<String, Schema> definitions = new LinkedHashMap<>();
+        definitions.put("#/definitions/A", Schema.builder().type("array").items(DUPLICATE).build());
+        definitions.put("#/definitions/B", DUPLICATE);
+        Map<String, Schema> result = SchemaHoister.hoist(definitions, "#/definitions/");
+
+        assertThat(result.keySet(), contains("#/definitions/A", "#/definitions/B"));
+        assertThat(result.get("#/definitions/A").getItems().get().getRef().get(), equalTo("#/definitions/B"));
+    }
+
+    @Test
+    public void ignoresSchemasThatAreNotWorthReplacing() {
+        Schema string = Schema.builder().type("string").build();
+        Map<String, Schema> definitions = new LinkedHashMap<>();
+        definitions.put("#/definitions/A", Schema.builder().type("array").items(string).build());
+        definitions.put("#/definitions/B", Schema.builder().type("array").items(string).build());
+        definitions.put("#/definitions/C", Schema.builder().type("array").items(DUPLICATE).build());
+        Map<String, Schema> result = SchemaHoister.hoist(definitions, "#/definitions");
+
+        assertThat(result.keySet(), contains("#/definitions/A", "#/definitions/B", "#/definitions/C"));
+        assertThat(result.get("#/definitions/A"), sameInstance(definitions.get("#/definitions/A")));
+        assertThat(result.get("#/definitions/C"), sameInstance(definitions.get("#/definitions/C")));
+    }
+
+    @Test
+    public void onlyHoistsOutermostDuplicates() {
+        Schema outer = Schema.builder().type("array").items(DUPLICATE).build();
+        Map<String, Schema> definitions = new LinkedHashMap<>();
+        definitions.put("#/definitions/A", Schema.builder().type("object").putProperty("a", outer).build());
+        definitions.put("#/definitions/B", Schema.builder().type("object").putProperty("b", outer).build());
+        Map<String, Schema> result = SchemaHoister.hoist(definitions, "#/definitions");
+        String pointer = result.get("#/definitions/A").getProperty("a").get().getRef().get();
+
+        assertThat(result.keySet(), contains("#/definitions/A", "#/definitions/B", pointer));
+        assertThat(result.get(pointer), equalTo(outer));
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.jsonschema;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.utils.ListUtils;
+
+public class SchemaPoolTest {
+    @Test
+    public void internsEqualSchemas() {
+        SchemaPool pool = SchemaPool.create();
+        Schema a = pool.intern(Schema.builder().type("string").maxLength(10L).build());
+        Schema b = pool.intern(Schema.builder().type("string").maxLength(10L).build());
+        Schema c = pool.intern(Schema.builder().type("string").maxLength(11L).build());
+
+        assertThat(b, sameInstance(a));
+        assertThat(c.getMaxLength().get(), equalTo(11L));
+        assertThat(pool.size(), equalTo(2));
+    }
+
+    @Test
+    public void internsNestedSchemas() {
+        SchemaPool pool = SchemaPool.create();
+        Schema string = pool.intern(Schema.builder().type("string").build());
+        Schema list = pool.intern(Schema.builder()
+                .type("array")
+                .items(Schema.builder().type("string").build())
+                .build());
+        Schema object = pool.intern(Schema.builder()
+                .type("object")
+                .putProperty("foo", Schema.builder().type("string").build())
+                .anyOf(ListUtils.of(Schema.builder().type("string").build()))
+                .build());
+
+        assertThat(list.getItems().get(), sameInstance(string));
+        assertThat(object.getProperty("foo").get(), sameInstance(string));
+        assertThat(object.getAnyOf().get(0), sameInstance(string));
+        assertThat(pool.size(), equalTo(3));
+    }
+}
@@ -17,17 +17,28 @@ package software.amazon.smithy.model;
 
 import static java.util.function.Function.identity;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.logging.Logger;
+import software.amazon.smithy.model.knowledge.DependsOn;
 import software.amazon.smithy.model.knowledge.KnowledgeIndex;
 import software.amazon.smithy.model.loader.ModelAssembler;
 import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.node.NodeFingerprint;
 import software.amazon.smithy.model.shapes.ShapeIndex;
 import software.amazon.smithy.model.traits.Trait;
 import software.amazon.smithy.model.traits.TraitDefinition;
@@ -52,6 +63,8 @@ public final class Model implements ToSmithyBuilder<Model> {
     /** Specifies the highest supported version of the IDL. */
     public static final String MODEL_VERSION = "0.1.0";
 
+    private static final Logger LOGGER = Logger.getLogger(Model.class.getName());
+
     private final Map<String, Node> metadata;
     private final ShapeIndex shapeIndex;
     private final Map<String, TraitDefinition> traitDefinitions;
@@ -60,9 +73,15 @@ public final class Model implements ToSmithyBuilder<Model> {
     /** Cache of computed {@link KnowledgeIndex} instances. */
     private final Map<Class<? extends KnowledgeIndex>, KnowledgeIndex> blackboard = new ConcurrentHashMap<>();
 
+    /** {@link KnowledgeIndex} instances that are scheduled to be computed by {@link #warmKnowledge}. */
+    private final Map<Class<? extends KnowledgeIndex>, FutureTask<KnowledgeIndex>> pending = new ConcurrentHashMap<>();
+
     /** Lazily computed hashcode. */
     private int hash;
 
+    /** Lazily computed fingerprint. */
+    private volatile long fingerprint;
+
     private Model(Builder builder) {
         smithyVersion = builder.smithyVersion;
         shapeIndex = builder.shapeIndex != null ? builder.shapeIndex : ShapeIndex.builder().build();
@@ -158,6 +177,42 @@ public final class Model implements ToSmithyBuilder<Model> {
         return Optional.ofNullable(traitDefinitions.get(resolved));
     }
 
+    /**
+     * Gets a stable content fingerprint of the model.
+     *
+     * <p>The fingerprint covers the Smithy version, metadata, trait
+     * definitions, and the fingerprint of every shape in the model. Models
+     * that are equal always have the same fingerprint, making it a fast way
+     * to detect that two models are different without comparing each of
+     * their shapes. Different models can have the same fingerprint, so use
+     * {@link #equals} to confirm that models with equal fingerprints are
+     * the same.
+     *
+     * @return Returns the fingerprint of the model.
+     * @see ShapeIndex#getFingerprint()
+     */
+    public long getFingerprint() {
+        long result = fingerprint;
+        if (result == 0) {
+            long metadataFingerprint = 0;
+            for (Map.Entry<String, Node> entry : metadata.entrySet()) {
+                metadataFingerprint += NodeFingerprint.combine(
+                        NodeFingerprint.of(entry.getKey()), NodeFingerprint.of(entry.getValue()));
+            }
+            long definitionsFingerprint = 0;
+            for (TraitDefinition definition : traitDefinitions.values()) {
+                definitionsFingerprint += NodeFingerprint.combine(
+                        NodeFingerprint.of(definition.getFullyQualifiedName()),
+                        NodeFingerprint.of(definition.toNode()));
+            }
+            result = NodeFingerprint.combine(NodeFingerprint.of(smithyVersion), metadataFingerprint);
+            result = NodeFingerprint.combine(result, definitionsFingerprint);
+            result = NodeFingerprint.combine(result, shapeIndex.getFingerprint());
+            fingerprint = result;
+        }
+        return result;
+    }
+
     @Override
     public boolean equals(Object other) {
         if (!(other instanceof Model)) {
@@ -223,13 +278,146 @@ public final class Model implements ToSmithyBuilder<Model> {
         T value = (T) blackboard.get(type);
 
         if (value == null) {
-            value = KnowledgeIndex.create(type, this);
-            blackboard.put(type, value);
+            // Join any scheduled computation rather than duplicating it.
+            FutureTask<KnowledgeIndex> task = pending.get(type);
+            if (task != null) {
+                value = (T) awaitKnowledge(task);
+            } else {
+                value = KnowledgeIndex.create(type, this);
+                blackboard.put(type, value);
+            }
         }
 
         return value;
     }
 
+    /**
+     * Eagerly computes knowledge indexes and their declared dependencies
+     * using the given {@code Executor}.
+     *
+     * <p>Dependencies declared on a knowledge index using {@link DependsOn}
+     * are computed before the knowledge index itself, and knowledge
+     * indexes that do not depend on each other are computed concurrently.
+     * Once a knowledge index is scheduled by this method, calls to
+     * {@link #getKnowledge} wait for the scheduled computation rather than
+     * computing the index again. A {@code getKnowledge} call that started
+     * computing an index before it was scheduled is not joined, so an
+     * index can still be computed more than once when this method races
+     * with other callers. The calling thread participates in computing
+     * indexes and this method blocks until every requested index has been
+     * computed.
+     *
+     * <p>This method can be called before running code that accesses
+     * knowledge indexes from multiple threads (for example, before
+     * validating a model) so that the indexes are not contended for.
+     * Models are warmed this way before they are validated by a
+     * {@link software.amazon.smithy.model.loader.ModelAssembler}.
+     *
+     * @param executor Executor used to compute knowledge indexes.
+     * @param types Knowledge index types to compute.
+     * @return Returns the time taken to compute each index that was computed,
+     *  in dependency order. Indexes that were already computed are omitted.
+     * @throws IllegalArgumentException if the declared dependencies contain a cycle.
+     */
+    public Map<Class<? extends KnowledgeIndex>, Duration> warmKnowledge(
+            Executor executor,
+            Collection<Class<? extends KnowledgeIndex>> types
+    ) {
+        Set<Class<? extends KnowledgeIndex>> ordered = new LinkedHashSet<>();
+        for (Class<? extends KnowledgeIndex> type : types) {
+            sortKnowledgeDependencies(type, ordered, new ArrayList<>());
+        }
+
+        Map<Class<? extends KnowledgeIndex>, Duration> timings = new ConcurrentHashMap<>();
+        List<FutureTask<KnowledgeIndex>> tasks = new ArrayList<>();
+        for (Class<? extends KnowledgeIndex> type : ordered) {
+            if (!blackboard.containsKey(type)) {
+                FutureTask<KnowledgeIndex> task = pending.computeIfAbsent(
+                        type, t -> new FutureTask<>(() -> computeKnowledge(t, timings)));
+                tasks.add(task);
+                executor.execute(task);
+            }
+        }
+
+        for (FutureTask<KnowledgeIndex> task : tasks) {
+            awaitKnowledge(task);
+        }
+
+        Map<Class<? extends KnowledgeIndex>, Duration> result = new LinkedHashMap<>();
+        for (Class<? extends KnowledgeIndex> type : ordered) {
+            if (timings.containsKey(type)) {
+                result.put(type, timings.get(type));
+            }
+        }
+
+        return result;
+    }
+
+    private void sortKnowledgeDependencies(
+            Class<? extends KnowledgeIndex> type,
+            Set<Class<? extends KnowledgeIndex>> ordered,
+            List<Class<? extends KnowledgeIndex>> path
+    ) {
+        if (ordered.contains(type)) {
+            return;
+        } else if (path.contains(type)) {
+            path.add(type);
+            throw new IllegalArgumentException("Found a cycle in KnowledgeIndex dependencies: " + path);
+        }
+
+        path.add(type);
+        for (Class<? extends KnowledgeIndex> dependency : KnowledgeIndex.getDependencies(type)) {
+            sortKnowledgeDependencies(dependency, ordered, path);
+        }
+        path.remove(path.size() - 1);
+        ordered.add(type);
+    }
+
+    private KnowledgeIndex computeKnowledge(
+            Class<? extends KnowledgeIndex> type,
+            Map<Class<? extends KnowledgeIndex>, Duration> timings
+    ) {
+        try {
+            // Dependencies are scheduled first, so this either finds them
+            // already computed, waits on them, or computes them in this thread.
+            for (Class<? extends KnowledgeIndex> dependency : KnowledgeIndex.getDependencies(type)) {
+                getKnowledge(dependency);
+            }
+
+            KnowledgeIndex value = blackboard.get(type);
+            if (value == null) {
+                long start = System.nanoTime();
+                value = KnowledgeIndex.create(type, this);
+                Duration duration = Duration.ofNanos(System.nanoTime() - start);
+                timings.put(type, duration);
+                LOGGER.fine(() -> String.format("Computed %s in %d ms", type.getName(), duration.toMillis()));
+                blackboard.put(type, value);
+            }
+
+            return value;
+        } finally {
+            pending.remove(type);
+        }
+    }
+
+    private static KnowledgeIndex awaitKnowledge(FutureTask<KnowledgeIndex> task) {
+        // Run the task in the current thread if it hasn't started yet. This
+        // ensures progress even if every thread of the executor is busy.
+        task.run();
+
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while computing a KnowledgeIndex", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
     /**
      * Builder used to create a Model.
      */
@@ -34,6 +34,7 @@ import software.amazon.smithy.model.shapes.ToShapeId;
 /**
  * Computes all of the parent shapes of resources and operations from the bottom-up.
  */
+@DependsOn(NeighborProviderIndex.class)
 public final class BottomUpIndex implements KnowledgeIndex {
     private static final Selector SELECTOR = Selector.parse(":each(resource, operation)");
     private final Map<ShapeId, Map<ShapeId, List<EntityShape>>> parentBindings = new HashMap<>();
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.knowledge;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import software.amazon.smithy.model.Model;
+
+/**
+ * Declares the other {@link KnowledgeIndex} types that a
+ * {@code KnowledgeIndex} requires when it is created.
+ *
+ * <p>Declared dependencies are used by {@link Model#warmKnowledge} to
+ * build the dependencies of an index before the index itself, and to
+ * build indexes that do not depend on each other concurrently.
+ * Knowledge indexes are still free to access undeclared indexes
+ * through {@link Model#getKnowledge}, but doing so may cause them to
+ * wait on or compute the undeclared index.
+ *
+ * <pre>{@code
+ * @DependsOn(OperationIndex.class)
+ * public final class MyIndex implements KnowledgeIndex {
+ *     public MyIndex(Model model) {
+ *         OperationIndex operationIndex = model.getKnowledge(OperationIndex.class);
+ *         // ...
+ *     }
+ * }
+ * }</pre>
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface DependsOn {
+    /**
+     * @return Returns the knowledge indexes required to create the index.
+     */
+    Class<? extends KnowledgeIndex>[] value();
+}
@@ -39,6 +39,7 @@ import software.amazon.smithy.model.traits.StringTrait;
  * event stream, the shape targeted by this member, and any additional
  * input/output members that form the initial message.
  */
+@DependsOn(OperationIndex.class)
 public final class EventStreamIndex implements KnowledgeIndex {
     private static final Logger LOGGER = Logger.getLogger(EventStreamIndex.class.getName());
 
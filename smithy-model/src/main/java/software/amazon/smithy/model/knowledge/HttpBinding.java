@@ -19,6 +19,7 @@ import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
 import software.amazon.smithy.model.shapes.MemberShape;
+import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.traits.Trait;
 
 /**
@@ -30,12 +31,27 @@ public final class HttpBinding {
     private final Location location;
     private final String locationName;
     private final Trait bindingTrait;
+    private final Shape target;
+    private final String timestampFormat;
 
     HttpBinding(MemberShape member, Location location, String locationName, Trait bindingTrait) {
+        this(member, location, locationName, bindingTrait, null, null);
+    }
+
+    HttpBinding(
+            MemberShape member,
+            Location location,
+            String locationName,
+            Trait bindingTrait,
+            Shape target,
+            String timestampFormat
+    ) {
         this.member = Objects.requireNonNull(member);
         this.location = Objects.requireNonNull(location);
         this.locationName = Objects.requireNonNull(locationName);
         this.bindingTrait = bindingTrait;
+        this.target = target;
+        this.timestampFormat = timestampFormat;
     }
 
     /** HTTP binding types. */
@@ -61,6 +77,31 @@ public final class HttpBinding {
         return Optional.ofNullable(bindingTrait);
     }
 
+    /**
+     * Gets the shape targeted by the bound member.
+     *
+     * <p>The target is resolved once when the binding is computed. An
+     * empty value is returned if the member targets a shape that does not
+     * exist in the model.
+     *
+     * @return Returns the optionally resolved target shape.
+     */
+    public Optional<Shape> getTarget() {
+        return Optional.ofNullable(target);
+    }
+
+    /**
+     * Gets the timestamp format of the bound member.
+     *
+     * <p>The format is taken from the {@code timestampFormat} trait of the
+     * member, or of the shape it targets if the member does not define one.
+     *
+     * @return Returns the optionally resolved timestamp format.
+     */
+    public Optional<String> getTimestampFormat() {
+        return Optional.ofNullable(timestampFormat);
+    }
+
     @Override
     public String toString() {
         return member.getId() + " @ " + location.toString().toLowerCase(Locale.US) + " (" + locationName + ")";
@@ -17,11 +17,11 @@ package software.amazon.smithy.model.knowledge;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.MemberShape;
 import software.amazon.smithy.model.shapes.OperationShape;
@@ -38,6 +38,7 @@ import software.amazon.smithy.model.traits.HttpPayloadTrait;
 import software.amazon.smithy.model.traits.HttpPrefixHeadersTrait;
 import software.amazon.smithy.model.traits.HttpQueryTrait;
 import software.amazon.smithy.model.traits.HttpTrait;
+import software.amazon.smithy.model.traits.TimestampFormatTrait;
 import software.amazon.smithy.model.traits.Trait;
 import software.amazon.smithy.utils.ListUtils;
 
@@ -50,12 +51,20 @@ import software.amazon.smithy.utils.ListUtils;
  * used to validate the bindings of an operation, generate code to [de]serialize
  * shapes, diff models to ensure backward compatibility at the wire level, etc.
  *
+ * <p>The bindings of every operation and error structure are computed
+ * once when the index is created. Each binding carries the resolved shape
+ * targeted by its member and its timestamp format, and the bindings are
+ * grouped by member name and by location up front, so repeated lookups made
+ * by validators and converters return the same immutable collections
+ * without rescanning the model.
+ *
  * <p>This index does not perform validation of the underlying model.
  */
+@DependsOn(OperationIndex.class)
 public final class HttpBindingIndex implements KnowledgeIndex {
     private final ShapeIndex index;
-    private final Map<ShapeId, List<HttpBinding>> requestBindings = new HashMap<>();
-    private final Map<ShapeId, List<HttpBinding>> responseBindings = new HashMap<>();
+    private final Map<ShapeId, Bindings> requestBindings = new HashMap<>();
+    private final Map<ShapeId, Bindings> responseBindings = new HashMap<>();
 
     public HttpBindingIndex(Model model) {
         index = model.getShapeIndex();
@@ -65,8 +74,8 @@ public final class HttpBindingIndex implements KnowledgeIndex {
                 requestBindings.put(shape.getId(), computeRequestBindings(opIndex, shape));
                 responseBindings.put(shape.getId(), computeResponseBindings(opIndex, shape));
             } else {
-                requestBindings.put(shape.getId(), ListUtils.of());
-                responseBindings.put(shape.getId(), ListUtils.of());
+                requestBindings.put(shape.getId(), Bindings.EMPTY);
+                responseBindings.put(shape.getId(), Bindings.EMPTY);
             }
         });
 
@@ -145,16 +154,16 @@ public final class HttpBindingIndex implements KnowledgeIndex {
      * @throws IllegalArgumentException if the given shape is not an operation.
      */
     public Map<String, HttpBinding> getRequestBindings(ToShapeId operationShapeOrId) {
-        ShapeId id = operationShapeOrId.toShapeId();
-        validateRequestBindingShapeId(id);
-        return requestBindings.get(id).stream()
-                .collect(Collectors.toMap(HttpBinding::getMemberName, Function.identity()));
+        return getRequestBindingsOf(operationShapeOrId).byName;
     }
 
-    private void validateRequestBindingShapeId(ShapeId id) {
-        if (!requestBindings.containsKey(id)) {
+    private Bindings getRequestBindingsOf(ToShapeId operationShapeOrId) {
+        ShapeId id = operationShapeOrId.toShapeId();
+        Bindings bindings = requestBindings.get(id);
+        if (bindings == null) {
             throw new IllegalArgumentException(id + " does not reference an operation with http bindings");
         }
+        return bindings;
     }
 
     /**
@@ -163,15 +172,11 @@ public final class HttpBindingIndex implements KnowledgeIndex {
      *
      * @param operationShapeOrId Operation to get the request bindings for.
      * @param requestLocation Location of the binding.
-     * @return Map of unmodifiable bindings.
+     * @return Unmodifiable list of bindings.
      * @throws IllegalArgumentException if the given shape is not an operation.
      */
     public List<HttpBinding> getRequestBindings(ToShapeId operationShapeOrId, HttpBinding.Location requestLocation) {
-        ShapeId id = operationShapeOrId.toShapeId();
-        validateRequestBindingShapeId(id);
-        return requestBindings.get(id).stream()
-                .filter(binding -> binding.getLocation() == requestLocation)
-                .collect(Collectors.toList());
+        return getRequestBindingsOf(operationShapeOrId).getLocation(requestLocation);
     }
 
     /**
@@ -184,16 +189,16 @@ public final class HttpBindingIndex implements KnowledgeIndex {
      *  or error structure.
      */
     public Map<String, HttpBinding> getResponseBindings(ToShapeId shapeOrId) {
-        ShapeId id = shapeOrId.toShapeId();
-        validateResponseBindingShapeId(id);
-        return responseBindings.get(id).stream()
-                .collect(Collectors.toMap(HttpBinding::getMemberName, Function.identity()));
+        return getResponseBindingsOf(shapeOrId).byName;
     }
 
-    private void validateResponseBindingShapeId(ShapeId id) {
-        if (!responseBindings.containsKey(id)) {
+    private Bindings getResponseBindingsOf(ToShapeId shapeOrId) {
+        ShapeId id = shapeOrId.toShapeId();
+        Bindings bindings = responseBindings.get(id);
+        if (bindings == null) {
             throw new IllegalArgumentException(id + " does not reference an operation or error structure");
         }
+        return bindings;
     }
 
     /**
@@ -202,31 +207,27 @@ public final class HttpBindingIndex implements KnowledgeIndex {
      *
      * @param shapeOrId Operation or error structure shape or ID.
      * @param bindingLocation Binding location type.
-     * @return List of found bindings.
+     * @return Unmodifiable list of found bindings.
      * @throws IllegalArgumentException if the given shape is not an operation
      *  or error structure.
      */
     public List<HttpBinding> getResponseBindings(ToShapeId shapeOrId, HttpBinding.Location bindingLocation) {
-        ShapeId id = shapeOrId.toShapeId();
-        validateResponseBindingShapeId(id);
-        return responseBindings.get(id).stream()
-                .filter(binding -> binding.getLocation() == bindingLocation)
-                .collect(Collectors.toList());
+        return getResponseBindingsOf(shapeOrId).getLocation(bindingLocation);
     }
 
-    private List<HttpBinding> computeRequestBindings(OperationIndex opIndex, OperationShape shape) {
+    private Bindings computeRequestBindings(OperationIndex opIndex, OperationShape shape) {
         return opIndex.getInput(shape.getId())
                 .map(input -> createStructureBindings(input, true))
-                .orElseGet(Collections::emptyList);
+                .orElse(Bindings.EMPTY);
     }
 
-    private List<HttpBinding> computeResponseBindings(OperationIndex opIndex, OperationShape shape) {
+    private Bindings computeResponseBindings(OperationIndex opIndex, OperationShape shape) {
         return opIndex.getOutput(shape.getId())
                 .map(output -> createStructureBindings(output, false))
-                .orElseGet(Collections::emptyList);
+                .orElse(Bindings.EMPTY);
     }
 
-    private List<HttpBinding> createStructureBindings(StructureShape struct, boolean isRequest) {
+    private Bindings createStructureBindings(StructureShape struct, boolean isRequest) {
         List<HttpBinding> bindings = new ArrayList<>();
         List<MemberShape> unbound = new ArrayList<>();
         boolean foundPayload = false;
@@ -234,20 +235,20 @@ public final class HttpBindingIndex implements KnowledgeIndex {
         for (MemberShape member : struct.getAllMembers().values()) {
             if (member.getTrait(HttpHeaderTrait.class).isPresent()) {
                 HttpHeaderTrait trait = member.getTrait(HttpHeaderTrait.class).get();
-                bindings.add(new HttpBinding(member, HttpBinding.Location.HEADER, trait.getValue(), trait));
+                bindings.add(createBinding(member, HttpBinding.Location.HEADER, trait.getValue(), trait));
             } else if (member.getTrait(HttpPrefixHeadersTrait.class).isPresent()) {
                 HttpPrefixHeadersTrait trait = member.getTrait(HttpPrefixHeadersTrait.class).get();
-                bindings.add(new HttpBinding(member, HttpBinding.Location.PREFIX_HEADERS, trait.getValue(), trait));
+                bindings.add(createBinding(member, HttpBinding.Location.PREFIX_HEADERS, trait.getValue(), trait));
             } else if (isRequest && member.getTrait(HttpQueryTrait.class).isPresent()) {
                 HttpQueryTrait trait = member.getTrait(HttpQueryTrait.class).get();
-                bindings.add(new HttpBinding(member, HttpBinding.Location.QUERY, trait.getValue(), trait));
+                bindings.add(createBinding(member, HttpBinding.Location.QUERY, trait.getValue(), trait));
             } else if (member.getTrait(HttpPayloadTrait.class).isPresent()) {
                 foundPayload = true;
                 HttpPayloadTrait trait = member.getTrait(HttpPayloadTrait.class).get();
-                bindings.add(new HttpBinding(member, HttpBinding.Location.PAYLOAD, member.getMemberName(), trait));
+                bindings.add(createBinding(member, HttpBinding.Location.PAYLOAD, member.getMemberName(), trait));
             } else if (isRequest && member.getTrait(HttpLabelTrait.class).isPresent()) {
                 HttpLabelTrait trait = member.getTrait(HttpLabelTrait.class).get();
-                bindings.add(new HttpBinding(member, HttpBinding.Location.LABEL, member.getMemberName(), trait));
+                bindings.add(createBinding(member, HttpBinding.Location.LABEL, member.getMemberName(), trait));
             } else {
                 unbound.add(member);
             }
@@ -256,13 +257,49 @@ public final class HttpBindingIndex implements KnowledgeIndex {
         if (!unbound.isEmpty()) {
             if (foundPayload) {
                 unbound.forEach(member -> bindings.add(
-                        new HttpBinding(member, HttpBinding.Location.UNBOUND, member.getMemberName(), null)));
+                        createBinding(member, HttpBinding.Location.UNBOUND, member.getMemberName(), null)));
             } else {
                 unbound.forEach(member -> bindings.add(
-                        new HttpBinding(member, HttpBinding.Location.DOCUMENT, member.getMemberName(), null)));
+                        createBinding(member, HttpBinding.Location.DOCUMENT, member.getMemberName(), null)));
             }
         }
 
-        return bindings;
+        return new Bindings(bindings);
+    }
+
+    private HttpBinding createBinding(MemberShape member, HttpBinding.Location location, String name, Trait trait) {
+        Shape target = index.getShape(member.getTarget()).orElse(null);
+        String timestampFormat = member.getTrait(TimestampFormatTrait.class)
+                .map(TimestampFormatTrait::getValue)
+                .orElseGet(() -> target == null ? null : target.getTrait(TimestampFormatTrait.class)
+                        .map(TimestampFormatTrait::getValue)
+                        .orElse(null));
+        return new HttpBinding(member, location, name, trait, target, timestampFormat);
+    }
+
+    /**
+     * The precomputed bindings of a single request or response.
+     */
+    private static final class Bindings {
+        private static final Bindings EMPTY = new Bindings(ListUtils.of());
+
+        private final Map<String, HttpBinding> byName;
+        private final Map<HttpBinding.Location, List<HttpBinding>> byLocation;
+
+        Bindings(List<HttpBinding> bindings) {
+            Map<String, HttpBinding> names = new LinkedHashMap<>();
+            Map<HttpBinding.Location, List<HttpBinding>> locations = new EnumMap<>(HttpBinding.Location.class);
+            for (HttpBinding binding : bindings) {
+                names.put(binding.getMemberName(), binding);
+                locations.computeIfAbsent(binding.getLocation(), location -> new ArrayList<>()).add(binding);
+            }
+            locations.replaceAll((location, list) -> Collections.unmodifiableList(list));
+            byName = Collections.unmodifiableMap(names);
+            byLocation = locations;
+        }
+
+        List<HttpBinding> getLocation(HttpBinding.Location location) {
+            return byLocation.getOrDefault(location, ListUtils.of());
+        }
     }
 }
@@ -38,6 +38,7 @@ import software.amazon.smithy.utils.Pair;
 /**
  * Index of operation shapes to the identifiers bound to the operation.
  */
+@DependsOn(OperationIndex.class)
 public final class IdentifierBindingIndex implements KnowledgeIndex {
     /** Map of Resource shape ID to a map of Operation shape ID to a map of identifier name to the member name. */
     private final Map<ShapeId, Map<ShapeId, Map<String, String>>> bindings = new HashMap<>();
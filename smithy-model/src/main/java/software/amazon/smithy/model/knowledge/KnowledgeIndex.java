@@ -15,11 +15,13 @@
 
 package software.amazon.smithy.model.knowledge;
 
+import java.util.List;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.OperationShape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.ShapeIndex;
 import software.amazon.smithy.model.shapes.StructureShape;
+import software.amazon.smithy.utils.ListUtils;
 
 /**
  * Contains an index of computed knowledge about a {@link Model}.
@@ -42,6 +44,10 @@ import software.amazon.smithy.model.shapes.StructureShape;
  * to be computed for a specific Model. In order to use this method,
  * implementations of a KnowledgeIndex must provide a public constructor
  * that accepts a {@link Model}.
+ *
+ * <p>Implementations that access other knowledge indexes when they are
+ * created should declare them using the {@link DependsOn} annotation so
+ * that {@link Model#warmKnowledge} can schedule them correctly.
  */
 public interface KnowledgeIndex {
     /**
@@ -67,4 +73,16 @@ public interface KnowledgeIndex {
             throw new RuntimeException(message, e);
         }
     }
+
+    /**
+     * Gets the knowledge indexes that a knowledge index type declares it
+     * depends on using the {@link DependsOn} annotation.
+     *
+     * @param type Knowledge index type to inspect.
+     * @return Returns the declared dependencies of the type.
+     */
+    static List<Class<? extends KnowledgeIndex>> getDependencies(Class<? extends KnowledgeIndex> type) {
+        DependsOn dependsOn = type.getAnnotation(DependsOn.class);
+        return dependsOn == null ? ListUtils.of() : ListUtils.of(dependsOn.value());
+    }
 }
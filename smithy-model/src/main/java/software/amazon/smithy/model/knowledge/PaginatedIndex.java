@@ -49,6 +49,7 @@ import software.amazon.smithy.utils.OptionalUtils;
  * validation is performed in the {@link PaginatedTraitValidator}
  * (which makes use of this index).
  */
+@DependsOn(OperationIndex.class)
 public final class PaginatedIndex implements KnowledgeIndex {
     private final Map<ShapeId, PaginationInfo> idToTraits;
     private final List<ValidationEvent> events = new ArrayList<>();
@@ -15,13 +15,11 @@
 
 package software.amazon.smithy.model.knowledge;
 
-import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.function.Predicate;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.neighbor.NeighborProvider;
 import software.amazon.smithy.model.neighbor.Relationship;
@@ -38,54 +36,122 @@ import software.amazon.smithy.utils.SetUtils;
 /**
  * Provides top-down access to all resources and operations contained within a
  * service or resource closure.
+ *
+ * <p>The contained shapes of each resource are computed exactly once from
+ * the bottom-up, and the results of child resources are reused when
+ * computing the results of every resource or service that binds them.
+ *
+ * <p>This index also provides the inverse lookup of which services and
+ * resources contain a given resource or operation.
  */
+@DependsOn(NeighborProviderIndex.class)
 public final class TopDownIndex implements KnowledgeIndex {
     private final Map<ShapeId, Set<ResourceShape>> resources = new HashMap<>();
     private final Map<ShapeId, Set<OperationShape>> operations = new HashMap<>();
+    private final Map<ShapeId, Set<ServiceShape>> containingServices = new HashMap<>();
+    private final Map<ShapeId, Set<ResourceShape>> containingResources = new HashMap<>();
+    private final NeighborProvider provider;
 
     public TopDownIndex(Model model) {
         ShapeIndex index = model.getShapeIndex();
-        NeighborProvider provider = model.getKnowledge(NeighborProviderIndex.class).getProvider();
-        Walker walker = new Walker(provider);
-
-        // Only traverse resource and operation bindings.
-        Predicate<Relationship> filter = rel -> {
-            switch (rel.getRelationshipType()) {
-                case RESOURCE:
-                case OPERATION:
-                case CREATE:
-                case READ:
-                case UPDATE:
-                case DELETE:
-                case LIST:
-                    return true;
-                default:
-                    return false;
-            }
-        };
+        provider = model.getKnowledge(NeighborProviderIndex.class).getProvider();
+
+        Set<ShapeId> visiting = new HashSet<>();
+        index.shapes(ResourceShape.class).forEach(resource -> computeContained(resource, visiting));
+        index.shapes(ServiceShape.class).forEach(service -> computeContained(service, visiting));
 
-        index.shapes(ResourceShape.class).forEach(resource -> findContained(
-                resource.getId(), walker.walkShapes(resource, filter)));
-        index.shapes(ServiceShape.class).forEach(resource -> findContained(
-                resource.getId(), walker.walkShapes(resource, filter)));
+        // Freeze the computed sets and invert them to find containing shapes.
+        index.shapes(ResourceShape.class).forEach(resource -> finish(resource, containingResources));
+        index.shapes(ServiceShape.class).forEach(service -> finish(service, containingServices));
     }
 
-    private void findContained(ShapeId container, Collection<Shape> shapes) {
+    // Only traverse resource and operation bindings.
+    private static boolean isBinding(Relationship rel) {
+        switch (rel.getRelationshipType()) {
+            case RESOURCE:
+            case OPERATION:
+            case CREATE:
+            case READ:
+            case UPDATE:
+            case DELETE:
+            case LIST:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Computes the resources and operations contained in a service or
+     * resource, returning false if a resource cycle was detected.
+     */
+    private boolean computeContained(Shape container, Set<ShapeId> visiting) {
+        ShapeId id = container.getId();
+
+        if (operations.containsKey(id)) {
+            return true;
+        } else if (!visiting.add(id)) {
+            return false;
+        }
+
         Set<ResourceShape> containedResources = new HashSet<>();
         Set<OperationShape> containedOperations = new HashSet<>();
+        boolean acyclic = true;
+
+        for (Relationship rel : provider.getNeighbors(container)) {
+            if (isBinding(rel) && rel.getNeighborShape().isPresent()) {
+                Shape shape = rel.getNeighborShape().get();
+                if (shape instanceof OperationShape) {
+                    containedOperations.add((OperationShape) shape);
+                } else if (shape instanceof ResourceShape) {
+                    containedResources.add((ResourceShape) shape);
+                    if (computeContained(shape, visiting)) {
+                        containedResources.addAll(resources.get(shape.getId()));
+                        containedOperations.addAll(operations.get(shape.getId()));
+                    } else {
+                        acyclic = false;
+                    }
+                }
+            }
+        }
 
-        shapes.forEach(shape -> {
-            if (!shape.getId().equals(container)) {
+        visiting.remove(id);
+
+        if (!acyclic) {
+            // Resource cycles are invalid, but fall back to walking the
+            // closure so that validators can still inspect the model.
+            containedResources.clear();
+            containedOperations.clear();
+            for (Shape shape : new Walker(provider).walkShapes(container, TopDownIndex::isBinding)) {
                 if (shape instanceof ResourceShape) {
                     containedResources.add((ResourceShape) shape);
                 } else if (shape instanceof OperationShape) {
                     containedOperations.add((OperationShape) shape);
                 }
             }
-        });
+        }
+
+        // A container is never contained within itself.
+        containedResources.remove(container);
+        resources.put(id, containedResources);
+        operations.put(id, containedOperations);
+        return true;
+    }
+
+    private <T extends Shape> void finish(T container, Map<ShapeId, Set<T>> containing) {
+        ShapeId id = container.getId();
+        Set<ResourceShape> containedResources = Collections.unmodifiableSet(resources.get(id));
+        Set<OperationShape> containedOperations = Collections.unmodifiableSet(operations.get(id));
+        resources.put(id, containedResources);
+        operations.put(id, containedOperations);
 
-        operations.put(container, Collections.unmodifiableSet(containedOperations));
-        resources.put(container, Collections.unmodifiableSet(containedResources));
+        for (ResourceShape resource : containedResources) {
+            containing.computeIfAbsent(resource.getId(), i -> new HashSet<>()).add(container);
+        }
+
+        for (OperationShape operation : containedOperations) {
+            containing.computeIfAbsent(operation.getId(), i -> new HashSet<>()).add(container);
+        }
     }
 
     /**
@@ -107,4 +173,26 @@ public final class TopDownIndex implements KnowledgeIndex {
     public Set<ResourceShape> getContainedResources(ToShapeId entity) {
         return resources.getOrDefault(entity.toShapeId(), SetUtils.of());
     }
+
+    /**
+     * Get all services that contain a resource or operation in their closure.
+     *
+     * @param operationOrResource Resource or operation shape ID.
+     * @return Returns all services that contain the shape.
+     */
+    public Set<ServiceShape> getContainingServices(ToShapeId operationOrResource) {
+        Set<ServiceShape> result = containingServices.get(operationOrResource.toShapeId());
+        return result == null ? SetUtils.of() : Collections.unmodifiableSet(result);
+    }
+
+    /**
+     * Get all resources that contain a resource or operation in their closure.
+     *
+     * @param operationOrResource Resource or operation shape ID.
+     * @return Returns all resources that contain the shape.
+     */
+    public Set<ResourceShape> getContainingResources(ToShapeId operationOrResource) {
+        Set<ResourceShape> result = containingResources.get(operationOrResource.toShapeId());
+        return result == null ? SetUtils.of() : Collections.unmodifiableSet(result);
+    }
 }
@@ -18,9 +18,18 @@ package software.amazon.smithy.model.loader;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.knowledge.EventStreamIndex;
+import software.amazon.smithy.model.knowledge.HttpBindingIndex;
+import software.amazon.smithy.model.knowledge.IdentifierBindingIndex;
+import software.amazon.smithy.model.knowledge.KnowledgeIndex;
+import software.amazon.smithy.model.knowledge.NeighborProviderIndex;
+import software.amazon.smithy.model.knowledge.OperationIndex;
+import software.amazon.smithy.model.knowledge.PaginatedIndex;
+import software.amazon.smithy.model.knowledge.TopDownIndex;
 import software.amazon.smithy.model.validation.Severity;
 import software.amazon.smithy.model.validation.Suppression;
 import software.amazon.smithy.model.validation.ValidatedResult;
@@ -42,6 +51,16 @@ import software.amazon.smithy.utils.ListUtils;
  * validators and suppressions loaded from metadata.
  */
 final class ModelValidator {
+    /** Knowledge indexes used by the built-in validators. */
+    private static final List<Class<? extends KnowledgeIndex>> VALIDATOR_KNOWLEDGE = ListUtils.of(
+            EventStreamIndex.class,
+            HttpBindingIndex.class,
+            IdentifierBindingIndex.class,
+            NeighborProviderIndex.class,
+            OperationIndex.class,
+            PaginatedIndex.class,
+            TopDownIndex.class);
+
     private final List<Validator> validators;
     private final List<Suppression> suppressions;
     private final ArrayList<ValidationEvent> events = new ArrayList<>();
@@ -95,6 +114,13 @@ final class ModelValidator {
         List<ValidatorDefinition> assembledValidatorDefinitions = assembleValidatorDefinitions();
         assembleValidators(assembledValidatorDefinitions);
         assembleSuppressions();
+
+        // Compute the indexes used by validators before validators run in
+        // parallel so that they aren't computed by multiple validators at once.
+        if (!validators.isEmpty()) {
+            model.warmKnowledge(ForkJoinPool.commonPool(), VALIDATOR_KNOWLEDGE);
+        }
+
         events.addAll(validators
                 .parallelStream()
                 .flatMap(validator -> validator.validate(model).stream())
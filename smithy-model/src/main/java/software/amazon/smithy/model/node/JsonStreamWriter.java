@@ -0,0 +1,199 @@
+/*
+ * Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.node;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Writes JSON incrementally to a {@link Writer}.
+ *
+ * <p>Large documents can be written one part at a time by writing the
+ * start and end of objects and arrays directly and writing each member
+ * as a {@link Node}, so that the entire document never needs to be held
+ * in memory as a single Node or String. The output of a pretty-printing
+ * writer is identical to the output of {@link Node#prettyPrintJson} for
+ * the equivalent Node.
+ *
+ * <pre>
+ * {@code
+ * try (JsonStreamWriter json = JsonStreamWriter.create(writer, true)) {
+ *     json.startObject();
+ *     json.writeMember("version", Node.from("1.0"));
+ *     json.writeName("items").startArray();
+ *     items.forEach(json::writeNode);
+ *     json.endArray();
+ *     json.endObject();
+ * }
+ * }
+ * </pre>
+ *
+ * <p>Closing a JsonStreamWriter does not close the underlying writer.
+ */
+public final class JsonStreamWriter implements Closeable, Flushable {
+    private final JsonGenerator generator;
+    private final DefaultNodeWriter nodeWriter;
+
+    private JsonStreamWriter(JsonGenerator generator) {
+        this.generator = generator;
+        this.nodeWriter = new DefaultNodeWriter(generator);
+    }
+
+    /**
+     * Creates a JsonStreamWriter that writes to the given writer.
+     *
+     * @param writer Writer to write JSON to.
+     * @param prettyPrint Set to true to pretty-print the JSON.
+     * @return Returns the created JsonStreamWriter.
+     */
+    public static JsonStreamWriter create(Writer writer, boolean prettyPrint) {
+        JsonGenerator generator = Node.createJsonGenerator(writer);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        if (prettyPrint) {
+            generator.setPrettyPrinter(new NodePrettyPrinter());
+        }
+        return new JsonStreamWriter(generator);
+    }
+
+    /**
+     * Writes the start of an object.
+     *
+     * @return Returns the writer.
+     */
+    public JsonStreamWriter startObject() {
+        try {
+            generator.writeStartObject();
+            return this;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the end of an object.
+     *
+     * @return Returns the writer.
+     */
+    public JsonStreamWriter endObject() {
+        try {
+            generator.writeEndObject();
+            return this;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the start of an array.
+     *
+     * @return Returns the writer.
+     */
+    public JsonStreamWriter startArray() {
+        try {
+            generator.writeStartArray();
+            return this;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the end of an array.
+     *
+     * @return Returns the writer.
+     */
+    public JsonStreamWriter endArray() {
+        try {
+            generator.writeEndArray();
+            return this;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes the name of an object member.
+     *
+     * <p>The name must be followed by a value, an object, or an array.
+     *
+     * @param name Name of the member.
+     * @return Returns the writer.
+     */
+    public JsonStreamWriter writeName(String name) {
+        try {
+            generator.writeFieldName(name);
+            return this;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes a value.
+     *
+     * @param value Value to write.
+     * @return Returns the writer.
+     */
+    public JsonStreamWriter writeNode(ToNode value) {
+        try {
+            value.toNode().accept(nodeWriter);
+            return this;
+        } catch (RuntimeException e) {
+            if (e.getCause() instanceof IOException) {
+                throw new UncheckedIOException((IOException) e.getCause());
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Writes an object member.
+     *
+     * @param name Name of the member.
+     * @param value Value of the member.
+     * @return Returns the writer.
+     */
+    public JsonStreamWriter writeMember(String name, ToNode value) {
+        return writeName(name).writeNode(value);
+    }
+
+    @Override
+    public void flush() {
+        try {
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Flushes any buffered output and closes the writer.
+     *
+     * <p>Objects and arrays that were started but not ended are ended.
+     */
+    @Override
+    public void close() {
+        try {
+            generator.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
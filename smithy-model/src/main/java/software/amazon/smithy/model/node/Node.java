@@ -22,6 +22,7 @@ import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import java.io.IOException;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Comparator;
@@ -114,8 +115,7 @@ public abstract class Node implements FromSourceLocation, ToNode {
     /**
      * Writes the contents of a Node to a pretty-printed JSON string.
      *
-     * <p>Use {@link DefaultNodeWriter} directly to customize the output,
-     * write directly to a file, etc.
+     * <p>Use {@link JsonStreamWriter} to write directly to a file, etc.
      *
      * @param node Node to write.
      * @return Returns the serialized Node.
@@ -137,6 +137,10 @@ public abstract class Node implements FromSourceLocation, ToNode {
     }
 
     private static JsonGenerator createJsonParser(StringWriter writer) {
+        return createJsonGenerator(writer);
+    }
+
+    static JsonGenerator createJsonGenerator(Writer writer) {
         try {
             return JSON_FACTORY.createGenerator(writer);
         } catch (IOException e) {
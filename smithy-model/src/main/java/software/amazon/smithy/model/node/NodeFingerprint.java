@@ -0,0 +1,137 @@
+/*
+ * Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.node;
+
+import java.util.Map;
+
+/**
+ * Computes stable 64-bit content fingerprints of nodes.
+ *
+ * <p>Two nodes that are equal always have the same fingerprint, and nodes
+ * that are not equal usually have different fingerprints. Unlike
+ * {@link Node#hashCode()}, a fingerprint only depends on the contents of a
+ * node, so it is the same across JVM invocations. The members of an object
+ * node are combined without regard to their order, matching the semantics
+ * of {@link ObjectNode#equals}.
+ *
+ * <p>A fingerprint is not a cryptographic digest and different values can
+ * have the same fingerprint. Different fingerprints prove that two values
+ * are different, but equal fingerprints must be confirmed using
+ * {@code equals} before treating two values as the same.
+ */
+public final class NodeFingerprint {
+    private static final long ARRAY = 1;
+    private static final long BOOLEAN = 2;
+    private static final long NULL = 3;
+    private static final long NUMBER = 4;
+    private static final long OBJECT = 5;
+    private static final long STRING = 6;
+    private static final long FNV_OFFSET_BASIS = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private static final NodeVisitor<Long> VISITOR = new NodeVisitor<Long>() {
+        @Override
+        public Long arrayNode(ArrayNode node) {
+            long result = ARRAY;
+            for (Node element : node.getElements()) {
+                result = combine(result, of(element));
+            }
+            return result;
+        }
+
+        @Override
+        public Long booleanNode(BooleanNode node) {
+            return combine(BOOLEAN, node.getValue() ? 1 : 0);
+        }
+
+        @Override
+        public Long nullNode(NullNode node) {
+            return mix(NULL);
+        }
+
+        @Override
+        public Long numberNode(NumberNode node) {
+            return combine(NUMBER, of(node.toString()));
+        }
+
+        @Override
+        public Long objectNode(ObjectNode node) {
+            long members = 0;
+            for (Map.Entry<StringNode, Node> entry : node.getMembers().entrySet()) {
+                members += combine(of(entry.getKey().getValue()), of(entry.getValue()));
+            }
+            return combine(OBJECT, members);
+        }
+
+        @Override
+        public Long stringNode(StringNode node) {
+            return combine(STRING, of(node.getValue()));
+        }
+    };
+
+    private NodeFingerprint() {}
+
+    /**
+     * Computes the fingerprint of a node.
+     *
+     * @param node Node to fingerprint.
+     * @return Returns the computed fingerprint.
+     */
+    public static long of(Node node) {
+        return node.accept(VISITOR);
+    }
+
+    /**
+     * Computes the fingerprint of a string.
+     *
+     * @param value String to fingerprint.
+     * @return Returns the computed fingerprint.
+     */
+    public static long of(String value) {
+        // 64-bit FNV-1a over each UTF-16 code unit. Unlike a polynomial
+        // hash, short strings like "Aa" and "BB" don't trivially collide.
+        long result = FNV_OFFSET_BASIS ^ value.length();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            result = (result ^ (c & 0xFF)) * FNV_PRIME;
+            result = (result ^ (c >>> 8)) * FNV_PRIME;
+        }
+        return mix(result);
+    }
+
+    /**
+     * Combines two fingerprints in an order-dependent way.
+     *
+     * <p>Use addition to combine fingerprints of unordered values.
+     *
+     * @param first First fingerprint.
+     * @param second Fingerprint to combine with the first.
+     * @return Returns the combined fingerprint.
+     */
+    public static long combine(long first, long second) {
+        return mix(first * 0x9E3779B97F4A7C15L + second);
+    }
+
+    // The 64-bit finalizer of MurmurHash3, used to spread bits.
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xFF51AFD7ED558CCDL;
+        value ^= value >>> 33;
+        value *= 0xC4CEB93FE1A85EC1L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.node;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Rewrites parts of a Node tree while sharing every unchanged subtree.
+ *
+ * <p>Array and object nodes are only recreated when one of their
+ * descendants changes. Nodes that are not affected by a rewrite are
+ * returned as-is, so a rewrite that changes nothing returns the same
+ * instance it was given, and rewriting a single value of a large document
+ * only recreates the nodes on the path to that value.
+ *
+ * <p>A rewriter is either created with a function that is applied to every
+ * node of a tree, or with path patterns that limit the function to the
+ * nodes found at the matching paths:
+ *
+ * <pre>
+ * {@code
+ * NodeRewriter rewriter = NodeRewriter.forPaths(
+ *         ListUtils.of("/components/schemas/*"),
+ *         node -> node.expectObjectNode().withMember("title", Node.from("Example")));
+ * Node result = rewriter.rewrite(document);
+ * }
+ * </pre>
+ *
+ * <p>Patterns are JSON pointers in which a segment of {@code *} matches
+ * any object member name or array index. A leading "/" is optional, and
+ * "~1" and "~0" are unescaped to "/" and "~" in each segment. When the
+ * node at a matching path is rewritten, its descendants are not visited,
+ * even if they match another pattern.
+ */
+public final class NodeRewriter {
+    private static final String WILDCARD = "*";
+
+    private final PathTrie patterns;
+    private final Function<Node, Node> mapper;
+
+    private NodeRewriter(PathTrie patterns, Function<Node, Node> mapper) {
+        this.patterns = patterns;
+        this.mapper = Objects.requireNonNull(mapper);
+    }
+
+    /**
+     * Creates a rewriter that applies a function to every node of a tree.
+     *
+     * <p>The function is applied bottom-up: it receives array and object
+     * nodes after their elements and members have been rewritten. The
+     * function should return the node it was given to leave it unchanged.
+     *
+     * @param mapper Function that accepts a node and returns its replacement.
+     * @return Returns the created rewriter.
+     */
+    public static NodeRewriter create(Function<Node, Node> mapper) {
+        return new NodeRewriter(null, mapper);
+    }
+
+    /**
+     * Creates a rewriter that applies a function to the nodes found at
+     * paths that match the given patterns.
+     *
+     * <p>Only branches that can lead to a matching path are visited.
+     *
+     * @param patterns JSON pointer patterns that can contain {@code *} segments.
+     * @param mapper Function that accepts a matched node and returns its replacement.
+     * @return Returns the created rewriter.
+     */
+    public static NodeRewriter forPaths(Collection<String> patterns, Function<Node, Node> mapper) {
+        PathTrie root = new PathTrie();
+        for (String pattern : patterns) {
+            PathTrie current = root;
+            String path = pattern.startsWith("/") ? pattern.substring(1) : pattern;
+            if (!path.isEmpty()) {
+                for (String segment : path.split("/", -1)) {
+                    String key = segment.replace("~1", "/").replace("~0", "~");
+                    current = current.children.computeIfAbsent(key, k -> new PathTrie());
+                }
+            }
+            current.terminal = true;
+        }
+        return new NodeRewriter(root, mapper);
+    }
+
+    /**
+     * Rewrites a node.
+     *
+     * @param node Node to rewrite.
+     * @return Returns the rewritten node, or {@code node} if nothing changed.
+     */
+    public Node rewrite(Node node) {
+        return patterns == null
+                ? rewriteAll(node)
+                : rewriteMatching(node, Collections.singletonList(patterns));
+    }
+
+    private Node rewriteAll(Node node) {
+        Node result = node;
+
+        if (node.isObjectNode()) {
+            Map<StringNode, Node> members = node.expectObjectNode().getMembers();
+            Map<StringNode, Node> updated = null;
+            for (Map.Entry<StringNode, Node> entry : members.entrySet()) {
+                Node value = rewriteAll(entry.getValue());
+                updated = updateMember(members, updated, entry, value);
+            }
+            if (updated != null) {
+                result = new ObjectNode(updated, node.getSourceLocation(), false);
+            }
+        } else if (node.isArrayNode()) {
+            List<Node> elements = node.expectArrayNode().getElements();
+            List<Node> updated = null;
+            for (int i = 0; i < elements.size(); i++) {
+                updated = updateElement(elements, updated, i, rewriteAll(elements.get(i)));
+            }
+            if (updated != null) {
+                result = new ArrayNode(updated, node.getSourceLocation(), false);
+            }
+        }
+
+        return Objects.requireNonNull(mapper.apply(result), "Node rewriters must not return null");
+    }
+
+    private Node rewriteMatching(Node node, List<PathTrie> states) {
+        for (PathTrie state : states) {
+            if (state.terminal) {
+                return Objects.requireNonNull(mapper.apply(node), "Node rewriters must not return null");
+            }
+        }
+
+        if (node.isObjectNode()) {
+            Map<StringNode, Node> members = node.expectObjectNode().getMembers();
+            Map<StringNode, Node> updated = null;
+            for (Map.Entry<StringNode, Node> entry : members.entrySet()) {
+                List<PathTrie> next = advance(states, entry.getKey().getValue());
+                if (!next.isEmpty()) {
+                    updated = updateMember(members, updated, entry, rewriteMatching(entry.getValue(), next));
+                }
+            }
+            return updated == null ? node : new ObjectNode(updated, node.getSourceLocation(), false);
+        } else if (node.isArrayNode()) {
+            List<Node> elements = node.expectArrayNode().getElements();
+            List<Node> updated = null;
+            for (int i = 0; i < elements.size(); i++) {
+                List<PathTrie> next = advance(states, String.valueOf(i));
+                if (!next.isEmpty()) {
+                    updated = updateElement(elements, updated, i, rewriteMatching(elements.get(i), next));
+                }
+            }
+            return updated == null ? node : new ArrayNode(updated, node.getSourceLocation(), false);
+        }
+
+        return node;
+    }
+
+    private static List<PathTrie> advance(List<PathTrie> states, String segment) {
+        List<PathTrie> result = Collections.emptyList();
+        for (PathTrie state : states) {
+            result = add(result, state.children.get(segment));
+            result = add(result, state.children.get(WILDCARD));
+        }
+        return result;
+    }
+
+    private static List<PathTrie> add(List<PathTrie> states, PathTrie state) {
+        if (state == null) {
+            return states;
+        } else if (states.isEmpty()) {
+            return Collections.singletonList(state);
+        }
+        List<PathTrie> result = new ArrayList<>(states);
+        result.add(state);
+        return result;
+    }
+
+    // Returns the members to use for a rewritten object. The original members are only copied the first
+    // time that a member changes, and null is returned while nothing has changed.
+    private static Map<StringNode, Node> updateMember(
+            Map<StringNode, Node> members,
+            Map<StringNode, Node> updated,
+            Map.Entry<StringNode, Node> entry,
+            Node value
+    ) {
+        if (updated == null && value != entry.getValue()) {
+            updated = new LinkedHashMap<>(members);
+        }
+        if (updated != null) {
+            updated.put(entry.getKey(), value);
+        }
+        return updated;
+    }
+
+    private static List<Node> updateElement(List<Node> elements, List<Node> updated, int index, Node value) {
+        if (updated == null && value != elements.get(index)) {
+            updated = new ArrayList<>(elements);
+        }
+        if (updated != null) {
+            updated.set(index, value);
+        }
+        return updated;
+    }
+
+    private static final class PathTrie {
+        private final Map<String, PathTrie> children = new HashMap<>();
+        private boolean terminal;
+    }
+}
@@ -16,11 +16,15 @@
 package software.amazon.smithy.model.selector;
 
 import java.util.AbstractList;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.logging.Logger;
@@ -40,6 +44,7 @@ import software.amazon.smithy.model.shapes.ShapeIndex;
 import software.amazon.smithy.model.shapes.StructureShape;
 import software.amazon.smithy.model.shapes.ToShapeId;
 import software.amazon.smithy.utils.ListUtils;
+import software.amazon.smithy.utils.SmithyBuilder;
 
 /**
  * Finds the possible directed relationship paths from a starting shape to
@@ -115,6 +120,34 @@ public final class PathFinder {
      * @return Returns the list of matching paths.
      */
     public List<Path> search(ToShapeId startingShape, Selector targetSelector) {
+        return search(startingShape, targetSelector, SearchOptions.builder().build());
+    }
+
+    /**
+     * Finds the paths from the starting shape to all shapes connected to
+     * the starting shape that match the given selector, bounded by the
+     * given {@link SearchOptions}.
+     *
+     * @param startingShape Starting shape to find the paths from.
+     * @param targetSelector Selector that matches shapes to find the path to.
+     * @param options Options used to bound the search.
+     * @return Returns the list of matching paths.
+     */
+    public List<Path> search(ToShapeId startingShape, String targetSelector, SearchOptions options) {
+        return search(startingShape, Selector.parse(targetSelector), options);
+    }
+
+    /**
+     * Finds the paths from the starting shape to all shapes connected to
+     * the starting shape that match the given selector, bounded by the
+     * given {@link SearchOptions}.
+     *
+     * @param startingShape Starting shape to find the paths from.
+     * @param targetSelector Selector that matches shapes to find the path to.
+     * @param options Options used to bound the search.
+     * @return Returns the list of matching paths.
+     */
+    public List<Path> search(ToShapeId startingShape, Selector targetSelector, SearchOptions options) {
         Shape shape = index.getShape(startingShape.toShapeId()).orElse(null);
 
         if (shape == null) {
@@ -129,7 +162,26 @@ public final class PathFinder {
         }
 
         LOGGER.finest(() -> candidates.size() + " shapes matched the PathFinder selector of " + targetSelector);
-        return new Search(reverseProvider, shape, candidates).execute();
+
+        // Only shapes that can be reached from the starting shape can be a
+        // part of a path, so any candidate or any shape encountered while
+        // traversing up that isn't reachable is pruned from the search.
+        Reachability reachability = new Reachability(neighborProvider, shape);
+        List<Shape> reachableCandidates = candidates.stream()
+                .filter(reachability::canReach)
+                .collect(Collectors.toList());
+
+        if (reachableCandidates.isEmpty()) {
+            LOGGER.finest(() -> "No shapes that matched the PathFinder selector of `" + targetSelector
+                                + "` are reachable from " + shape.getId());
+            return ListUtils.of();
+        }
+
+        if (options.shortestPathOnly) {
+            return reachability.shortestPaths(reachableCandidates, options);
+        }
+
+        return new Search(reverseProvider, shape, reachableCandidates, reachability, options).execute();
     }
 
     /**
@@ -287,31 +339,249 @@ public final class PathFinder {
         }
     }
 
+    /**
+     * Options used to bound a {@link PathFinder} search.
+     *
+     * <p>By default, a search returns every path from the starting shape
+     * to every matching shape. On large models where many shapes share
+     * common structures, the number of paths can grow exponentially, so
+     * these options can be used to answer path questions in bounded time.
+     */
+    public static final class SearchOptions {
+        private final int maxDepth;
+        private final int maxPaths;
+        private final boolean shortestPathOnly;
+
+        private SearchOptions(Builder builder) {
+            maxDepth = builder.maxDepth;
+            maxPaths = builder.maxPaths;
+            shortestPathOnly = builder.shortestPathOnly;
+        }
+
+        /**
+         * @return Returns a builder used to create {@link SearchOptions}.
+         */
+        public static Builder builder() {
+            return new Builder();
+        }
+
+        /**
+         * Gets the maximum number of relationships in a returned path.
+         *
+         * @return Returns the maximum path depth.
+         */
+        public int getMaxDepth() {
+            return maxDepth;
+        }
+
+        /**
+         * Gets the maximum number of paths returned by a search.
+         *
+         * @return Returns the maximum number of paths.
+         */
+        public int getMaxPaths() {
+            return maxPaths;
+        }
+
+        /**
+         * Checks if only a single shortest path is found to each match.
+         *
+         * @return Returns true if only shortest paths are found.
+         */
+        public boolean isShortestPathOnly() {
+            return shortestPathOnly;
+        }
+
+        /**
+         * Builder used to create {@link SearchOptions}.
+         */
+        public static final class Builder implements SmithyBuilder<SearchOptions> {
+            private int maxDepth = Integer.MAX_VALUE;
+            private int maxPaths = Integer.MAX_VALUE;
+            private boolean shortestPathOnly;
+
+            private Builder() {}
+
+            /**
+             * Sets the maximum number of relationships in a returned path.
+             *
+             * @param maxDepth Maximum path depth. Must be greater than 0.
+             * @return Returns the builder.
+             */
+            public Builder maxDepth(int maxDepth) {
+                if (maxDepth < 1) {
+                    throw new IllegalArgumentException("maxDepth must be greater than 0: " + maxDepth);
+                }
+                this.maxDepth = maxDepth;
+                return this;
+            }
+
+            /**
+             * Sets the maximum number of paths returned by a search.
+             *
+             * <p>The search stops as soon as this many paths are found.
+             *
+             * @param maxPaths Maximum number of paths. Must be greater than 0.
+             * @return Returns the builder.
+             */
+            public Builder maxPaths(int maxPaths) {
+                if (maxPaths < 1) {
+                    throw new IllegalArgumentException("maxPaths must be greater than 0: " + maxPaths);
+                }
+                this.maxPaths = maxPaths;
+                return this;
+            }
+
+            /**
+             * Only find a single shortest path from the starting shape to
+             * each matching shape rather than every possible path.
+             *
+             * <p>Shortest paths are found using a breadth-first traversal,
+             * making the search linear in the size of the reachable closure
+             * of the starting shape.
+             *
+             * @param shortestPathOnly Set to true to only find shortest paths.
+             * @return Returns the builder.
+             */
+            public Builder shortestPathOnly(boolean shortestPathOnly) {
+                this.shortestPathOnly = shortestPathOnly;
+                return this;
+            }
+
+            @Override
+            public SearchOptions build() {
+                return new SearchOptions(this);
+            }
+        }
+    }
+
+    /**
+     * Computes the shapes reachable from the starting shape using a
+     * breadth-first traversal of directed relationships.
+     *
+     * <p>The relationship used to first reach each shape is retained,
+     * forming a shortest-path tree rooted at the starting shape. The
+     * depth of each shape is used to prune paths that cannot satisfy a
+     * maximum depth.
+     */
+    private static final class Reachability {
+        private final Shape startingShape;
+        private final Map<ShapeId, Relationship> parents = new HashMap<>();
+        private final Map<ShapeId, Integer> depths = new HashMap<>();
+        private Relationship cycleToStart;
+
+        Reachability(NeighborProvider provider, Shape startingShape) {
+            this.startingShape = startingShape;
+            Deque<Shape> queue = new ArrayDeque<>();
+            queue.add(startingShape);
+            depths.put(startingShape.getId(), 0);
+
+            while (!queue.isEmpty()) {
+                Shape current = queue.poll();
+                int nextDepth = depths.get(current.getId()) + 1;
+                for (Relationship relationship : provider.getNeighbors(current)) {
+                    if (relationship.getDirection() != RelationshipDirection.DIRECTED) {
+                        continue;
+                    }
+                    Shape neighbor = relationship.getNeighborShape().orElse(null);
+                    if (neighbor == null) {
+                        continue;
+                    } else if (neighbor.getId().equals(startingShape.getId())) {
+                        // Remember the shortest relationship that cycles back to
+                        // the starting shape so that it can match itself.
+                        if (cycleToStart == null) {
+                            cycleToStart = relationship;
+                        }
+                    } else if (!depths.containsKey(neighbor.getId())) {
+                        depths.put(neighbor.getId(), nextDepth);
+                        parents.put(neighbor.getId(), relationship);
+                        queue.add(neighbor);
+                    }
+                }
+            }
+        }
+
+        boolean canReach(Shape shape) {
+            return shape.getId().equals(startingShape.getId()) ? cycleToStart != null : isReachable(shape.getId());
+        }
+
+        boolean isReachable(ShapeId id) {
+            return depths.containsKey(id);
+        }
+
+        int getDepth(ShapeId id) {
+            return depths.get(id);
+        }
+
+        List<Path> shortestPaths(Collection<Shape> candidates, SearchOptions options) {
+            List<Path> results = new ArrayList<>();
+            for (Shape candidate : candidates) {
+                if (results.size() >= options.maxPaths) {
+                    break;
+                }
+
+                LinkedList<Relationship> path = new LinkedList<>();
+                Relationship relationship = candidate.getId().equals(startingShape.getId())
+                        ? cycleToStart
+                        : parents.get(candidate.getId());
+                while (relationship != null) {
+                    path.addFirst(relationship);
+                    relationship = parents.get(relationship.getShape().getId());
+                }
+
+                if (path.size() <= options.maxDepth) {
+                    results.add(new Path(new ArrayList<>(path)));
+                }
+            }
+
+            return results;
+        }
+    }
+
     private static final class Search {
         private final Shape startingShape;
         private final NeighborProvider provider;
         private final Collection<Shape> candidates;
+        private final Reachability reachability;
+        private final SearchOptions options;
         private final List<Path> results = new ArrayList<>();
-
-        Search(NeighborProvider provider, Shape startingShape, Collection<Shape> candidates) {
+        private final Deque<Relationship> path = new ArrayDeque<>();
+        private final Set<ShapeId> visited = new HashSet<>();
+
+        Search(
+                NeighborProvider provider,
+                Shape startingShape,
+                Collection<Shape> candidates,
+                Reachability reachability,
+                SearchOptions options
+        ) {
             this.startingShape = startingShape;
             this.candidates = candidates;
             this.provider = provider;
+            this.reachability = reachability;
+            this.options = options;
         }
 
         List<Path> execute() {
             for (Shape candidate : candidates) {
-                traverseUp(candidate, new LinkedList<>(), new HashSet<>());
+                if (isComplete()) {
+                    break;
+                }
+                traverseUp(candidate);
             }
 
             return results;
         }
 
-        private void traverseUp(Shape current, List<Relationship> path, Set<ShapeId> visited) {
+        private boolean isComplete() {
+            return results.size() >= options.maxPaths;
+        }
+
+        private void traverseUp(Shape current) {
             if (!path.isEmpty() && current.getId().equals(startingShape.getId())) {
                 // Add the path to the result set if the target shape was reached.
                 // But, don't add the path if no nodes have been traversed.
-                results.add(new Path(path));
+                results.add(new Path(new ArrayList<>(path)));
                 return;
             }
 
@@ -324,18 +594,29 @@ public final class PathFinder {
                 return;
             }
 
-            Set<ShapeId> newVisited = new HashSet<>(visited);
-            newVisited.add(current.getId());
+            visited.add(current.getId());
 
             for (Relationship relationship : provider.getNeighbors(current)) {
-                // Don't traverse up through containers.
-                if (relationship.getDirection() == RelationshipDirection.DIRECTED) {
-                    List<Relationship> newPath = new ArrayList<>(path.size() + 1);
-                    newPath.add(relationship);
-                    newPath.addAll(path);
-                    traverseUp(relationship.getShape(), newPath, newVisited);
+                if (isComplete()) {
+                    break;
+                }
+
+                // Don't traverse up through containers, and don't traverse up
+                // through shapes that can't be reached from the starting shape
+                // or that can't reach it within the maximum depth.
+                if (relationship.getDirection() == RelationshipDirection.DIRECTED && canTraverse(relationship)) {
+                    path.addFirst(relationship);
+                    traverseUp(relationship.getShape());
+                    path.removeFirst();
                 }
             }
+
+            visited.remove(current.getId());
+        }
+
+        private boolean canTraverse(Relationship relationship) {
+            ShapeId id = relationship.getShape().getId();
+            return reachability.isReachable(id) && reachability.getDepth(id) + path.size() < options.maxDepth;
         }
     }
 }
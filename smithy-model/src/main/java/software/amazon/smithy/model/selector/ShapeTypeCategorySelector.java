@@ -19,6 +19,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import software.amazon.smithy.model.neighbor.NeighborProvider;
 import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeIndex;
 
 final class ShapeTypeCategorySelector implements Selector {
     private final Class<? extends Shape> shapeCategory;
@@ -31,4 +32,9 @@ final class ShapeTypeCategorySelector implements Selector {
     public Set<Shape> select(NeighborProvider neighborProvider, Set<Shape> shapes) {
         return shapes.stream().filter(shapeCategory::isInstance).collect(Collectors.toSet());
     }
+
+    @Override
+    public Set<Shape> select(NeighborProvider neighborProvider, ShapeIndex index) {
+        return index.shapes(shapeCategory).collect(Collectors.toSet());
+    }
 }
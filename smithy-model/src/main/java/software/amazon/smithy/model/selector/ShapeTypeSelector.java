@@ -19,6 +19,7 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import software.amazon.smithy.model.neighbor.NeighborProvider;
 import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeIndex;
 import software.amazon.smithy.model.shapes.ShapeType;
 
 final class ShapeTypeSelector implements Selector {
@@ -34,4 +35,9 @@ final class ShapeTypeSelector implements Selector {
                 .filter(shape -> shape.getType() == shapeType)
                 .collect(Collectors.toSet());
     }
+
+    @Override
+    public Set<Shape> select(NeighborProvider neighborProvider, ShapeIndex index) {
+        return index.shapes(shapeType).collect(Collectors.toSet());
+    }
 }
@@ -0,0 +1,658 @@
+/*
+ * Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.shapes;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * An immutable, persistent hash array mapped trie.
+ *
+ * <p>Maps derived from another map using {@link #toTransient()} share all
+ * of the unchanged structure of the original map, so creating a modified
+ * copy of a map is proportional to the number of changed entries rather
+ * than to the size of the map.
+ *
+ * <p>A {@link Transient} is used to efficiently make changes to a map.
+ * Nodes created by a transient are modified in place until the transient
+ * is persisted, after which any further changes made through the
+ * transient copy the affected nodes.
+ *
+ * @param <K> Type of key stored in the map.
+ * @param <V> Type of value stored in the map.
+ */
+final class PersistentHashMap<K, V> extends AbstractMap<K, V> {
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(null, 0);
+    private static final Object NOT_FOUND = new Object();
+
+    private final Node root;
+    private final int size;
+    private Set<Entry<K, V>> entrySet;
+
+    private PersistentHashMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Creates a transient copy of the map that shares the map's structure.
+     *
+     * @return Returns the created transient.
+     */
+    Transient<K, V> toTransient() {
+        return new Transient<>(root, size);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key != null && root != null && root.find(0, key.hashCode(), key) != NOT_FOUND;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        if (key == null || root == null) {
+            return null;
+        }
+
+        Object result = root.find(0, key.hashCode(), key);
+        return result == NOT_FOUND ? null : (V) result;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Set<Entry<K, V>> result = entrySet;
+        if (result == null) {
+            result = new AbstractSet<Entry<K, V>>() {
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    return new EntryIterator<>(root);
+                }
+
+                @Override
+                public int size() {
+                    return size;
+                }
+            };
+            entrySet = result;
+        }
+        return result;
+    }
+
+    /**
+     * Finds the keys that are mapped to different values in this map and
+     * the given map, including keys that are only present in one of them.
+     *
+     * <p>Subtrees that are shared between the two maps are skipped, so
+     * comparing a map to a map derived from it is proportional to the
+     * number of changes made between them.
+     *
+     * @param other Map to compare against.
+     * @param consumer Receives each differing key. Return false to stop.
+     * @return Returns false if the consumer stopped the comparison.
+     */
+    boolean diff(PersistentHashMap<K, V> other, Predicate<K> consumer) {
+        return diffNodes(root, other.root, 0, consumer);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean equals(Object other) {
+        if (other == this) {
+            return true;
+        } else if (other instanceof PersistentHashMap) {
+            PersistentHashMap<K, V> otherMap = (PersistentHashMap<K, V>) other;
+            return size == otherMap.size && diff(otherMap, key -> false);
+        } else {
+            return super.equals(other);
+        }
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+
+    /**
+     * A mutable view of a persistent map used to efficiently apply changes.
+     *
+     * @param <K> Type of key stored in the map.
+     * @param <V> Type of value stored in the map.
+     */
+    static final class Transient<K, V> {
+        private Node root;
+        private int size;
+        private Object edit = new Object();
+
+        private Transient(Node root, int size) {
+            this.root = root;
+            this.size = size;
+        }
+
+        int size() {
+            return size;
+        }
+
+        @SuppressWarnings("unchecked")
+        V get(Object key) {
+            if (root == null) {
+                return null;
+            }
+
+            Object result = root.find(0, key.hashCode(), key);
+            return result == NOT_FOUND ? null : (V) result;
+        }
+
+        /**
+         * Puts a value in the map.
+         *
+         * @param key Key to set.
+         * @param value Value to set.
+         * @return Returns the previous value or null.
+         */
+        @SuppressWarnings("unchecked")
+        V put(K key, V value) {
+            Objects.requireNonNull(value);
+            Box box = new Box();
+            Node current = root == null ? BitmapNode.EMPTY : root;
+            root = current.put(edit, 0, key.hashCode(), key, value, box);
+            if (box.previous == NOT_FOUND) {
+                size++;
+                return null;
+            }
+            return (V) box.previous;
+        }
+
+        /**
+         * Removes a value from the map.
+         *
+         * @param key Key to remove.
+         * @return Returns the removed value or null.
+         */
+        @SuppressWarnings("unchecked")
+        V remove(Object key) {
+            if (root == null) {
+                return null;
+            }
+
+            Box box = new Box();
+            root = root.remove(edit, 0, key.hashCode(), key, box);
+            if (box.previous == NOT_FOUND) {
+                return null;
+            }
+            size--;
+            return (V) box.previous;
+        }
+
+        /**
+         * Replaces the contents of the transient with the given map.
+         *
+         * @param map Map to share the structure of.
+         */
+        void replaceWith(PersistentHashMap<K, V> map) {
+            root = map.root;
+            size = map.size;
+        }
+
+        /**
+         * Creates a persistent map from the transient.
+         *
+         * <p>The transient can continue to be used after calling this
+         * method without affecting the returned map.
+         *
+         * @return Returns the created persistent map.
+         */
+        PersistentHashMap<K, V> persist() {
+            // Any further changes must copy the nodes now owned by the result.
+            edit = new Object();
+            return size == 0 ? empty() : new PersistentHashMap<>(root, size);
+        }
+    }
+
+    private static final class Box {
+        private Object previous = NOT_FOUND;
+    }
+
+    private abstract static class Node {
+        /** Token of the transient allowed to modify the node in place, if any. */
+        final Object edit;
+
+        /** Alternating keys and values. A null key means the value is a child node. */
+        Object[] array;
+
+        Node(Object edit, Object[] array) {
+            this.edit = edit;
+            this.array = array;
+        }
+
+        abstract int entryCount();
+
+        abstract Object find(int shift, int hash, Object key);
+
+        abstract Node put(Object edit, int shift, int hash, Object key, Object value, Box box);
+
+        /** Removes a key, returning null when the node becomes empty. */
+        abstract Node remove(Object edit, int shift, int hash, Object key, Box box);
+    }
+
+    private static final class BitmapNode extends Node {
+        static final BitmapNode EMPTY = new BitmapNode(null, 0, new Object[0]);
+
+        int bitmap;
+
+        BitmapNode(Object edit, int bitmap, Object[] array) {
+            super(edit, array);
+            this.bitmap = bitmap;
+        }
+
+        @Override
+        int entryCount() {
+            return Integer.bitCount(bitmap);
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            int bit = bitpos(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return NOT_FOUND;
+            }
+
+            int idx = index(bit);
+            Object keyOrNull = array[2 * idx];
+            Object valueOrNode = array[2 * idx + 1];
+            if (keyOrNull == null) {
+                return ((Node) valueOrNode).find(shift + BITS, hash, key);
+            }
+            return key.equals(keyOrNull) ? valueOrNode : NOT_FOUND;
+        }
+
+        @Override
+        Node put(Object edit, int shift, int hash, Object key, Object value, Box box) {
+            int bit = bitpos(hash, shift);
+            int idx = index(bit);
+
+            if ((bitmap & bit) != 0) {
+                Object keyOrNull = array[2 * idx];
+                Object valueOrNode = array[2 * idx + 1];
+                if (keyOrNull == null) {
+                    Node node = ((Node) valueOrNode).put(edit, shift + BITS, hash, key, value, box);
+                    return node == valueOrNode ? this : editAndSet(edit, 2 * idx + 1, node);
+                } else if (key.equals(keyOrNull)) {
+                    box.previous = valueOrNode;
+                    return value == valueOrNode ? this : editAndSet(edit, 2 * idx + 1, value);
+                }
+
+                Node node = createNode(edit, shift + BITS, keyOrNull, valueOrNode, hash, key, value);
+                BitmapNode editable = ensureEditable(edit);
+                editable.array[2 * idx] = null;
+                editable.array[2 * idx + 1] = node;
+                return editable;
+            }
+
+            int count = entryCount();
+            if (edit != null && edit == this.edit && array.length > 2 * count) {
+                System.arraycopy(array, 2 * idx, array, 2 * (idx + 1), 2 * (count - idx));
+                array[2 * idx] = key;
+                array[2 * idx + 1] = value;
+                bitmap |= bit;
+                return this;
+            }
+
+            // Leave room to grow when the node is owned by a transient.
+            Object[] newArray = new Object[2 * (count + (edit == null ? 1 : 4))];
+            System.arraycopy(array, 0, newArray, 0, 2 * idx);
+            newArray[2 * idx] = key;
+            newArray[2 * idx + 1] = value;
+            System.arraycopy(array, 2 * idx, newArray, 2 * (idx + 1), 2 * (count - idx));
+            return new BitmapNode(edit, bitmap | bit, newArray);
+        }
+
+        @Override
+        Node remove(Object edit, int shift, int hash, Object key, Box box) {
+            int bit = bitpos(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+
+            int idx = index(bit);
+            Object keyOrNull = array[2 * idx];
+            Object valueOrNode = array[2 * idx + 1];
+
+            if (keyOrNull == null) {
+                Node node = ((Node) valueOrNode).remove(edit, shift + BITS, hash, key, box);
+                if (node == valueOrNode) {
+                    return this;
+                } else if (node != null) {
+                    return editAndSet(edit, 2 * idx + 1, node);
+                }
+            } else if (key.equals(keyOrNull)) {
+                box.previous = valueOrNode;
+            } else {
+                return this;
+            }
+
+            if (bitmap == bit) {
+                return null;
+            }
+
+            int count = entryCount();
+            BitmapNode editable = ensureEditable(edit);
+            System.arraycopy(editable.array, 2 * (idx + 1), editable.array, 2 * idx, 2 * (count - idx - 1));
+            editable.array[2 * count - 2] = null;
+            editable.array[2 * count - 1] = null;
+            editable.bitmap ^= bit;
+            return editable;
+        }
+
+        private BitmapNode ensureEditable(Object edit) {
+            if (edit != null && edit == this.edit) {
+                return this;
+            }
+            return new BitmapNode(edit, bitmap, array.clone());
+        }
+
+        private BitmapNode editAndSet(Object edit, int i, Object value) {
+            BitmapNode editable = ensureEditable(edit);
+            editable.array[i] = value;
+            return editable;
+        }
+    }
+
+    private static final class CollisionNode extends Node {
+        final int hash;
+        int count;
+
+        CollisionNode(Object edit, int hash, int count, Object[] array) {
+            super(edit, array);
+            this.hash = hash;
+            this.count = count;
+        }
+
+        @Override
+        int entryCount() {
+            return count;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < count; i++) {
+                if (key.equals(array[2 * i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        Object find(int shift, int hash, Object key) {
+            int idx = indexOf(key);
+            return idx == -1 ? NOT_FOUND : array[2 * idx + 1];
+        }
+
+        @Override
+        Node put(Object edit, int shift, int hash, Object key, Object value, Box box) {
+            if (hash != this.hash) {
+                // Nest this node in a bitmap node so the new key can be distinguished.
+                return new BitmapNode(edit, bitpos(this.hash, shift), new Object[] {null, this})
+                        .put(edit, shift, hash, key, value, box);
+            }
+
+            int idx = indexOf(key);
+            if (idx != -1) {
+                box.previous = array[2 * idx + 1];
+                if (box.previous == value) {
+                    return this;
+                }
+                CollisionNode editable = ensureEditable(edit, 0);
+                editable.array[2 * idx + 1] = value;
+                return editable;
+            }
+
+            CollisionNode editable = ensureEditable(edit, 1);
+            editable.array[2 * count] = key;
+            editable.array[2 * count + 1] = value;
+            editable.count++;
+            return editable;
+        }
+
+        @Override
+        Node remove(Object edit, int shift, int hash, Object key, Box box) {
+            int idx = indexOf(key);
+            if (idx == -1) {
+                return this;
+            }
+
+            box.previous = array[2 * idx + 1];
+            if (count == 1) {
+                return null;
+            }
+
+            CollisionNode editable = ensureEditable(edit, 0);
+            System.arraycopy(editable.array, 2 * (idx + 1), editable.array, 2 * idx, 2 * (count - idx - 1));
+            editable.array[2 * count - 2] = null;
+            editable.array[2 * count - 1] = null;
+            editable.count--;
+            return editable;
+        }
+
+        private CollisionNode ensureEditable(Object edit, int grow) {
+            if (edit != null && edit == this.edit && array.length >= 2 * (count + grow)) {
+                return this;
+            }
+
+            Object[] newArray = new Object[2 * (count + grow)];
+            System.arraycopy(array, 0, newArray, 0, 2 * count);
+            return new CollisionNode(edit, hash, count, newArray);
+        }
+    }
+
+    private static int bitpos(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private static Node createNode(Object edit, int shift, Object key1, Object value1, int hash2, Object key2,
+                                   Object value2) {
+        int hash1 = key1.hashCode();
+        if (hash1 == hash2) {
+            return new CollisionNode(edit, hash1, 2, new Object[] {key1, value1, key2, value2});
+        }
+
+        Box box = new Box();
+        return BitmapNode.EMPTY
+                .put(edit, shift, hash1, key1, value1, box)
+                .put(edit, shift, hash2, key2, value2, box);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> boolean diffNodes(Node a, Node b, int shift, Predicate<K> consumer) {
+        if (a == b) {
+            return true;
+        } else if (a instanceof BitmapNode && b instanceof BitmapNode) {
+            BitmapNode left = (BitmapNode) a;
+            BitmapNode right = (BitmapNode) b;
+            int bits = left.bitmap | right.bitmap;
+            while (bits != 0) {
+                int bit = Integer.lowestOneBit(bits);
+                bits ^= bit;
+                if ((left.bitmap & bit) == 0) {
+                    if (!forEachKey(right, 2 * right.index(bit), consumer)) {
+                        return false;
+                    }
+                } else if ((right.bitmap & bit) == 0) {
+                    if (!forEachKey(left, 2 * left.index(bit), consumer)) {
+                        return false;
+                    }
+                } else if (!diffSlots(left, 2 * left.index(bit), right, 2 * right.index(bit), shift, consumer)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        return diffEntries(collect(a), collect(b), consumer);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> boolean diffSlots(BitmapNode a, int i, BitmapNode b, int j, int shift, Predicate<K> consumer) {
+        Object leftKey = a.array[i];
+        Object leftValue = a.array[i + 1];
+        Object rightKey = b.array[j];
+        Object rightValue = b.array[j + 1];
+
+        if (leftKey == null && rightKey == null) {
+            return diffNodes((Node) leftValue, (Node) rightValue, shift + BITS, consumer);
+        } else if (leftKey != null && rightKey != null) {
+            if (leftKey.equals(rightKey)) {
+                return leftValue == rightValue || leftValue.equals(rightValue) || consumer.test((K) leftKey);
+            }
+            return consumer.test((K) leftKey) && consumer.test((K) rightKey);
+        }
+
+        Map<Object, Object> left = new HashMap<>();
+        Map<Object, Object> right = new HashMap<>();
+        collectSlot(a, i, left);
+        collectSlot(b, j, right);
+        return diffEntries(left, right, consumer);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> boolean diffEntries(Map<Object, Object> left, Map<Object, Object> right,
+                                           Predicate<K> consumer) {
+        for (Map.Entry<Object, Object> entry : left.entrySet()) {
+            Object rightValue = right.get(entry.getKey());
+            if (!entry.getValue().equals(rightValue) && !consumer.test((K) entry.getKey())) {
+                return false;
+            }
+        }
+
+        for (Object key : right.keySet()) {
+            if (!left.containsKey(key) && !consumer.test((K) key)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K> boolean forEachKey(Node node, int i, Predicate<K> consumer) {
+        Map<Object, Object> entries = new HashMap<>();
+        collectSlot(node, i, entries);
+        for (Object key : entries.keySet()) {
+            if (!consumer.test((K) key)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Map<Object, Object> collect(Node node) {
+        Map<Object, Object> entries = new HashMap<>();
+        if (node != null) {
+            for (int i = 0; i < node.entryCount(); i++) {
+                collectSlot(node, 2 * i, entries);
+            }
+        }
+        return entries;
+    }
+
+    private static void collectSlot(Node node, int i, Map<Object, Object> entries) {
+        if (node.array[i] != null) {
+            entries.put(node.array[i], node.array[i + 1]);
+        } else {
+            entries.putAll(collect((Node) node.array[i + 1]));
+        }
+    }
+
+    private static final class EntryIterator<K, V> implements Iterator<Entry<K, V>> {
+        // The trie is at most 7 levels deep, plus a collision node.
+        private final Node[] nodes = new Node[8];
+        private final int[] positions = new int[8];
+        private int depth = -1;
+        private Entry<K, V> next;
+
+        EntryIterator(Node root) {
+            if (root != null) {
+                depth = 0;
+                nodes[0] = root;
+            }
+            advance();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            next = null;
+            while (depth >= 0) {
+                Node node = nodes[depth];
+                int position = positions[depth];
+                if (position >= node.entryCount()) {
+                    nodes[depth] = null;
+                    positions[depth] = 0;
+                    depth--;
+                    continue;
+                }
+
+                positions[depth]++;
+                Object key = node.array[2 * position];
+                Object value = node.array[2 * position + 1];
+                if (key == null) {
+                    depth++;
+                    nodes[depth] = (Node) value;
+                } else {
+                    next = new SimpleImmutableEntry<>((K) key, (V) value);
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            Entry<K, V> result = next;
+            advance();
+            return result;
+        }
+    }
+}
@@ -19,6 +19,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
 import software.amazon.smithy.model.FromSourceLocation;
 import software.amazon.smithy.model.SourceLocation;
 import software.amazon.smithy.model.traits.TagsTrait;
@@ -43,6 +44,7 @@ public abstract class Shape implements FromSourceLocation, Tagged, ToShapeId, Co
     private final Map<String, Trait> traits;
     private final SourceLocation source;
     private final ShapeType type;
+    private volatile long fingerprint;
 
     /**
      * This class is package-private, which means that all subclasses of this
@@ -523,6 +525,44 @@ public abstract class Shape implements FromSourceLocation, Tagged, ToShapeId, Co
         return "(" + getType() + ": `" + getId() + "`)";
     }
 
+    /**
+     * Gets a stable content fingerprint of the shape.
+     *
+     * <p>The fingerprint covers the ID, type, traits, and members of the
+     * shape along with any type-specific properties like the targets of
+     * members or the input of an operation. Shapes that are equal always
+     * have the same fingerprint, so shapes with different fingerprints are
+     * known to be different. Shapes that are not equal can still have the
+     * same fingerprint, so use {@link #equals} to confirm that shapes with
+     * equal fingerprints are the same. The fingerprint is computed once and
+     * then cached.
+     *
+     * @return Returns the fingerprint of the shape.
+     */
+    public final long getFingerprint() {
+        long result = fingerprint;
+        if (result == 0) {
+            result = ShapeFingerprint.compute(this);
+            fingerprint = result;
+        }
+        return result;
+    }
+
+    /**
+     * Gets the fingerprint of the shape if it was already computed.
+     *
+     * <p>This never computes the fingerprint, so it can be used to cheaply
+     * detect that two shapes are different when both fingerprints are
+     * already known.
+     *
+     * @return Returns the computed fingerprint, or an empty value.
+     * @see #getFingerprint()
+     */
+    public final OptionalLong getComputedFingerprint() {
+        long result = fingerprint;
+        return result == 0 ? OptionalLong.empty() : OptionalLong.of(result);
+    }
+
     @Override
     public int hashCode() {
         return getId().hashCode() + 3 * getType().hashCode();
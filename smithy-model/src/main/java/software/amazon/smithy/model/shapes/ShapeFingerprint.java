@@ -0,0 +1,139 @@
+/*
+ * Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.shapes;
+
+import static software.amazon.smithy.model.node.NodeFingerprint.combine;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import software.amazon.smithy.model.node.NodeFingerprint;
+import software.amazon.smithy.model.traits.Trait;
+
+/**
+ * Computes the content fingerprint of a shape.
+ *
+ * <p>The fingerprint covers everything that is considered by
+ * {@link Shape#equals}: the shape ID, type, traits, members, and any
+ * type-specific properties. Members contribute their own cached
+ * fingerprints, so changing a member only requires fingerprinting the
+ * member and its container again.
+ */
+final class ShapeFingerprint extends ShapeVisitor.Default<Long> {
+    private static final ShapeFingerprint INSTANCE = new ShapeFingerprint();
+
+    private ShapeFingerprint() {}
+
+    static long compute(Shape shape) {
+        long result = combine(NodeFingerprint.of(shape.getType().toString()), of(shape.getId()));
+        long traits = 0;
+        for (Map.Entry<String, Trait> entry : shape.getAllTraits().entrySet()) {
+            traits += combine(NodeFingerprint.of(entry.getKey()), NodeFingerprint.of(entry.getValue().toNode()));
+        }
+        return combine(combine(result, traits), shape.accept(INSTANCE));
+    }
+
+    private static long of(ShapeId id) {
+        return NodeFingerprint.of(id.toString());
+    }
+
+    private static long of(Optional<ShapeId> id) {
+        return id.map(ShapeFingerprint::of).orElse(0L);
+    }
+
+    private static long unordered(Collection<ShapeId> ids) {
+        long result = 0;
+        for (ShapeId id : ids) {
+            result += of(id);
+        }
+        return result;
+    }
+
+    private static long members(Collection<MemberShape> members) {
+        long result = 0;
+        for (MemberShape member : members) {
+            result += member.getFingerprint();
+        }
+        return result;
+    }
+
+    @Override
+    protected Long getDefault(Shape shape) {
+        return 0L;
+    }
+
+    @Override
+    public Long listShape(ListShape shape) {
+        return shape.getMember().getFingerprint();
+    }
+
+    @Override
+    public Long setShape(SetShape shape) {
+        return shape.getMember().getFingerprint();
+    }
+
+    @Override
+    public Long mapShape(MapShape shape) {
+        return combine(shape.getKey().getFingerprint(), shape.getValue().getFingerprint());
+    }
+
+    @Override
+    public Long structureShape(StructureShape shape) {
+        return members(shape.getAllMembers().values());
+    }
+
+    @Override
+    public Long unionShape(UnionShape shape) {
+        return members(shape.getAllMembers().values());
+    }
+
+    @Override
+    public Long memberShape(MemberShape shape) {
+        return of(shape.getTarget());
+    }
+
+    @Override
+    public Long operationShape(OperationShape shape) {
+        long result = combine(of(shape.getInput()), of(shape.getOutput()));
+        for (ShapeId error : shape.getErrors()) {
+            result = combine(result, of(error));
+        }
+        return result;
+    }
+
+    @Override
+    public Long serviceShape(ServiceShape shape) {
+        return combine(entity(shape), NodeFingerprint.of(shape.getVersion()));
+    }
+
+    @Override
+    public Long resourceShape(ResourceShape shape) {
+        long identifiers = 0;
+        for (Map.Entry<String, ShapeId> entry : shape.getIdentifiers().entrySet()) {
+            identifiers += combine(NodeFingerprint.of(entry.getKey()), of(entry.getValue()));
+        }
+        long result = combine(entity(shape), identifiers);
+        result = combine(result, of(shape.getCreate()));
+        result = combine(result, of(shape.getRead()));
+        result = combine(result, of(shape.getUpdate()));
+        result = combine(result, of(shape.getDelete()));
+        return combine(result, of(shape.getList()));
+    }
+
+    private static long entity(EntityShape shape) {
+        return combine(unordered(shape.getResources()), unordered(shape.getOperations()));
+    }
+}
@@ -17,16 +17,13 @@ package software.amazon.smithy.model.shapes;
 
 import java.util.AbstractSet;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.Iterator;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
-import software.amazon.smithy.utils.MapUtils;
 import software.amazon.smithy.utils.SmithyBuilder;
 import software.amazon.smithy.utils.ToSmithyBuilder;
 
@@ -46,58 +43,35 @@ import software.amazon.smithy.utils.ToSmithyBuilder;
  * this does come with the trade-off that the {@code ShapeIndex} may be an an
  * invalid state when it is accessed. As such, a {@code ShapeIndex} should be
  * thoroughly validated before it is utilized.
+ *
+ * <p>A {@code ShapeIndex} is backed by a persistent hash array mapped trie.
+ * A builder created from an existing index using {@link #toBuilder()}
+ * shares the structure of the index, so creating a modified copy of an
+ * index only costs as much as the number of shapes that are changed.
+ * {@link #getChangedShapeIds} uses this sharing to efficiently find the
+ * shapes that differ between an index and an index derived from it.
  */
 public final class ShapeIndex implements ToSmithyBuilder<ShapeIndex> {
-    /**
-     * The default number of shapes that must be present to use a cache
-     * when extracting streams of shapes of a specific type. With smaller
-     * shape maps, it's more efficient to just recompute the result for
-     * each invocation.
-     */
-    private static final int GROUP_CACHE_THRESHOLD = 50;
-
     /** A map of shape ID to shapes that backs the shape map. */
-    private final Map<ShapeId, Shape> shapeMap;
+    private final PersistentHashMap<ShapeId, Shape> shapeMap;
 
-    /** Responsible for providing streams of shapes of a specific type. */
-    private final ShapeGrouper shapeGrouper;
+    /** Shapes of the index grouped by their type. */
+    private final Map<ShapeType, PersistentHashMap<ShapeId, Shape>> shapesByType = new EnumMap<>(ShapeType.class);
 
     /** Lazily computed hash code of the shape index. */
     private int hash;
 
-    private ShapeIndex(Builder builder) {
-        shapeMap = MapUtils.copyOf(builder.shapeMap);
-
-        // Only cache the results of querying shapes by type if the number
-        // of shapes in the index exceeds the threshold.
-        shapeGrouper = shapeMap.size() >= GROUP_CACHE_THRESHOLD
-                ? new CachedShapeGrouper()
-                : ShapeIndex::passThroughGrouper;
-    }
-
-    /**
-     * Handles the caching of shapes of a specific type.
-     */
-    @FunctionalInterface
-    private interface ShapeGrouper {
-        <T extends Shape> Stream<T> shapes(Stream<Shape> shapes, Class<T> shapeType);
-    }
-
-    @SuppressWarnings("unchecked")
-    private static <T extends Shape> Stream<T> passThroughGrouper(Stream<Shape> shapes, Class<T> shapeType) {
-        return (Stream<T>) shapes.filter(value -> value.getClass() == shapeType);
-    }
+    /** Lazily computed fingerprint of the shape index. */
+    private volatile long fingerprint;
 
-    private static final class CachedShapeGrouper implements ShapeGrouper {
-        private final Map<Class<? extends Shape>, List<Shape>> grouped = new ConcurrentHashMap<>();
+    private ShapeIndex(Builder builder) {
+        shapeMap = builder.shapeMap.persist();
 
-        @Override
-        @SuppressWarnings("unchecked")
-        public <T extends Shape> Stream<T> shapes(Stream<Shape> shapes, Class<T> shapeType) {
-            return (Stream<T>) grouped
-                    .computeIfAbsent(shapeType, t -> passThroughGrouper(shapes, shapeType)
-                            .collect(Collectors.toList()))
-                    .stream();
+        for (Map.Entry<ShapeType, PersistentHashMap.Transient<ShapeId, Shape>> entry
+                : builder.shapesByType.entrySet()) {
+            if (entry.getValue().size() > 0) {
+                shapesByType.put(entry.getKey(), entry.getValue().persist());
+            }
         }
     }
 
@@ -110,6 +84,24 @@ public final class ShapeIndex implements ToSmithyBuilder<ShapeIndex> {
         return builder().addShapes(this);
     }
 
+    /**
+     * Gets the IDs of shapes that differ between this index and another
+     * index, including shapes that are only present in one of the indexes.
+     *
+     * <p>Finding the differences between an index and an index that was
+     * derived from it using {@link #toBuilder()} is proportional to the
+     * number of changed shapes rather than the size of the indexes. This
+     * allows computed information about unchanged shapes to be reused.
+     *
+     * @param other Index to compare against.
+     * @return Returns the IDs of changed, added, and removed shapes.
+     */
+    public Set<ShapeId> getChangedShapeIds(ShapeIndex other) {
+        Set<ShapeId> result = new HashSet<>();
+        shapeMap.diff(other.shapeMap, result::add);
+        return result;
+    }
+
     /**
      * Attempts to retrieve a {@link Shape} by {@link ShapeId}.
      *
@@ -132,17 +124,83 @@ public final class ShapeIndex implements ToSmithyBuilder<ShapeIndex> {
     /**
      * Gets a stream of shapes in the index of a specific type {@code T}.
      *
-     * <p>The provided shapeType class must exactly match the class of a
-     * shape in the shape index in order to be returned from this method;
-     * that is, the provided class must be a concrete subclass of
-     * {@link Shape} and not an abstract class like {@link NumberShape}.
+     * <p>The provided shapeType class can be either a concrete subclass
+     * of {@link Shape} like {@link StringShape}, or an abstract category
+     * of shapes like {@link NumberShape}, {@link SimpleShape},
+     * {@link CollectionShape}, or {@link EntityShape}. Shapes of every
+     * type that is implemented by the given class are returned.
      *
      * @param shapeType Shape type {@code T} to retrieve.
      * @param <T> Shape type to stream from the index.
      * @return A stream of shapes of {@code T} matching {@code shapeType}.
      */
+    @SuppressWarnings("unchecked")
     public <T extends Shape> Stream<T> shapes(Class<T> shapeType) {
-        return shapeGrouper.shapes(shapes(), shapeType);
+        return (Stream<T>) shapes(ShapeType.fromShapeClass(shapeType));
+    }
+
+    /**
+     * Gets a stream of shapes in the index of a specific {@link ShapeType}.
+     *
+     * @param shapeType Type of shape to retrieve.
+     * @return Returns a stream of shapes of the given type.
+     */
+    public Stream<Shape> shapes(ShapeType shapeType) {
+        return getShapesOfType(shapeType).values().stream();
+    }
+
+    /**
+     * Gets a stream of shapes in the index that match any of the given
+     * {@link ShapeType}s.
+     *
+     * @param shapeTypes Types of shapes to retrieve.
+     * @return Returns a stream of shapes of the given types.
+     */
+    public Stream<Shape> shapes(Set<ShapeType> shapeTypes) {
+        if (shapeTypes.size() == 1) {
+            return shapes(shapeTypes.iterator().next());
+        }
+
+        return shapeTypes.stream().flatMap(this::shapes);
+    }
+
+    /**
+     * Gets the number of shapes in the index.
+     *
+     * @return Returns the number of shapes.
+     */
+    public int size() {
+        return shapeMap.size();
+    }
+
+    /**
+     * Gets the number of shapes in the index of a specific {@link ShapeType}.
+     *
+     * @param shapeType Type of shape to count.
+     * @return Returns the number of shapes of the given type.
+     */
+    public int size(ShapeType shapeType) {
+        return getShapesOfType(shapeType).size();
+    }
+
+    /**
+     * Gets the number of shapes in the index that are instances of the
+     * given class or category of shapes.
+     *
+     * @param shapeType Shape class or category of shapes to count.
+     * @return Returns the number of matching shapes.
+     * @see #shapes(Class)
+     */
+    public int size(Class<? extends Shape> shapeType) {
+        int result = 0;
+        for (ShapeType type : ShapeType.fromShapeClass(shapeType)) {
+            result += size(type);
+        }
+        return result;
+    }
+
+    private Map<ShapeId, Shape> getShapesOfType(ShapeType shapeType) {
+        return shapesByType.getOrDefault(shapeType, PersistentHashMap.empty());
     }
 
     /**
@@ -169,6 +227,28 @@ public final class ShapeIndex implements ToSmithyBuilder<ShapeIndex> {
         };
     }
 
+    /**
+     * Gets a stable content fingerprint of every shape in the index.
+     *
+     * <p>The fingerprint is the order-independent combination of the
+     * fingerprints of each shape, so indexes that contain equal shapes
+     * have the same fingerprint. Equal fingerprints do not prove that two
+     * indexes are equal.
+     *
+     * @return Returns the fingerprint of the index.
+     * @see Shape#getFingerprint()
+     */
+    public long getFingerprint() {
+        long result = fingerprint;
+        if (result == 0) {
+            for (Shape shape : shapeMap.values()) {
+                result += shape.getFingerprint();
+            }
+            fingerprint = result;
+        }
+        return result;
+    }
+
     @Override
     public int hashCode() {
         int result = hash;
@@ -189,10 +269,20 @@ public final class ShapeIndex implements ToSmithyBuilder<ShapeIndex> {
      */
     public static final class Builder implements SmithyBuilder<ShapeIndex> {
         /** All shapes to add to the index. */
-        private final Map<ShapeId, Shape> shapeMap = new HashMap<>();
+        private final PersistentHashMap.Transient<ShapeId, Shape> shapeMap =
+                PersistentHashMap.<ShapeId, Shape>empty().toTransient();
+
+        /** Shapes to add grouped by their type. */
+        private final Map<ShapeType, PersistentHashMap.Transient<ShapeId, Shape>> shapesByType =
+                new EnumMap<>(ShapeType.class);
 
         private Builder() {}
 
+        private PersistentHashMap.Transient<ShapeId, Shape> shapesOfType(ShapeType shapeType) {
+            return shapesByType.computeIfAbsent(shapeType, t -> PersistentHashMap.<ShapeId, Shape>empty()
+                    .toTransient());
+        }
+
         @Override
         public ShapeIndex build() {
             return new ShapeIndex(this);
@@ -205,7 +295,11 @@ public final class ShapeIndex implements ToSmithyBuilder<ShapeIndex> {
          * @return Returns the builder.
          */
         public Builder addShape(Shape shape) {
-            shapeMap.put(shape.getId(), shape);
+            Shape previous = shapeMap.put(shape.getId(), shape);
+            if (previous != null && previous.getType() != shape.getType()) {
+                shapesOfType(previous.getType()).remove(shape.getId());
+            }
+            shapesOfType(shape.getType()).put(shape.getId(), shape);
             return this;
         }
 
@@ -216,7 +310,14 @@ public final class ShapeIndex implements ToSmithyBuilder<ShapeIndex> {
          * @return Returns the builder.
          */
         public Builder addShapes(ShapeIndex shapeIndex) {
-            shapeIndex.shapes().forEach(this::addShape);
+            if (shapeMap.size() == 0) {
+                // Share the structure of the index rather than copying it.
+                shapeMap.replaceWith(shapeIndex.shapeMap);
+                shapesByType.clear();
+                shapeIndex.shapesByType.forEach((type, shapes) -> shapesOfType(type).replaceWith(shapes));
+            } else {
+                shapeIndex.shapes().forEach(this::addShape);
+            }
             return this;
         }
 
@@ -251,7 +352,10 @@ public final class ShapeIndex implements ToSmithyBuilder<ShapeIndex> {
          * @return Returns the builder.
          */
         public Builder removeShape(ShapeId shapeId) {
-            shapeMap.remove(shapeId);
+            Shape previous = shapeMap.remove(shapeId);
+            if (previous != null) {
+                shapesOfType(previous.getType()).remove(shapeId);
+            }
             return this;
         }
     }
@@ -15,6 +15,7 @@
 
 package software.amazon.smithy.model.transform;
 
+import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import software.amazon.smithy.model.Model;
@@ -41,10 +42,14 @@ final class FilterShapes {
     }
 
     Model transform(ModelTransformer transformer, Model model) {
-        return transformer.removeShapes(model, model.getShapeIndex().shapes()
-                .filter(shape -> canFilterShape(model.getShapeIndex(), shape))
+        return transformer.removeShapes(model, findShapesToRemove(model.getShapeIndex()));
+    }
+
+    Set<Shape> findShapesToRemove(ShapeIndex index) {
+        return index.shapes()
+                .filter(shape -> canFilterShape(index, shape))
                 .filter(FunctionalUtils.not(predicate))
-                .collect(Collectors.toSet()));
+                .collect(Collectors.toSet());
     }
 
     private static boolean canFilterShape(ShapeIndex index, Shape shape) {
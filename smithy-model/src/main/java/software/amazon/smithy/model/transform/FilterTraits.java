@@ -42,7 +42,7 @@ final class FilterTraits {
         return transformer.mapShapes(model, this::filterTraits);
     }
 
-    private Shape filterTraits(Shape shape) {
+    Shape filterTraits(Shape shape) {
         List<Trait> keepTraits = shape.getAllTraits().values().stream()
                 .filter(trait -> predicate.test(shape, trait))
                 .collect(Collectors.toList());
@@ -16,11 +16,13 @@
 package software.amazon.smithy.model.transform;
 
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeIndex;
 
 /**
  * Maps over shapes in the model using a mapping function.
@@ -39,7 +41,11 @@ final class MapShapes {
     }
 
     Model transform(ModelTransformer transformer, Model model) {
-        return transformer.replaceShapes(model, model.getShapeIndex().shapes()
+        return transformer.replaceShapes(model, findReplacements(model.getShapeIndex()));
+    }
+
+    Set<Shape> findReplacements(ShapeIndex index) {
+        return index.shapes()
                 .flatMap(shape -> {
                     Shape mapped = Objects.requireNonNull(mapper.apply(shape), "Shape mapper must not return null");
                     if (mapped.equals(shape)) {
@@ -52,6 +58,6 @@ final class MapShapes {
                         return Stream.of(mapped);
                     }
                 })
-                .collect(Collectors.toSet()));
+                .collect(Collectors.toSet());
     }
 }
@@ -15,18 +15,23 @@
 
 package software.amazon.smithy.model.transform;
 
-import java.util.Collections;
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.knowledge.NeighborProviderIndex;
 import software.amazon.smithy.model.neighbor.NeighborProvider;
 import software.amazon.smithy.model.neighbor.Relationship;
 import software.amazon.smithy.model.neighbor.RelationshipType;
 import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.ShapeIndex;
 
 /**
@@ -35,12 +40,14 @@ import software.amazon.smithy.model.shapes.ShapeIndex;
  *
  * <p>The marker function is invoked at the start of each round and passed
  * a context object. The marker can query the context object and mark shapes
- * as needing to be removed. The MarkAndSweep then finds all shapes
- * that have targets to them but is only targeted by shapes that have been
- * marked for removal. These matching shapes are then marked for removal as
- * well, potentially freeing up other shapes to be marked for removal in the
- * next round. This process continues until no new shapes are marked in a
- * round.
+ * as needing to be removed. Each time a shape is marked, the MarkAndSweep
+ * finds all shapes that have targets to them but are only targeted by shapes
+ * that have been marked for removal, and marks them for removal as well.
+ * The marker is invoked again until it no longer marks any new shapes.
+ *
+ * <p>Marking is performed using a worklist and a count of the unmarked
+ * shapes that reference each shape, so every shape and relationship is
+ * visited at most once regardless of how many rounds the marker needs.
  */
 final class MarkAndSweep {
 
@@ -53,45 +60,100 @@ final class MarkAndSweep {
     }
 
     Set<Shape> markAndSweep(Model model) {
-        ShapeIndex index = model.getShapeIndex();
-        NeighborProvider reverseNeighbors = NeighborProvider.bottomUp(model.getShapeIndex());
-        MarkerContext context = new MarkerContext(reverseNeighbors, model, sweepFilter);
+        NeighborProvider provider = model.getKnowledge(NeighborProviderIndex.class).getProvider();
+        MarkerContext context = new MarkerContext(provider, model, sweepFilter);
 
         int currentSize;
         do {
-            currentSize = context.getMarkedForRemoval().size();
+            currentSize = context.getMarkedCount();
             marker.accept(context);
-            // Find shapes that are only referenced by a shape that has been marked for removal.
-            index.shapes().filter(shape -> !shape.isMemberShape()).forEach(shape -> {
-                Set<Shape> targetedFrom = context.getTargetedFrom(shape);
-                if (!targetedFrom.isEmpty()) {
-                    targetedFrom.removeAll(context.getMarkedForRemoval());
-                    if (targetedFrom.isEmpty()) {
-                        context.markShape(shape);
-                    }
-                }
-            });
-        } while (currentSize != context.getMarkedForRemoval().size());
+        } while (currentSize != context.getMarkedCount());
 
         return context.getMarkedForRemoval();
     }
 
     /**
      * Context object passed to the marked in each pass on the model.
+     *
+     * <p>Shapes are assigned dense ordinals so that the reference graph,
+     * reference counts, and marked shapes can be stored in arrays and a
+     * {@link BitSet} rather than in sets of shapes.
      */
     static final class MarkerContext {
 
-        private final NeighborProvider reverseProvider;
+        private static final int[] NO_REFERENCES = new int[0];
+
         private final Model model;
-        private final Set<Shape> markedForRemoval = new HashSet<>();
+        private final Shape[] shapes;
+        private final Map<ShapeId, Integer> ordinals;
+        private final int[][] targets;
+        private final int[] unmarkedReferences;
+        private final BitSet marked;
+        private final Deque<Integer> worklist = new ArrayDeque<>();
         private final RemoveShapes.ShapeRemovalVisitor removalVisitor;
         private final Predicate<Shape> sweepFilter;
 
-        MarkerContext(NeighborProvider reverseProvider, Model model, Predicate<Shape> sweepFilter) {
-            this.reverseProvider = reverseProvider;
+        MarkerContext(NeighborProvider provider, Model model, Predicate<Shape> sweepFilter) {
             this.model = model;
             this.sweepFilter = sweepFilter;
             removalVisitor = new RemoveShapes.ShapeRemovalVisitor();
+
+            ShapeIndex index = model.getShapeIndex();
+            shapes = index.shapes().toArray(Shape[]::new);
+            ordinals = new HashMap<>(shapes.length * 2);
+            for (int i = 0; i < shapes.length; i++) {
+                ordinals.put(shapes[i].getId(), i);
+            }
+
+            // Count the distinct shapes that reference each shape.
+            targets = new int[shapes.length][];
+            unmarkedReferences = new int[shapes.length];
+            marked = new BitSet(shapes.length);
+            Set<Integer> distinctTargets = new LinkedHashSet<>();
+            for (int i = 0; i < shapes.length; i++) {
+                distinctTargets.clear();
+                for (Relationship relationship : provider.getNeighbors(shapes[i])) {
+                    Integer target = ordinals.get(relationship.getNeighborShapeId());
+                    if (target != null && isReference(relationship)) {
+                        distinctTargets.add(target);
+                    }
+                }
+
+                if (distinctTargets.isEmpty()) {
+                    targets[i] = NO_REFERENCES;
+                } else {
+                    targets[i] = new int[distinctTargets.size()];
+                    int position = 0;
+                    for (int target : distinctTargets) {
+                        targets[i][position++] = target;
+                        unmarkedReferences[target]++;
+                    }
+                }
+            }
+        }
+
+        private static boolean isReference(Relationship rel) {
+            // We are only interested in references to this shape from
+            // other shapes, not references to this shape that the shape
+            // contains (like members).
+            switch (rel.getRelationshipType()) {
+                case MEMBER_CONTAINER:
+                case LIST_MEMBER:
+                case STRUCTURE_MEMBER:
+                case SET_MEMBER:
+                case UNION_MEMBER:
+                case MAP_KEY:
+                case MAP_VALUE:
+                case BOUND:
+                    return false;
+                default:
+                    // Don't allow recursive member references to exclude themselves.
+                    // This check ensures that recursive member references don't exclude
+                    // themselves from being marked by seeing if the relationship is a member
+                    // target (e.g., an aggregate shape that targets a member)
+                    return rel.getRelationshipType() != RelationshipType.MEMBER_TARGET
+                           || !rel.getShape().getId().withoutMember().equals(rel.getNeighborShapeId());
+            }
         }
 
         /**
@@ -102,60 +164,75 @@ final class MarkAndSweep {
         }
 
         /**
-         * @return Gets the immutable set of shapes marked for removal.
+         * @return Gets the number of shapes marked for removal.
          */
-        Set<Shape> getMarkedForRemoval() {
-            return Collections.unmodifiableSet(markedForRemoval);
+        int getMarkedCount() {
+            return marked.cardinality();
         }
 
         /**
-         * Marks a shape for removal.
-         *
-         * @param shape Shape to remove.
+         * @return Gets the set of shapes marked for removal.
          */
-        void markShape(Shape shape) {
-            if (sweepFilter.test(shape)) {
-                markedForRemoval.add(shape);
-                markedForRemoval.addAll(shape.accept(removalVisitor));
+        Set<Shape> getMarkedForRemoval() {
+            Set<Shape> result = new HashSet<>();
+            for (int i = marked.nextSetBit(0); i >= 0; i = marked.nextSetBit(i + 1)) {
+                result.add(shapes[i]);
             }
+            return result;
         }
 
         /**
-         * Gets the set of shapes that refer to the given shape.
+         * Checks if a shape is referenced by any shape that is not marked
+         * for removal.
          *
-         * @param shape Shape to check for relationships to.
-         * @return Returns the shapes that reference the given shape.
+         * @param shape Shape to check for references to.
+         * @return Returns true if an unmarked shape references the shape.
          */
-        Set<Shape> getTargetedFrom(Shape shape) {
-            return findRelationshipsTo(shape).map(Relationship::getShape).collect(Collectors.toSet());
+        boolean hasUnmarkedReferences(Shape shape) {
+            Integer ordinal = ordinals.get(shape.getId());
+            return ordinal != null && unmarkedReferences[ordinal] > 0;
         }
 
-        private Stream<Relationship> findRelationshipsTo(Shape shape) {
-            return reverseProvider.getNeighbors(shape).stream()
-                    // We are only interested in references to this shape from
-                    // other shapes, not references to this shape that the shape
-                    // contains (like members).
-                    .filter(rel -> {
-                        switch (rel.getRelationshipType()) {
-                            case MEMBER_CONTAINER:
-                            case LIST_MEMBER:
-                            case STRUCTURE_MEMBER:
-                            case SET_MEMBER:
-                            case UNION_MEMBER:
-                            case MAP_KEY:
-                            case MAP_VALUE:
-                            case BOUND:
-                                return false;
-                            default:
-                                return true;
+        /**
+         * Marks a shape for removal, along with any shapes that are then
+         * only referenced by shapes marked for removal.
+         *
+         * @param shape Shape to remove.
+         */
+        void markShape(Shape shape) {
+            Integer ordinal = ordinals.get(shape.getId());
+            if (ordinal != null && sweepFilter.test(shape)) {
+                mark(ordinal);
+
+                while (!worklist.isEmpty()) {
+                    for (int target : targets[worklist.pop()]) {
+                        // Find shapes that are only referenced by a shape that has been marked for removal.
+                        if (--unmarkedReferences[target] == 0
+                                && !marked.get(target)
+                                && !shapes[target].isMemberShape()
+                                && sweepFilter.test(shapes[target])) {
+                            mark(target);
                         }
-                    })
-                    // Don't allow recursive member references to exclude themselves.
-                    // This check ensures that recursive member references don't exclude
-                    // themselves from being marked by seeing if the relationship is a member
-                    // target (e.g., an aggregate shape that targets a member)
-                    .filter(rel -> rel.getRelationshipType() != RelationshipType.MEMBER_TARGET
-                                   || !rel.getShape().getId().withoutMember().equals(rel.getNeighborShapeId()));
+                    }
+                }
+            }
+        }
+
+        private void mark(int ordinal) {
+            markOrdinal(ordinal);
+            for (Shape member : shapes[ordinal].accept(removalVisitor)) {
+                Integer memberOrdinal = ordinals.get(member.getId());
+                if (memberOrdinal != null) {
+                    markOrdinal(memberOrdinal);
+                }
+            }
+        }
+
+        private void markOrdinal(int ordinal) {
+            if (!marked.get(ordinal)) {
+                marked.set(ordinal);
+                worklist.push(ordinal);
+            }
         }
     }
 }
@@ -88,6 +88,20 @@ public final class ModelTransformer {
         return createWithServiceLoader(ServiceLoader.load(ModelTransformerPlugin.class, classLoader));
     }
 
+    /**
+     * Creates a {@link TransformPipeline} that accumulates transformations
+     * of the given model and materializes them as a single model.
+     *
+     * <p>Prefer a pipeline over invoking several methods of this class in
+     * a row; a pipeline does not create intermediate models.
+     *
+     * @param model Model to transform.
+     * @return Returns the created pipeline.
+     */
+    public TransformPipeline pipeline(Model model) {
+        return new TransformPipeline(this, plugins, model);
+    }
+
     /**
      * Adds or replaces shapes into the model while ensuring that the model
      * is in a consistent state.
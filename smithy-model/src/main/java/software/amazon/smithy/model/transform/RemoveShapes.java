@@ -56,30 +56,48 @@ final class RemoveShapes {
 
     Model transform(ModelTransformer transformer, Model model) {
         Set<Shape> removed = new HashSet<>();
-        ShapeIndex index = model.getShapeIndex();
-        Deque<Shape> queue = index.shapes()
-                .filter(toRemove::contains)
+        ShapeIndex index = removeFrom(model.getShapeIndex(), toRemove, removed);
+        Model result = model.toBuilder().shapeIndex(index).build();
+
+        for (ModelTransformerPlugin plugin : plugins) {
+            result = plugin.onRemove(transformer, removed, result);
+        }
+
+        return result;
+    }
+
+    /**
+     * Removes shapes and the members they own from a shape index without
+     * building a model or invoking any {@link ModelTransformerPlugin}s.
+     *
+     * @param index Shape index to update.
+     * @param toRemove Shapes to remove. Shapes that are not in the index are ignored.
+     * @param removed Collection that receives every shape that was removed.
+     * @return Returns the updated shape index.
+     */
+    static ShapeIndex removeFrom(ShapeIndex index, Collection<Shape> toRemove, Collection<Shape> removed) {
+        Set<Shape> visited = new HashSet<>();
+        Deque<Shape> queue = toRemove.stream()
+                .filter(shape -> index.getShape(shape.getId()).filter(shape::equals).isPresent())
                 .collect(Collectors.toCollection(ArrayDeque::new));
         ShapeRemovalVisitor removalVisitor = new ShapeRemovalVisitor();
 
         // Iteratively add each shape that needs to be removed from the index using multiple rounds.
         while (!queue.isEmpty()) {
             Shape shape = queue.pop();
-            if (!removed.contains(shape)) {
+            if (visited.add(shape)) {
                 queue.addAll(shape.accept(removalVisitor));
             }
-            removed.add(shape);
         }
 
-        ShapeIndex.Builder builder = index.toBuilder();
-        removed.forEach(shape -> builder.removeShape(shape.getId()));
-        Model result = model.toBuilder().shapeIndex(builder.build()).build();
-
-        for (ModelTransformerPlugin plugin : plugins) {
-            result = plugin.onRemove(transformer, removed, result);
+        if (visited.isEmpty()) {
+            return index;
         }
 
-        return result;
+        ShapeIndex.Builder builder = index.toBuilder();
+        visited.forEach(shape -> builder.removeShape(shape.getId()));
+        removed.addAll(visited);
+        return builder.build();
     }
 
     /**
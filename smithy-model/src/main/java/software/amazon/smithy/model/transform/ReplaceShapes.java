@@ -18,8 +18,11 @@ package software.amazon.smithy.model.transform;
 import static java.util.stream.Collectors.mapping;
 import static java.util.stream.Collectors.toList;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -81,28 +84,42 @@ final class ReplaceShapes {
     }
 
     Model transform(ModelTransformer transformer, Model model) {
-        List<Shape> shouldReplace = determineShapesToReplace(model);
+        ShapeIndex index = model.getShapeIndex();
+        List<Shape> shouldReplace = determineShapesToReplace(index);
         if (shouldReplace.isEmpty()) {
             return model;
         }
 
-        assertNoShapeChangedType(model, shouldReplace);
-        ShapeIndex.Builder builder = createReplacedShapeIndexBuilder(model, shouldReplace);
-
-        // If a member shape changes, then ensure that the containing shape
-        // is also updated to reference the updated member. Note that the updated container
-        // shapes will be a modified version of shapes present in the shouldReplace Set
-        // over shapes in the provided index.
-        getUpdatedContainers(model.getShapeIndex(), shouldReplace).forEach(builder::addShape);
-
         // Builds the model, then returns a model that removes any shapes that
         // need to be removed after mapping over the shapes.
         return transformer.removeShapes(
-                model.toBuilder().shapeIndex(builder.build()).build(),
-                getShapesToRemove(model, shouldReplace));
+                model.toBuilder().shapeIndex(createReplacedShapeIndex(index, shouldReplace)).build(),
+                getShapesToRemove(index, shouldReplace));
+    }
+
+    /**
+     * Replaces shapes in a shape index without building a model or
+     * invoking any {@link ModelTransformerPlugin}s.
+     *
+     * <p>Members that are removed from a container as a result of the
+     * replacement are removed from the returned index and added to
+     * {@code removed}.
+     *
+     * @param index Shape index to update.
+     * @param removed Collection that receives every shape that was removed.
+     * @return Returns the updated shape index.
+     */
+    ShapeIndex transform(ShapeIndex index, Collection<Shape> removed) {
+        List<Shape> shouldReplace = determineShapesToReplace(index);
+        if (shouldReplace.isEmpty()) {
+            return index;
+        }
+
+        ShapeIndex result = createReplacedShapeIndex(index, shouldReplace);
+        return RemoveShapes.removeFrom(result, getShapesToRemove(index, shouldReplace), removed);
     }
 
-    private List<Shape> determineShapesToReplace(Model model) {
+    private List<Shape> determineShapesToReplace(ShapeIndex index) {
         return replacements.stream()
                 // Only replace shapes if they don't exist in the index or if they are
                 // different than the current shape in the index.
@@ -110,7 +127,7 @@ final class ReplaceShapes {
                 // This prevents infinite recursion when this transformer and the
                 // RemoveShapes transformer recursively call each other. It also
                 // prevents unnecessary allocations.
-                .filter(shape -> !model.getShapeIndex().getShape(shape.getId())
+                .filter(shape -> !index.getShape(shape.getId())
                         .filter(original -> original.equals(shape))
                         .isPresent())
                 // Sort the replacements to ensure that members come after container shapes.
@@ -125,10 +142,22 @@ final class ReplaceShapes {
                 .collect(toList());
     }
 
-    private void assertNoShapeChangedType(Model model, List<Shape> shouldReplace) {
+    private ShapeIndex createReplacedShapeIndex(ShapeIndex index, List<Shape> shouldReplace) {
+        assertNoShapeChangedType(index, shouldReplace);
+        ShapeIndex.Builder builder = createReplacedShapeIndexBuilder(index, shouldReplace);
+
+        // If a member shape changes, then ensure that the containing shape
+        // is also updated to reference the updated member. Note that the updated container
+        // shapes will be a modified version of shapes present in the shouldReplace Set
+        // over shapes in the provided index.
+        getUpdatedContainers(index, shouldReplace).forEach(builder::addShape);
+        return builder.build();
+    }
+
+    private void assertNoShapeChangedType(ShapeIndex index, List<Shape> shouldReplace) {
         // Throws if any mappings attempted to change a shape's type.
         shouldReplace.stream()
-                .flatMap(previous -> Pair.flatMapStream(previous, p -> model.getShapeIndex().getShape(p.getId())))
+                .flatMap(previous -> Pair.flatMapStream(previous, p -> index.getShape(p.getId())))
                 .filter(pair -> pair.getLeft().getType() != pair.getRight().getType())
                 .forEach(pair -> {
                     throw new RuntimeException(String.format(
@@ -137,11 +166,11 @@ final class ReplaceShapes {
                 });
     }
 
-    private ShapeIndex.Builder createReplacedShapeIndexBuilder(Model model, List<Shape> shouldReplace) {
+    private ShapeIndex.Builder createReplacedShapeIndexBuilder(ShapeIndex index, List<Shape> shouldReplace) {
         // Add member shapes to a ShapeIndex.Builder. This builder is mutated
         // by the visitor, which will ensure that newly added members show up
         // in the index.
-        ShapeIndex.Builder builder = model.getShapeIndex().toBuilder();
+        ShapeIndex.Builder builder = index.toBuilder();
         GetMemberShapesVisitor getMemberShapesVisitor = new GetMemberShapesVisitor();
         shouldReplace.forEach(shape -> {
             builder.addShape(shape);
@@ -150,12 +179,12 @@ final class ReplaceShapes {
         return builder;
     }
 
-    private Set<Shape> getShapesToRemove(Model model, List<Shape> shouldReplace) {
+    private Set<Shape> getShapesToRemove(ShapeIndex index, List<Shape> shouldReplace) {
         // Ensure that when members are removed from a container shape
         // (e.g., a structure with fewer members), the removed members are
         // removed from the index.
         return shouldReplace.stream()
-                .flatMap(shape -> Pair.flatMapStream(shape, s -> model.getShapeIndex().getShape(s.getId())))
+                .flatMap(shape -> Pair.flatMapStream(shape, s -> index.getShape(s.getId())))
                 .flatMap(pair -> {
                     RemoveShapesVisitor removeShapesVisitor = new RemoveShapesVisitor(pair.getRight());
                     return pair.getLeft().accept(removeShapesVisitor).stream();
@@ -164,34 +193,30 @@ final class ReplaceShapes {
     }
 
     private Set<Shape> getUpdatedContainers(ShapeIndex index, List<Shape> shouldReplace) {
+        // Shapes in the replacement set take precedence over shapes in the previous index.
+        // This accounts for newly added shapes and not overwriting changes also made to the
+        // container shape.
+        Map<ShapeId, Shape> replacedShapes = new HashMap<>();
+        shouldReplace.forEach(shape -> replacedShapes.putIfAbsent(shape.getId(), shape));
+
         // Account for multiple members being updated on the same container.
         Map<Shape, List<MemberShape>> containerToMemberMapping = shouldReplace.stream()
                 .flatMap(shape -> OptionalUtils.stream(shape.asMemberShape()))
                 .flatMap(member -> Pair.flatMapStream(
-                        member, m -> findContainerShape(m.getContainer(), index, shouldReplace)))
+                        member, m -> findContainerShape(m.getContainer(), index, replacedShapes)))
                 .collect(Collectors.groupingBy(Pair::getRight, mapping(Pair::getLeft, toList())));
 
-        // TODO: This could be made more efficient by building containers only once.
+        // Each container is rebuilt at most once, regardless of how many of its members changed.
         return containerToMemberMapping.entrySet().stream()
-                .map(entry -> {
-                    Shape container = entry.getKey();
-                    List<MemberShape> members = entry.getValue();
-                    for (MemberShape member : members) {
-                        container = container.accept(new UpdateContainerVisitor(member)).orElse(container);
-                    }
-                    // Only update if changed.
-                    return container.equals(entry.getKey()) ? null : container;
-                })
-                .filter(Objects::nonNull)
+                .map(entry -> entry.getKey().accept(new UpdateContainerVisitor(entry.getValue())))
+                .filter(Optional::isPresent)
+                .map(Optional::get)
                 .collect(Collectors.toSet());
     }
 
-    private Optional<Shape> findContainerShape(ShapeId shapeId, ShapeIndex index, List<Shape> shouldReplace) {
-        // Shapes in the replacement set take precedence over shapes in the previous index.
-        // This accounts for newly added shapes and not overwriting changes also made to the
-        // container shape.
-        Optional<Shape> result = shouldReplace.stream().filter(shape -> shape.getId().equals(shapeId)).findFirst();
-        return result.isPresent() ? result : index.getShape(shapeId);
+    private Optional<Shape> findContainerShape(ShapeId shapeId, ShapeIndex index, Map<ShapeId, Shape> replaced) {
+        Shape result = replaced.get(shapeId);
+        return result != null ? Optional.of(result) : index.getShape(shapeId);
     }
 
     /**
@@ -281,15 +306,18 @@ final class ReplaceShapes {
     }
 
     /**
-     * Updates the container shape of a member when a member changes,
-     * IFF the member differs from what's in the shape.
+     * Updates the container shape of members when members change,
+     * IFF the members differ from what's in the shape.
+     *
+     * <p>When the same member is updated more than once, the last update
+     * wins. The container is only rebuilt once.
      */
     private static final class UpdateContainerVisitor extends ShapeVisitor.Default<Optional<Shape>> {
 
-        private final MemberShape member;
+        private final Map<String, MemberShape> members = new LinkedHashMap<>();
 
-        UpdateContainerVisitor(MemberShape member) {
-            this.member = member;
+        UpdateContainerVisitor(List<MemberShape> members) {
+            members.forEach(member -> this.members.put(member.getMemberName(), member));
         }
 
         @Override
@@ -299,45 +327,76 @@ final class ReplaceShapes {
 
         @Override
         public Optional<Shape> listShape(ListShape shape) {
-            return shape.getMember() == member
+            MemberShape member = members.get("member");
+            return member == null || shape.getMember().equals(member)
                    ? Optional.empty()
                    : Optional.of(shape.toBuilder().member(member).build());
         }
 
         @Override
         public Optional<Shape> setShape(SetShape shape) {
-            return shape.getMember() == member
+            MemberShape member = members.get("member");
+            return member == null || shape.getMember().equals(member)
                    ? Optional.empty()
                    : Optional.of(shape.toBuilder().member(member).build());
         }
 
         @Override
         public Optional<Shape> mapShape(MapShape shape) {
-            if (member.getMemberName().equals("key")) {
-                return shape.getKey() == member
-                       ? Optional.empty()
-                       : Optional.of(shape.toBuilder().key(member).build());
-            } else {
-                return shape.getValue() == member
-                       ? Optional.empty()
-                       : Optional.of(shape.toBuilder().value(member).build());
+            MemberShape key = members.get("key");
+            MemberShape value = members.get("value");
+            boolean keyChanged = key != null && !shape.getKey().equals(key);
+            boolean valueChanged = value != null && !shape.getValue().equals(value);
+
+            if (!keyChanged && !valueChanged) {
+                return Optional.empty();
             }
+
+            MapShape.Builder builder = shape.toBuilder();
+            if (keyChanged) {
+                builder.key(key);
+            }
+            if (valueChanged) {
+                builder.value(value);
+            }
+            return Optional.of(builder.build());
         }
 
         @Override
         public Optional<Shape> structureShape(StructureShape shape) {
-            // Replace the existing structure member with the new member.
-            return shape.getMember(member.getMemberName())
-                    .filter(oldMember -> !oldMember.equals(member))
-                    .map(oldMember -> shape.toBuilder().addMember(member).build());
+            // Replace the existing structure members with the new members.
+            List<MemberShape> changed = findChangedMembers(shape.getAllMembers());
+            if (changed.isEmpty()) {
+                return Optional.empty();
+            }
+
+            StructureShape.Builder builder = shape.toBuilder();
+            changed.forEach(builder::addMember);
+            return Optional.of(builder.build());
         }
 
         @Override
         public Optional<Shape> unionShape(UnionShape shape) {
-            // Replace the existing union member with the new member.
-            return shape.getMember(member.getMemberName())
-                    .filter(oldMember -> oldMember != member)
-                    .map(oldMember -> shape.toBuilder().addMember(member).build());
+            // Replace the existing union members with the new members.
+            List<MemberShape> changed = findChangedMembers(shape.getAllMembers());
+            if (changed.isEmpty()) {
+                return Optional.empty();
+            }
+
+            UnionShape.Builder builder = shape.toBuilder();
+            changed.forEach(builder::addMember);
+            return Optional.of(builder.build());
+        }
+
+        private List<MemberShape> findChangedMembers(Map<String, MemberShape> currentMembers) {
+            List<MemberShape> changed = new ArrayList<>();
+            for (MemberShape member : members.values()) {
+                MemberShape oldMember = currentMembers.get(member.getMemberName());
+                if (oldMember != null && !oldMember.equals(member)) {
+                    changed.add(member);
+                }
+            }
+            return changed;
         }
     }
 }
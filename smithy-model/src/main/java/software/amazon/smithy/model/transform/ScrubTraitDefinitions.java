@@ -57,9 +57,7 @@ final class ScrubTraitDefinitions {
                 context -> {
                     Set<Shape> traitShapes = new HashSet<>(remainingDefinitions.keySet());
                     traitShapes.forEach(shape -> {
-                        Set<Shape> targetedFrom = context.getTargetedFrom(shape);
-                        targetedFrom.removeAll(context.getMarkedForRemoval());
-                        if (targetedFrom.isEmpty()) {
+                        if (!context.hasUnmarkedReferences(shape)) {
                             context.markShape(shape);
                             remainingDefinitions.remove(shape);
                         }
@@ -0,0 +1,367 @@
+/*
+ * Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.transform;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.loader.Prelude;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeIndex;
+import software.amazon.smithy.model.traits.Trait;
+import software.amazon.smithy.model.traits.TraitDefinition;
+import software.amazon.smithy.utils.FunctionalUtils;
+
+/**
+ * Accumulates a sequence of model transformations and materializes the
+ * result as a single {@link Model}.
+ *
+ * <p>Each step of a pipeline is applied directly to a structurally shared
+ * {@link ShapeIndex}, the trait definitions, and the metadata of the model
+ * being transformed rather than to a {@code Model}. No intermediate models
+ * are created, and {@link ModelTransformerPlugin}s are invoked a single time
+ * with every shape removed by the pipeline when {@link #build()} is called.
+ * This is considerably cheaper than invoking the equivalent methods of
+ * {@link ModelTransformer} one after the other.
+ *
+ * <p>Because plugins are deferred until the model is built, steps in the
+ * pipeline can observe shapes that still refer to shapes removed by a
+ * previous step (for example, a structure member that targets a removed
+ * shape). These references are cleaned up when the model is built.
+ *
+ * <p>Transformations that cannot be expressed as a pipeline step are applied
+ * using {@link #transform(BiFunction)}, which builds the model accumulated so
+ * far, applies the function, and continues the pipeline with the result.
+ *
+ * <pre>
+ * {@code
+ * Model result = ModelTransformer.create().pipeline(model)
+ *         .filterShapes(shape -> !shape.hasTag("internal"))
+ *         .removeTraitDefinitions(SetUtils.of("smithy.example#foo"))
+ *         .filterMetadata((key, value) -> !key.startsWith("internal"))
+ *         .build();
+ * }
+ * </pre>
+ *
+ * <p>A pipeline is not thread-safe.
+ *
+ * @see ModelTransformer#pipeline(Model)
+ */
+public final class TransformPipeline {
+    private final ModelTransformer transformer;
+    private final List<ModelTransformerPlugin> plugins;
+    private final Set<Shape> removed = new HashSet<>();
+    private final Map<String, TraitDefinition> traitDefinitions = new LinkedHashMap<>();
+    private final Map<String, Node> metadata = new LinkedHashMap<>();
+    private Model model;
+    private ShapeIndex index;
+    private boolean changed;
+
+    TransformPipeline(ModelTransformer transformer, List<ModelTransformerPlugin> plugins, Model model) {
+        this.transformer = transformer;
+        this.plugins = plugins;
+        reset(Objects.requireNonNull(model));
+    }
+
+    private void reset(Model model) {
+        this.model = model;
+        index = model.getShapeIndex();
+        traitDefinitions.clear();
+        model.getTraitDefinitions().forEach(def -> traitDefinitions.put(def.getFullyQualifiedName(), def));
+        metadata.clear();
+        metadata.putAll(model.getMetadata());
+        removed.clear();
+        changed = false;
+    }
+
+    /**
+     * Gets the shapes of the model as transformed so far.
+     *
+     * @return Returns the current shape index.
+     */
+    public ShapeIndex getShapeIndex() {
+        return index;
+    }
+
+    /**
+     * Gets the trait definitions of the model as transformed so far.
+     *
+     * @return Returns the current trait definitions.
+     */
+    public Set<TraitDefinition> getTraitDefinitions() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(traitDefinitions.values()));
+    }
+
+    /**
+     * Gets the metadata of the model as transformed so far.
+     *
+     * @return Returns the current metadata.
+     */
+    public Map<String, Node> getMetadata() {
+        return Collections.unmodifiableMap(metadata);
+    }
+
+    /**
+     * Adds or replaces shapes.
+     *
+     * @param shapes Shapes to add or replace.
+     * @return Returns the pipeline.
+     * @see ModelTransformer#replaceShapes
+     */
+    public TransformPipeline replaceShapes(Collection<Shape> shapes) {
+        if (!shapes.isEmpty()) {
+            updateIndex(new ReplaceShapes(shapes).transform(index, removed));
+        }
+        return this;
+    }
+
+    /**
+     * Removes shapes and the members they own.
+     *
+     * @param shapes Shapes to remove.
+     * @return Returns the pipeline.
+     * @see ModelTransformer#removeShapes
+     */
+    public TransformPipeline removeShapes(Collection<Shape> shapes) {
+        if (!shapes.isEmpty()) {
+            updateIndex(RemoveShapes.removeFrom(index, shapes, removed));
+        }
+        return this;
+    }
+
+    /**
+     * Removes shapes that match the given predicate.
+     *
+     * @param predicate Predicate that accepts a shape and returns true to
+     *  remove it.
+     * @return Returns the pipeline.
+     * @see ModelTransformer#removeShapesIf
+     */
+    public TransformPipeline removeShapesIf(Predicate<Shape> predicate) {
+        return filterShapes(FunctionalUtils.not(predicate));
+    }
+
+    /**
+     * Removes shapes that do not match the given predicate.
+     *
+     * <p>Shapes that are part of the prelude are never removed.
+     *
+     * @param predicate Predicate that filters shapes.
+     * @return Returns the pipeline.
+     * @see ModelTransformer#filterShapes
+     */
+    public TransformPipeline filterShapes(Predicate<Shape> predicate) {
+        return removeShapes(new FilterShapes(predicate).findShapesToRemove(index));
+    }
+
+    /**
+     * Maps over every shape using a mapping function that returns a shape
+     * with the same ID and type.
+     *
+     * @param mapper Mapping function that accepts a shape and returns a shape
+     *  with the same ID.
+     * @return Returns the pipeline.
+     * @see ModelTransformer#mapShapes(Model, Function)
+     */
+    public TransformPipeline mapShapes(Function<Shape, Shape> mapper) {
+        return replaceShapes(new MapShapes(mapper).findReplacements(index));
+    }
+
+    /**
+     * Maps over every trait applied to a shape.
+     *
+     * @param mapper Mapping function that accepts a (Shape, Trait) and returns
+     *  the mapped Trait.
+     * @return Returns the pipeline.
+     * @see ModelTransformer#mapTraits(Model, BiFunction)
+     */
+    public TransformPipeline mapTraits(BiFunction<Shape, Trait, Trait> mapper) {
+        return mapShapes(new MapTraits(mapper)::mapTraits);
+    }
+
+    /**
+     * Removes traits from shapes that do not match the given predicate.
+     *
+     * @param predicate Predicate that accepts a (Shape, Trait) and returns
+     *  false if the trait should be removed.
+     * @return Returns the pipeline.
+     * @see ModelTransformer#filterTraits
+     */
+    public TransformPipeline filterTraits(BiPredicate<Shape, Trait> predicate) {
+        return mapShapes(new FilterTraits(predicate)::filterTraits);
+    }
+
+    /**
+     * Removes traits from shapes that match the given predicate.
+     *
+     * @param predicate Predicate that accepts a (Shape, Trait) and returns
+     *  true if the trait should be removed.
+     * @return Returns the pipeline.
+     * @see ModelTransformer#removeTraitsIf
+     */
+    public TransformPipeline removeTraitsIf(BiPredicate<Shape, Trait> predicate) {
+        return filterTraits(predicate.negate());
+    }
+
+    /**
+     * Removes trait definitions that do not match the given predicate, along
+     * with every instance of the removed traits.
+     *
+     * <p>Trait definitions that are part of the prelude are never removed.
+     *
+     * @param predicate Predicate that returns true to keep a definition.
+     * @return Returns the pipeline.
+     * @see ModelTransformer#filterTraitDefinitions
+     */
+    public TransformPipeline filterTraitDefinitions(Predicate<TraitDefinition> predicate) {
+        Set<String> names = new HashSet<>();
+        for (TraitDefinition definition : traitDefinitions.values()) {
+            if (!predicate.test(definition) && !Prelude.isPreludeTraitDefinition(definition.getFullyQualifiedName())) {
+                names.add(definition.getFullyQualifiedName());
+            }
+        }
+        return removeTraitDefinitions(names);
+    }
+
+    /**
+     * Removes trait definitions by fully qualified name, along with every
+     * instance of the removed traits.
+     *
+     * @param traitNames Fully qualified names of the definitions to remove.
+     * @return Returns the pipeline.
+     * @see ModelTransformer#removeTraitDefinitions
+     */
+    public TransformPipeline removeTraitDefinitions(Set<String> traitNames) {
+        if (traitNames.isEmpty()) {
+            return this;
+        }
+
+        if (traitDefinitions.keySet().removeAll(traitNames)) {
+            changed = true;
+        }
+
+        return removeTraitsIf((shape, trait) -> traitNames.contains(trait.getName()));
+    }
+
+    /**
+     * Maps over every trait definition using a mapping function that
+     * returns a definition with the same name.
+     *
+     * @param mapper Mapping function that accepts a trait definition and
+     *  returns a trait definition with the same fully qualified name.
+     * @return Returns the pipeline.
+     * @throws IllegalArgumentException if a mapper changes the name of a definition.
+     */
+    public TransformPipeline mapTraitDefinitions(Function<TraitDefinition, TraitDefinition> mapper) {
+        for (Map.Entry<String, TraitDefinition> entry : traitDefinitions.entrySet()) {
+            TraitDefinition mapped = Objects.requireNonNull(
+                    mapper.apply(entry.getValue()), "Trait definition mapper must not return null");
+            if (!mapped.getFullyQualifiedName().equals(entry.getKey())) {
+                throw new IllegalArgumentException(String.format(
+                        "Mapped trait definitions must have the same name. Expected %s, but found %s",
+                        entry.getKey(), mapped.getFullyQualifiedName()));
+            } else if (!mapped.equals(entry.getValue())) {
+                entry.setValue(mapped);
+                changed = true;
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Removes metadata key-value pairs that do not match a predicate.
+     *
+     * @param predicate A predicate that returns true to keep a key-value pair.
+     * @return Returns the pipeline.
+     * @see ModelTransformer#filterMetadata
+     */
+    public TransformPipeline filterMetadata(BiPredicate<String, Node> predicate) {
+        if (metadata.entrySet().removeIf(entry -> !predicate.test(entry.getKey(), entry.getValue()))) {
+            changed = true;
+        }
+        return this;
+    }
+
+    /**
+     * Builds the model accumulated so far, applies a transformation to it,
+     * and continues the pipeline with the result.
+     *
+     * @param transformation Transformation to apply.
+     * @return Returns the pipeline.
+     */
+    public TransformPipeline transform(BiFunction<ModelTransformer, Model, Model> transformation) {
+        reset(Objects.requireNonNull(transformation.apply(transformer, build())));
+        return this;
+    }
+
+    /**
+     * Builds the transformed model.
+     *
+     * <p>The pipeline can continue to be used after it is built.
+     *
+     * @return Returns the transformed model.
+     */
+    public Model build() {
+        if (!changed) {
+            return model;
+        }
+
+        Model result = model.toBuilder()
+                .shapeIndex(index)
+                .metadata(metadata)
+                .clearTraitDefinitions()
+                .addTraitDefinitions(traitDefinitions.values())
+                .build();
+
+        // Shapes that were removed and then added back by a later step do
+        // not need to be cleaned up.
+        List<Shape> cleanup = new ArrayList<>();
+        for (Shape shape : removed) {
+            if (!index.getShape(shape.getId()).isPresent()) {
+                cleanup.add(shape);
+            }
+        }
+
+        if (!cleanup.isEmpty()) {
+            for (ModelTransformerPlugin plugin : plugins) {
+                result = plugin.onRemove(transformer, cleanup, result);
+            }
+        }
+
+        reset(result);
+        return result;
+    }
+
+    private void updateIndex(ShapeIndex updated) {
+        if (updated != index) {
+            index = updated;
+            changed = true;
+        }
+    }
+}
@@ -91,11 +91,12 @@ public final class HttpMethodSemanticsValidator extends AbstractValidator {
         if (!semantics.allowsRequestPayload && (!payloadBindings.isEmpty() || !documentBindings.isEmpty())) {
             // Detect location and combine to one list for messages
             String document = payloadBindings.isEmpty() ? "document" : "payload";
-            payloadBindings.addAll(documentBindings);
+            List<HttpBinding> bodyBindings = new ArrayList<>(payloadBindings);
+            bodyBindings.addAll(documentBindings);
             events.add(danger(shape, trait, String.format(
                     "This operation uses the `%s` method in the `http` trait, but "
                     + "has the following members bound to the %s: %s", method, document,
-                    ValidationUtils.tickedList(payloadBindings.stream().map(HttpBinding::getMemberName)))));
+                    ValidationUtils.tickedList(bodyBindings.stream().map(HttpBinding::getMemberName)))));
         }
 
         return events;
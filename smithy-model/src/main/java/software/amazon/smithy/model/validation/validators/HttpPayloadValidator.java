@@ -20,7 +20,6 @@ import static java.util.stream.Collectors.toList;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -85,12 +84,11 @@ public final class HttpPayloadValidator extends AbstractValidator {
             HttpBindingIndex bindings,
             boolean request
     ) {
-        Map<String, HttpBinding> resolved = request
-                ? bindings.getRequestBindings(subject)
-                : bindings.getResponseBindings(subject);
-        Set<String> unbound = resolved.entrySet().stream()
-                .filter(binding -> binding.getValue().getLocation() == HttpBinding.Location.UNBOUND)
-                .map(Map.Entry::getKey)
+        List<HttpBinding> unboundBindings = request
+                ? bindings.getRequestBindings(subject, HttpBinding.Location.UNBOUND)
+                : bindings.getResponseBindings(subject, HttpBinding.Location.UNBOUND);
+        Set<String> unbound = unboundBindings.stream()
+                .map(HttpBinding::getMemberName)
                 .collect(Collectors.toSet());
 
         if (!unbound.isEmpty()) {
@@ -16,17 +16,32 @@
 package software.amazon.smithy.model;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.knowledge.DependsOn;
+import software.amazon.smithy.model.knowledge.HttpBindingIndex;
+import software.amazon.smithy.model.knowledge.KnowledgeIndex;
+import software.amazon.smithy.model.knowledge.NeighborProviderIndex;
+import software.amazon.smithy.model.knowledge.OperationIndex;
+import software.amazon.smithy.model.knowledge.TopDownIndex;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.shapes.ShapeIndex;
 import software.amazon.smithy.model.shapes.StringShape;
 import software.amazon.smithy.model.traits.TraitDefinition;
+import software.amazon.smithy.utils.ListUtils;
 
 public class ModelTest {
 
@@ -69,4 +84,80 @@ public class ModelTest {
         assertThat(modelA, not(equalTo(modelB)));
         assertThat(modelA, not(equalTo(null)));
     }
+
+    @Test
+    public void warmsKnowledgeAndDependencies() {
+        Model model = Model.builder().build();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            Map<Class<? extends KnowledgeIndex>, Duration> timings = model.warmKnowledge(
+                    executor, ListUtils.of(HttpBindingIndex.class, TopDownIndex.class));
+
+            assertThat(timings.keySet(), contains(
+                    OperationIndex.class, HttpBindingIndex.class, NeighborProviderIndex.class, TopDownIndex.class));
+            HttpBindingIndex httpIndex = model.getKnowledge(HttpBindingIndex.class);
+            assertThat(model.getKnowledge(HttpBindingIndex.class), sameInstance(httpIndex));
+
+            // Already computed indexes are not computed again.
+            assertThat(model.warmKnowledge(executor, ListUtils.of(HttpBindingIndex.class)).entrySet(), hasSize(0));
+            assertThat(model.getKnowledge(HttpBindingIndex.class), sameInstance(httpIndex));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void warmsKnowledgeUsingCallingThread() {
+        Model model = Model.builder().build();
+        // An executor that never runs anything still completes.
+        Map<Class<? extends KnowledgeIndex>, Duration> timings = model.warmKnowledge(
+                task -> { }, ListUtils.of(TopDownIndex.class));
+
+        assertThat(timings.keySet(), contains(NeighborProviderIndex.class, TopDownIndex.class));
+    }
+
+    @Test
+    public void detectsKnowledgeDependencyCycles() {
+        Model model = Model.builder().build();
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                                () -> model.warmKnowledge(Runnable::run, ListUtils.of(CyclicIndexA.class)));
+    }
+
+    @Test
+    public void computesFingerprintFromContents() {
+        StringShape shape = StringShape.builder().id("ns.foo#Bar").build();
+        Model a = Model.builder()
+                .putMetadataProperty("foo", Node.from("bar"))
+                .shapeIndex(ShapeIndex.builder().addShape(shape).build())
+                .build();
+        Model b = Model.builder()
+                .putMetadataProperty("foo", Node.from("bar"))
+                .shapeIndex(ShapeIndex.builder().addShape(StringShape.builder().id("ns.foo#Bar").build()).build())
+                .build();
+        Model changedMetadata = a.toBuilder().putMetadataProperty("foo", Node.from("baz")).build();
+        Model changedShapes = a.toBuilder()
+                .shapeIndex(ShapeIndex.builder().addShape(StringShape.builder().id("ns.foo#Baz").build()).build())
+                .build();
+        Model changedDefinitions = a.toBuilder()
+                .addTraitDefinition(TraitDefinition.builder().name("ns.foo#baz").build())
+                .build();
+
+        assertThat(a.getFingerprint(), equalTo(b.getFingerprint()));
+        assertThat(a.getFingerprint(), not(equalTo(changedMetadata.getFingerprint())));
+        assertThat(a.getFingerprint(), not(equalTo(changedShapes.getFingerprint())));
+        assertThat(a.getFingerprint(), not(equalTo(changedDefinitions.getFingerprint())));
+        assertThat(a.getShapeIndex().getFingerprint(), is(shape.getFingerprint()));
+    }
+
+    @DependsOn(CyclicIndexB.class)
+    public static final class CyclicIndexA implements KnowledgeIndex {
+        public CyclicIndexA(Model model) {}
+    }
+
+    @DependsOn(CyclicIndexA.class)
+    public static final class CyclicIndexB implements KnowledgeIndex {
+        public CyclicIndexB(Model model) {}
+    }
 }
@@ -20,8 +20,11 @@ import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import software.amazon.smithy.model.Model;
@@ -34,13 +37,17 @@ import software.amazon.smithy.model.shapes.Shape;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.model.shapes.StringShape;
 import software.amazon.smithy.model.shapes.StructureShape;
+import software.amazon.smithy.model.shapes.TimestampShape;
 import software.amazon.smithy.model.traits.ErrorTrait;
 import software.amazon.smithy.model.traits.HttpErrorTrait;
 import software.amazon.smithy.model.traits.HttpHeaderTrait;
 import software.amazon.smithy.model.traits.HttpLabelTrait;
 import software.amazon.smithy.model.traits.HttpPayloadTrait;
 import software.amazon.smithy.model.traits.HttpPrefixHeadersTrait;
+import software.amazon.smithy.model.traits.HttpQueryTrait;
 import software.amazon.smithy.model.traits.HttpTrait;
+import software.amazon.smithy.model.traits.RequiredTrait;
+import software.amazon.smithy.model.traits.TimestampFormatTrait;
 
 public class HttpBindingIndexTest {
 
@@ -205,6 +212,64 @@ public class HttpBindingIndexTest {
         assertThat(requestBindings.get("baz").getLocation(), is(HttpBinding.Location.UNBOUND));
     }
 
+    @Test
+    public void resolvesTargetsAndTimestampFormats() {
+        OperationShape operation = OperationShape.builder()
+                .id("ns.foo#Operation")
+                .input(ShapeId.from("ns.foo#Input"))
+                .addTrait(HttpTrait.builder().uri(UriPattern.parse("/{a}")).method("GET").build())
+                .build();
+        StructureShape structure = StructureShape.builder()
+                .id("ns.foo#Input")
+                .addMember(MemberShape.builder()
+                                   .id("ns.foo#Input$a")
+                                   .target("ns.foo#Timestamp")
+                                   .addTrait(new HttpLabelTrait(SourceLocation.NONE))
+                                   .addTrait(new RequiredTrait())
+                                   .build())
+                .addMember(MemberShape.builder()
+                                   .id("ns.foo#Input$b")
+                                   .target("ns.foo#Timestamp")
+                                   .addTrait(new HttpQueryTrait("b", SourceLocation.NONE))
+                                   .addTrait(new TimestampFormatTrait(TimestampFormatTrait.HTTP_DATE))
+                                   .build())
+                .addMember(MemberShape.builder()
+                                   .id("ns.foo#Input$c")
+                                   .target("ns.foo#FormattedTimestamp")
+                                   .addTrait(new HttpQueryTrait("c", SourceLocation.NONE))
+                                   .build())
+                .build();
+        TimestampShape timestamp = TimestampShape.builder().id("ns.foo#Timestamp").build();
+        TimestampShape formattedTimestamp = TimestampShape.builder()
+                .id("ns.foo#FormattedTimestamp")
+                .addTrait(new TimestampFormatTrait(TimestampFormatTrait.EPOCH_SECONDS))
+                .build();
+        Model model = Model.assembler()
+                .addShapes(operation, structure, timestamp, formattedTimestamp)
+                .assemble()
+                .unwrap();
+        HttpBindingIndex index = model.getKnowledge(HttpBindingIndex.class);
+        Map<String, HttpBinding> bindings = index.getRequestBindings(operation);
+
+        assertThat(bindings.get("a").getTarget(), equalTo(Optional.of(timestamp)));
+        assertThat(bindings.get("a").getTimestampFormat(), equalTo(Optional.empty()));
+        assertThat(bindings.get("b").getTimestampFormat(), equalTo(Optional.of(TimestampFormatTrait.HTTP_DATE)));
+        assertThat(bindings.get("c").getTarget(), equalTo(Optional.of(formattedTimestamp)));
+        assertThat(bindings.get("c").getTimestampFormat(), equalTo(Optional.of(TimestampFormatTrait.EPOCH_SECONDS)));
+    }
+
+    @Test
+    public void reusesPrecomputedBindings() {
+        HttpBindingIndex index = model.getKnowledge(HttpBindingIndex.class);
+        ShapeId id = ShapeId.from("ns.foo#ServiceOperationExplicitMembers");
+        List<HttpBinding> headers = index.getResponseBindings(id, HttpBinding.Location.HEADER);
+
+        assertThat(index.getResponseBindings(id), sameInstance(index.getResponseBindings(id)));
+        assertThat(index.getResponseBindings(id, HttpBinding.Location.HEADER), sameInstance(headers));
+        assertThat(index.getResponseBindings(id, HttpBinding.Location.QUERY), empty());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> headers.add(headers.get(0)));
+    }
+
     @Test
     public void checksForHttpRequestAndResponseBindings() {
         Shape shape = MemberShape.builder()
@@ -81,4 +81,60 @@ public class TopDownIndexTest {
 
         assertThat(childIndex.getContainedResources(ShapeId.from("ns.foo#NotThere")), empty());
     }
+
+    @Test
+    public void findsContainingServicesAndResources() {
+        ServiceShape service = ServiceShape.builder()
+                .id("ns.foo#Service")
+                .version("1")
+                .addResource("ns.foo#A")
+                .build();
+        ServiceShape otherService = ServiceShape.builder()
+                .id("ns.foo#OtherService")
+                .version("1")
+                .addResource("ns.foo#B")
+                .build();
+        ResourceShape resourceA = ResourceShape.builder().id("ns.foo#A").addResource("ns.foo#B").build();
+        ResourceShape resourceB = ResourceShape.builder().id("ns.foo#B").addOperation("ns.foo#Operation").build();
+        OperationShape operation = OperationShape.builder().id("ns.foo#Operation").build();
+        ShapeIndex index = ShapeIndex.builder()
+                .addShapes(service, otherService, resourceA, resourceB, operation)
+                .build();
+        Model model = Model.builder().shapeIndex(index).build();
+        TopDownIndex childIndex = model.getKnowledge(TopDownIndex.class);
+
+        assertThat(childIndex.getContainingServices(operation), containsInAnyOrder(service, otherService));
+        assertThat(childIndex.getContainingResources(operation), containsInAnyOrder(resourceA, resourceB));
+        assertThat(childIndex.getContainingServices(resourceA), contains(service));
+        assertThat(childIndex.getContainingResources(resourceA), empty());
+        assertThat(childIndex.getContainingServices(resourceB), containsInAnyOrder(service, otherService));
+        assertThat(childIndex.getContainingResources(resourceB), contains(resourceA));
+        assertThat(childIndex.getContainingServices(ShapeId.from("ns.foo#NotThere")), empty());
+    }
+
+    @Test
+    public void handlesResourceCycles() {
+        ServiceShape service = ServiceShape.builder()
+                .id("ns.foo#Service")
+                .version("1")
+                .addResource("ns.foo#A")
+                .build();
+        ResourceShape resourceA = ResourceShape.builder().id("ns.foo#A").addResource("ns.foo#B").build();
+        ResourceShape resourceB = ResourceShape.builder()
+                .id("ns.foo#B")
+                .addResource("ns.foo#A")
+                .addOperation("ns.foo#Operation")
+                .build();
+        OperationShape operation = OperationShape.builder().id("ns.foo#Operation").build();
+        ShapeIndex index = ShapeIndex.builder().addShapes(service, resourceA, resourceB, operation).build();
+        Model model = Model.builder().shapeIndex(index).build();
+        TopDownIndex childIndex = model.getKnowledge(TopDownIndex.class);
+
+        assertThat(childIndex.getContainedResources(service), containsInAnyOrder(resourceA, resourceB));
+        assertThat(childIndex.getContainedOperations(service), contains(operation));
+        assertThat(childIndex.getContainedResources(resourceA), contains(resourceB));
+        assertThat(childIndex.getContainedOperations(resourceA), contains(operation));
+        assertThat(childIndex.getContainedResources(resourceB), contains(resourceA));
+        assertThat(childIndex.getContainedOperations(resourceB), contains(operation));
+    }
 }
@@ -39,6 +39,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.SourceLocation;
+import software.amazon.smithy.model.knowledge.TopDownIndex;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.model.selector.Selector;
@@ -58,6 +59,17 @@ import software.amazon.smithy.model.validation.ValidatorFactory;
 import software.amazon.smithy.utils.ListUtils;
 
 public class ModelAssemblerTest {
+    @Test
+    public void warmsKnowledgeBeforeValidating() {
+        Model model = new ModelAssembler()
+                .addShape(StringShape.builder().id("ns.foo#Bar").build())
+                .assemble()
+                .unwrap();
+
+        // Indexes used by validators were already computed.
+        assertThat(model.warmKnowledge(Runnable::run, ListUtils.of(TopDownIndex.class)).entrySet(), empty());
+    }
+
 
     @Test
     public void addsExplicitSuppressions() {
@@ -0,0 +1,55 @@
+package software.amazon.smithy.model.node;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.io.StringWriter;
+import org.junit.jupiter.api.Test;
+
+public class JsonStreamWriterTest {
+    private static final Node DOCUMENT = Node.parse("{"
+            + "\"a\": {\"b\": [\"x\", 1, true, null], \"c\": {}},"
+            + "\"d\": [],"
+            + "\"e\": [{\"f\": 1.5}]"
+            + "}");
+
+    @Test
+    public void writesSameJsonAsNode() {
+        assertThat(write(DOCUMENT, true), equalTo(Node.prettyPrintJson(DOCUMENT)));
+        assertThat(write(DOCUMENT, false), equalTo(Node.printJson(DOCUMENT)));
+    }
+
+    @Test
+    public void writesMembersIncrementally() {
+        StringWriter result = new StringWriter();
+        try (JsonStreamWriter writer = JsonStreamWriter.create(result, true)) {
+            writer.startObject();
+            DOCUMENT.expectObjectNode().getMembers().forEach((k, v) -> writer.writeMember(k.getValue(), v));
+            writer.endObject();
+        }
+
+        assertThat(result.toString(), equalTo(Node.prettyPrintJson(DOCUMENT)));
+    }
+
+    @Test
+    public void writesNestedContainers() {
+        StringWriter result = new StringWriter();
+        try (JsonStreamWriter writer = JsonStreamWriter.create(result, false)) {
+            writer.startObject();
+            writer.writeName("a").startArray();
+            writer.writeNode(Node.from(1)).writeNode(Node.objectNode());
+            writer.endArray();
+            writer.endObject();
+        }
+
+        assertThat(result.toString(), equalTo("{\"a\":[1,{}]}"));
+    }
+
+    private static String write(Node node, boolean prettyPrint) {
+        StringWriter result = new StringWriter();
+        try (JsonStreamWriter writer = JsonStreamWriter.create(result, prettyPrint)) {
+            writer.writeNode(node);
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,48 @@
+package software.amazon.smithy.model.node;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+
+import org.junit.jupiter.api.Test;
+
+public class NodeFingerprintTest {
+    @Test
+    public void equalNodesHaveSameFingerprint() {
+        Node a = Node.parse("{\"foo\": [1, true, null, \"bar\"], \"baz\": {\"qux\": 1.5}}");
+        Node b = Node.parse("{\"baz\": {\"qux\": 1.5}, \"foo\": [1, true, null, \"bar\"]}");
+
+        assertThat(a, equalTo(b));
+        assertThat(NodeFingerprint.of(a), equalTo(NodeFingerprint.of(b)));
+    }
+
+    @Test
+    public void distinguishesNodeTypes() {
+        assertThat(NodeFingerprint.of(Node.from("1")), not(equalTo(NodeFingerprint.of(Node.from(1)))));
+        assertThat(NodeFingerprint.of(Node.from(true)), not(equalTo(NodeFingerprint.of(Node.from(1)))));
+        assertThat(NodeFingerprint.of(Node.arrayNode()), not(equalTo(NodeFingerprint.of(Node.objectNode()))));
+    }
+
+    @Test
+    public void arrayOrderChangesFingerprint() {
+        Node a = Node.parse("[1, 2]");
+        Node b = Node.parse("[2, 1]");
+
+        assertThat(NodeFingerprint.of(a), not(equalTo(NodeFingerprint.of(b))));
+    }
+
+    @Test
+    public void objectValuesChangeFingerprint() {
+        Node a = Node.parse("{\"foo\": \"bar\", \"baz\": \"qux\"}");
+        Node b = Node.parse("{\"foo\": \"qux\", \"baz\": \"bar\"}");
+
+        assertThat(NodeFingerprint.of(a), not(equalTo(NodeFingerprint.of(b))));
+    }
+
+    @Test
+    public void distinguishesStringsWithSamePolynomialHash() {
+        assertThat("Aa".hashCode(), equalTo("BB".hashCode()));
+        assertThat(NodeFingerprint.of("Aa"), not(equalTo(NodeFingerprint.of("BB"))));
+        assertThat(NodeFingerprint.of("ns.foo#Aa"), not(equalTo(NodeFingerprint.of("ns.foo#BB"))));
+    }
+}
@@ -0,0 +1,86 @@
+package software.amazon.smithy.model.node;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.utils.ListUtils;
+
+public class NodeRewriterTest {
+    private static final Node DOCUMENT = Node.parse("{"
+            + "\"a\": {\"b\": [\"x\", \"y\"], \"c\": {\"d\": \"x\"}},"
+            + "\"e\": {\"f\": \"x\"},"
+            + "\"g/h\": \"x\""
+            + "}");
+
+    private static final Function<Node, Node> REPLACE_X = node -> node.asStringNode()
+            .filter(string -> string.getValue().equals("x"))
+            .<Node>map(string -> Node.from("z"))
+            .orElse(node);
+
+    @Test
+    public void rewritesEveryNode() {
+        Node result = NodeRewriter.create(REPLACE_X).rewrite(DOCUMENT);
+
+        assertThat(result, equalTo(Node.parse("{"
+                + "\"a\": {\"b\": [\"z\", \"y\"], \"c\": {\"d\": \"z\"}},"
+                + "\"e\": {\"f\": \"z\"},"
+                + "\"g/h\": \"z\""
+                + "}")));
+    }
+
+    @Test
+    public void returnsSameInstanceWhenNothingChanges() {
+        Node result = NodeRewriter.create(Function.identity()).rewrite(DOCUMENT);
+
+        assertThat(result, sameInstance(DOCUMENT));
+    }
+
+    @Test
+    public void onlyRewritesMatchingPaths() {
+        Node result = NodeRewriter.forPaths(ListUtils.of("/a/*/0", "a/c/d", "/g~1h"), REPLACE_X).rewrite(DOCUMENT);
+
+        assertThat(result, equalTo(Node.parse("{"
+                + "\"a\": {\"b\": [\"z\", \"y\"], \"c\": {\"d\": \"z\"}},"
+                + "\"e\": {\"f\": \"x\"},"
+                + "\"g/h\": \"z\""
+                + "}")));
+    }
+
+    @Test
+    public void sharesUnchangedSubtrees() {
+        ObjectNode document = DOCUMENT.expectObjectNode();
+        ObjectNode result = NodeRewriter.forPaths(ListUtils.of("a/c/d"), REPLACE_X).rewrite(document)
+                .expectObjectNode();
+        ObjectNode a = document.expectMember("a").expectObjectNode();
+        ObjectNode resultA = result.expectMember("a").expectObjectNode();
+
+        assertThat(result, not(sameInstance(document)));
+        assertThat(result.expectMember("e"), sameInstance(document.expectMember("e")));
+        assertThat(resultA.expectMember("b"), sameInstance(a.expectMember("b")));
+        assertThat(resultA.expectMember("c"), not(sameInstance(a.expectMember("c"))));
+    }
+
+    @Test
+    public void doesNotVisitBelowMatchedNodes() {
+        Node result = NodeRewriter.forPaths(ListUtils.of("a", "a/c/d"), node -> node.isStringNode()
+                ? Node.from("visited")
+                : node.expectObjectNode().withMember("matched", Node.from(true)))
+                .rewrite(DOCUMENT);
+
+        assertThat(result.expectObjectNode().expectMember("a"),
+                   equalTo(DOCUMENT.expectObjectNode().expectMember("a").expectObjectNode()
+                                   .withMember("matched", Node.from(true))));
+    }
+
+    @Test
+    public void skipsPathsThatDoNotExist() {
+        Node result = NodeRewriter.forPaths(ListUtils.of("a/missing/*", "a/b/5", "e/f/g"), REPLACE_X)
+                .rewrite(DOCUMENT);
+
+        assertThat(result, sameInstance(DOCUMENT));
+    }
+}
@@ -26,6 +26,7 @@ import static org.hamcrest.Matchers.is;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.shapes.ListShape;
@@ -152,4 +153,85 @@ public class PathFinderTest {
         assertThat(output.get().toString(),
                    equalTo("[id|smithy.example#Operation] -[output]-> [id|smithy.example#Output] -[member]-> [id|smithy.example#Output$foo] > [id|smithy.api#String]"));
     }
+
+    private static ShapeIndex createSharedIndex() {
+        StringShape string = StringShape.builder().id("a.b#String").build();
+        MemberShape listMember = MemberShape.builder().id("a.b#List$member").target(string).build();
+        ListShape list = ListShape.builder().id("a.b#List").member(listMember).build();
+        MemberShape structMemberFoo = MemberShape.builder().id("a.b#Struct$foo").target(list).build();
+        MemberShape structMemberBaz = MemberShape.builder().id("a.b#Struct$baz").target(string).build();
+        StructureShape struct = StructureShape.builder()
+                .id("a.b#Struct")
+                .addMember(structMemberFoo)
+                .addMember(structMemberBaz)
+                .build();
+        MemberShape otherMember = MemberShape.builder().id("a.b#Other$string").target(string).build();
+        StructureShape other = StructureShape.builder().id("a.b#Other").addMember(otherMember).build();
+
+        return ShapeIndex.builder()
+                .addShapes(struct, structMemberFoo, structMemberBaz, list, listMember, string, other, otherMember)
+                .build();
+    }
+
+    @Test
+    public void limitsPathsByDepth() {
+        PathFinder.SearchOptions options = PathFinder.SearchOptions.builder().maxDepth(2).build();
+        List<String> result = formatPaths(PathFinder.create(createSharedIndex())
+                .search(ShapeId.from("a.b#Struct"), "string", options));
+
+        assertThat(result, contains("[id|a.b#Struct] -[member]-> [id|a.b#Struct$baz] > [id|a.b#String]"));
+    }
+
+    @Test
+    public void limitsNumberOfPaths() {
+        PathFinder.SearchOptions options = PathFinder.SearchOptions.builder().maxPaths(1).build();
+        List<PathFinder.Path> result = PathFinder.create(createSharedIndex())
+                .search(ShapeId.from("a.b#Struct"), "string", options);
+
+        assertThat(result, hasSize(1));
+    }
+
+    @Test
+    public void findsOnlyShortestPaths() {
+        PathFinder.SearchOptions options = PathFinder.SearchOptions.builder().shortestPathOnly(true).build();
+        List<String> result = formatPaths(PathFinder.create(createSharedIndex())
+                .search(ShapeId.from("a.b#Struct"), "string", options));
+
+        assertThat(result, contains("[id|a.b#Struct] -[member]-> [id|a.b#Struct$baz] > [id|a.b#String]"));
+    }
+
+    @Test
+    public void findsShortestPathBackToStartingShape() {
+        MemberShape listMember = MemberShape.builder().id("a.b#List$member").target("a.b#List").build();
+        ListShape list = ListShape.builder().id("a.b#List").member(listMember).build();
+        ShapeIndex index = ShapeIndex.builder().addShapes(list, listMember).build();
+        PathFinder.SearchOptions options = PathFinder.SearchOptions.builder().shortestPathOnly(true).build();
+        List<String> result = formatPaths(PathFinder.create(index).search(list, "list", options));
+
+        assertThat(result, contains("[id|a.b#List] -[member]-> [id|a.b#List$member] > [id|a.b#List]"));
+    }
+
+    @Test
+    public void ignoresCandidatesThatAreNotReachable() {
+        List<String> result = formatPaths(PathFinder.create(createSharedIndex())
+                .search(ShapeId.from("a.b#Other"), "list"));
+
+        assertThat(result, empty());
+    }
+
+    @Test
+    public void doesNotTraverseThroughUnreachableShapes() {
+        List<String> result = formatPaths(PathFinder.create(createSharedIndex())
+                .search(ShapeId.from("a.b#Other"), "string"));
+
+        assertThat(result, contains("[id|a.b#Other] -[member]-> [id|a.b#Other$string] > [id|a.b#String]"));
+    }
+
+    @Test
+    public void validatesSearchOptions() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                                () -> PathFinder.SearchOptions.builder().maxDepth(0));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                                () -> PathFinder.SearchOptions.builder().maxPaths(0));
+    }
 }
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.shapes;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+public class PersistentHashMapTest {
+    @Test
+    public void behavesLikeHashMap() {
+        Random random = new Random(1);
+        Map<Key, Integer> expected = new HashMap<>();
+        PersistentHashMap.Transient<Key, Integer> actual = PersistentHashMap.<Key, Integer>empty().toTransient();
+
+        for (int i = 0; i < 20000; i++) {
+            // Use a small hash range to force collisions.
+            Key key = new Key(random.nextInt(3000), random.nextInt(500));
+            if (random.nextInt(3) == 0) {
+                assertThat(actual.remove(key), equalTo(expected.remove(key)));
+            } else {
+                assertThat(actual.put(key, i), equalTo(expected.put(key, i)));
+            }
+            assertThat(actual.size(), equalTo(expected.size()));
+        }
+
+        PersistentHashMap<Key, Integer> persisted = actual.persist();
+        assertThat(persisted, equalTo(expected));
+        assertThat(expected, equalTo(persisted));
+        assertThat(persisted.hashCode(), equalTo(expected.hashCode()));
+        for (Map.Entry<Key, Integer> entry : expected.entrySet()) {
+            assertThat(persisted.get(entry.getKey()), equalTo(entry.getValue()));
+        }
+    }
+
+    @Test
+    public void persistedMapsAreNotAffectedByLaterChanges() {
+        PersistentHashMap.Transient<Key, Integer> mutable = PersistentHashMap.<Key, Integer>empty().toTransient();
+        for (int i = 0; i < 1000; i++) {
+            mutable.put(new Key(i, i), i);
+        }
+        PersistentHashMap<Key, Integer> first = mutable.persist();
+
+        for (int i = 0; i < 1000; i += 2) {
+            mutable.remove(new Key(i, i));
+        }
+        mutable.put(new Key(1, 1), -1);
+        PersistentHashMap<Key, Integer> second = mutable.persist();
+
+        assertThat(first.size(), equalTo(1000));
+        assertThat(first.get(new Key(0, 0)), equalTo(0));
+        assertThat(first.get(new Key(1, 1)), equalTo(1));
+        assertThat(second.size(), equalTo(500));
+        assertThat(second.get(new Key(0, 0)), nullValue());
+        assertThat(second.get(new Key(1, 1)), equalTo(-1));
+    }
+
+    @Test
+    public void findsDifferencesBetweenDerivedMaps() {
+        PersistentHashMap.Transient<Key, Integer> mutable = PersistentHashMap.<Key, Integer>empty().toTransient();
+        for (int i = 0; i < 5000; i++) {
+            mutable.put(new Key(i, i % 700), i);
+        }
+        PersistentHashMap<Key, Integer> original = mutable.persist();
+
+        PersistentHashMap.Transient<Key, Integer> derived = original.toTransient();
+        derived.remove(new Key(10, 10));
+        derived.put(new Key(20, 20), -20);
+        derived.put(new Key(30, 30), 30);
+        derived.put(new Key(6000, 1), 6000);
+        PersistentHashMap<Key, Integer> updated = derived.persist();
+
+        Set<Key> changed = new HashSet<>();
+        original.diff(updated, changed::add);
+
+        assertThat(changed, containsInAnyOrder(new Key(10, 10), new Key(20, 20), new Key(6000, 1)));
+        assertThat(original.size(), equalTo(5000));
+        assertThat(original.get(new Key(20, 20)), equalTo(20));
+        assertThat(original.equals(updated), is(false));
+    }
+
+    @Test
+    public void findsNoDifferencesInEqualMaps() {
+        PersistentHashMap.Transient<Key, Integer> a = PersistentHashMap.<Key, Integer>empty().toTransient();
+        PersistentHashMap.Transient<Key, Integer> b = PersistentHashMap.<Key, Integer>empty().toTransient();
+        for (int i = 0; i < 100; i++) {
+            a.put(new Key(i, i % 7), i);
+            b.put(new Key(99 - i, (99 - i) % 7), 99 - i);
+        }
+
+        Set<Key> changed = new HashSet<>();
+        a.persist().diff(b.persist(), changed::add);
+
+        assertThat(changed, empty());
+        assertThat(a.persist(), equalTo(b.persist()));
+    }
+
+    private static final class Key {
+        private final int value;
+        private final int hash;
+
+        Key(int value, int hash) {
+            this.value = value;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key && ((Key) other).value == value && ((Key) other).hash == hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return value + ":" + hash;
+        }
+    }
+}
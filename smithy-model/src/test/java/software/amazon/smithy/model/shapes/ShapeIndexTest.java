@@ -17,6 +17,8 @@ package software.amazon.smithy.model.shapes;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.not;
@@ -26,9 +28,11 @@ import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.traits.SensitiveTrait;
 
 public class ShapeIndexTest {
     @Test
@@ -139,4 +143,78 @@ public class ShapeIndexTest {
 
         assertThat(index.toSet(), containsInAnyOrder(a, b));
     }
+
+    @Test
+    public void getsShapesByCategory() {
+        StringShape a = StringShape.builder().id("ns.foo#a").build();
+        IntegerShape b = IntegerShape.builder().id("ns.foo#b").build();
+        LongShape c = LongShape.builder().id("ns.foo#c").build();
+        MemberShape member = MemberShape.builder().id("ns.foo#d$member").target(a).build();
+        ListShape d = ListShape.builder().id("ns.foo#d").member(member).build();
+        ShapeIndex index = ShapeIndex.builder().addShapes(a, b, c, d, member).build();
+
+        assertThat(index.shapes(NumberShape.class).collect(Collectors.toList()), containsInAnyOrder(b, c));
+        assertThat(index.shapes(SimpleShape.class).collect(Collectors.toList()), containsInAnyOrder(a, b, c));
+        assertThat(index.shapes(CollectionShape.class).collect(Collectors.toList()), containsInAnyOrder(d));
+        assertThat(index.shapes(EntityShape.class).collect(Collectors.toList()), empty());
+        assertThat(index.shapes(Shape.class).collect(Collectors.toList()), containsInAnyOrder(a, b, c, d, member));
+    }
+
+    @Test
+    public void getsShapesByShapeType() {
+        StringShape a = StringShape.builder().id("ns.foo#a").build();
+        IntegerShape b = IntegerShape.builder().id("ns.foo#b").build();
+        LongShape c = LongShape.builder().id("ns.foo#c").build();
+        ShapeIndex index = ShapeIndex.builder().addShapes(a, b, c).build();
+
+        assertThat(index.shapes(ShapeType.STRING).collect(Collectors.toList()), containsInAnyOrder(a));
+        assertThat(index.shapes(ShapeType.BLOB).collect(Collectors.toList()), empty());
+        assertThat(index.shapes(EnumSet.of(ShapeType.STRING, ShapeType.LONG)).collect(Collectors.toList()),
+                   containsInAnyOrder(a, c));
+    }
+
+    @Test
+    public void providesSizes() {
+        StringShape a = StringShape.builder().id("ns.foo#a").build();
+        IntegerShape b = IntegerShape.builder().id("ns.foo#b").build();
+        LongShape c = LongShape.builder().id("ns.foo#c").build();
+        ShapeIndex index = ShapeIndex.builder().addShapes(a, b, c).build();
+
+        assertThat(index.size(), equalTo(3));
+        assertThat(index.size(ShapeType.STRING), equalTo(1));
+        assertThat(index.size(ShapeType.BLOB), equalTo(0));
+        assertThat(index.size(NumberShape.class), equalTo(2));
+        assertThat(index.size(IntegerShape.class), equalTo(1));
+    }
+
+    @Test
+    public void findsChangedShapes() {
+        StringShape a = StringShape.builder().id("ns.foo#a").build();
+        StringShape b = StringShape.builder().id("ns.foo#b").build();
+        IntegerShape c = IntegerShape.builder().id("ns.foo#c").build();
+        ShapeIndex index = ShapeIndex.builder().addShapes(a, b, c).build();
+        StringShape updatedB = b.toBuilder().addTrait(new SensitiveTrait()).build();
+        LongShape d = LongShape.builder().id("ns.foo#d").build();
+        ShapeIndex updated = index.toBuilder()
+                .removeShape(a.getId())
+                .addShape(updatedB)
+                .addShape(d)
+                .build();
+
+        assertThat(index.getChangedShapeIds(updated), containsInAnyOrder(a.getId(), b.getId(), d.getId()));
+        assertThat(index.getChangedShapeIds(index.toBuilder().build()), empty());
+        assertThat(index.size(), equalTo(3));
+        assertThat(updated.size(), equalTo(3));
+        assertThat(updated.shapes(StringShape.class).collect(Collectors.toList()), containsInAnyOrder(updatedB));
+    }
+
+    @Test
+    public void updatesShapeTypeGroupsWhenReplacingShapes() {
+        StringShape a = StringShape.builder().id("ns.foo#a").build();
+        IntegerShape replacement = IntegerShape.builder().id("ns.foo#a").build();
+        ShapeIndex index = ShapeIndex.builder().addShape(a).build().toBuilder().addShape(replacement).build();
+
+        assertThat(index.size(ShapeType.STRING), equalTo(0));
+        assertThat(index.shapes(IntegerShape.class).collect(Collectors.toList()), containsInAnyOrder(replacement));
+    }
 }
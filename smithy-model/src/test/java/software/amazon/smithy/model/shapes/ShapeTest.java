@@ -32,6 +32,7 @@ import org.junit.jupiter.api.Test;
 import software.amazon.smithy.model.SourceLocation;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.traits.DocumentationTrait;
+import software.amazon.smithy.model.traits.SensitiveTrait;
 import software.amazon.smithy.model.traits.Trait;
 
 public class ShapeTest {
@@ -250,4 +251,53 @@ public class ShapeTest {
 
         assertEquals(shapeA, shapeB);
     }
+
+    @Test
+    public void equalShapesHaveSameFingerprint() {
+        Shape shapeA = StringShape.builder()
+                .id("ns.foo#baz")
+                .source("a.json", 1, 2)
+                .addTrait(new DocumentationTrait("docs", SourceLocation.NONE))
+                .addTrait(new SensitiveTrait(SourceLocation.NONE))
+                .build();
+        Shape shapeB = StringShape.builder()
+                .id("ns.foo#baz")
+                .addTrait(new SensitiveTrait(SourceLocation.NONE))
+                .addTrait(new DocumentationTrait("docs", SourceLocation.NONE))
+                .build();
+
+        assertEquals(shapeA, shapeB);
+        assertEquals(shapeA.getFingerprint(), shapeB.getFingerprint());
+    }
+
+    @Test
+    public void onlyReturnsComputedFingerprints() {
+        Shape shape = StringShape.builder().id("ns.foo#baz").build();
+
+        assertFalse(shape.getComputedFingerprint().isPresent());
+        long fingerprint = shape.getFingerprint();
+        assertEquals(fingerprint, shape.getComputedFingerprint().getAsLong());
+    }
+
+    @Test
+    public void fingerprintCoversTraitsAndMembers() {
+        StructureShape shape = StructureShape.builder()
+                .id("ns.foo#Struct")
+                .addMember(MemberShape.builder().id("ns.foo#Struct$a").target("ns.foo#String").build())
+                .addTrait(new DocumentationTrait("docs", SourceLocation.NONE))
+                .build();
+        StructureShape changedTarget = shape.toBuilder()
+                .addMember(MemberShape.builder().id("ns.foo#Struct$a").target("ns.foo#Integer").build())
+                .build();
+        StructureShape changedTrait = shape.toBuilder()
+                .addTrait(new DocumentationTrait("other", SourceLocation.NONE))
+                .build();
+        StructureShape changedType = StructureShape.builder().id("ns.foo#Other").build();
+
+        assertNotEquals(shape.getFingerprint(), changedTarget.getFingerprint());
+        assertNotEquals(shape.getFingerprint(), changedTrait.getFingerprint());
+        assertNotEquals(shape.getFingerprint(), changedType.getFingerprint());
+        assertNotEquals(StringShape.builder().id("ns.foo#Struct").build().getFingerprint(),
+                        StructureShape.builder().id("ns.foo#Struct").build().getFingerprint());
+    }
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.transform;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.shapes.ListShape;
+import software.amazon.smithy.model.shapes.MemberShape;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.shapes.ShapeIndex;
+import software.amazon.smithy.model.shapes.StringShape;
+import software.amazon.smithy.model.shapes.StructureShape;
+
+public class MarkAndSweepTest {
+    @Test
+    public void sweepsShapesOnlyReferencedByMarkedShapes() {
+        StringShape string = StringShape.builder().id("ns.foo#String").build();
+        MemberShape listMember = MemberShape.builder().id("ns.foo#List$member").target(string).build();
+        ListShape list = ListShape.builder().id("ns.foo#List").member(listMember).build();
+        MemberShape removedMember = MemberShape.builder().id("ns.foo#Removed$list").target(list).build();
+        MemberShape recursiveMember = MemberShape.builder().id("ns.foo#Removed$self").target("ns.foo#Removed").build();
+        StructureShape removed = StructureShape.builder()
+                .id("ns.foo#Removed")
+                .addMember(removedMember)
+                .addMember(recursiveMember)
+                .build();
+        MemberShape keptMember = MemberShape.builder().id("ns.foo#Kept$string").target(string).build();
+        StructureShape kept = StructureShape.builder().id("ns.foo#Kept").addMember(keptMember).build();
+        Model model = Model.builder()
+                .shapeIndex(ShapeIndex.builder()
+                        .addShapes(string, listMember, list, removedMember, recursiveMember, removed)
+                        .addShapes(keptMember, kept)
+                        .build())
+                .build();
+
+        MarkAndSweep markAndSweep = new MarkAndSweep(
+                context -> context.markShape(removed),
+                shape -> true);
+        Set<ShapeId> result = markAndSweep.markAndSweep(model).stream()
+                .map(Shape::getId)
+                .collect(Collectors.toSet());
+
+        // String is still referenced by the Kept structure.
+        assertThat(result, containsInAnyOrder(
+                removed.getId(), removedMember.getId(), recursiveMember.getId(), list.getId(), listMember.getId()));
+    }
+
+    @Test
+    public void doesNotSweepFilteredShapes() {
+        StringShape string = StringShape.builder().id("ns.foo#String").build();
+        MemberShape member = MemberShape.builder().id("ns.foo#Removed$string").target(string).build();
+        StructureShape removed = StructureShape.builder().id("ns.foo#Removed").addMember(member).build();
+        Model model = Model.builder()
+                .shapeIndex(ShapeIndex.builder().addShapes(string, member, removed).build())
+                .build();
+
+        MarkAndSweep markAndSweep = new MarkAndSweep(
+                context -> context.markShape(removed),
+                shape -> !shape.getId().equals(string.getId()));
+        Set<ShapeId> result = markAndSweep.markAndSweep(model).stream()
+                .map(Shape::getId)
+                .collect(Collectors.toSet());
+
+        assertThat(result, containsInAnyOrder(removed.getId(), member.getId()));
+    }
+}
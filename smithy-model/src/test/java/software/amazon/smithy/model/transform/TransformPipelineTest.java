@@ -0,0 +1,154 @@
+/*
+ * Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.model.transform;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.Optional;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.shapes.OperationShape;
+import software.amazon.smithy.model.shapes.Shape;
+import software.amazon.smithy.model.shapes.ShapeId;
+import software.amazon.smithy.model.traits.DocumentationTrait;
+import software.amazon.smithy.model.traits.ReadonlyTrait;
+import software.amazon.smithy.model.traits.TraitDefinition;
+import software.amazon.smithy.utils.SetUtils;
+
+public class TransformPipelineTest {
+
+    private static final ShapeId OPERATION = ShapeId.from("ns.foo#MyOperation");
+    private static final ShapeId ERROR = ShapeId.from("ns.foo#MyOperationError");
+
+    private static Model model;
+
+    @BeforeAll
+    public static void before() {
+        model = Model.assembler()
+                .addImport(TransformPipelineTest.class.getResource("integration-test-model.json"))
+                .addTraitDefinition(TraitDefinition.builder().name("ns.foo#custom").build())
+                .assemble()
+                .unwrap()
+                .toBuilder()
+                .putMetadataProperty("foo", Node.from("foo"))
+                .putMetadataProperty("bar", Node.from("bar"))
+                .build();
+    }
+
+    @Test
+    public void producesSameModelAsSequentialTransforms() {
+        ModelTransformer transformer = ModelTransformer.create();
+        Predicate<Shape> removeShape = shape -> shape.getId().equals(ERROR)
+                || shape.getId().getName().equals("MyResource");
+
+        Model expected = transformer.removeShapesIf(model, removeShape);
+        expected = transformer.removeTraitsIf(expected, (shape, trait) -> trait instanceof ReadonlyTrait);
+        expected = transformer.mapShapes(expected, shape -> shape.isOperationShape()
+                ? Shape.shapeToBuilder(shape).addTrait(new DocumentationTrait("docs")).build()
+                : shape);
+        expected = transformer.removeTraitDefinitions(expected, SetUtils.of("ns.foo#custom"));
+        expected = transformer.filterMetadata(expected, (key, value) -> !key.equals("foo"));
+
+        Model result = transformer.pipeline(model)
+                .removeShapesIf(removeShape)
+                .removeTraitsIf((shape, trait) -> trait instanceof ReadonlyTrait)
+                .mapShapes(shape -> shape.isOperationShape()
+                        ? Shape.shapeToBuilder(shape).addTrait(new DocumentationTrait("docs")).build()
+                        : shape)
+                .removeTraitDefinitions(SetUtils.of("ns.foo#custom"))
+                .filterMetadata((key, value) -> !key.equals("foo"))
+                .build();
+
+        assertThat(result, equalTo(expected));
+        assertThat(result.getMetadata().keySet(), contains("bar"));
+        assertThat(result.getTraitDefinition("ns.foo#custom"), equalTo(Optional.empty()));
+    }
+
+    @Test
+    public void returnsOriginalModelWhenNothingChanges() {
+        Model result = ModelTransformer.create().pipeline(model)
+                .filterShapes(shape -> true)
+                .filterTraits((shape, trait) -> true)
+                .filterMetadata((key, value) -> true)
+                .build();
+
+        assertThat(result, sameInstance(model));
+    }
+
+    @Test
+    public void cleansUpReferencesToRemovedShapesWhenBuilt() {
+        TransformPipeline pipeline = ModelTransformer.create().pipeline(model)
+                .removeShapesIf(shape -> shape.getId().equals(ERROR));
+
+        assertThat(pipeline.getShapeIndex().getShape(ERROR), equalTo(Optional.empty()));
+        assertThat(getOperation(pipeline.getShapeIndex().getShape(OPERATION)).getErrors(), contains(ERROR));
+
+        Model result = pipeline.build();
+
+        assertThat(getOperation(result.getShapeIndex().getShape(OPERATION)).getErrors(), empty());
+        assertThat(pipeline.getShapeIndex(), equalTo(result.getShapeIndex()));
+    }
+
+    @Test
+    public void doesNotCleanUpShapesThatAreAddedBack() {
+        Shape error = model.getShapeIndex().getShape(ERROR).get();
+        Model result = ModelTransformer.create().pipeline(model)
+                .removeShapesIf(shape -> shape.getId().equals(ERROR))
+                .replaceShapes(SetUtils.of(error))
+                .build();
+
+        assertThat(result, equalTo(model));
+        assertThat(getOperation(result.getShapeIndex().getShape(OPERATION)).getErrors(), contains(ERROR));
+    }
+
+    @Test
+    public void continuesWithResultOfArbitraryTransforms() {
+        Model result = ModelTransformer.create().pipeline(model)
+                .removeShapesIf(shape -> shape.getId().equals(ERROR))
+                .transform((transformer, current) -> {
+                    // Pending cleanups are applied before the transform is invoked.
+                    assertThat(getOperation(current.getShapeIndex().getShape(OPERATION)).getErrors(), empty());
+                    return transformer.filterMetadata(current, (key, value) -> false);
+                })
+                .build();
+
+        assertThat(result.getMetadata().isEmpty(), is(true));
+        assertThat(result.getShapeIndex().getShape(ERROR), equalTo(Optional.empty()));
+    }
+
+    @Test
+    public void mapsTraitDefinitions() {
+        Model result = ModelTransformer.create().pipeline(model)
+                .mapTraitDefinitions(definition -> definition.getFullyQualifiedName().equals("ns.foo#custom")
+                        ? definition.toBuilder().addTag("foo").build()
+                        : definition)
+                .build();
+
+        assertThat(result.getTraitDefinition("ns.foo#custom").get().getTags(), contains("foo"));
+    }
+
+    private static OperationShape getOperation(Optional<Shape> shape) {
+        return shape.flatMap(Shape::asOperationShape).get();
+    }
+}
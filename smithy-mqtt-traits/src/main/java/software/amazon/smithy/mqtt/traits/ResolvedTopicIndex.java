@@ -22,6 +22,7 @@ import java.util.Optional;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.knowledge.DependsOn;
 import software.amazon.smithy.model.knowledge.EventStreamIndex;
 import software.amazon.smithy.model.knowledge.EventStreamInfo;
 import software.amazon.smithy.model.knowledge.KnowledgeIndex;
@@ -53,6 +54,7 @@ import software.amazon.smithy.model.traits.Trait;
  *
  * @see TopicBinding
  */
+@DependsOn({EventStreamIndex.class, OperationIndex.class})
 public final class ResolvedTopicIndex implements KnowledgeIndex {
     private final Map<ShapeId, TopicBinding<PublishTrait>> publishBindings = new HashMap<>();
     private final Map<ShapeId, TopicBinding<SubscribeTrait>> subscribeBindings = new HashMap<>();
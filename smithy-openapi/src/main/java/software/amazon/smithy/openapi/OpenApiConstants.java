@@ -27,6 +27,13 @@ public final class OpenApiConstants {
     /** The Smithy service Shape ID to convert. */
     public static final String SERVICE = "service";
 
+    /**
+     * The Smithy service Shape IDs to convert. The value must be an {@link ArrayNode} of Strings.
+     *
+     * <p>Services are converted together using {@link OpenApiConverter#convertAllToNode}.
+     */
+    public static final String SERVICES = "services";
+
     /** The protocol name to use when converting Smithy to OpenAPI. */
     public static final String PROTOCOL = "protocol";
 
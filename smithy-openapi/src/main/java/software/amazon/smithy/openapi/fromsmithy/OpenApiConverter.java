@@ -20,12 +20,16 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.ServiceLoader;
 import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -37,6 +41,7 @@ import software.amazon.smithy.jsonschema.SchemaDocument;
 import software.amazon.smithy.model.Model;
 import software.amazon.smithy.model.knowledge.AuthIndex;
 import software.amazon.smithy.model.knowledge.TopDownIndex;
+import software.amazon.smithy.model.node.JsonStreamWriter;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.model.node.StringNode;
@@ -200,7 +205,7 @@ public final class OpenApiConverter {
      * @return Returns the converted model.
      */
     public OpenApi convert(Model model, ShapeId serviceShapeId) {
-        return convertWithEnvironment(createConversionEnvironment(model, serviceShapeId));
+        return convertWithEnvironment(createConversionEnvironment(model, serviceShapeId, new SharedState()));
     }
 
     /**
@@ -221,13 +226,151 @@ public final class OpenApiConverter {
      * @return Returns the converted model.
      */
     public ObjectNode convertToNode(Model model, ShapeId serviceShapeId) {
-        ConversionEnvironment environment = createConversionEnvironment(model, serviceShapeId);
+        return convertToNodeWithEnvironment(createConversionEnvironment(model, serviceShapeId, new SharedState()));
+    }
+
+    /**
+     * Converts the given service shape to OpenAPI and writes it as JSON.
+     *
+     * <p>The written JSON is the same as the result of
+     * {@link #convertToNode}. If no registered {@link OpenApiMapper}
+     * {@link OpenApiMapper#requiresNode requires a node}, the OpenAPI
+     * object is written incrementally using {@link OpenApi#writeTo}
+     * rather than being converted to a single node first.
+     *
+     * @param model Smithy model to convert.
+     * @param serviceShapeId Service to convert.
+     * @param writer Writer to write the JSON to.
+     */
+    public void convertToJson(Model model, ShapeId serviceShapeId, JsonStreamWriter writer) {
+        writeJsonWithEnvironment(createConversionEnvironment(model, serviceShapeId, new SharedState()), writer);
+    }
+
+    /**
+     * Converts multiple service shapes to OpenAPI models using the given
+     * Smithy model.
+     *
+     * <p>This is considerably cheaper than converting each service
+     * separately when services share shapes: extensions are discovered
+     * once, the JSON schema of a shape that is shared by services with the
+     * same JSON schema configuration is only created once, and services
+     * are converted concurrently.
+     *
+     * @param model Smithy model to convert.
+     * @param serviceShapeIds Services to convert.
+     * @return Returns the converted models in the order of the given services.
+     */
+    public Map<ShapeId, OpenApi> convertAll(Model model, Collection<ShapeId> serviceShapeIds) {
+        return convertAll(model, serviceShapeIds, this::convertWithEnvironment);
+    }
+
+    /**
+     * Converts multiple service shapes to JSON/Node representations of
+     * OpenAPI models using the given Smithy model.
+     *
+     * <p>Each service is converted as if by {@link #convertToNode}, sharing
+     * work between services as described in {@link #convertAll}.
+     *
+     * @param model Smithy model to convert.
+     * @param serviceShapeIds Services to convert.
+     * @return Returns the converted models in the order of the given services.
+     */
+    public Map<ShapeId, ObjectNode> convertAllToNode(Model model, Collection<ShapeId> serviceShapeIds) {
+        return convertAll(model, serviceShapeIds, this::convertToNodeWithEnvironment);
+    }
+
+    /**
+     * Converts multiple service shapes to OpenAPI and writes each of them
+     * as JSON.
+     *
+     * <p>Each service is written as if by {@link #convertToJson}, sharing
+     * extensions and JSON schemas between services as described in
+     * {@link #convertAll}. Services are converted concurrently, and the
+     * consumer is invoked for each service on the thread that converts it,
+     * so it must be thread-safe. A service is converted when the function
+     * given to the consumer is invoked, so unlike {@link #convertAllToNode},
+     * each OpenAPI model is written as soon as it's converted and only the
+     * models being converted concurrently are held in memory at once.
+     *
+     * <pre>
+     * {@code
+     * converter.convertAllToJson(model, services, (service, contents) -> {
+     *     fileManifest.writeJson(service.getName() + ".openapi.json", contents);
+     * });
+     * }
+     * </pre>
+     *
+     * @param model Smithy model to convert.
+     * @param serviceShapeIds Services to convert.
+     * @param consumer Consumer that accepts each service and a function
+     *  that writes the service's OpenAPI model to a {@link JsonStreamWriter}.
+     */
+    public void convertAllToJson(
+            Model model,
+            Collection<ShapeId> serviceShapeIds,
+            BiConsumer<ShapeId, Consumer<JsonStreamWriter>> consumer
+    ) {
+        SharedState shared = new SharedState();
+        new ArrayList<>(new LinkedHashSet<>(serviceShapeIds)).parallelStream()
+                .forEach(service -> consumer.accept(service, writer -> writeJsonWithEnvironment(
+                        createConversionEnvironment(model, service, shared), writer)));
+    }
+
+    private void writeJsonWithEnvironment(ConversionEnvironment environment, JsonStreamWriter writer) {
+        OpenApi openApi = convertWithEnvironment(environment);
+        if (environment.mapper.requiresNode(environment.context, openApi)) {
+            ObjectNode node = openApi.toNode().expectObjectNode();
+            writer.writeNode(environment.mapper.updateNode(environment.context, openApi, node));
+        } else {
+            openApi.writeTo(writer);
+        }
+    }
+
+    private <T> Map<ShapeId, T> convertAll(
+            Model model,
+            Collection<ShapeId> serviceShapeIds,
+            Function<ConversionEnvironment, T> converter
+    ) {
+        SharedState shared = new SharedState();
+        List<ShapeId> services = new ArrayList<>(new LinkedHashSet<>(serviceShapeIds));
+        List<T> results = services.parallelStream()
+                .map(service -> converter.apply(createConversionEnvironment(model, service, shared)))
+                .collect(Collectors.toList());
+
+        Map<ShapeId, T> result = new LinkedHashMap<>();
+        for (int i = 0; i < services.size(); i++) {
+            result.put(services.get(i), results.get(i));
+        }
+        return result;
+    }
+
+    private ObjectNode convertToNodeWithEnvironment(ConversionEnvironment environment) {
         OpenApi openApi = convertWithEnvironment(environment);
         ObjectNode node = openApi.toNode().expectObjectNode();
         return environment.mapper.updateNode(environment.context, openApi, node);
     }
 
-    private ConversionEnvironment createConversionEnvironment(Model model, ShapeId serviceShapeId) {
+    // Work that is shared by every service converted by a single call.
+    private final class SharedState {
+        private final List<Smithy2OpenApiExtension> extensions = new ArrayList<>();
+        private final JsonSchemaConverter jsonSchemaConverter;
+
+        private SharedState() {
+            // Discover OpenAPI extensions.
+            ServiceLoader.load(Smithy2OpenApiExtension.class, classLoader).forEach(extensions::add);
+            // Add JSON schema mappers from found extensions to a copy of the converter so
+            // that they're only added once and the converter can be configured per service.
+            jsonSchemaConverter = getJsonSchemaConverter().copy();
+            extensions.forEach(extension -> extension.getJsonSchemaMappers().forEach(
+                    jsonSchemaConverter::addMapper));
+        }
+    }
+
+    private ConversionEnvironment createConversionEnvironment(
+            Model model,
+            ShapeId serviceShapeId,
+            SharedState shared
+    ) {
         // Update the JSON schema config with the settings from this class and
         // configure it to use OpenAPI settings.
         ObjectNode.Builder configBuilder = getJsonSchemaConverter()
@@ -247,18 +390,13 @@ public final class OpenApiConverter {
         settings.forEach(configBuilder::withMember);
         ObjectNode config = configBuilder.build();
 
+        String protocolName = this.protocolName;
         if (protocolName == null && config.getMember(OpenApiConstants.PROTOCOL).isPresent()) {
             protocolName = config.getStringMember(OpenApiConstants.PROTOCOL).get().getValue();
         }
 
-        // Discover OpenAPI extensions.
-        List<Smithy2OpenApiExtension> extensions = new ArrayList<>();
-        ServiceLoader.load(Smithy2OpenApiExtension.class, classLoader).forEach(extensions::add);
-
-        // Add JSON schema mappers from found extensions.
-        extensions.forEach(extension -> extension.getJsonSchemaMappers().forEach(jsonSchemaConverter::addMapper));
-
-        Pair<Protocol, OpenApiProtocol> protocolPair = resolveProtocol(service, extensions);
+        List<Smithy2OpenApiExtension> extensions = shared.extensions;
+        Pair<Protocol, OpenApiProtocol> protocolPair = resolveProtocol(service, protocolName, extensions);
         Protocol resolvedProtocol = protocolPair.getLeft();
         OpenApiProtocol openApiProtocol = protocolPair.getRight();
         LOGGER.info(() -> "Resolved " + resolvedProtocol.getName() + " OpenAPI protocol");
@@ -270,18 +408,20 @@ public final class OpenApiConverter {
             }
         }
 
-        getJsonSchemaConverter().config(config);
+        // Copies share the schemas created by the converter of every other service.
+        JsonSchemaConverter schemaConverter = shared.jsonSchemaConverter.copy().config(config);
 
         // Set a protocol name if one wasn't set but instead derived.
         protocolName = protocolName != null ? protocolName : resolvedProtocol.getName();
         ComponentsObject.Builder components = ComponentsObject.builder();
-        SchemaDocument schemas = addSchemas(components, model.getShapeIndex(), service);
+        SchemaDocument schemas = addSchemas(components, schemaConverter, model.getShapeIndex(), service);
 
         // Load security scheme converters.
-        List<SecuritySchemeConverter> securitySchemeConverters = loadSecuritySchemes(service, extensions);
+        List<SecuritySchemeConverter> securitySchemeConverters = loadSecuritySchemes(
+                service, protocolName, extensions);
 
         Context context = new Context(
-                model, service, getJsonSchemaConverter(),
+                model, service, schemaConverter,
                 resolvedProtocol, openApiProtocol, schemas, securitySchemeConverters);
 
         return new ConversionEnvironment(context, extensions, components, mappers);
@@ -329,7 +469,8 @@ public final class OpenApiConverter {
 
         // Include @tags trait tags that are compatible with OpenAPI settings.
         if (environment.context.getConfig().getBooleanMemberOrDefault(OpenApiConstants.OPEN_API_TAGS)) {
-            getSupportedTags(service).forEach(tag -> openapi.addTag(TagObject.builder().name(tag).build()));
+            getSupportedTags(context.getConfig(), service)
+                    .forEach(tag -> openapi.addTag(TagObject.builder().name(tag).build()));
         }
 
         addPaths(context, openapi, openApiProtocol, mapper);
@@ -350,6 +491,7 @@ public final class OpenApiConverter {
     // Determine which OpenApiProtocol service provider and which service trait protocol to use.
     private Pair<Protocol, OpenApiProtocol> resolveProtocol(
             ServiceShape service,
+            String protocolName,
             List<Smithy2OpenApiExtension> extensions
     ) {
         List<OpenApiProtocol> protocols = extensions.stream()
@@ -392,6 +534,7 @@ public final class OpenApiConverter {
     // Loads all of the OpenAPI security scheme implementations that are referenced by a service.
     private List<SecuritySchemeConverter> loadSecuritySchemes(
             ServiceShape service,
+            String protocolName,
             List<Smithy2OpenApiExtension> extensions
     ) {
         List<SecuritySchemeConverter> converters = extensions.stream()
@@ -420,8 +563,7 @@ public final class OpenApiConverter {
     }
 
     // Gets the tags of a shape that are allowed in the OpenAPI model.
-    private Stream<String> getSupportedTags(Tagged tagged) {
-        ObjectNode config = getJsonSchemaConverter().getConfig();
+    private Stream<String> getSupportedTags(ObjectNode config, Tagged tagged) {
         List<String> supported = config.getArrayMember(OpenApiConstants.OPEN_API_SUPPORTED_TAGS)
                 .map(array -> array.getElementsAs(StringNode::getValue))
                 .orElse(null);
@@ -444,10 +586,11 @@ public final class OpenApiConverter {
     // Copies the JSON schema schemas over into the OpenAPI object.
     private SchemaDocument addSchemas(
             ComponentsObject.Builder components,
+            JsonSchemaConverter schemaConverter,
             ShapeIndex index,
             ServiceShape service
     ) {
-        SchemaDocument document = getJsonSchemaConverter().convert(index, service);
+        SchemaDocument document = schemaConverter.convert(index, service);
         for (Map.Entry<String, Schema> entry : document.getDefinitions().entrySet()) {
             String key = entry.getKey().replace(OpenApiConstants.SCHEMA_COMPONENTS_POINTER + "/", "");
             components.putSchema(key, entry.getValue());
@@ -553,7 +696,7 @@ public final class OpenApiConverter {
     private OperationObject addOperationTags(Context context, Shape shape, OperationObject operation) {
         // Include @tags trait tags of the operation that are compatible with OpenAPI settings.
         if (context.getConfig().getBooleanMemberOrDefault(OpenApiConstants.OPEN_API_TAGS)) {
-            List<String> tags = getSupportedTags(shape).collect(Collectors.toList());
+            List<String> tags = getSupportedTags(context.getConfig(), shape).collect(Collectors.toList());
             if (!tags.isEmpty()) {
                 return operation.toBuilder().tags(tags).build();
             }
@@ -194,6 +194,29 @@ public interface OpenApiMapper {
         return node;
     }
 
+    /**
+     * Checks if {@link #updateNode} needs to be called for a conversion.
+     *
+     * <p>When no mapper needs to update the node of an OpenAPI object,
+     * {@link OpenApiConverter#convertToJson} writes the OpenAPI object as
+     * JSON without first converting it to a node. By default, this method
+     * returns true if the mapper overrides {@code updateNode}. Mappers that
+     * only change the node in some cases can override this method to allow
+     * the node to be skipped in the others.
+     *
+     * @param context Conversion context.
+     * @param openapi OpenAPI object that was created.
+     * @return Returns true if {@code updateNode} needs to be called.
+     */
+    default boolean requiresNode(Context context, OpenApi openapi) {
+        try {
+            return getClass().getMethod("updateNode", Context.class, OpenApi.class, ObjectNode.class)
+                    .getDeclaringClass() != OpenApiMapper.class;
+        } catch (NoSuchMethodException e) {
+            return true;
+        }
+    }
+
     /**
      * Creates an OpenApiMapper that is composed of multiple mappers.
      *
@@ -323,6 +346,11 @@ public interface OpenApiMapper {
                 }
                 return node;
             }
+
+            @Override
+            public boolean requiresNode(Context context, OpenApi openapi) {
+                return sorted.stream().anyMatch(plugin -> plugin.requiresNode(context, openapi));
+            }
         };
     }
 }
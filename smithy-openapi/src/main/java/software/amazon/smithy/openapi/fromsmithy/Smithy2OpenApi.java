@@ -15,18 +15,29 @@
 
 package software.amazon.smithy.openapi.fromsmithy;
 
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
 import software.amazon.smithy.build.PluginContext;
 import software.amazon.smithy.build.SmithyBuildPlugin;
 import software.amazon.smithy.jsonschema.JsonSchemaConstants;
 import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.node.StringNode;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.openapi.OpenApiConstants;
+import software.amazon.smithy.openapi.OpenApiException;
 
 /**
  * Converts Smithy to an OpenAPI model and saves it as a JSON file.
  *
  * <p>This plugin requires a setting named "service" that is the
- * Shape ID of the Smithy service shape to convert to OpenAPI.
+ * Shape ID of the Smithy service shape to convert to OpenAPI, or a
+ * setting named "services" that is a list of the Shape IDs of every
+ * service to convert. Each service is written to a file named after
+ * the service. Multiple services are converted concurrently, sharing
+ * the work that is common to every service, and each service is written
+ * as soon as it's converted. Services must have different names.
  *
  * <p>Constants defined in {@link JsonSchemaConstants} and
  * {@link OpenApiConstants} can be provided in the settings object.
@@ -43,13 +54,46 @@ public final class Smithy2OpenApi implements SmithyBuildPlugin {
         context.getSettings().getStringMap().forEach(converter::putSetting);
         context.getPluginClassLoader().ifPresent(converter::classLoader);
 
-        ShapeId shapeId = ShapeId.from(context.getSettings()
-                .expectMember(OpenApiConstants.SERVICE,
-                              getName() + " required a `service` shape ID is provided in the settings.")
-                .expectStringNode("`" + OpenApiConstants.SERVICE + "` must be a string value")
-                .getValue());
+        Set<ShapeId> services = getServices(context.getSettings());
+        if (services.size() == 1) {
+            ShapeId shapeId = services.iterator().next();
+            context.getFileManifest().writeJson(getFileName(shapeId),
+                    writer -> converter.convertToJson(context.getModel(), shapeId, writer));
+        } else {
+            converter.convertAllToJson(context.getModel(), services, (shapeId, contents) -> {
+                context.getFileManifest().writeJson(getFileName(shapeId), contents);
+            });
+        }
+    }
+
+    private static String getFileName(ShapeId service) {
+        return service.getName() + ".openapi.json";
+    }
+
+    private Set<ShapeId> getServices(ObjectNode settings) {
+        Set<ShapeId> services = new LinkedHashSet<>();
+        settings.getMember(OpenApiConstants.SERVICE).ifPresent(service -> services.add(ShapeId.from(
+                service.expectStringNode("`" + OpenApiConstants.SERVICE + "` must be a string value").getValue())));
+        settings.getMember(OpenApiConstants.SERVICES).ifPresent(list -> list
+                .expectArrayNode("`" + OpenApiConstants.SERVICES + "` must be a list of strings")
+                .getElementsAs(StringNode::getValue)
+                .forEach(service -> services.add(ShapeId.from(service))));
+
+        if (services.isEmpty()) {
+            throw new OpenApiException(getName() + " requires that a `service` shape ID is provided in the settings.");
+        }
+
+        // Files are named after services, so services with the same name would overwrite each other.
+        Map<String, ShapeId> fileNames = new HashMap<>();
+        for (ShapeId service : services) {
+            ShapeId conflict = fileNames.put(getFileName(service), service);
+            if (conflict != null) {
+                throw new OpenApiException(String.format(
+                        "%s cannot convert services with the same name, `%s` and `%s`, because they would both be "
+                        + "written to `%s`", getName(), conflict, service, getFileName(service)));
+            }
+        }
 
-        ObjectNode openApiNode = converter.convertToNode(context.getModel(), shapeId);
-        context.getFileManifest().writeJson(shapeId.getName() + ".openapi.json", openApiNode);
+        return services;
     }
 }
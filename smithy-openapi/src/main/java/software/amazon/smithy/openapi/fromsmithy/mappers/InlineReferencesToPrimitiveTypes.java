@@ -62,6 +62,19 @@ public class InlineReferencesToPrimitiveTypes implements OpenApiMapper {
         return 110;
     }
 
+    @Override
+    public boolean requiresNode(Context context, OpenApi openapi) {
+        if (context.getConfig().getBooleanMemberOrDefault(OpenApiConstants.DISABLE_PRIMITIVE_INLINING)) {
+            return false;
+        }
+
+        // The node only changes if one of the schema components can be inlined.
+        return openapi.getExtensions().containsKey("components")
+               || openapi.getComponents().getExtensions().containsKey("schemas")
+               || openapi.getComponents().getSchemas().values().stream()
+                       .anyMatch(schema -> PrimitiveReferenceInliner.shouldInline(schema.toNode().expectObjectNode()));
+    }
+
     @Override
     public ObjectNode updateNode(Context context, OpenApi openapi, ObjectNode node) {
 
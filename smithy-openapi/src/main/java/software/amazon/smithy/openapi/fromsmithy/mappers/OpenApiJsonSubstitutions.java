@@ -38,4 +38,9 @@ public final class OpenApiJsonSubstitutions implements OpenApiMapper {
                 .map(substitutions -> JsonSubstitutions.create(substitutions).apply(node).expectObjectNode())
                 .orElse(node);
     }
+
+    @Override
+    public boolean requiresNode(Context context, OpenApi openapi) {
+        return context.getConfig().getMember(OpenApiConstants.SUBSTITUTIONS).isPresent();
+    }
 }
@@ -20,6 +20,7 @@ import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.openapi.fromsmithy.Context;
 import software.amazon.smithy.openapi.fromsmithy.OpenApiMapper;
+import software.amazon.smithy.openapi.model.ComponentsObject;
 import software.amazon.smithy.openapi.model.OpenApi;
 
 /**
@@ -34,6 +35,16 @@ public class RemoveEmptyComponents implements OpenApiMapper {
         return 112;
     }
 
+    @Override
+    public boolean requiresNode(Context context, OpenApi openapi) {
+        // Empty maps of components are never serialized, so the node only changes if the
+        // components object is empty or if one of its extensions is an empty object.
+        ComponentsObject components = openapi.getComponents();
+        return openapi.getExtensions().containsKey(COMPONENTS)
+               || components.getExtensions().values().stream().anyMatch(RemoveEmptyComponents::isEmptyObject)
+               || isEmpty(components);
+    }
+
     @Override
     public ObjectNode updateNode(Context context, OpenApi openapi, ObjectNode node) {
         ObjectNode components = node.getObjectMember(COMPONENTS).orElse(null);
@@ -53,6 +64,18 @@ public class RemoveEmptyComponents implements OpenApiMapper {
                : node.withMember(COMPONENTS, updatedComponents);
     }
 
+    private static boolean isEmpty(ComponentsObject components) {
+        return components.getExtensions().isEmpty()
+               && components.getSchemas().isEmpty()
+               && components.getResponses().isEmpty()
+               && components.getParameters().isEmpty()
+               && components.getRequestBodies().isEmpty()
+               && components.getHeaders().isEmpty()
+               && components.getSecuritySchemes().isEmpty()
+               && components.getLinks().isEmpty()
+               && components.getCallbacks().isEmpty();
+    }
+
     private static boolean isEmptyObject(Node node) {
         return node.asObjectNode().filter(ObjectNode::isEmpty).isPresent();
     }
@@ -15,18 +15,21 @@
 
 package software.amazon.smithy.openapi.fromsmithy.mappers;
 
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
-import software.amazon.smithy.model.node.ArrayNode;
+import software.amazon.smithy.jsonschema.Schema;
 import software.amazon.smithy.model.node.Node;
-import software.amazon.smithy.model.node.NodeVisitor;
 import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.model.node.StringNode;
+import software.amazon.smithy.model.node.ToNode;
 import software.amazon.smithy.openapi.OpenApiConstants;
 import software.amazon.smithy.openapi.fromsmithy.Context;
 import software.amazon.smithy.openapi.fromsmithy.OpenApiMapper;
@@ -34,19 +37,25 @@ import software.amazon.smithy.openapi.model.ComponentsObject;
 import software.amazon.smithy.openapi.model.OpenApi;
 import software.amazon.smithy.openapi.model.OperationObject;
 import software.amazon.smithy.openapi.model.PathItem;
-import software.amazon.smithy.utils.SetUtils;
+import software.amazon.smithy.utils.MapUtils;
 
 /**
  * Removes unused components from the OpenAPI model.
  *
  * <p>This plugin will take effect by default, but can be disabled by setting
- * "openapi.keepUnusedComponents" to true. Refs are removed in rounds until
- * a round of removals has no effect.
+ * "openapi.keepUnusedComponents" to true.
+ *
+ * <p>Every part of the model other than the schema components (paths,
+ * security requirements, and the other kinds of components) is considered
+ * a root. Schemas that cannot be reached by following "$ref" pointers from
+ * a root, either directly or through other schemas, are removed in a single
+ * pass. This includes schemas that only refer to each other.
  *
  * <p>TODO: This plugin currently only supports the removal of schemas and security schemes.
  */
 public class RemoveUnusedComponents implements OpenApiMapper {
     private static final Logger LOGGER = Logger.getLogger(RemoveUnusedComponents.class.getName());
+    private static final String SCHEMA_POINTER_PREFIX = OpenApiConstants.SCHEMA_COMPONENTS_POINTER + "/";
 
     @Override
     public byte getOrder() {
@@ -59,80 +68,83 @@ public class RemoveUnusedComponents implements OpenApiMapper {
             return openapi;
         }
 
-        OpenApi current;
-        OpenApi result = openapi;
-
-        do {
-            current = result;
-            result = removalRound(current);
-        } while (!result.equals(current));
-
+        OpenApi result = removeUnusedSchemas(openapi);
         result = removeUnusedSecuritySchemes(result);
         return result;
     }
 
-    private OpenApi removalRound(OpenApi openapi) {
-        // Create a set of every component pointer (currently just schemas).
-        String schemaPointerPrefix = OpenApiConstants.SCHEMA_COMPONENTS_POINTER + "/";
-        Set<String> pointers = openapi.getComponents().getSchemas().keySet().stream()
-                .map(key -> schemaPointerPrefix + key)
-                .collect(Collectors.toSet());
+    private OpenApi removeUnusedSchemas(OpenApi openapi) {
+        Map<String, Schema> schemas = openapi.getComponents().getSchemas();
+        if (schemas.isEmpty()) {
+            return openapi;
+        }
 
-        // Remove all found "$ref" pointers from the set, leaving only unreferenced.
-        pointers.removeAll(findAllRefs(openapi.toNode().expectObjectNode()));
+        // Only the parts of the model that aren't schema components need to be serialized to find the roots.
+        Deque<String> pending = new ArrayDeque<>();
+        OpenApi roots = openapi.toBuilder()
+                .components(openapi.getComponents().toBuilder().schemas(MapUtils.of()).build())
+                .build();
+        findRefs(roots.toNode(), pending::add);
+
+        // Mark every schema that is reachable from a root. The refs of a schema are only found once.
+        Set<String> reachable = new HashSet<>();
+        while (!pending.isEmpty()) {
+            String pointer = pending.pop();
+            if (pointer.startsWith(SCHEMA_POINTER_PREFIX)) {
+                String name = pointer.substring(SCHEMA_POINTER_PREFIX.length());
+                if (schemas.containsKey(name) && reachable.add(name)) {
+                    findRefs(schemas.get(name), pending::add);
+                }
+            }
+        }
 
-        if (pointers.isEmpty()) {
+        if (reachable.size() == schemas.size()) {
             return openapi;
         }
 
-        LOGGER.info(() -> "Removing unused OpenAPI components: " + pointers);
+        Set<String> unused = new TreeSet<>(schemas.keySet());
+        unused.removeAll(reachable);
+        LOGGER.info(() -> "Removing unused OpenAPI components: " + unused.stream()
+                .map(name -> SCHEMA_POINTER_PREFIX + name)
+                .collect(Collectors.toList()));
 
         ComponentsObject.Builder componentsBuilder = openapi.getComponents().toBuilder();
-        for (String pointer : pointers) {
-            if (pointer.startsWith(schemaPointerPrefix)) {
-                componentsBuilder.removeSchema(pointer.replace(schemaPointerPrefix, ""));
-            } else {
-                throw new UnsupportedOperationException("Unreachable statement for not yet implemented removal");
-            }
-        }
-
+        unused.forEach(componentsBuilder::removeSchema);
         return openapi.toBuilder().components(componentsBuilder.build()).build();
     }
 
-    private Set<String> findAllRefs(ObjectNode node) {
-        return node.accept(new NodeVisitor.Default<Set<String>>() {
-            @Override
-            protected Set<String> getDefault(Node node) {
-                return SetUtils.of();
-            }
+    private static void findRefs(Schema schema, Consumer<String> consumer) {
+        schema.getRef().ifPresent(consumer);
+        schema.getItems().ifPresent(items -> findRefs(items, consumer));
+        schema.getAdditionalProperties().ifPresent(additional -> findRefs(additional, consumer));
+        schema.getPropertyNames().ifPresent(names -> findRefs(names, consumer));
+        schema.getNot().ifPresent(not -> findRefs(not, consumer));
+        schema.getProperties().values().forEach(property -> findRefs(property, consumer));
+        schema.getAllOf().forEach(member -> findRefs(member, consumer));
+        schema.getAnyOf().forEach(member -> findRefs(member, consumer));
+        schema.getOneOf().forEach(member -> findRefs(member, consumer));
+
+        // Values and extensions are arbitrary nodes that could contain refs too.
+        schema.getConstValue().ifPresent(value -> findRefs(value, consumer));
+        schema.getDefaultValue().ifPresent(value -> findRefs(value, consumer));
+        schema.getExamples().ifPresent(value -> findRefs(value, consumer));
+        for (ToNode extension : schema.getAllExtensions().values()) {
+            findRefs(extension.toNode(), consumer);
+        }
+    }
 
-            @Override
-            public Set<String> arrayNode(ArrayNode node) {
-                Set<String> result = new HashSet<>();
-                for (Node member : node.getElements()) {
-                    result.addAll(member.accept(this));
-                }
-                return result;
+    private static void findRefs(Node node, Consumer<String> consumer) {
+        if (node.isArrayNode()) {
+            for (Node member : node.expectArrayNode().getElements()) {
+                findRefs(member, consumer);
             }
-
-            @Override
-            public Set<String> objectNode(ObjectNode node) {
-                Set<String> result = new HashSet<>();
-
-                if (node.size() == 1 && node.getMember("$ref").isPresent()) {
-                    node.getMember("$ref")
-                            .flatMap(Node::asStringNode)
-                            .map(StringNode::getValue)
-                            .ifPresent(result::add);
-                } else {
-                    for (Node member : node.getMembers().values()) {
-                        result.addAll(member.accept(this));
-                    }
-                }
-
-                return result;
+        } else if (node.isObjectNode()) {
+            ObjectNode object = node.expectObjectNode();
+            object.getMember("$ref").flatMap(Node::asStringNode).map(StringNode::getValue).ifPresent(consumer);
+            for (Node member : object.getMembers().values()) {
+                findRefs(member, consumer);
             }
-        });
+        }
     }
 
     private OpenApi removeUnusedSecuritySchemes(OpenApi openapi) {
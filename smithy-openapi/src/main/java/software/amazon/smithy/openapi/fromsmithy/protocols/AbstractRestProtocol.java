@@ -104,28 +104,29 @@ abstract class AbstractRestProtocol implements OpenApiProtocol {
             String uri = context.getOpenApiProtocol().getOperationUri(context, operation);
             OperationObject.Builder builder = OperationObject.builder().operationId(operation.getId().getName());
             HttpBindingIndex bindingIndex = context.getModel().getKnowledge(HttpBindingIndex.class);
-            createPathParameters(context, operation).forEach(builder::addParameter);
-            createQueryParameters(context, operation).forEach(builder::addParameter);
-            createRequestHeaderParameters(context, operation).forEach(builder::addParameter);
+            createPathParameters(context, bindingIndex, operation).forEach(builder::addParameter);
+            createQueryParameters(context, bindingIndex, operation).forEach(builder::addParameter);
+            createRequestHeaderParameters(context, bindingIndex, operation).forEach(builder::addParameter);
             createRequestBody(context, bindingIndex, operation).ifPresent(builder::requestBody);
             createResponses(context, bindingIndex, operation).forEach(builder::putResponse);
             return Operation.create(method, uri, builder);
         });
     }
 
-    private List<ParameterObject> createPathParameters(Context context, OperationShape operation) {
-        return context.getModel().getKnowledge(HttpBindingIndex.class)
-                .getRequestBindings(operation, HttpBinding.Location.LABEL).stream()
+    private List<ParameterObject> createPathParameters(
+            Context context,
+            HttpBindingIndex bindingIndex,
+            OperationShape operation
+    ) {
+        return bindingIndex.getRequestBindings(operation, HttpBinding.Location.LABEL).stream()
                 .map(binding -> {
                     MemberShape member = binding.getMember();
                     Schema schema = context.createRef(binding.getMember());
                     ParameterObject.Builder paramBuilder = ModelUtils.createParameterMember(
                             context, member).in("path");
                     // Timestamps sent in the URI are serialized as a date-time string by default.
-                    boolean needsInlineSchema = context.getModel().getShapeIndex().getShape(member.getTarget())
-                            .filter(Shape::isTimestampShape)
-                            .isPresent()
-                            && !ModelUtils.getMemberTrait(context, member, TimestampFormatTrait.class).isPresent();
+                    boolean needsInlineSchema = binding.getTarget().filter(Shape::isTimestampShape).isPresent()
+                            && !binding.getTimestampFormat().isPresent();
                     if (needsInlineSchema) {
                         // Create a copy of the targeted schema and remove any possible numeric keywords.
                         Schema.Builder copiedBuilder = ModelUtils.convertSchemaToStringBuilder(
@@ -137,15 +138,17 @@ abstract class AbstractRestProtocol implements OpenApiProtocol {
                 .collect(Collectors.toList());
     }
 
-    private List<ParameterObject> createQueryParameters(Context context, OperationShape operation) {
-        return context.getModel().getKnowledge(HttpBindingIndex.class)
-                .getRequestBindings(operation, HttpBinding.Location.QUERY).stream()
+    private List<ParameterObject> createQueryParameters(
+            Context context,
+            HttpBindingIndex bindingIndex,
+            OperationShape operation
+    ) {
+        return bindingIndex.getRequestBindings(operation, HttpBinding.Location.QUERY).stream()
                 .map(binding -> {
                     ParameterObject.Builder param = ModelUtils.createParameterMember(context, binding.getMember())
                             .in("query")
                             .name(binding.getLocationName());
-                    Shape target = context.getModel().getShapeIndex()
-                            .getShape(binding.getMember().getTarget()).get();
+                    Shape target = binding.getTarget().get();
 
                     // List and set shapes in the query string are repeated, so we need to "explode" them.
                     if (target instanceof CollectionShape) {
@@ -159,9 +162,12 @@ abstract class AbstractRestProtocol implements OpenApiProtocol {
                 .collect(Collectors.toList());
     }
 
-    private Collection<ParameterObject> createRequestHeaderParameters(Context context, OperationShape operation) {
-        List<HttpBinding> bindings = context.getModel().getKnowledge(HttpBindingIndex.class)
-                .getRequestBindings(operation, HttpBinding.Location.HEADER);
+    private Collection<ParameterObject> createRequestHeaderParameters(
+            Context context,
+            HttpBindingIndex bindingIndex,
+            OperationShape operation
+    ) {
+        List<HttpBinding> bindings = bindingIndex.getRequestBindings(operation, HttpBinding.Location.HEADER);
         return createHeaderParameters(context, bindings, MessageType.REQUEST).values();
     }
 
@@ -179,7 +185,7 @@ abstract class AbstractRestProtocol implements OpenApiProtocol {
                         // Response headers don't use "in" or "name".
                         param.in(null).name(null);
                     }
-                    Shape target = context.getModel().getShapeIndex().getShape(binding.getMember().getTarget()).get();
+                    Shape target = binding.getTarget().get();
                     Schema refSchema = context.createRef(binding.getMember());
                     param.schema(target.accept(new HeaderSchemaVisitor(context, refSchema, binding.getMember())));
                     return Pair.of(binding.getLocationName(), param.build());
@@ -256,7 +262,7 @@ abstract class AbstractRestProtocol implements OpenApiProtocol {
     ) {
         ResponseObject.Builder responseBuilder = ResponseObject.builder();
         responseBuilder.description(String.format("%s %s response", operationOrError.getId().getName(), statusCode));
-        createResponseHeaderParameters(context, operationShape)
+        createResponseHeaderParameters(context, bindingIndex, operationShape)
                 .forEach((k, v) -> responseBuilder.putHeader(k, Ref.local(v)));
         addResponseContent(context, bindingIndex, responseBuilder, operationOrError);
         return responseBuilder.build();
@@ -264,10 +270,10 @@ abstract class AbstractRestProtocol implements OpenApiProtocol {
 
     private Map<String, ParameterObject> createResponseHeaderParameters(
             Context context,
+            HttpBindingIndex bindingIndex,
             OperationShape operation
     ) {
-        List<HttpBinding> bindings = context.getModel().getKnowledge(HttpBindingIndex.class)
-                .getResponseBindings(operation, HttpBinding.Location.HEADER);
+        List<HttpBinding> bindings = bindingIndex.getResponseBindings(operation, HttpBinding.Location.HEADER);
         return createHeaderParameters(context, bindings, MessageType.RESPONSE);
     }
 
@@ -18,8 +18,10 @@ package software.amazon.smithy.openapi.model;
 import java.util.Map;
 import java.util.Optional;
 import java.util.TreeMap;
+import software.amazon.smithy.model.node.JsonStreamWriter;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.node.ObjectNode;
+import software.amazon.smithy.model.node.StringNode;
 import software.amazon.smithy.model.node.ToNode;
 import software.amazon.smithy.utils.SmithyBuilder;
 
@@ -69,6 +71,84 @@ public abstract class Component implements ToNode {
 
     protected abstract ObjectNode.Builder createNodeBuilder();
 
+    /**
+     * Writes the JSON representation of the component.
+     *
+     * <p>The written JSON is equivalent to the JSON representation of
+     * {@link #toNode()}. Components with large members stream them
+     * rather than creating a node for the entire component. Extensions
+     * are always written last, including an extension that replaces a
+     * built-in member.
+     *
+     * @param writer Writer to write to.
+     */
+    public final void writeTo(JsonStreamWriter writer) {
+        if (node != null) {
+            writer.writeNode(node);
+            return;
+        }
+
+        writer.startObject();
+        writeMembers(writer);
+        for (Map.Entry<String, Node> entry : extensions.entrySet()) {
+            writer.writeMember(entry.getKey(), entry.getValue());
+        }
+        writer.endObject();
+    }
+
+    /**
+     * Writes the members of the component, excluding extensions.
+     *
+     * <p>By default, this writes each member of {@link #createNodeBuilder()}.
+     *
+     * @param writer Writer to write to.
+     */
+    protected void writeMembers(JsonStreamWriter writer) {
+        for (Map.Entry<StringNode, Node> entry : createNodeBuilder().build().getMembers().entrySet()) {
+            writeMember(writer, entry.getKey().getValue(), entry.getValue());
+        }
+    }
+
+    /**
+     * Writes a member unless an extension with the same name exists.
+     *
+     * @param writer Writer to write to.
+     * @param name Name of the member to write.
+     * @param value Value to write.
+     */
+    protected final void writeMember(JsonStreamWriter writer, String name, ToNode value) {
+        if (!extensions.containsKey(name)) {
+            writer.writeMember(name, value);
+        }
+    }
+
+    /**
+     * Writes a map of components as an object, one entry at a time.
+     *
+     * <p>Nothing is written if the map is empty or if an extension with
+     * the same name exists.
+     *
+     * @param writer Writer to write to.
+     * @param name Name of the member to write.
+     * @param map Map to write.
+     */
+    protected final void writeMap(JsonStreamWriter writer, String name, Map<String, ? extends ToNode> map) {
+        if (map.isEmpty() || extensions.containsKey(name)) {
+            return;
+        }
+
+        writer.writeName(name).startObject();
+        for (Map.Entry<String, ? extends ToNode> entry : map.entrySet()) {
+            writer.writeName(entry.getKey());
+            if (entry.getValue() instanceof Component) {
+                ((Component) entry.getValue()).writeTo(writer);
+            } else {
+                writer.writeNode(entry.getValue());
+            }
+        }
+        writer.endObject();
+    }
+
     @Override
     public final boolean equals(Object o) {
         if (o == this) {
@@ -18,6 +18,7 @@ package software.amazon.smithy.openapi.model;
 import java.util.Map;
 import java.util.TreeMap;
 import software.amazon.smithy.jsonschema.Schema;
+import software.amazon.smithy.model.node.JsonStreamWriter;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.utils.ToSmithyBuilder;
@@ -127,6 +128,18 @@ public final class ComponentsObject extends Component implements ToSmithyBuilder
         return builder;
     }
 
+    @Override
+    protected void writeMembers(JsonStreamWriter writer) {
+        writeMap(writer, "schemas", schemas);
+        writeMap(writer, "responses", responses);
+        writeMap(writer, "parameters", parameters);
+        writeMap(writer, "requestBodies", requestBodies);
+        writeMap(writer, "headers", headers);
+        writeMap(writer, "securitySchemes", securitySchemes);
+        writeMap(writer, "links", links);
+        writeMap(writer, "callbacks", callbacks);
+    }
+
     @Override
     public Builder toBuilder() {
         return builder()
@@ -23,6 +23,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.TreeMap;
 import software.amazon.smithy.model.node.ArrayNode;
+import software.amazon.smithy.model.node.JsonStreamWriter;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.utils.ListUtils;
@@ -120,13 +121,7 @@ public final class OpenApi extends Component implements ToSmithyBuilder<OpenApi>
         builder.withMember("components", components);
 
         if (!security.isEmpty()) {
-            builder.withMember("security", security.stream()
-                    .map(mapping -> mapping.entrySet().stream()
-                            .sorted(Comparator.comparing(Map.Entry::getKey))
-                            .collect(ObjectNode.collectStringKeys(
-                                    Map.Entry::getKey,
-                                    entry -> entry.getValue().stream().map(Node::from).collect(ArrayNode.collect()))))
-                    .collect(ArrayNode.collect()));
+            builder.withMember("security", createSecurityNode());
         }
 
         if (!tags.isEmpty()) {
@@ -136,6 +131,43 @@ public final class OpenApi extends Component implements ToSmithyBuilder<OpenApi>
         return builder;
     }
 
+    @Override
+    protected void writeMembers(JsonStreamWriter writer) {
+        writeMember(writer, "openapi", Node.from(openapi));
+        writeMember(writer, "info", info);
+        getExternalDocs().ifPresent(docs -> writeMember(writer, "externalDocumentation", docs));
+
+        if (!servers.isEmpty()) {
+            writeMember(writer, "servers", servers.stream().collect(ArrayNode.collect()));
+        }
+
+        // Paths and components are streamed rather than converted to a single node.
+        writeMap(writer, "paths", paths);
+
+        if (!getExtensions().containsKey("components")) {
+            writer.writeName("components");
+            components.writeTo(writer);
+        }
+
+        if (!security.isEmpty()) {
+            writeMember(writer, "security", createSecurityNode());
+        }
+
+        if (!tags.isEmpty()) {
+            writeMember(writer, "tags", tags.stream().sorted().collect(ArrayNode.collect()));
+        }
+    }
+
+    private Node createSecurityNode() {
+        return security.stream()
+                .map(mapping -> mapping.entrySet().stream()
+                        .sorted(Comparator.comparing(Map.Entry::getKey))
+                        .collect(ObjectNode.collectStringKeys(
+                                Map.Entry::getKey,
+                                entry -> entry.getValue().stream().map(Node::from).collect(ArrayNode.collect()))))
+                .collect(ArrayNode.collect());
+    }
+
     public static final class Builder extends Component.Builder<Builder, OpenApi> {
         private String openapi;
         private InfoObject info;
@@ -17,15 +17,20 @@ package software.amazon.smithy.openapi.fromsmithy;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.not;
 
+import java.io.StringWriter;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.JsonStreamWriter;
 import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.node.ObjectNode;
 import software.amazon.smithy.model.shapes.Shape;
@@ -52,6 +57,46 @@ public class OpenApiConverterTest {
         Node.assertEquals(result, expectedNode);
     }
 
+    @Test
+    public void streamsSameJsonAsNode() {
+        Model model = Model.assembler()
+                .addImport(getClass().getResource("test-service.json"))
+                .assemble()
+                .unwrap();
+        OpenApiConverter converter = OpenApiConverter.create();
+        ShapeId service = ShapeId.from("example.rest#RestService");
+        StringWriter result = new StringWriter();
+        try (JsonStreamWriter writer = JsonStreamWriter.create(result, true)) {
+            converter.convertToJson(model, service, writer);
+        }
+
+        assertThat(result.toString(), equalTo(Node.prettyPrintJson(converter.convertToNode(model, service))));
+    }
+
+    private static final class AddsNodeMember implements OpenApiMapper {
+        @Override
+        public ObjectNode updateNode(Context context, OpenApi openapi, ObjectNode node) {
+            return node.withMember("x-foo", "bar");
+        }
+    }
+
+    @Test
+    public void streamsUpdatedNodeOfMappersThatOnlyOverrideUpdateNode() {
+        Model model = Model.assembler()
+                .addImport(getClass().getResource("test-service.json"))
+                .assemble()
+                .unwrap();
+        StringWriter result = new StringWriter();
+        try (JsonStreamWriter writer = JsonStreamWriter.create(result, false)) {
+            OpenApiConverter.create()
+                    .addOpenApiMapper(new AddsNodeMember())
+                    .convertToJson(model, ShapeId.from("example.rest#RestService"), writer);
+        }
+
+        assertThat(Node.parse(result.toString()).expectObjectNode().getStringMember("x-foo").get().getValue(),
+                   equalTo("bar"));
+    }
+
     @Test
     public void convertsModelsToOpenApiAndDisablesInlining() {
         Model model = Model.assembler()
@@ -67,6 +112,49 @@ public class OpenApiConverterTest {
         Node.assertEquals(result, expectedNode);
     }
 
+    @Test
+    public void convertsMultipleServices() {
+        Model model = Model.assembler()
+                .addImport(getClass().getResource("test-service.json"))
+                .addImport(getClass().getResource("tagged-service.json"))
+                .assemble()
+                .unwrap();
+        ShapeId rest = ShapeId.from("example.rest#RestService");
+        ShapeId tagged = ShapeId.from("smithy.example#Service");
+        OpenApiConverter converter = OpenApiConverter.create().putSetting(OpenApiConstants.OPEN_API_TAGS, true);
+        Map<ShapeId, ObjectNode> result = converter.convertAllToNode(model, ListUtils.of(tagged, rest));
+
+        assertThat(result.keySet(), containsInAnyOrder(tagged, rest));
+        Node.assertEquals(result.get(rest), converter.convertToNode(model, rest));
+        Node.assertEquals(result.get(tagged), converter.convertToNode(model, tagged));
+        Node.assertEquals(converter.convertAll(model, ListUtils.of(rest)).get(rest), converter.convert(model, rest));
+    }
+
+    @Test
+    public void streamsMultipleServices() {
+        Model model = Model.assembler()
+                .addImport(getClass().getResource("test-service.json"))
+                .addImport(getClass().getResource("tagged-service.json"))
+                .assemble()
+                .unwrap();
+        ShapeId rest = ShapeId.from("example.rest#RestService");
+        ShapeId tagged = ShapeId.from("smithy.example#Service");
+        OpenApiConverter converter = OpenApiConverter.create().putSetting(OpenApiConstants.OPEN_API_TAGS, true);
+        // Services are converted concurrently, so the consumer must be thread-safe.
+        Map<ShapeId, String> result = new ConcurrentHashMap<>();
+        converter.convertAllToJson(model, ListUtils.of(tagged, rest), (service, contents) -> {
+            StringWriter json = new StringWriter();
+            try (JsonStreamWriter writer = JsonStreamWriter.create(json, true)) {
+                contents.accept(writer);
+            }
+            result.put(service, json.toString());
+        });
+
+        assertThat(result.keySet(), containsInAnyOrder(tagged, rest));
+        assertThat(result.get(rest), equalTo(Node.prettyPrintJson(converter.convertToNode(model, rest))));
+        assertThat(result.get(tagged), equalTo(Node.prettyPrintJson(converter.convertToNode(model, tagged))));
+    }
+
     @Test
     public void passesThroughTags() {
         Model model = Model.assembler()
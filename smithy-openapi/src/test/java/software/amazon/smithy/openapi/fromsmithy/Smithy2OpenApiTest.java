@@ -0,0 +1,72 @@
+/*
+ * Copyright 2019 Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.smithy.openapi.fromsmithy;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.build.MockManifest;
+import software.amazon.smithy.build.PluginContext;
+import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.model.shapes.ServiceShape;
+import software.amazon.smithy.model.shapes.ShapeIndex;
+import software.amazon.smithy.openapi.OpenApiConstants;
+import software.amazon.smithy.openapi.OpenApiException;
+
+public class Smithy2OpenApiTest {
+    @Test
+    public void writesEachService() {
+        Model model = Model.assembler()
+                .addImport(getClass().getResource("test-service.json"))
+                .addImport(getClass().getResource("tagged-service.json"))
+                .assemble()
+                .unwrap();
+        MockManifest manifest = new MockManifest();
+        new Smithy2OpenApi().execute(PluginContext.builder()
+                .model(model)
+                .fileManifest(manifest)
+                .settings(Node.objectNode().withMember(OpenApiConstants.SERVICES,
+                        Node.fromStrings("example.rest#RestService", "smithy.example#Service")))
+                .build());
+
+        assertThat(manifest.hasFile("RestService.openapi.json"), is(true));
+        assertThat(manifest.hasFile("Service.openapi.json"), is(true));
+    }
+
+    @Test
+    public void rejectsServicesWithTheSameName() {
+        ServiceShape a = ServiceShape.builder().id("ns.a#Service").version("1").build();
+        ServiceShape b = ServiceShape.builder().id("ns.b#Service").version("1").build();
+        Model model = Model.builder().shapeIndex(ShapeIndex.builder().addShapes(a, b).build()).build();
+        MockManifest manifest = new MockManifest();
+
+        OpenApiException e = Assertions.assertThrows(OpenApiException.class, () -> {
+            new Smithy2OpenApi().execute(PluginContext.builder()
+                    .model(model)
+                    .fileManifest(manifest)
+                    .settings(Node.objectNode().withMember(OpenApiConstants.SERVICES,
+                            Node.fromStrings("ns.a#Service", "ns.b#Service")))
+                    .build());
+        });
+
+        assertThat(e.getMessage(), containsString("Service.openapi.json"));
+        assertThat(manifest.getFiles().isEmpty(), is(true));
+    }
+}
@@ -0,0 +1,47 @@
+package software.amazon.smithy.openapi.fromsmithy.mappers;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+import org.junit.jupiter.api.Test;
+import software.amazon.smithy.jsonschema.Schema;
+import software.amazon.smithy.model.node.Node;
+import software.amazon.smithy.openapi.model.ComponentsObject;
+import software.amazon.smithy.openapi.model.InfoObject;
+import software.amazon.smithy.openapi.model.OpenApi;
+
+public class RemoveEmptyComponentsTest {
+    @Test
+    public void requiresNodeWhenComponentsAreEmpty() {
+        OpenApi openapi = createOpenApi(ComponentsObject.builder().build());
+
+        assertThat(new RemoveEmptyComponents().requiresNode(null, openapi), is(true));
+    }
+
+    @Test
+    public void requiresNodeWhenComponentsHaveEmptyExtension() {
+        OpenApi openapi = createOpenApi(ComponentsObject.builder()
+                .putSchema("Foo", Schema.builder().type("object").build())
+                .putExtension("x-foo", Node.objectNode())
+                .build());
+
+        assertThat(new RemoveEmptyComponents().requiresNode(null, openapi), is(true));
+    }
+
+    @Test
+    public void doesNotRequireNodeWhenNothingIsEmpty() {
+        OpenApi openapi = createOpenApi(ComponentsObject.builder()
+                .putSchema("Foo", Schema.builder().type("object").build())
+                .build());
+
+        assertThat(new RemoveEmptyComponents().requiresNode(null, openapi), is(false));
+    }
+
+    private static OpenApi createOpenApi(ComponentsObject components) {
+        return OpenApi.builder()
+                .openapi("3.0.2")
+                .info(InfoObject.builder().title("Foo").version("1").build())
+                .components(components)
+                .build();
+    }
+}
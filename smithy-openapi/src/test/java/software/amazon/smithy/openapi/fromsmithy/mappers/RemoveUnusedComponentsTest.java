@@ -1,10 +1,15 @@
 package software.amazon.smithy.openapi.fromsmithy.mappers;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import software.amazon.smithy.jsonschema.Schema;
 import software.amazon.smithy.model.Model;
+import software.amazon.smithy.model.node.Node;
 import software.amazon.smithy.model.shapes.ShapeId;
 import software.amazon.smithy.openapi.OpenApiConstants;
 import software.amazon.smithy.openapi.fromsmithy.Context;
@@ -12,6 +17,8 @@ import software.amazon.smithy.openapi.fromsmithy.OpenApiConverter;
 import software.amazon.smithy.openapi.fromsmithy.OpenApiMapper;
 import software.amazon.smithy.openapi.model.OpenApi;
 import software.amazon.smithy.openapi.model.SecurityScheme;
+import software.amazon.smithy.utils.ListUtils;
+import software.amazon.smithy.utils.MapUtils;
 
 public class RemoveUnusedComponentsTest {
     private static Model model;
@@ -63,4 +70,38 @@ public class RemoveUnusedComponentsTest {
 
         Assertions.assertFalse(result.getComponents().getSecuritySchemes().keySet().contains("foo"));
     }
+
+    @Test
+    public void removesSchemasThatAreOnlyReferencedByUnusedSchemas() {
+        OpenApi result = OpenApiConverter.create()
+                .addOpenApiMapper(new OpenApiMapper() {
+                    @Override
+                    public OpenApi after(Context context, OpenApi openapi) {
+                        String prefix = OpenApiConstants.SCHEMA_COMPONENTS_POINTER + "/";
+                        return openapi.toBuilder()
+                                .components(openapi.getComponents().toBuilder()
+                                        // A cycle that nothing else refers to.
+                                        .putSchema("A", Schema.builder().ref(prefix + "B").build())
+                                        .putSchema("B", Schema.builder()
+                                                .putProperty("a", Schema.builder().ref(prefix + "A").build())
+                                                .build())
+                                        // Used through a security scheme extension and another schema.
+                                        .putSchema("C", Schema.builder()
+                                                .items(Schema.builder().ref(prefix + "D").build())
+                                                .build())
+                                        .putSchema("D", Schema.builder().type("string").build())
+                                        .putSecurityScheme("foo", SecurityScheme.builder()
+                                                .type("apiKey")
+                                                .putExtension("x-schema", Node.objectNode()
+                                                        .withMember("$ref", Node.from(prefix + "C")))
+                                                .build())
+                                        .build())
+                                .addSecurity(MapUtils.of("foo", ListUtils.of()))
+                                .build();
+                    }
+                })
+                .convert(model, ShapeId.from("smithy.example#Small"));
+
+        assertThat(result.getComponents().getSchemas().keySet(), containsInAnyOrder("C", "D"));
+    }
 }